@@ -2,12 +2,21 @@ package io.github.kale_ko.bjsl;
 
 import com.fasterxml.jackson.databind.JavaType;
 import io.github.kale_ko.bjsl.elements.ParsedElement;
+import io.github.kale_ko.bjsl.elements.Projection;
 import io.github.kale_ko.bjsl.parsers.JsonParser;
 import io.github.kale_ko.bjsl.parsers.Parser;
 import io.github.kale_ko.bjsl.parsers.SmileParser;
 import io.github.kale_ko.bjsl.parsers.YamlParser;
 import io.github.kale_ko.bjsl.processor.ObjectProcessor;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
 import java.util.logging.Logger;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -19,7 +28,7 @@ import org.jetbrains.annotations.Nullable;
  *
  * @param <T> The parser to use
  *
- * @version 2.0.0
+ * @version 2.2.0
  * @since 1.1.0
  */
 public class BJSL<T extends Parser> {
@@ -72,10 +81,12 @@ public class BJSL<T extends Parser> {
      * The main logger used by BJSL
      * <p>
      * Uses the default format set
+     * <p>
+     * Volatile so a logger set on one thread is seen by every thread parsing at the same time
      *
      * @since 1.0.0
      */
-    private static @Nullable Logger logger = Logger.getLogger("BJSL");
+    private static volatile @Nullable Logger logger = Logger.getLogger("BJSL");
 
     /**
      * The parser to use for method calls
@@ -167,6 +178,38 @@ public class BJSL<T extends Parser> {
         return this.parser.toElement(data);
     }
 
+    /**
+     * Parse only the selected parts of this string into a {@link ParsedElement}
+     * <p>
+     * Calls {@link io.github.kale_ko.bjsl.parsers.Parser#toElement(String, Projection)}
+     *
+     * @param data       The string to parse
+     * @param projection The parts of the string to keep
+     *
+     * @return The selected parts of the string passed parsed to a {@link ParsedElement}
+     *
+     * @since 2.2.0
+     */
+    public @NotNull ParsedElement parse(@NotNull String data, @NotNull Projection projection) {
+        return this.parser.toElement(data, projection);
+    }
+
+    /**
+     * Parse only the selected parts of these bytes into a {@link ParsedElement}
+     * <p>
+     * Calls {@link io.github.kale_ko.bjsl.parsers.Parser#toElement(byte[], Projection)}
+     *
+     * @param data       The bytes to parse
+     * @param projection The parts of the bytes to keep
+     *
+     * @return The selected parts of the bytes passed parsed to a {@link ParsedElement}
+     *
+     * @since 2.2.0
+     */
+    public @NotNull ParsedElement parse(byte @NotNull [] data, @NotNull Projection projection) {
+        return this.parser.toElement(data, projection);
+    }
+
     /**
      * Parses and maps this string into an Object
      * <p>
@@ -201,6 +244,74 @@ public class BJSL<T extends Parser> {
         return this.processor.toObject(this.parse(data), clazz);
     }
 
+    /**
+     * Parse these bytes into a frozen {@link ParsedElement}, reusing the result of identical bytes from a cache
+     * <p>
+     * Calls {@link ParsedElement#freeze()} on {@link io.github.kale_ko.bjsl.parsers.Parser#toElement(byte[])} through {@link ParseCache#get(byte[], Class, java.util.function.Function)}
+     *
+     * @param data  The bytes to parse
+     * @param cache The cache to use
+     *
+     * @return The bytes passed parsed to a frozen {@link ParsedElement}
+     *
+     * @since 2.2.0
+     */
+    public @NotNull ParsedElement parse(byte @NotNull [] data, @NotNull ParseCache cache) {
+        return Objects.requireNonNull(cache.get(data, ParsedElement.class, item -> this.parser.toElement(item).freeze()));
+    }
+
+    /**
+     * Parses and maps these bytes into an Object, reusing the result of identical bytes from a cache
+     * <p>
+     * Calls {@link #parse(byte[], Class)} through {@link ParseCache#get(byte[], Class, java.util.function.Function)}, the same instance is returned for identical bytes so it must be treated as immutable
+     *
+     * @param data  The bytes to map
+     * @param clazz The object type to map to
+     * @param cache The cache to use
+     * @param <V>   The object type to map to
+     *
+     * @return An Object of the passed type with the values of data
+     *
+     * @since 2.2.0
+     */
+    public <V> @Nullable V parse(byte @NotNull [] data, @NotNull Class<V> clazz, @NotNull ParseCache cache) {
+        return cache.get(data, clazz, item -> this.parse(item, clazz));
+    }
+
+    /**
+     * Parses and maps this string into an Object, only parsing the parts of it that are mapped
+     * <p>
+     * Calls {@link ObjectProcessor#toObject(ParsedElement, Class)} on {@link io.github.kale_ko.bjsl.parsers.Parser#toElement(String, Projection)} with {@link ObjectProcessor#getProjection(Class)}
+     *
+     * @param data  The string to map
+     * @param clazz The object type to map to
+     * @param <V>   The object type to map to
+     *
+     * @return A new Object of the passed type with the values of data
+     *
+     * @since 2.2.0
+     */
+    public <V> @Nullable V parseProjected(@NotNull String data, @NotNull Class<V> clazz) {
+        return this.processor.toObject(this.parse(data, this.processor.getProjection(clazz)), clazz);
+    }
+
+    /**
+     * Parses and maps these bytes into an Object, only parsing the parts of them that are mapped
+     * <p>
+     * Calls {@link ObjectProcessor#toObject(ParsedElement, Class)} on {@link io.github.kale_ko.bjsl.parsers.Parser#toElement(byte[], Projection)} with {@link ObjectProcessor#getProjection(Class)}
+     *
+     * @param data  The bytes to map
+     * @param clazz The object type to map to
+     * @param <V>   The object type to map to
+     *
+     * @return A new Object of the passed type with the values of data
+     *
+     * @since 2.2.0
+     */
+    public <V> @Nullable V parseProjected(byte @NotNull [] data, @NotNull Class<V> clazz) {
+        return this.processor.toObject(this.parse(data, this.processor.getProjection(clazz)), clazz);
+    }
+
     /**
      * Parses and maps this string into an Object
      * <p>
@@ -325,6 +436,249 @@ public class BJSL<T extends Parser> {
         return this.byteify(this.processor.toElement(object));
     }
 
+    /**
+     * Parses and maps many documents into Objects concurrently
+     * <p>
+     * Calls {@link #parse(byte[], Class)} on each document with {@link Batch#DEFAULT}
+     *
+     * @param data  The documents to map
+     * @param clazz The object type to map to
+     * @param <V>   The object type to map to
+     *
+     * @return The result of each document, in the same order as the documents
+     *
+     * @since 2.2.0
+     */
+    public <V> @NotNull List<Batch.Result<V>> parseAll(@NotNull List<byte @NotNull []> data, @NotNull Class<V> clazz) {
+        return this.parseAll(data, clazz, Batch.DEFAULT);
+    }
+
+    /**
+     * Parses and maps many documents into Objects concurrently
+     * <p>
+     * Calls {@link #parse(byte[], Class)} on each document with {@link Batch#map(List, java.util.function.Function)}
+     *
+     * @param data  The documents to map
+     * @param clazz The object type to map to
+     * @param batch The batch settings to use
+     * @param <V>   The object type to map to
+     *
+     * @return The result of each document, in the same order as the documents
+     *
+     * @since 2.2.0
+     */
+    public <V> @NotNull List<Batch.Result<V>> parseAll(@NotNull List<byte @NotNull []> data, @NotNull Class<V> clazz, @NotNull Batch batch) {
+        return batch.map(data, item -> this.parse(item, clazz));
+    }
+
+    /**
+     * Serializes many objects into Strings concurrently
+     * <p>
+     * Calls {@link #stringify(Object)} on each object with {@link Batch#DEFAULT}
+     *
+     * @param objects The objects to serialize
+     *
+     * @return The result of each object, in the same order as the objects
+     *
+     * @since 2.2.0
+     */
+    public @NotNull List<Batch.Result<String>> stringifyAll(@NotNull List<?> objects) {
+        return this.stringifyAll(objects, Batch.DEFAULT);
+    }
+
+    /**
+     * Serializes many objects into Strings concurrently
+     * <p>
+     * Calls {@link #stringify(Object)} on each object with {@link Batch#map(List, java.util.function.Function)}
+     *
+     * @param objects The objects to serialize
+     * @param batch   The batch settings to use
+     *
+     * @return The result of each object, in the same order as the objects
+     *
+     * @since 2.2.0
+     */
+    public @NotNull List<Batch.Result<String>> stringifyAll(@NotNull List<?> objects, @NotNull Batch batch) {
+        return batch.map(objects, object -> this.stringify(object));
+    }
+
+    /**
+     * Serializes many objects into bytes concurrently
+     * <p>
+     * Calls {@link #byteify(Object)} on each object with {@link Batch#DEFAULT}
+     *
+     * @param objects The objects to serialize
+     *
+     * @return The result of each object, in the same order as the objects
+     *
+     * @since 2.2.0
+     */
+    public @NotNull List<Batch.Result<byte[]>> byteifyAll(@NotNull List<?> objects) {
+        return this.byteifyAll(objects, Batch.DEFAULT);
+    }
+
+    /**
+     * Serializes many objects into bytes concurrently
+     * <p>
+     * Calls {@link #byteify(Object)} on each object with {@link Batch#map(List, java.util.function.Function)}
+     *
+     * @param objects The objects to serialize
+     * @param batch   The batch settings to use
+     *
+     * @return The result of each object, in the same order as the objects
+     *
+     * @since 2.2.0
+     */
+    public @NotNull List<Batch.Result<byte[]>> byteifyAll(@NotNull List<?> objects, @NotNull Batch batch) {
+        return batch.map(objects, object -> this.byteify(object));
+    }
+
+    /**
+     * Parses these bytes into a {@link ParsedElement} on {@link java.util.concurrent.ForkJoinPool#commonPool()}
+     *
+     * @param data The bytes to parse
+     *
+     * @return A future completed with the bytes passed parsed to a {@link ParsedElement}
+     *
+     * @since 2.2.0
+     */
+    public @NotNull CompletableFuture<ParsedElement> parseAsync(byte @NotNull [] data) {
+        return CompletableFuture.supplyAsync(() -> this.parse(data));
+    }
+
+    /**
+     * Parses these bytes into a {@link ParsedElement} on an executor
+     *
+     * @param data     The bytes to parse
+     * @param executor The executor to parse on
+     *
+     * @return A future completed with the bytes passed parsed to a {@link ParsedElement}
+     *
+     * @since 2.2.0
+     */
+    public @NotNull CompletableFuture<ParsedElement> parseAsync(byte @NotNull [] data, @NotNull Executor executor) {
+        return CompletableFuture.supplyAsync(() -> this.parse(data), executor);
+    }
+
+    /**
+     * Parses and maps these bytes into an Object on {@link java.util.concurrent.ForkJoinPool#commonPool()}
+     *
+     * @param data  The bytes to map
+     * @param clazz The object type to map to
+     * @param <V>   The object type to map to
+     *
+     * @return A future completed with a new Object of the passed type with the values of data
+     *
+     * @since 2.2.0
+     */
+    public <V> @NotNull CompletableFuture<V> parseAsync(byte @NotNull [] data, @NotNull Class<V> clazz) {
+        return CompletableFuture.supplyAsync(() -> this.parse(data, clazz));
+    }
+
+    /**
+     * Parses and maps these bytes into an Object on an executor
+     *
+     * @param data     The bytes to map
+     * @param clazz    The object type to map to
+     * @param executor The executor to parse on
+     * @param <V>      The object type to map to
+     *
+     * @return A future completed with a new Object of the passed type with the values of data
+     *
+     * @since 2.2.0
+     */
+    public <V> @NotNull CompletableFuture<V> parseAsync(byte @NotNull [] data, @NotNull Class<V> clazz, @NotNull Executor executor) {
+        return CompletableFuture.supplyAsync(() -> this.parse(data, clazz), executor);
+    }
+
+    /**
+     * Serializes this object into a String on {@link java.util.concurrent.ForkJoinPool#commonPool()}
+     *
+     * @param object The object to serialize
+     *
+     * @return A future completed with the object passed serialized to a String
+     *
+     * @since 2.2.0
+     */
+    public @NotNull CompletableFuture<String> stringifyAsync(@Nullable Object object) {
+        return CompletableFuture.supplyAsync(() -> this.stringify(object));
+    }
+
+    /**
+     * Serializes this object into a String on an executor
+     *
+     * @param object   The object to serialize
+     * @param executor The executor to serialize on
+     *
+     * @return A future completed with the object passed serialized to a String
+     *
+     * @since 2.2.0
+     */
+    public @NotNull CompletableFuture<String> stringifyAsync(@Nullable Object object, @NotNull Executor executor) {
+        return CompletableFuture.supplyAsync(() -> this.stringify(object), executor);
+    }
+
+    /**
+     * Serializes this object into bytes on {@link java.util.concurrent.ForkJoinPool#commonPool()}
+     *
+     * @param object The object to serialize
+     *
+     * @return A future completed with the object passed serialized to bytes
+     *
+     * @since 2.2.0
+     */
+    public @NotNull CompletableFuture<byte[]> byteifyAsync(@Nullable Object object) {
+        return CompletableFuture.supplyAsync(() -> this.byteify(object));
+    }
+
+    /**
+     * Serializes this object into bytes on an executor
+     *
+     * @param object   The object to serialize
+     * @param executor The executor to serialize on
+     *
+     * @return A future completed with the object passed serialized to bytes
+     *
+     * @since 2.2.0
+     */
+    public @NotNull CompletableFuture<byte[]> byteifyAsync(@Nullable Object object, @NotNull Executor executor) {
+        return CompletableFuture.supplyAsync(() -> this.byteify(object), executor);
+    }
+
+    /**
+     * Create a processor that parses chunks of bytes into {@link ParsedElement}s as they arrive
+     * <p>
+     * Calls {@link io.github.kale_ko.bjsl.parsers.Parser#toFlow(boolean, java.util.function.Function)}
+     *
+     * @param unwrapArrays If the values of top level arrays should be emitted one at a time instead of the whole arrays
+     *
+     * @return A new processor that emits every document as soon as it is complete
+     *
+     * @throws UnsupportedOperationException If the parser does not support non-blocking parsing
+     * @since 2.2.0
+     */
+    public Flow.@NotNull Processor<ByteBuffer, ParsedElement> parseFlow(boolean unwrapArrays) {
+        return this.parser.toFlow(unwrapArrays, element -> element);
+    }
+
+    /**
+     * Create a processor that parses and maps chunks of bytes into Objects as they arrive
+     * <p>
+     * Calls {@link ObjectProcessor#toObject(ParsedElement, Class)} on every element emitted by {@link io.github.kale_ko.bjsl.parsers.Parser#toFlow(boolean, java.util.function.Function)}, documents mapped to null are skipped
+     *
+     * @param clazz        The object type to map to
+     * @param unwrapArrays If the values of top level arrays should be emitted one at a time instead of the whole arrays
+     * @param <V>          The object type to map to
+     *
+     * @return A new processor that emits every document as soon as it is complete
+     *
+     * @throws UnsupportedOperationException If the parser does not support non-blocking parsing
+     * @since 2.2.0
+     */
+    public <V> Flow.@NotNull Processor<ByteBuffer, V> parseFlow(@NotNull Class<V> clazz, boolean unwrapArrays) {
+        return this.parser.toFlow(unwrapArrays, element -> this.processor.toObject(element, clazz));
+    }
+
     /**
      * Serializes an empty element into a string
      *
@@ -433,6 +787,22 @@ public class BJSL<T extends Parser> {
         return objectProcessor.toElement(object);
     }
 
+    /**
+     * Converts every top level document in a stream from one format into another
+     * <p>
+     * Calls {@link io.github.kale_ko.bjsl.parsers.Parser#transcode(Parser, InputStream, OutputStream)}, between two Jackson parsers tokens are copied straight across without building any trees
+     *
+     * @param from   The parser of the format to convert from
+     * @param to     The parser of the format to convert into
+     * @param input  The stream to read documents from
+     * @param output The stream to write the converted documents to
+     *
+     * @since 2.2.0
+     */
+    public static void transcode(@NotNull Parser from, @NotNull Parser to, @NotNull InputStream input, @NotNull OutputStream output) {
+        from.transcode(to, input, output);
+    }
+
     /**
      * Parse this string into a {@link ParsedElement}
      * <p>
@@ -693,6 +1063,39 @@ public class BJSL<T extends Parser> {
         return byteifyJson(objectProcessor.toElement(object), pretty);
     }
 
+    /**
+     * Parses and maps many JSON documents into Objects concurrently
+     * <p>
+     * Calls {@link #parseJson(byte[], Class)} on each document with {@link Batch#DEFAULT}
+     *
+     * @param data  The documents to map
+     * @param clazz The object type to map to
+     * @param <V>   The object type to map to
+     *
+     * @return The result of each document, in the same order as the documents
+     *
+     * @since 2.2.0
+     */
+    public static <V> @NotNull List<Batch.Result<V>> parseAllJson(@NotNull List<byte @NotNull []> data, @NotNull Class<V> clazz) {
+        return Batch.DEFAULT.map(data, item -> parseJson(item, clazz));
+    }
+
+    /**
+     * Serializes many objects into JSON Strings concurrently
+     * <p>
+     * Calls {@link #stringifyJson(Object, boolean)} on each object with {@link Batch#DEFAULT}
+     *
+     * @param objects The objects to serialize
+     * @param pretty  Weather to pretty print the data
+     *
+     * @return The result of each object, in the same order as the objects
+     *
+     * @since 2.2.0
+     */
+    public static @NotNull List<Batch.Result<String>> stringifyAllJson(@NotNull List<?> objects, boolean pretty) {
+        return Batch.DEFAULT.map(objects, object -> stringifyJson(object, pretty));
+    }
+
     /**
      * Serializes an empty element into a string
      *
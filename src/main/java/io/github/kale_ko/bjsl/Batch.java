@@ -0,0 +1,287 @@
+package io.github.kale_ko.bjsl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+/**
+ * Settings for processing batches of independent documents concurrently
+ * <p>
+ * A batch is processed by a fixed amount of workers that each take the next unprocessed item until none are left, so at most that many items are in flight at once and any per-thread state (such as Jackson's buffer recyclers) is reused across all the items a worker processes
+ * <p>
+ * Every item gets its own {@link Result}, an item failing with an exception or an error (such as a {@link StackOverflowError}) does not stop the rest of the batch
+ *
+ * @version 2.2.0
+ * @since 2.2.0
+ */
+public final class Batch {
+    /**
+     * The default batch settings, one virtual thread worker per processor
+     *
+     * @since 2.2.0
+     */
+    public static final @NotNull Batch DEFAULT = new Batch.Builder().build();
+
+    /**
+     * The executor workers are run on, null means a new virtual thread for each worker
+     *
+     * @since 2.2.0
+     */
+    private final @Nullable Executor executor;
+
+    /**
+     * The maximum amount of workers, and so of items in flight at once
+     *
+     * @since 2.2.0
+     */
+    private final int parallelism;
+
+    /**
+     * Create a new {@link Batch}
+     *
+     * @param executor    The executor workers are run on, null means a new virtual thread for each worker
+     * @param parallelism The maximum amount of workers, and so of items in flight at once
+     *
+     * @since 2.2.0
+     */
+    private Batch(@Nullable Executor executor, int parallelism) {
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Get the executor workers are run on
+     *
+     * @return The executor workers are run on, null means a new virtual thread for each worker
+     *
+     * @since 2.2.0
+     */
+    public @Nullable Executor getExecutor() {
+        return this.executor;
+    }
+
+    /**
+     * Get the maximum amount of workers
+     *
+     * @return The maximum amount of workers, and so of items in flight at once
+     *
+     * @since 2.2.0
+     */
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    /**
+     * Apply a function to every item of a batch concurrently
+     * <p>
+     * Blocks until every item has been processed, batches with a single item or settings with a single worker are processed on the calling thread
+     *
+     * @param items    The items to process
+     * @param function The function to apply to each item
+     * @param <I>      The type of the items
+     * @param <O>      The type of the results
+     *
+     * @return The result of each item, in the same order as the items
+     *
+     * @since 2.2.0
+     */
+    @SuppressWarnings("unchecked")
+    public <I, O> @NotNull @Unmodifiable List<Result<O>> map(@NotNull List<? extends I> items, @NotNull Function<? super I, ? extends O> function) {
+        Object[] inputs = items.toArray();
+        Result<O>[] results = (Result<O>[]) new Result<?>[inputs.length];
+
+        AtomicInteger next = new AtomicInteger(0);
+        Runnable worker = () -> {
+            int index;
+            while ((index = next.getAndIncrement()) < inputs.length) {
+                try {
+                    results[index] = new Result<>(function.apply((I) inputs[index]), null);
+                } catch (RuntimeException | Error e) {
+                    results[index] = new Result<>(null, e);
+                }
+            }
+        };
+
+        int workers = Math.min(this.parallelism, inputs.length);
+        if (workers <= 1) {
+            worker.run();
+        } else {
+            Executor executor = this.executor != null ? this.executor : command -> Thread.ofVirtual().name("BJSL Batch Worker").start(command);
+
+            List<CompletableFuture<Void>> futures = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                futures.add(CompletableFuture.runAsync(worker, executor));
+            }
+
+            try {
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * The result of processing a single item of a batch
+     *
+     * @param value The value the item was processed into, null if it failed
+     * @param error The exception or error the item failed with, always a {@link RuntimeException} or an {@link Error}, null if it succeeded
+     * @param <V>   The type of the value
+     *
+     * @version 2.2.0
+     * @since 2.2.0
+     */
+    public record Result<V>(@Nullable V value, @Nullable Throwable error) {
+        /**
+         * Check if the item was processed successfully
+         *
+         * @return If the item was processed successfully
+         *
+         * @since 2.2.0
+         */
+        public boolean isSuccess() {
+            return this.error == null;
+        }
+
+        /**
+         * Get the value the item was processed into
+         *
+         * @return The value the item was processed into
+         *
+         * @throws RuntimeException If the item failed with an exception, it is rethrown
+         * @throws Error            If the item failed with an error, it is rethrown
+         * @since 2.2.0
+         */
+        public @Nullable V get() {
+            if (this.error instanceof RuntimeException exception) {
+                throw exception;
+            } else if (this.error instanceof Error error) {
+                throw error;
+            }
+            return this.value;
+        }
+    }
+
+    /**
+     * A builder class for creating new {@link Batch}es
+     *
+     * @version 2.2.0
+     * @since 2.2.0
+     */
+    public static class Builder {
+        /**
+         * The executor workers are run on, null means a new virtual thread for each worker
+         * <p>
+         * Default is null
+         *
+         * @since 2.2.0
+         */
+        protected @Nullable Executor executor = null;
+
+        /**
+         * The maximum amount of workers, and so of items in flight at once
+         * <p>
+         * Default is the amount of available processors
+         *
+         * @since 2.2.0
+         */
+        protected int parallelism = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Create a new {@link Batch} builder
+         *
+         * @since 2.2.0
+         */
+        public Builder() {
+        }
+
+        /**
+         * Get the executor workers are run on
+         * <p>
+         * Default is null
+         *
+         * @return The executor workers are run on, null means a new virtual thread for each worker
+         *
+         * @since 2.2.0
+         */
+        public @Nullable Executor getExecutor() {
+            return this.executor;
+        }
+
+        /**
+         * Set the executor workers are run on
+         * <p>
+         * Default is null
+         *
+         * @param value The executor workers are run on, null means a new virtual thread for each worker
+         *
+         * @return Self for chaining
+         *
+         * @since 2.2.0
+         */
+        public @NotNull Builder setExecutor(@Nullable Executor value) {
+            this.executor = value;
+
+            return this;
+        }
+
+        /**
+         * Get the maximum amount of workers
+         * <p>
+         * Default is the amount of available processors
+         *
+         * @return The maximum amount of workers, and so of items in flight at once
+         *
+         * @since 2.2.0
+         */
+        public int getParallelism() {
+            return this.parallelism;
+        }
+
+        /**
+         * Set the maximum amount of workers
+         * <p>
+         * Default is the amount of available processors
+         *
+         * @param value The maximum amount of workers, and so of items in flight at once
+         *
+         * @return Self for chaining
+         *
+         * @throws IllegalArgumentException If the value is not positive
+         * @since 2.2.0
+         */
+        public @NotNull Builder setParallelism(int value) {
+            if (value <= 0) {
+                throw new IllegalArgumentException("Parallelism must be positive");
+            }
+
+            this.parallelism = value;
+
+            return this;
+        }
+
+        /**
+         * Uses the current settings to build a new {@link Batch}
+         *
+         * @return A new {@link Batch} instance
+         *
+         * @since 2.2.0
+         */
+        public @NotNull Batch build() {
+            return new Batch(this.executor, this.parallelism);
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package io.github.kale_ko.bjsl;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A bounded cache of parsed documents keyed by their content
+ * <p>
+ * Entries are keyed by the bytes of the document and the type it was mapped to, so identical payloads are only parsed once. Elements are cached frozen and mapped objects are returned as the same instance for every identical document, so they must be treated as immutable
+ * <p>
+ * The cache is split into segments that each have their own lock and evict their least recently used entries once they go over their share of the maximum weight, entries are weighed by the length of their document. Threads only ever contend when they hit the same segment
+ * <p>
+ * A cache should only be shared by {@link BJSL} instances that use the same parser and processor settings
+ *
+ * @version 2.2.0
+ * @since 2.2.0
+ */
+public final class ParseCache {
+    /**
+     * The segments entries are split into
+     *
+     * @since 2.2.0
+     */
+    private final @NotNull Segment @NotNull [] segments;
+
+    /**
+     * The maximum total weight of the entries in each segment
+     *
+     * @since 2.2.0
+     */
+    private final long segmentWeight;
+
+    /**
+     * The amount of lookups that found an entry
+     *
+     * @since 2.2.0
+     */
+    private final @NotNull LongAdder hits = new LongAdder();
+
+    /**
+     * The amount of lookups that had to parse the document
+     *
+     * @since 2.2.0
+     */
+    private final @NotNull LongAdder misses = new LongAdder();
+
+    /**
+     * The amount of entries that have been evicted
+     *
+     * @since 2.2.0
+     */
+    private final @NotNull LongAdder evictions = new LongAdder();
+
+    /**
+     * Create a new {@link ParseCache}
+     *
+     * @param maximumWeight The maximum total length of the cached documents
+     * @param segments      The amount of segments entries are split into
+     *
+     * @since 2.2.0
+     */
+    private ParseCache(long maximumWeight, int segments) {
+        this.segments = new Segment[segments];
+        for (int i = 0; i < segments; i++) {
+            this.segments[i] = new Segment();
+        }
+
+        this.segmentWeight = Math.max(maximumWeight / segments, 1);
+    }
+
+    /**
+     * Get the maximum total length of the cached documents
+     *
+     * @return The maximum total length of the cached documents
+     *
+     * @since 2.2.0
+     */
+    public long getMaximumWeight() {
+        return this.segmentWeight * this.segments.length;
+    }
+
+    /**
+     * Get the cached value of a document, or load and cache it if it is not cached
+     * <p>
+     * Two threads missing the same document at once may both load it, the first one to finish is cached and returned to both. Exceptions thrown while loading are rethrown and nothing is cached
+     *
+     * @param data   The document
+     * @param type   The type the document is loaded as, documents loaded as different types are cached separately
+     * @param loader The function to load the document with if it is not cached
+     * @param <V>    The type the document is loaded as
+     *
+     * @return The cached value of the document
+     *
+     * @since 2.2.0
+     */
+    @SuppressWarnings("unchecked")
+    public <V> @Nullable V get(byte @NotNull [] data, @NotNull Class<?> type, @NotNull Function<byte @NotNull [], ? extends V> loader) {
+        int hash = Arrays.hashCode(data) * 31 + type.hashCode();
+        Segment segment = this.segments[(hash ^ (hash >>> 16)) & (this.segments.length - 1)];
+        Key key = new Key(hash, data, type);
+
+        Entry entry;
+        synchronized (segment) {
+            entry = segment.entries.get(key);
+        }
+        if (entry != null) {
+            this.hits.increment();
+            return (V) entry.value();
+        }
+
+        this.misses.increment();
+        V value = loader.apply(data);
+        if (data.length > this.segmentWeight) {
+            return value;
+        }
+
+        Key copy = new Key(hash, Arrays.copyOf(data, data.length), type);
+        synchronized (segment) {
+            Entry existing = segment.entries.putIfAbsent(copy, new Entry(value, data.length));
+            if (existing != null) {
+                return (V) existing.value();
+            }
+
+            segment.weight += data.length;
+            Iterator<Entry> iterator = segment.entries.values().iterator();
+            while (segment.weight > this.segmentWeight && iterator.hasNext()) {
+                segment.weight -= iterator.next().weight();
+                iterator.remove();
+                this.evictions.increment();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Remove every entry from the cache
+     * <p>
+     * Statistics are not reset
+     *
+     * @since 2.2.0
+     */
+    public void clear() {
+        for (Segment segment : this.segments) {
+            synchronized (segment) {
+                segment.entries.clear();
+                segment.weight = 0;
+            }
+        }
+    }
+
+    /**
+     * Get a snapshot of the statistics of this cache
+     *
+     * @return A snapshot of the statistics of this cache
+     *
+     * @since 2.2.0
+     */
+    public @NotNull Stats getStats() {
+        int size = 0;
+        long weight = 0;
+        for (Segment segment : this.segments) {
+            synchronized (segment) {
+                size += segment.entries.size();
+                weight += segment.weight;
+            }
+        }
+
+        return new Stats(this.hits.sum(), this.misses.sum(), this.evictions.sum(), size, weight);
+    }
+
+    /**
+     * The key of a cached document
+     *
+     * @param hash The hash of the document and type
+     * @param data The document
+     * @param type The type the document was loaded as
+     *
+     * @version 2.2.0
+     * @since 2.2.0
+     */
+    private record Key(int hash, byte @NotNull [] data, @NotNull Class<?> type) {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            return obj instanceof Key other && this.hash == other.hash && this.type == other.type && Arrays.equals(this.data, other.data);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+
+    /**
+     * A cached value
+     *
+     * @param value  The cached value
+     * @param weight The length of the document the value was loaded from
+     *
+     * @version 2.2.0
+     * @since 2.2.0
+     */
+    private record Entry(@Nullable Object value, long weight) {
+    }
+
+    /**
+     * A part of the cache with its own lock and least recently used ordering
+     *
+     * @version 2.2.0
+     * @since 2.2.0
+     */
+    private static final class Segment {
+        /**
+         * The entries of this segment, least recently used first
+         *
+         * @since 2.2.0
+         */
+        private final @NotNull Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+        /**
+         * The total weight of the entries of this segment
+         *
+         * @since 2.2.0
+         */
+        private long weight = 0;
+    }
+
+    /**
+     * A snapshot of the statistics of a {@link ParseCache}
+     *
+     * @param hits      The amount of lookups that found an entry
+     * @param misses    The amount of lookups that had to parse the document
+     * @param evictions The amount of entries that have been evicted
+     * @param size      The amount of cached entries
+     * @param weight    The total length of the cached documents
+     *
+     * @version 2.2.0
+     * @since 2.2.0
+     */
+    public record Stats(long hits, long misses, long evictions, int size, long weight) {
+        /**
+         * Get the fraction of lookups that found an entry
+         *
+         * @return The fraction of lookups that found an entry, 1 if there have been no lookups
+         *
+         * @since 2.2.0
+         */
+        public double hitRate() {
+            long total = this.hits + this.misses;
+            return total == 0 ? 1 : (double) this.hits / total;
+        }
+    }
+
+    /**
+     * A builder class for creating new {@link ParseCache}s
+     *
+     * @version 2.2.0
+     * @since 2.2.0
+     */
+    public static class Builder {
+        /**
+         * The maximum total length of the cached documents
+         * <p>
+         * Default is 64 MiB
+         *
+         * @since 2.2.0
+         */
+        protected long maximumWeight = 64L * 1024 * 1024;
+
+        /**
+         * The amount of segments entries are split into, always a power of two
+         * <p>
+         * Default is the amount of available processors times four, rounded up to a power of two
+         *
+         * @since 2.2.0
+         */
+        protected int segments = Integer.highestOneBit(Math.max(Runtime.getRuntime().availableProcessors() * 4 - 1, 1)) << 1;
+
+        /**
+         * Create a new {@link ParseCache} builder
+         *
+         * @since 2.2.0
+         */
+        public Builder() {
+        }
+
+        /**
+         * Get the maximum total length of the cached documents
+         * <p>
+         * Default is 64 MiB
+         *
+         * @return The maximum total length of the cached documents
+         *
+         * @since 2.2.0
+         */
+        public long getMaximumWeight() {
+            return this.maximumWeight;
+        }
+
+        /**
+         * Set the maximum total length of the cached documents
+         * <p>
+         * Default is 64 MiB
+         *
+         * @param value The maximum total length of the cached documents
+         *
+         * @return Self for chaining
+         *
+         * @throws IllegalArgumentException If the value is not positive
+         * @since 2.2.0
+         */
+        public @NotNull Builder setMaximumWeight(long value) {
+            if (value <= 0) {
+                throw new IllegalArgumentException("Maximum weight must be positive");
+            }
+
+            this.maximumWeight = value;
+
+            return this;
+        }
+
+        /**
+         * Get the amount of segments entries are split into
+         * <p>
+         * Default is the amount of available processors times four, rounded up to a power of two
+         *
+         * @return The amount of segments entries are split into
+         *
+         * @since 2.2.0
+         */
+        public int getSegments() {
+            return this.segments;
+        }
+
+        /**
+         * Set the amount of segments entries are split into
+         * <p>
+         * Default is the amount of available processors times four, rounded up to a power of two
+         * <p>
+         * More segments mean less contention but each one can hold less, the value is rounded up to a power of two
+         *
+         * @param value The amount of segments entries are split into
+         *
+         * @return Self for chaining
+         *
+         * @throws IllegalArgumentException If the value is not between 1 and 65536
+         * @since 2.2.0
+         */
+        public @NotNull Builder setSegments(int value) {
+            if (value <= 0 || value > 1 << 16) {
+                throw new IllegalArgumentException("Segments must be between 1 and 65536");
+            }
+
+            this.segments = value == 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+
+            return this;
+        }
+
+        /**
+         * Uses the current settings to build a new {@link ParseCache}
+         *
+         * @return A new {@link ParseCache} instance
+         *
+         * @since 2.2.0
+         */
+        public @NotNull ParseCache build() {
+            return new ParseCache(this.maximumWeight, this.segments);
+        }
+    }
+}
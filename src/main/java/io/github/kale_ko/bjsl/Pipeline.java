@@ -0,0 +1,750 @@
+package io.github.kale_ko.bjsl;
+
+import io.github.kale_ko.bjsl.elements.ParsedElement;
+import io.github.kale_ko.bjsl.parsers.Parser;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Settings for converting many documents through a decode, transform and encode stage that run concurrently
+ * <p>
+ * Each stage has its own workers and passes batches of documents to the next stage through a bounded queue, so a stage that falls behind makes the ones before it wait instead of buffering without limit, and the throughput of a run is limited by its slowest stage instead of the sum of all of them
+ * <p>
+ * Batches that finish out of order are held until the ones before them are done, the amount of batches read from the input but not yet passed to the output is limited to what the queues and workers can hold so a slow batch can't make the others buffer without limit
+ * <p>
+ * Documents are always passed to the output in the order of the input
+ *
+ * @version 2.2.0
+ * @since 2.2.0
+ */
+public final class Pipeline {
+    /**
+     * The marker a stage sends to each worker of the next stage once it has finished
+     *
+     * @since 2.2.0
+     */
+    private static final @NotNull Segment END = new Segment(-1, List.of());
+
+    /**
+     * The amount of workers decoding documents
+     *
+     * @since 2.2.0
+     */
+    private final int decodeParallelism;
+
+    /**
+     * The amount of workers transforming elements
+     *
+     * @since 2.2.0
+     */
+    private final int transformParallelism;
+
+    /**
+     * The amount of workers encoding elements
+     *
+     * @since 2.2.0
+     */
+    private final int encodeParallelism;
+
+    /**
+     * The amount of documents in each batch passed between stages
+     *
+     * @since 2.2.0
+     */
+    private final int batchSize;
+
+    /**
+     * The amount of batches each queue between stages can hold
+     *
+     * @since 2.2.0
+     */
+    private final int queueCapacity;
+
+    /**
+     * The executor workers are run on, null means a new virtual thread for each worker
+     *
+     * @since 2.2.0
+     */
+    private final @Nullable Executor executor;
+
+    /**
+     * Create a new {@link Pipeline}
+     *
+     * @param decodeParallelism    The amount of workers decoding documents
+     * @param transformParallelism The amount of workers transforming elements
+     * @param encodeParallelism    The amount of workers encoding elements
+     * @param batchSize            The amount of documents in each batch passed between stages
+     * @param queueCapacity        The amount of batches each queue between stages can hold
+     * @param executor             The executor workers are run on, null means a new virtual thread for each worker
+     *
+     * @since 2.2.0
+     */
+    private Pipeline(int decodeParallelism, int transformParallelism, int encodeParallelism, int batchSize, int queueCapacity, @Nullable Executor executor) {
+        this.decodeParallelism = decodeParallelism;
+        this.transformParallelism = transformParallelism;
+        this.encodeParallelism = encodeParallelism;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.executor = executor;
+    }
+
+    /**
+     * Convert documents from the format of one {@link BJSL} to the format of another
+     * <p>
+     * Calls {@link #run(Iterator, Parser, Function, Parser, Consumer)} with the parsers of both
+     *
+     * @param input     The documents to convert
+     * @param from      The instance to decode the documents with
+     * @param transform The function to transform each element with, elements transformed to null are dropped
+     * @param to        The instance to encode the elements with
+     * @param output    The consumer the encoded documents are passed to, always on the calling thread
+     *
+     * @since 2.2.0
+     */
+    public void run(@NotNull Iterator<byte @NotNull []> input, @NotNull BJSL<?> from, @NotNull Function<ParsedElement, ParsedElement> transform, @NotNull BJSL<?> to, @NotNull Consumer<byte @NotNull []> output) {
+        this.run(input, from.getParser(), transform, to.getParser(), output);
+    }
+
+    /**
+     * Decode, transform and encode documents concurrently
+     * <p>
+     * Blocks until every document has been passed to the output. The first exception thrown by the input, any stage or the output stops every stage and is rethrown
+     *
+     * @param input     The documents to convert, only read by one worker at a time
+     * @param decoder   The parser to decode the documents with
+     * @param transform The function to transform each element with, elements transformed to null are dropped
+     * @param encoder   The parser to encode the elements with
+     * @param output    The consumer the encoded documents are passed to, always on the calling thread
+     *
+     * @since 2.2.0
+     */
+    public void run(@NotNull Iterator<byte @NotNull []> input, @NotNull Parser decoder, @NotNull Function<ParsedElement, ParsedElement> transform, @NotNull Parser encoder, @NotNull Consumer<byte @NotNull []> output) {
+        new Run(input, decoder, transform, encoder).run(output);
+    }
+
+    /**
+     * A batch of documents or elements passed between stages
+     *
+     * @param index The position of the batch in the input
+     * @param items The documents or elements
+     *
+     * @since 2.2.0
+     */
+    private record Segment(long index, @NotNull List<?> items) {
+    }
+
+    /**
+     * The body of a worker
+     *
+     * @since 2.2.0
+     */
+    @FunctionalInterface
+    private interface Task {
+        /**
+         * Run the worker
+         *
+         * @throws InterruptedException If the run has failed while the worker was waiting
+         * @since 2.2.0
+         */
+        void run() throws InterruptedException;
+    }
+
+    /**
+     * The state of a single run
+     *
+     * @since 2.2.0
+     */
+    private final class Run {
+        /**
+         * The documents to convert
+         *
+         * @since 2.2.0
+         */
+        private final @NotNull Iterator<byte[]> input;
+
+        /**
+         * The parser to decode the documents with
+         *
+         * @since 2.2.0
+         */
+        private final @NotNull Parser decoder;
+
+        /**
+         * The function to transform each element with
+         *
+         * @since 2.2.0
+         */
+        private final @NotNull Function<ParsedElement, ParsedElement> transform;
+
+        /**
+         * The parser to encode the elements with
+         *
+         * @since 2.2.0
+         */
+        private final @NotNull Parser encoder;
+
+        /**
+         * The index of the next batch read from the input, only accessed while holding the input
+         *
+         * @since 2.2.0
+         */
+        private long nextIndex = 0;
+
+        /**
+         * The queue from the decode stage to the transform stage
+         *
+         * @since 2.2.0
+         */
+        private final @NotNull BlockingQueue<Segment> decoded = new ArrayBlockingQueue<>(queueCapacity);
+
+        /**
+         * The queue from the transform stage to the encode stage
+         *
+         * @since 2.2.0
+         */
+        private final @NotNull BlockingQueue<Segment> transformed = new ArrayBlockingQueue<>(queueCapacity);
+
+        /**
+         * The queue from the encode stage to the calling thread
+         *
+         * @since 2.2.0
+         */
+        private final @NotNull BlockingQueue<Segment> encoded = new ArrayBlockingQueue<>(queueCapacity);
+
+        /**
+         * A permit for each batch that can be read from the input before being passed to the output, including the ones waiting for an earlier batch
+         *
+         * @since 2.2.0
+         */
+        private final @NotNull Semaphore window = new Semaphore(queueCapacity * 3 + decodeParallelism + transformParallelism + encodeParallelism);
+
+        /**
+         * The threads currently running a worker, so they can be interrupted if the run fails
+         *
+         * @since 2.2.0
+         */
+        private final @NotNull Set<Thread> running = ConcurrentHashMap.newKeySet();
+
+        /**
+         * The first exception thrown
+         *
+         * @since 2.2.0
+         */
+        private final @NotNull AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        /**
+         * Create a new {@link Run}
+         *
+         * @param input     The documents to convert
+         * @param decoder   The parser to decode the documents with
+         * @param transform The function to transform each element with
+         * @param encoder   The parser to encode the elements with
+         *
+         * @since 2.2.0
+         */
+        Run(@NotNull Iterator<byte[]> input, @NotNull Parser decoder, @NotNull Function<ParsedElement, ParsedElement> transform, @NotNull Parser encoder) {
+            this.input = input;
+            this.decoder = decoder;
+            this.transform = transform;
+            this.encoder = encoder;
+        }
+
+        /**
+         * Start every worker and pass the encoded documents to the output in order
+         *
+         * @param output The consumer the encoded documents are passed to
+         *
+         * @since 2.2.0
+         */
+        void run(@NotNull Consumer<byte[]> output) {
+            AtomicInteger decoding = new AtomicInteger(decodeParallelism);
+            for (int i = 0; i < decodeParallelism; i++) {
+                this.start(() -> {
+                    Segment segment;
+                    while ((segment = this.read()) != null) {
+                        this.decoded.put(this.apply(segment, item -> this.decoder.toElement((byte[]) item)));
+                    }
+                    this.finish(decoding, this.decoded, transformParallelism);
+                });
+            }
+
+            AtomicInteger transforming = new AtomicInteger(transformParallelism);
+            for (int i = 0; i < transformParallelism; i++) {
+                this.start(() -> {
+                    Segment segment;
+                    while ((segment = this.decoded.take()) != END) {
+                        this.transformed.put(this.apply(segment, item -> this.transform.apply((ParsedElement) item)));
+                    }
+                    this.finish(transforming, this.transformed, encodeParallelism);
+                });
+            }
+
+            AtomicInteger encoding = new AtomicInteger(encodeParallelism);
+            for (int i = 0; i < encodeParallelism; i++) {
+                this.start(() -> {
+                    Segment segment;
+                    while ((segment = this.transformed.take()) != END) {
+                        this.encoded.put(this.apply(segment, item -> this.encoder.toBytes((ParsedElement) item)));
+                    }
+                    this.finish(encoding, this.encoded, 1);
+                });
+            }
+
+            Map<Long, Segment> waiting = new HashMap<>();
+            long next = 0;
+            try {
+                while (true) {
+                    Segment segment = this.encoded.take();
+                    if (this.failure.get() != null || segment == END) {
+                        break;
+                    }
+
+                    waiting.put(segment.index(), segment);
+                    while ((segment = waiting.remove(next)) != null) {
+                        for (Object item : segment.items()) {
+                            output.accept((byte[]) item);
+                        }
+                        this.window.release();
+                        next++;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                this.fail(e);
+            } catch (Throwable e) {
+                this.fail(e);
+            }
+
+            Throwable failure = this.failure.get();
+            if (failure instanceof RuntimeException exception) {
+                throw exception;
+            } else if (failure instanceof Error error) {
+                throw error;
+            } else if (failure != null) {
+                throw new RuntimeException(failure);
+            }
+        }
+
+        /**
+         * Read the next batch of documents from the input, waiting while the window of batches not yet passed to the output is full
+         *
+         * @return The next batch, or null if the input has no more documents
+         *
+         * @throws InterruptedException If the run has failed while waiting for room in the window
+         * @since 2.2.0
+         */
+        private @Nullable Segment read() throws InterruptedException {
+            this.window.acquire();
+            synchronized (this.input) {
+                List<byte[]> items = new ArrayList<>(batchSize);
+                while (items.size() < batchSize && this.input.hasNext()) {
+                    items.add(this.input.next());
+                }
+                if (items.isEmpty()) {
+                    this.window.release();
+                    return null;
+                }
+                return new Segment(this.nextIndex++, items);
+            }
+        }
+
+        /**
+         * Apply a function to every item of a batch, dropping null results
+         *
+         * @param segment  The batch to apply the function to
+         * @param function The function to apply
+         *
+         * @return A new batch with the same index
+         *
+         * @since 2.2.0
+         */
+        private @NotNull Segment apply(@NotNull Segment segment, @NotNull Function<Object, Object> function) {
+            List<Object> results = new ArrayList<>(segment.items().size());
+            for (Object item : segment.items()) {
+                Object result = function.apply(item);
+                if (result != null) {
+                    results.add(result);
+                }
+            }
+            return new Segment(segment.index(), results);
+        }
+
+        /**
+         * Mark a worker of a stage as finished, the last one to finish sends an end marker to each worker of the next stage
+         *
+         * @param remaining The amount of workers of the stage that haven't finished
+         * @param queue     The queue to the next stage
+         * @param workers   The amount of workers of the next stage
+         *
+         * @throws InterruptedException If the run has failed while waiting for room in the queue
+         * @since 2.2.0
+         */
+        private void finish(@NotNull AtomicInteger remaining, @NotNull BlockingQueue<Segment> queue, int workers) throws InterruptedException {
+            if (remaining.decrementAndGet() == 0) {
+                for (int i = 0; i < workers; i++) {
+                    queue.put(END);
+                }
+            }
+        }
+
+        /**
+         * Start a worker
+         *
+         * @param task The body of the worker
+         *
+         * @since 2.2.0
+         */
+        private void start(@NotNull Task task) {
+            Runnable worker = () -> {
+                synchronized (this.running) {
+                    if (this.failure.get() != null) {
+                        return;
+                    }
+                    this.running.add(Thread.currentThread());
+                }
+
+                try {
+                    task.run();
+                } catch (Throwable e) {
+                    this.fail(e);
+                } finally {
+                    synchronized (this.running) {
+                        this.running.remove(Thread.currentThread());
+                        Thread.interrupted();
+                    }
+                }
+            };
+
+            if (executor != null) {
+                executor.execute(worker);
+            } else {
+                Thread.ofVirtual().name("BJSL Pipeline Worker").start(worker);
+            }
+        }
+
+        /**
+         * Record the first exception thrown and stop every worker
+         *
+         * @param e The exception that was thrown
+         *
+         * @since 2.2.0
+         */
+        private void fail(@NotNull Throwable e) {
+            if (!this.failure.compareAndSet(null, e)) {
+                return;
+            }
+
+            synchronized (this.running) {
+                for (Thread thread : this.running) {
+                    thread.interrupt();
+                }
+            }
+
+            this.encoded.clear();
+            this.encoded.offer(END);
+        }
+    }
+
+    /**
+     * A builder class for creating new {@link Pipeline}s
+     *
+     * @version 2.2.0
+     * @since 2.2.0
+     */
+    public static class Builder {
+        /**
+         * The amount of workers decoding documents
+         * <p>
+         * Default is the amount of available processors
+         *
+         * @since 2.2.0
+         */
+        protected int decodeParallelism = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * The amount of workers transforming elements
+         * <p>
+         * Default is the amount of available processors
+         *
+         * @since 2.2.0
+         */
+        protected int transformParallelism = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * The amount of workers encoding elements
+         * <p>
+         * Default is the amount of available processors
+         *
+         * @since 2.2.0
+         */
+        protected int encodeParallelism = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * The amount of documents in each batch passed between stages
+         * <p>
+         * Default is 64
+         *
+         * @since 2.2.0
+         */
+        protected int batchSize = 64;
+
+        /**
+         * The amount of batches each queue between stages can hold
+         * <p>
+         * Default is 16
+         *
+         * @since 2.2.0
+         */
+        protected int queueCapacity = 16;
+
+        /**
+         * The executor workers are run on, null means a new virtual thread for each worker
+         * <p>
+         * Default is null
+         *
+         * @since 2.2.0
+         */
+        protected @Nullable Executor executor = null;
+
+        /**
+         * Create a new {@link Pipeline} builder
+         *
+         * @since 2.2.0
+         */
+        public Builder() {
+        }
+
+        /**
+         * Get the amount of workers decoding documents
+         * <p>
+         * Default is the amount of available processors
+         *
+         * @return The amount of workers decoding documents
+         *
+         * @since 2.2.0
+         */
+        public int getDecodeParallelism() {
+            return this.decodeParallelism;
+        }
+
+        /**
+         * Set the amount of workers decoding documents
+         * <p>
+         * Default is the amount of available processors
+         *
+         * @param value The amount of workers decoding documents
+         *
+         * @return Self for chaining
+         *
+         * @throws IllegalArgumentException If the value is not positive
+         * @since 2.2.0
+         */
+        public @NotNull Builder setDecodeParallelism(int value) {
+            if (value <= 0) {
+                throw new IllegalArgumentException("Parallelism must be positive");
+            }
+
+            this.decodeParallelism = value;
+
+            return this;
+        }
+
+        /**
+         * Get the amount of workers transforming elements
+         * <p>
+         * Default is the amount of available processors
+         *
+         * @return The amount of workers transforming elements
+         *
+         * @since 2.2.0
+         */
+        public int getTransformParallelism() {
+            return this.transformParallelism;
+        }
+
+        /**
+         * Set the amount of workers transforming elements
+         * <p>
+         * Default is the amount of available processors
+         *
+         * @param value The amount of workers transforming elements
+         *
+         * @return Self for chaining
+         *
+         * @throws IllegalArgumentException If the value is not positive
+         * @since 2.2.0
+         */
+        public @NotNull Builder setTransformParallelism(int value) {
+            if (value <= 0) {
+                throw new IllegalArgumentException("Parallelism must be positive");
+            }
+
+            this.transformParallelism = value;
+
+            return this;
+        }
+
+        /**
+         * Get the amount of workers encoding elements
+         * <p>
+         * Default is the amount of available processors
+         *
+         * @return The amount of workers encoding elements
+         *
+         * @since 2.2.0
+         */
+        public int getEncodeParallelism() {
+            return this.encodeParallelism;
+        }
+
+        /**
+         * Set the amount of workers encoding elements
+         * <p>
+         * Default is the amount of available processors
+         *
+         * @param value The amount of workers encoding elements
+         *
+         * @return Self for chaining
+         *
+         * @throws IllegalArgumentException If the value is not positive
+         * @since 2.2.0
+         */
+        public @NotNull Builder setEncodeParallelism(int value) {
+            if (value <= 0) {
+                throw new IllegalArgumentException("Parallelism must be positive");
+            }
+
+            this.encodeParallelism = value;
+
+            return this;
+        }
+
+        /**
+         * Get the amount of documents in each batch passed between stages
+         * <p>
+         * Default is 64
+         *
+         * @return The amount of documents in each batch passed between stages
+         *
+         * @since 2.2.0
+         */
+        public int getBatchSize() {
+            return this.batchSize;
+        }
+
+        /**
+         * Set the amount of documents in each batch passed between stages
+         * <p>
+         * Default is 64
+         *
+         * @param value The amount of documents in each batch passed between stages
+         *
+         * @return Self for chaining
+         *
+         * @throws IllegalArgumentException If the value is not positive
+         * @since 2.2.0
+         */
+        public @NotNull Builder setBatchSize(int value) {
+            if (value <= 0) {
+                throw new IllegalArgumentException("Batch size must be positive");
+            }
+
+            this.batchSize = value;
+
+            return this;
+        }
+
+        /**
+         * Get the amount of batches each queue between stages can hold
+         * <p>
+         * Default is 16
+         *
+         * @return The amount of batches each queue between stages can hold
+         *
+         * @since 2.2.0
+         */
+        public int getQueueCapacity() {
+            return this.queueCapacity;
+        }
+
+        /**
+         * Set the amount of batches each queue between stages can hold
+         * <p>
+         * Default is 16
+         *
+         * @param value The amount of batches each queue between stages can hold
+         *
+         * @return Self for chaining
+         *
+         * @throws IllegalArgumentException If the value is not positive
+         * @since 2.2.0
+         */
+        public @NotNull Builder setQueueCapacity(int value) {
+            if (value <= 0) {
+                throw new IllegalArgumentException("Queue capacity must be positive");
+            }
+
+            this.queueCapacity = value;
+
+            return this;
+        }
+
+        /**
+         * Get the executor workers are run on
+         * <p>
+         * Default is null
+         *
+         * @return The executor workers are run on, null means a new virtual thread for each worker
+         *
+         * @since 2.2.0
+         */
+        public @Nullable Executor getExecutor() {
+            return this.executor;
+        }
+
+        /**
+         * Set the executor workers are run on
+         * <p>
+         * Every worker blocks while waiting for its queues, so the executor needs at least as many threads as the total parallelism of all stages
+         * <p>
+         * Default is null
+         *
+         * @param value The executor workers are run on, null means a new virtual thread for each worker
+         *
+         * @return Self for chaining
+         *
+         * @since 2.2.0
+         */
+        public @NotNull Builder setExecutor(@Nullable Executor value) {
+            this.executor = value;
+
+            return this;
+        }
+
+        /**
+         * Uses the current settings to build a new {@link Pipeline}
+         *
+         * @return A new {@link Pipeline} instance
+         *
+         * @since 2.2.0
+         */
+        public @NotNull Pipeline build() {
+            return new Pipeline(this.decodeParallelism, this.transformParallelism, this.encodeParallelism, this.batchSize, this.queueCapacity, this.executor);
+        }
+    }
+}
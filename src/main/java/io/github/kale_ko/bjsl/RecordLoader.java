@@ -0,0 +1,957 @@
+package io.github.kale_ko.bjsl;
+
+import io.github.kale_ko.bjsl.elements.ParsedElement;
+import io.github.kale_ko.bjsl.parsers.JsonParser;
+import io.github.kale_ko.bjsl.parsers.exception.ParserException;
+import io.github.kale_ko.bjsl.processor.ObjectProcessor;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A loader for large files of many records that parses and maps them concurrently
+ * <p>
+ * The input is cut into chunks of about {@link Builder#getChunkSize()} bytes at record boundaries found by a structural pre-scan, newline delimited input is only scanned for the first newline after each chunk and arrays are scanned for the commas between their values while skipping over strings. Chunks are parsed and mapped on the executor while the returned stream is consumed, with at most {@link Builder#getParallelism()} chunks in flight at once
+ * <p>
+ * Files are read through memory mappings, so only the chunks in flight are ever copied onto the heap
+ *
+ * @version 2.2.0
+ * @since 2.2.0
+ */
+public final class RecordLoader {
+    /**
+     * The size of the mappings used while scanning files
+     *
+     * @since 2.2.0
+     */
+    private static final int SCAN_WINDOW = 1 << 30;
+
+    /**
+     * The parser records are parsed with
+     *
+     * @since 2.2.0
+     */
+    private final @NotNull JsonParser parser;
+
+    /**
+     * The processor records are mapped with
+     *
+     * @since 2.2.0
+     */
+    private final @NotNull ObjectProcessor processor;
+
+    /**
+     * The format of the input
+     *
+     * @since 2.2.0
+     */
+    private final @NotNull Format format;
+
+    /**
+     * The minimum size of a chunk in bytes
+     *
+     * @since 2.2.0
+     */
+    private final int chunkSize;
+
+    /**
+     * The maximum amount of chunks in flight at once
+     *
+     * @since 2.2.0
+     */
+    private final int parallelism;
+
+    /**
+     * The executor chunks are parsed on
+     *
+     * @since 2.2.0
+     */
+    private final @NotNull Executor executor;
+
+    /**
+     * If records are returned in the order of the input instead of the order their chunks finish in
+     *
+     * @since 2.2.0
+     */
+    private final boolean ordered;
+
+    /**
+     * Create a new {@link RecordLoader}
+     *
+     * @param parser      The parser records are parsed with
+     * @param processor   The processor records are mapped with
+     * @param format      The format of the input
+     * @param chunkSize   The minimum size of a chunk in bytes
+     * @param parallelism The maximum amount of chunks in flight at once
+     * @param executor    The executor chunks are parsed on
+     * @param ordered     If records are returned in the order of the input instead of the order their chunks finish in
+     *
+     * @since 2.2.0
+     */
+    private RecordLoader(@NotNull JsonParser parser, @NotNull ObjectProcessor processor, @NotNull Format format, int chunkSize, int parallelism, @NotNull Executor executor, boolean ordered) {
+        this.parser = parser;
+        this.processor = processor;
+        this.format = format;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.executor = executor;
+        this.ordered = ordered;
+    }
+
+    /**
+     * Load every record of a file into a {@link ParsedElement}
+     *
+     * @param file The file to load
+     *
+     * @return A stream of the records, it must be closed to release the file
+     *
+     * @throws UncheckedIOException If the file can not be opened
+     * @throws ParserException      If a record is not valid, thrown while consuming the stream
+     * @since 2.2.0
+     */
+    public @NotNull Stream<ParsedElement> load(@NotNull Path file) {
+        return this.stream(Source.open(file), element -> element);
+    }
+
+    /**
+     * Load and map every record of a file into an Object
+     *
+     * @param file  The file to load
+     * @param clazz The object type to map to
+     * @param <V>   The object type to map to
+     *
+     * @return A stream of the records, it must be closed to release the file
+     *
+     * @throws UncheckedIOException If the file can not be opened
+     * @throws ParserException      If a record is not valid, thrown while consuming the stream
+     * @since 2.2.0
+     */
+    public <V> @NotNull Stream<V> load(@NotNull Path file, @NotNull Class<V> clazz) {
+        return this.stream(Source.open(file), element -> this.processor.toObject(element, clazz));
+    }
+
+    /**
+     * Load every record of some bytes into a {@link ParsedElement}
+     *
+     * @param data The bytes to load
+     *
+     * @return A stream of the records
+     *
+     * @throws ParserException If a record is not valid, thrown while consuming the stream
+     * @since 2.2.0
+     */
+    public @NotNull Stream<ParsedElement> load(byte @NotNull [] data) {
+        return this.stream(new Source(null, data, data.length), element -> element);
+    }
+
+    /**
+     * Load and map every record of some bytes into an Object
+     *
+     * @param data  The bytes to load
+     * @param clazz The object type to map to
+     * @param <V>   The object type to map to
+     *
+     * @return A stream of the records
+     *
+     * @throws ParserException If a record is not valid, thrown while consuming the stream
+     * @since 2.2.0
+     */
+    public <V> @NotNull Stream<V> load(byte @NotNull [] data, @NotNull Class<V> clazz) {
+        return this.stream(new Source(null, data, data.length), element -> this.processor.toObject(element, clazz));
+    }
+
+    /**
+     * Create a stream over the records of a source
+     *
+     * @param source The source to load
+     * @param mapper The function every record is converted with
+     * @param <V>    The type of the records
+     *
+     * @return A stream of the records
+     *
+     * @since 2.2.0
+     */
+    private <V> @NotNull Stream<V> stream(@NotNull Source source, @NotNull Function<ParsedElement, V> mapper) {
+        Chunks<V> chunks = new Chunks<>(source, mapper);
+        return StreamSupport.stream(chunks, false).onClose(chunks::close);
+    }
+
+    /**
+     * The format of the input of a {@link RecordLoader}
+     *
+     * @version 2.2.0
+     * @since 2.2.0
+     */
+    public enum Format {
+        /**
+         * Newline delimited JSON, one record per line
+         *
+         * @since 2.2.0
+         */
+        LINES,
+
+        /**
+         * A single top level JSON array, one record per value
+         *
+         * @since 2.2.0
+         */
+        ARRAY
+    }
+
+    /**
+     * A range of the input that contains only whole records
+     *
+     * @param start  The offset of the first byte
+     * @param length The amount of bytes
+     *
+     * @since 2.2.0
+     */
+    private record Chunk(long start, int length) {
+    }
+
+    /**
+     * Bytes to load, either a file or an array
+     *
+     * @since 2.2.0
+     */
+    private static final class Source {
+        /**
+         * The channel of the file, null for arrays
+         *
+         * @since 2.2.0
+         */
+        private final @Nullable FileChannel channel;
+
+        /**
+         * The bytes, null for files
+         *
+         * @since 2.2.0
+         */
+        private final byte @Nullable [] data;
+
+        /**
+         * The amount of bytes
+         *
+         * @since 2.2.0
+         */
+        private final long size;
+
+        /**
+         * The mapping currently being scanned
+         *
+         * @since 2.2.0
+         */
+        private @Nullable ByteBuffer window;
+
+        /**
+         * The offset of the mapping currently being scanned
+         *
+         * @since 2.2.0
+         */
+        private long windowStart;
+
+        /**
+         * Create a new {@link Source}
+         *
+         * @param channel The channel of the file, null for arrays
+         * @param data    The bytes, null for files
+         * @param size    The amount of bytes
+         *
+         * @since 2.2.0
+         */
+        private Source(@Nullable FileChannel channel, byte @Nullable [] data, long size) {
+            this.channel = channel;
+            this.data = data;
+            this.size = size;
+        }
+
+        /**
+         * Open a file
+         *
+         * @param file The file to open
+         *
+         * @return A new {@link Source}
+         *
+         * @since 2.2.0
+         */
+        private static @NotNull Source open(@NotNull Path file) {
+            try {
+                FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+                return new Source(channel, null, channel.size());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Get a single byte while scanning, only called by the consuming thread
+         *
+         * @param index The offset of the byte
+         *
+         * @return The byte
+         *
+         * @throws IOException If the file can not be mapped
+         * @since 2.2.0
+         */
+        private byte get(long index) throws IOException {
+            if (this.data != null) {
+                return this.data[(int) index];
+            }
+
+            if (this.window == null || index < this.windowStart || index >= this.windowStart + this.window.limit()) {
+                this.windowStart = index;
+                this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, index, Math.min(SCAN_WINDOW, this.size - index));
+            }
+            return this.window.get((int) (index - this.windowStart));
+        }
+
+        /**
+         * Copy a chunk onto the heap, called concurrently by the workers
+         *
+         * @param chunk The chunk to copy
+         * @param wrap  If the chunk should be wrapped in brackets
+         *
+         * @return The bytes of the chunk
+         *
+         * @throws IOException If the file can not be mapped
+         * @since 2.2.0
+         */
+        private byte @NotNull [] read(@NotNull Chunk chunk, boolean wrap) throws IOException {
+            int offset = wrap ? 1 : 0;
+            byte[] bytes = new byte[chunk.length() + offset * 2];
+
+            if (this.data != null) {
+                System.arraycopy(this.data, (int) chunk.start(), bytes, offset, chunk.length());
+            } else {
+                this.channel.map(FileChannel.MapMode.READ_ONLY, chunk.start(), chunk.length()).get(bytes, offset, chunk.length());
+            }
+
+            if (wrap) {
+                bytes[0] = '[';
+                bytes[bytes.length - 1] = ']';
+            }
+            return bytes;
+        }
+
+        /**
+         * Close the file
+         *
+         * @since 2.2.0
+         */
+        private void close() {
+            this.window = null;
+            if (this.channel != null) {
+                try {
+                    this.channel.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * The spliterator behind a stream of records, scanning for the next chunk whenever there is room for another one in flight
+     *
+     * @param <V> The type of the records
+     *
+     * @since 2.2.0
+     */
+    private final class Chunks<V> extends Spliterators.AbstractSpliterator<V> {
+        /**
+         * The source being loaded
+         *
+         * @since 2.2.0
+         */
+        private final @NotNull Source source;
+
+        /**
+         * The function every record is converted with
+         *
+         * @since 2.2.0
+         */
+        private final @NotNull Function<ParsedElement, V> mapper;
+
+        /**
+         * The chunks in flight, in input order
+         *
+         * @since 2.2.0
+         */
+        private final @NotNull ArrayDeque<CompletableFuture<List<V>>> pending = new ArrayDeque<>();
+
+        /**
+         * The chunks that have finished, in the order they finished in, only used if the records are not ordered
+         *
+         * @since 2.2.0
+         */
+        private final @NotNull BlockingQueue<CompletableFuture<List<V>>> finished = new LinkedBlockingQueue<>();
+
+        /**
+         * The records of the current chunk
+         *
+         * @since 2.2.0
+         */
+        private @NotNull Iterator<V> current = Collections.emptyIterator();
+
+        /**
+         * The offset scanning continues from
+         *
+         * @since 2.2.0
+         */
+        private long position = 0;
+
+        /**
+         * If the end of the input has been reached
+         *
+         * @since 2.2.0
+         */
+        private boolean exhausted = false;
+
+        /**
+         * The index of the array value scanning is in
+         *
+         * @since 2.2.0
+         */
+        private long value = 0;
+
+        /**
+         * Create a new {@link Chunks}
+         *
+         * @param source The source being loaded
+         * @param mapper The function every record is converted with
+         *
+         * @since 2.2.0
+         */
+        Chunks(@NotNull Source source, @NotNull Function<ParsedElement, V> mapper) {
+            super(Long.MAX_VALUE, ordered ? Spliterator.ORDERED : 0);
+
+            this.source = source;
+            this.mapper = mapper;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean tryAdvance(@NotNull Consumer<? super V> action) {
+            while (!this.current.hasNext()) {
+                while (this.pending.size() < parallelism && !this.exhausted) {
+                    Chunk chunk = this.scan();
+                    if (chunk != null) {
+                        CompletableFuture<List<V>> future = CompletableFuture.supplyAsync(() -> this.parse(chunk), executor);
+                        if (!ordered) {
+                            future.whenComplete((value, error) -> this.finished.add(future));
+                        }
+                        this.pending.add(future);
+                    }
+                }
+
+                if (this.pending.isEmpty()) {
+                    return false;
+                }
+
+                CompletableFuture<List<V>> future;
+                if (ordered) {
+                    future = this.pending.poll();
+                } else {
+                    try {
+                        future = this.finished.take();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new ParserException(e);
+                    }
+                    this.pending.remove(future);
+                }
+
+                try {
+                    this.current = future.join().iterator();
+                } catch (CompletionException e) {
+                    if (e.getCause() instanceof RuntimeException cause) {
+                        throw cause;
+                    } else if (e.getCause() instanceof Error cause) {
+                        throw cause;
+                    }
+                    throw e;
+                }
+            }
+
+            action.accept(this.current.next());
+            return true;
+        }
+
+        /**
+         * Parse and map the records of a chunk
+         *
+         * @param chunk The chunk to parse
+         *
+         * @return The records of the chunk, in order
+         *
+         * @since 2.2.0
+         */
+        private @NotNull List<V> parse(@NotNull Chunk chunk) {
+            List<ParsedElement> elements;
+            try {
+                if (format == Format.ARRAY) {
+                    elements = List.copyOf(parser.toElement(this.source.read(chunk, true)).asArray().getValues());
+                } else {
+                    byte[] bytes = this.source.read(chunk, false);
+                    elements = parser.toElements(bytes, 0, bytes.length);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            return elements.stream().map(this.mapper).toList();
+        }
+
+        /**
+         * Scan for the next chunk
+         *
+         * @return The next chunk, or null if the input has no more records
+         *
+         * @since 2.2.0
+         */
+        private @Nullable Chunk scan() {
+            try {
+                return format == Format.ARRAY ? this.scanArray() : this.scanLines();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Scan for the next chunk of newline delimited input, only the bytes after the minimum chunk size are scanned
+         *
+         * @return The next chunk, or null if the input has no more records
+         *
+         * @throws IOException If the file can not be mapped
+         * @since 2.2.0
+         */
+        private @Nullable Chunk scanLines() throws IOException {
+            long start = this.position;
+            if (start >= this.source.size) {
+                this.exhausted = true;
+                return null;
+            }
+
+            long end = Math.min(start + chunkSize, this.source.size);
+            while (end < this.source.size && this.source.get(end) != '\n' && end - start < Integer.MAX_VALUE - 2) {
+                end++;
+            }
+
+            this.position = end + 1;
+            this.exhausted = this.position >= this.source.size;
+            return new Chunk(start, (int) (end - start));
+        }
+
+        /**
+         * Scan for the next chunk of an array, skipping over strings and nested values to find the commas between its values
+         *
+         * @return The next chunk, or null if the array has no more values
+         *
+         * @throws IOException If the file can not be mapped
+         * @since 2.2.0
+         */
+        private @Nullable Chunk scanArray() throws IOException {
+            long index = this.position;
+            if (index == 0) {
+                while (index < this.source.size && Character.isWhitespace(this.source.get(index))) {
+                    index++;
+                }
+                if (index >= this.source.size) {
+                    throw new ParserException(new EOFException("Unexpected end of input at byte " + index + ", expected a top level array"), "");
+                }
+                if (this.source.get(index) != '[') {
+                    throw new ParserException(new IOException("Expected a top level array but found '" + (char) this.source.get(index) + "' at byte " + index), "");
+                }
+                index++;
+            }
+
+            long start = index;
+            int depth = 0;
+            boolean inString = false;
+            for (; index < this.source.size; index++) {
+                byte value = this.source.get(index);
+                if (inString) {
+                    if (value == '\\') {
+                        index++;
+                    } else if (value == '"') {
+                        inString = false;
+                    }
+                    continue;
+                }
+
+                switch (value) {
+                    case '"' -> inString = true;
+                    case '{', '[' -> depth++;
+                    case '}' -> depth--;
+                    case ']' -> {
+                        if (depth-- == 0) {
+                            this.exhausted = true;
+                            return index > start ? new Chunk(start, (int) (index - start)) : null;
+                        }
+                    }
+                    case ',' -> {
+                        if (depth == 0) {
+                            this.value++;
+                        }
+                        if (depth == 0 && (index - start >= chunkSize || index - start >= Integer.MAX_VALUE - 2)) {
+                            this.position = index + 1;
+                            return new Chunk(start, (int) (index - start));
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+
+            throw new ParserException(new EOFException("Unexpected end of input at byte " + index + ", the top level array is not closed"), "/" + this.value);
+        }
+
+        /**
+         * Cancel the chunks in flight and close the source
+         *
+         * @since 2.2.0
+         */
+        private void close() {
+            this.exhausted = true;
+            for (CompletableFuture<List<V>> future : this.pending) {
+                future.cancel(false);
+            }
+            this.pending.clear();
+            this.source.close();
+        }
+    }
+
+    /**
+     * A builder class for creating new {@link RecordLoader}s
+     *
+     * @version 2.2.0
+     * @since 2.2.0
+     */
+    public static class Builder {
+        /**
+         * The parser records are parsed with
+         * <p>
+         * Default is a default {@link JsonParser}
+         *
+         * @since 2.2.0
+         */
+        protected @NotNull JsonParser parser = new JsonParser.Builder().build();
+
+        /**
+         * The processor records are mapped with
+         * <p>
+         * Default is a default {@link ObjectProcessor}
+         *
+         * @since 2.2.0
+         */
+        protected @NotNull ObjectProcessor processor = new ObjectProcessor.Builder().build();
+
+        /**
+         * The format of the input
+         * <p>
+         * Default is {@link Format#LINES}
+         *
+         * @since 2.2.0
+         */
+        protected @NotNull Format format = Format.LINES;
+
+        /**
+         * The minimum size of a chunk in bytes, chunks end at the first record boundary after it
+         * <p>
+         * Default is 1 MiB
+         *
+         * @since 2.2.0
+         */
+        protected int chunkSize = 1 << 20;
+
+        /**
+         * The maximum amount of chunks in flight at once
+         * <p>
+         * Default is the amount of available processors
+         *
+         * @since 2.2.0
+         */
+        protected int parallelism = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * The executor chunks are parsed on, null means {@link ForkJoinPool#commonPool()}
+         * <p>
+         * Default is null
+         *
+         * @since 2.2.0
+         */
+        protected @Nullable Executor executor = null;
+
+        /**
+         * If records are returned in the order of the input instead of the order their chunks finish in
+         * <p>
+         * Default is true
+         *
+         * @since 2.2.0
+         */
+        protected boolean ordered = true;
+
+        /**
+         * Create a new {@link RecordLoader} builder
+         *
+         * @since 2.2.0
+         */
+        public Builder() {
+        }
+
+        /**
+         * Get the parser records are parsed with
+         * <p>
+         * Default is a default {@link JsonParser}
+         *
+         * @return The parser records are parsed with
+         *
+         * @since 2.2.0
+         */
+        public @NotNull JsonParser getParser() {
+            return this.parser;
+        }
+
+        /**
+         * Set the parser records are parsed with
+         * <p>
+         * Default is a default {@link JsonParser}
+         *
+         * @param value The parser records are parsed with
+         *
+         * @return Self for chaining
+         *
+         * @since 2.2.0
+         */
+        public @NotNull Builder setParser(@NotNull JsonParser value) {
+            this.parser = value;
+
+            return this;
+        }
+
+        /**
+         * Get the processor records are mapped with
+         * <p>
+         * Default is a default {@link ObjectProcessor}
+         *
+         * @return The processor records are mapped with
+         *
+         * @since 2.2.0
+         */
+        public @NotNull ObjectProcessor getProcessor() {
+            return this.processor;
+        }
+
+        /**
+         * Set the processor records are mapped with
+         * <p>
+         * Default is a default {@link ObjectProcessor}
+         *
+         * @param value The processor records are mapped with
+         *
+         * @return Self for chaining
+         *
+         * @since 2.2.0
+         */
+        public @NotNull Builder setProcessor(@NotNull ObjectProcessor value) {
+            this.processor = value;
+
+            return this;
+        }
+
+        /**
+         * Get the format of the input
+         * <p>
+         * Default is {@link Format#LINES}
+         *
+         * @return The format of the input
+         *
+         * @since 2.2.0
+         */
+        public @NotNull Format getFormat() {
+            return this.format;
+        }
+
+        /**
+         * Set the format of the input
+         * <p>
+         * Default is {@link Format#LINES}
+         *
+         * @param value The format of the input
+         *
+         * @return Self for chaining
+         *
+         * @since 2.2.0
+         */
+        public @NotNull Builder setFormat(@NotNull Format value) {
+            this.format = value;
+
+            return this;
+        }
+
+        /**
+         * Get the minimum size of a chunk in bytes
+         * <p>
+         * Default is 1 MiB
+         *
+         * @return The minimum size of a chunk in bytes, chunks end at the first record boundary after it
+         *
+         * @since 2.2.0
+         */
+        public int getChunkSize() {
+            return this.chunkSize;
+        }
+
+        /**
+         * Set the minimum size of a chunk in bytes
+         * <p>
+         * Default is 1 MiB
+         *
+         * @param value The minimum size of a chunk in bytes, chunks end at the first record boundary after it
+         *
+         * @return Self for chaining
+         *
+         * @throws IllegalArgumentException If the value is not positive
+         * @since 2.2.0
+         */
+        public @NotNull Builder setChunkSize(int value) {
+            if (value <= 0) {
+                throw new IllegalArgumentException("Chunk size must be positive");
+            }
+
+            this.chunkSize = value;
+
+            return this;
+        }
+
+        /**
+         * Get the maximum amount of chunks in flight at once
+         * <p>
+         * Default is the amount of available processors
+         *
+         * @return The maximum amount of chunks in flight at once
+         *
+         * @since 2.2.0
+         */
+        public int getParallelism() {
+            return this.parallelism;
+        }
+
+        /**
+         * Set the maximum amount of chunks in flight at once
+         * <p>
+         * Default is the amount of available processors
+         *
+         * @param value The maximum amount of chunks in flight at once
+         *
+         * @return Self for chaining
+         *
+         * @throws IllegalArgumentException If the value is not positive
+         * @since 2.2.0
+         */
+        public @NotNull Builder setParallelism(int value) {
+            if (value <= 0) {
+                throw new IllegalArgumentException("Parallelism must be positive");
+            }
+
+            this.parallelism = value;
+
+            return this;
+        }
+
+        /**
+         * Get the executor chunks are parsed on
+         * <p>
+         * Default is null
+         *
+         * @return The executor chunks are parsed on, null means {@link ForkJoinPool#commonPool()}
+         *
+         * @since 2.2.0
+         */
+        public @Nullable Executor getExecutor() {
+            return this.executor;
+        }
+
+        /**
+         * Set the executor chunks are parsed on
+         * <p>
+         * Default is null
+         *
+         * @param value The executor chunks are parsed on, null means {@link ForkJoinPool#commonPool()}
+         *
+         * @return Self for chaining
+         *
+         * @since 2.2.0
+         */
+        public @NotNull Builder setExecutor(@Nullable Executor value) {
+            this.executor = value;
+
+            return this;
+        }
+
+        /**
+         * Get if records are returned in the order of the input
+         * <p>
+         * Default is true
+         *
+         * @return If records are returned in the order of the input instead of the order their chunks finish in
+         *
+         * @since 2.2.0
+         */
+        public boolean getOrdered() {
+            return this.ordered;
+        }
+
+        /**
+         * Set if records are returned in the order of the input
+         * <p>
+         * Default is true
+         *
+         * @param value If records are returned in the order of the input instead of the order their chunks finish in
+         *
+         * @return Self for chaining
+         *
+         * @since 2.2.0
+         */
+        public @NotNull Builder setOrdered(boolean value) {
+            this.ordered = value;
+
+            return this;
+        }
+
+        /**
+         * Uses the current settings to build a new {@link RecordLoader}
+         *
+         * @return A new {@link RecordLoader} instance
+         *
+         * @since 2.2.0
+         */
+        public @NotNull RecordLoader build() {
+            return new RecordLoader(this.parser, this.processor, this.format, this.chunkSize, this.parallelism, this.executor != null ? this.executor : ForkJoinPool.commonPool(), this.ordered);
+        }
+    }
+}
@@ -0,0 +1,545 @@
+package io.github.kale_ko.bjsl.elements;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An insertion ordered map used as the backing of {@link ParsedObject}
+ * <p>
+ * Keys and values are stored inline in two parallel arrays and looked up linearly while the map is small, once it grows past {@link #INDEX_THRESHOLD} keys a hashed index is built over the arrays
+ *
+ * @version 2.2.0
+ * @since 2.2.0
+ */
+final class CompactMap extends AbstractMap<String, ParsedElement> {
+    /**
+     * The amount of keys after which lookups switch from a linear scan to a hashed index
+     *
+     * @since 2.2.0
+     */
+    static final int INDEX_THRESHOLD = 8;
+
+    /**
+     * The default capacity of a new map
+     *
+     * @since 2.2.0
+     */
+    static final int DEFAULT_CAPACITY = 4;
+
+    private static final String[] EMPTY_KEYS = new String[0];
+    private static final ParsedElement[] EMPTY_VALUES = new ParsedElement[0];
+
+    /**
+     * The keys of this map in insertion order
+     *
+     * @since 2.2.0
+     */
+    private @NotNull String[] keys;
+
+    /**
+     * The values of this map, at the same positions as their keys
+     *
+     * @since 2.2.0
+     */
+    private @NotNull ParsedElement[] values;
+
+    /**
+     * The amount of key/value pairs stored
+     *
+     * @since 2.2.0
+     */
+    private int size;
+
+    /**
+     * An open addressing hash table of positions (offset by one so 0 marks an empty slot), null while the map is below {@link #INDEX_THRESHOLD}
+     *
+     * @since 2.2.0
+     */
+    private int @Nullable [] index;
+
+    /**
+     * The amount of structural modifications, used for failing fast in iterators
+     *
+     * @since 2.2.0
+     */
+    private int modCount;
+
+    /**
+     * Create a new empty {@link CompactMap}
+     *
+     * @param capacity The amount of keys to allocate room for
+     *
+     * @since 2.2.0
+     */
+    CompactMap(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+
+        this.keys = capacity > 0 ? new String[capacity] : EMPTY_KEYS;
+        this.values = capacity > 0 ? new ParsedElement[capacity] : EMPTY_VALUES;
+        this.size = 0;
+
+        if (capacity > INDEX_THRESHOLD) {
+            this.index = new int[tableSizeFor(capacity)];
+        }
+    }
+
+    /**
+     * Create a new empty {@link CompactMap}
+     *
+     * @since 2.2.0
+     */
+    CompactMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Get the key at a certain position
+     *
+     * @param position The position to get
+     *
+     * @return The key at the position
+     *
+     * @since 2.2.0
+     */
+    @NotNull String keyAt(int position) {
+        Objects.checkIndex(position, this.size);
+        return this.keys[position];
+    }
+
+    /**
+     * Get the value at a certain position
+     *
+     * @param position The position to get
+     *
+     * @return The value at the position
+     *
+     * @since 2.2.0
+     */
+    @NotNull ParsedElement valueAt(int position) {
+        Objects.checkIndex(position, this.size);
+        return this.values[position];
+    }
+
+    /**
+     * Find the position of a key
+     *
+     * @param key The key to find
+     *
+     * @return The position of the key or -1 if it is not stored
+     *
+     * @since 2.2.0
+     */
+    int positionOf(@Nullable Object key) {
+        if (!(key instanceof String)) {
+            return -1;
+        }
+
+        int[] index = this.index;
+        if (index == null) {
+            String[] keys = this.keys;
+            for (int i = 0; i < this.size; i++) {
+                if (key.equals(keys[i])) {
+                    return i;
+                }
+            }
+
+            return -1;
+        } else {
+            int mask = index.length - 1;
+            for (int slot = spread(key.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+                int entry = index[slot];
+                if (entry == 0) {
+                    return -1;
+                }
+                if (key.equals(this.keys[entry - 1])) {
+                    return entry - 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(@Nullable Object key) {
+        return this.positionOf(key) >= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @Nullable ParsedElement get(@Nullable Object key) {
+        int position = this.positionOf(key);
+        return position >= 0 ? this.values[position] : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @Nullable ParsedElement put(@NotNull String key, @NotNull ParsedElement value) {
+        int position = this.positionOf(key);
+        if (position >= 0) {
+            ParsedElement old = this.values[position];
+            this.values[position] = value;
+            return old;
+        }
+
+        if (this.size == this.keys.length) {
+            int capacity = Math.max(DEFAULT_CAPACITY, this.size + (this.size >> 1));
+            this.keys = Arrays.copyOf(this.keys, capacity);
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        this.keys[this.size] = key;
+        this.values[this.size] = value;
+        this.size++;
+        this.modCount++;
+
+        if (this.index != null) {
+            if (this.size * 2 > this.index.length) {
+                this.rebuildIndex();
+            } else {
+                insertIndex(this.index, key, this.size - 1);
+            }
+        } else if (this.size > INDEX_THRESHOLD) {
+            this.rebuildIndex();
+        }
+
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @Nullable ParsedElement remove(@Nullable Object key) {
+        int position = this.positionOf(key);
+        if (position < 0) {
+            return null;
+        }
+
+        ParsedElement old = this.values[position];
+        this.removeAt(position);
+        return old;
+    }
+
+    /**
+     * Remove the key/value pair at a certain position, shifting all the following pairs down by one
+     * <p>
+     * The slot of the removed key is cleared from the index and only the positions of the following keys are renumbered, so removing takes time proportional to the amount of pairs after it
+     *
+     * @param position The position to remove
+     *
+     * @since 2.2.0
+     */
+    void removeAt(int position) {
+        int[] index = this.index;
+        if (index != null && this.size - 1 > INDEX_THRESHOLD) {
+            this.removeIndex(index, position);
+        }
+
+        int moved = this.size - position - 1;
+        if (moved > 0) {
+            System.arraycopy(this.keys, position + 1, this.keys, position, moved);
+            System.arraycopy(this.values, position + 1, this.values, position, moved);
+        }
+
+        this.size--;
+        this.keys[this.size] = null;
+        this.values[this.size] = null;
+        this.modCount++;
+
+        if (this.index != null && this.size <= INDEX_THRESHOLD) {
+            this.index = null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(this.keys, 0, this.size, null);
+        Arrays.fill(this.values, 0, this.size, null);
+        this.size = 0;
+        this.index = null;
+        this.modCount++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEach(@NotNull BiConsumer<? super String, ? super ParsedElement> action) {
+        int expectedModCount = this.modCount;
+        for (int i = 0; i < this.size; i++) {
+            action.accept(this.keys[i], this.values[i]);
+
+            if (this.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int i = 0; i < this.size; i++) {
+            hash += this.keys[i].hashCode() ^ this.values[i].hashCode();
+        }
+        return hash;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull Set<Map.Entry<String, ParsedElement>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public @NotNull Iterator<Map.Entry<String, ParsedElement>> iterator() {
+                return new PositionIterator<>() {
+                    @Override
+                    Map.Entry<String, ParsedElement> at(int position) {
+                        return new AbstractMap.SimpleImmutableEntry<>(CompactMap.this.keys[position], CompactMap.this.values[position]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return CompactMap.this.size;
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull Set<String> keySet() {
+        return new AbstractSet<>() {
+            @Override
+            public @NotNull Iterator<String> iterator() {
+                return new PositionIterator<>() {
+                    @Override
+                    String at(int position) {
+                        return CompactMap.this.keys[position];
+                    }
+                };
+            }
+
+            @Override
+            public boolean contains(@Nullable Object key) {
+                return CompactMap.this.containsKey(key);
+            }
+
+            @Override
+            public int size() {
+                return CompactMap.this.size;
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull Collection<ParsedElement> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public @NotNull Iterator<ParsedElement> iterator() {
+                return new PositionIterator<>() {
+                    @Override
+                    ParsedElement at(int position) {
+                        return CompactMap.this.values[position];
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return CompactMap.this.size;
+            }
+        };
+    }
+
+    /**
+     * Rebuild the hashed index from the key array
+     *
+     * @since 2.2.0
+     */
+    private void rebuildIndex() {
+        int[] index = new int[tableSizeFor(this.size)];
+        for (int i = 0; i < this.size; i++) {
+            insertIndex(index, this.keys[i], i);
+        }
+        this.index = index;
+    }
+
+    /**
+     * Insert a position into a hashed index
+     *
+     * @param index    The index to insert into
+     * @param key      The key at the position
+     * @param position The position to insert
+     *
+     * @since 2.2.0
+     */
+    private static void insertIndex(int @NotNull [] index, @NotNull String key, int position) {
+        int mask = index.length - 1;
+        int slot = spread(key.hashCode()) & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = position + 1;
+    }
+
+    /**
+     * Remove a position from the hashed index and renumber the positions after it, called before the arrays are shifted
+     * <p>
+     * The slot is cleared with backward shift deletion so lookups never need tombstones
+     *
+     * @param index    The index to remove from
+     * @param position The position to remove
+     *
+     * @since 2.2.0
+     */
+    private void removeIndex(int @NotNull [] index, int position) {
+        int mask = index.length - 1;
+
+        int hole = slotOf(index, this.keys[position], position);
+        for (int slot = (hole + 1) & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+            int home = spread(this.keys[index[slot] - 1].hashCode()) & mask;
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                index[hole] = index[slot];
+                hole = slot;
+            }
+        }
+        index[hole] = 0;
+
+        for (int i = position + 1; i < this.size; i++) {
+            index[slotOf(index, this.keys[i], i)] = i;
+        }
+    }
+
+    /**
+     * Find the slot of a position in a hashed index
+     *
+     * @param index    The index to search
+     * @param key      The key at the position
+     * @param position The position to find, must be in the index
+     *
+     * @return The slot of the position
+     *
+     * @since 2.2.0
+     */
+    private static int slotOf(int @NotNull [] index, @NotNull String key, int position) {
+        int mask = index.length - 1;
+        int slot = spread(key.hashCode()) & mask;
+        while (index[slot] != position + 1) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Get the size of a hash table that can fit a certain amount of keys while staying at most half full
+     *
+     * @param capacity The amount of keys
+     *
+     * @return The size of the table, always a power of two
+     *
+     * @since 2.2.0
+     */
+    private static int tableSizeFor(int capacity) {
+        return Math.max(16, Integer.highestOneBit(Math.max(1, capacity * 2 - 1)) << 1);
+    }
+
+    /**
+     * Spread the higher bits of a hash into the lower ones
+     *
+     * @param hash The hash to spread
+     *
+     * @return The spread hash
+     *
+     * @since 2.2.0
+     */
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * A fail-fast iterator over the positions of this map
+     *
+     * @param <E> The type of element returned
+     *
+     * @since 2.2.0
+     */
+    private abstract class PositionIterator<E> implements Iterator<E> {
+        private int next = 0;
+        private int last = -1;
+        private int expectedModCount = CompactMap.this.modCount;
+
+        abstract E at(int position);
+
+        @Override
+        public boolean hasNext() {
+            return this.next < CompactMap.this.size;
+        }
+
+        @Override
+        public E next() {
+            if (CompactMap.this.modCount != this.expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (this.next >= CompactMap.this.size) {
+                throw new NoSuchElementException();
+            }
+
+            this.last = this.next++;
+            return this.at(this.last);
+        }
+
+        @Override
+        public void remove() {
+            if (this.last < 0) {
+                throw new IllegalStateException();
+            }
+            if (CompactMap.this.modCount != this.expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            CompactMap.this.removeAt(this.last);
+            this.next = this.last;
+            this.last = -1;
+            this.expectedModCount = CompactMap.this.modCount;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package io.github.kale_ko.bjsl.elements;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A list that loads its contents the first time it is accessed, used as the backing of deferred {@link ParsedArray}s
+ *
+ * @version 2.2.0
+ * @since 2.2.0
+ */
+final class DeferredList extends AbstractList<ParsedElement> {
+    /**
+     * The loader of the contents, null once loaded
+     *
+     * @since 2.2.0
+     */
+    private @Nullable Supplier<? extends List<ParsedElement>> loader;
+
+    /**
+     * The loaded contents, null until loaded
+     *
+     * @since 2.2.0
+     */
+    private volatile @Nullable List<ParsedElement> delegate;
+
+    /**
+     * Create a new {@link DeferredList}
+     *
+     * @param loader The loader of the contents, called at most once
+     *
+     * @since 2.2.0
+     */
+    DeferredList(@NotNull Supplier<? extends List<ParsedElement>> loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Get the contents of this list, loading them if they haven't been yet
+     *
+     * @return The contents of this list
+     *
+     * @since 2.2.0
+     */
+    @NotNull List<ParsedElement> delegate() {
+        List<ParsedElement> delegate = this.delegate;
+        if (delegate == null) {
+            synchronized (this) {
+                delegate = this.delegate;
+                if (delegate == null) {
+                    delegate = Objects.requireNonNull(this.loader).get();
+                    this.delegate = delegate;
+                    this.loader = null;
+                }
+            }
+        }
+        return delegate;
+    }
+
+    /**
+     * Get whether the contents of this list have been loaded
+     *
+     * @return Whether the contents of this list have been loaded
+     *
+     * @since 2.2.0
+     */
+    boolean isLoaded() {
+        return this.delegate != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return this.delegate().size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ParsedElement get(int index) {
+        return this.delegate().get(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ParsedElement set(int index, ParsedElement value) {
+        return this.delegate().set(index, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void add(int index, ParsedElement value) {
+        this.delegate().add(index, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean add(ParsedElement value) {
+        return this.delegate().add(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addAll(@NotNull Collection<? extends ParsedElement> values) {
+        return this.delegate().addAll(values);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ParsedElement remove(int index) {
+        return this.delegate().remove(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        this.delegate().clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull Iterator<ParsedElement> iterator() {
+        return this.delegate().iterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEach(@NotNull Consumer<? super ParsedElement> action) {
+        this.delegate().forEach(action);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        return obj == this || this.delegate().equals(obj);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return this.delegate().hashCode();
+    }
+}
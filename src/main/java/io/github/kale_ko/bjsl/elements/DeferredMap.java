@@ -0,0 +1,177 @@
+package io.github.kale_ko.bjsl.elements;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A map that loads its contents the first time it is accessed, used as the backing of deferred {@link ParsedObject}s
+ *
+ * @version 2.2.0
+ * @since 2.2.0
+ */
+final class DeferredMap extends AbstractMap<String, ParsedElement> {
+    /**
+     * The loader of the contents, null once loaded
+     *
+     * @since 2.2.0
+     */
+    private @Nullable Supplier<? extends Map<String, ParsedElement>> loader;
+
+    /**
+     * The loaded contents, null until loaded
+     *
+     * @since 2.2.0
+     */
+    private volatile @Nullable Map<String, ParsedElement> delegate;
+
+    /**
+     * Create a new {@link DeferredMap}
+     *
+     * @param loader The loader of the contents, called at most once
+     *
+     * @since 2.2.0
+     */
+    DeferredMap(@NotNull Supplier<? extends Map<String, ParsedElement>> loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Get the contents of this map, loading them if they haven't been yet
+     *
+     * @return The contents of this map
+     *
+     * @since 2.2.0
+     */
+    @NotNull Map<String, ParsedElement> delegate() {
+        Map<String, ParsedElement> delegate = this.delegate;
+        if (delegate == null) {
+            synchronized (this) {
+                delegate = this.delegate;
+                if (delegate == null) {
+                    delegate = Objects.requireNonNull(this.loader).get();
+                    this.delegate = delegate;
+                    this.loader = null;
+                }
+            }
+        }
+        return delegate;
+    }
+
+    /**
+     * Get whether the contents of this map have been loaded
+     *
+     * @return Whether the contents of this map have been loaded
+     *
+     * @since 2.2.0
+     */
+    boolean isLoaded() {
+        return this.delegate != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return this.delegate().size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        return this.delegate().isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(@Nullable Object key) {
+        return this.delegate().containsKey(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @Nullable ParsedElement get(@Nullable Object key) {
+        return this.delegate().get(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @Nullable ParsedElement put(@NotNull String key, @NotNull ParsedElement value) {
+        return this.delegate().put(key, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @Nullable ParsedElement remove(@Nullable Object key) {
+        return this.delegate().remove(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        this.delegate().clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEach(@NotNull BiConsumer<? super String, ? super ParsedElement> action) {
+        this.delegate().forEach(action);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull Set<Map.Entry<String, ParsedElement>> entrySet() {
+        return this.delegate().entrySet();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull Set<String> keySet() {
+        return this.delegate().keySet();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull Collection<ParsedElement> values() {
+        return this.delegate().values();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        return obj == this || this.delegate().equals(obj);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return this.delegate().hashCode();
+    }
+}
@@ -0,0 +1,425 @@
+package io.github.kale_ko.bjsl.elements;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A deep equality check of two element trees that is split across a {@link ForkJoinPool}
+ * <p>
+ * Objects and arrays with at least {@link #SPLIT_THRESHOLD} values are compared in ranges on separate tasks, smaller ones are compared without recursion by the task that finds them. The first mismatch cancels every task that hasn't finished yet
+ *
+ * @version 2.2.0
+ * @since 2.2.0
+ */
+final class ElementComparison {
+    /**
+     * The amount of values an object or array needs to have to be compared on its own tasks
+     *
+     * @since 2.2.0
+     */
+    static final int SPLIT_THRESHOLD = 2048;
+
+    /**
+     * The result of checking a pair of elements without walking them
+     *
+     * @since 2.2.0
+     */
+    enum Check {
+        /**
+         * The elements are equal
+         *
+         * @since 2.2.0
+         */
+        EQUAL,
+        /**
+         * The elements are not equal
+         *
+         * @since 2.2.0
+         */
+        DIFFERENT,
+        /**
+         * The elements are objects or arrays of the same size and their values need to be compared
+         *
+         * @since 2.2.0
+         */
+        DESCEND
+    }
+
+    /**
+     * Whether a mismatch has been found
+     *
+     * @since 2.2.0
+     */
+    private volatile boolean mismatch = false;
+
+    /**
+     * Every task that has been forked, so they can be cancelled on the first mismatch
+     *
+     * @since 2.2.0
+     */
+    private final @NotNull Queue<ForkJoinTask<?>> forked = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Create a new {@link ElementComparison}
+     *
+     * @since 2.2.0
+     */
+    private ElementComparison() {
+    }
+
+    /**
+     * Check if two elements are deeply equal
+     *
+     * @param left  The first element
+     * @param right The second element
+     * @param pool  The pool to compare large objects and arrays on
+     *
+     * @return If the elements are equal
+     *
+     * @since 2.2.0
+     */
+    static boolean equals(@NotNull ParsedElement left, @NotNull ParsedElement right, @NotNull ForkJoinPool pool) {
+        Check check = check(left, right);
+        if (check != Check.DESCEND) {
+            return check == Check.EQUAL;
+        }
+
+        ElementComparison comparison = new ElementComparison();
+        Compare task = comparison.new Compare(left, right);
+        if (ForkJoinTask.getPool() == pool) {
+            task.invoke();
+        } else {
+            pool.invoke(task);
+        }
+        return !comparison.mismatch;
+    }
+
+    /**
+     * Check a pair of elements without walking them
+     * <p>
+     * Hash codes and fingerprints are only compared if they have already been computed, they can prove two elements different but never equal
+     *
+     * @param left  The first element
+     * @param right The second element
+     *
+     * @return If the elements are equal, different, or need their values compared
+     *
+     * @since 2.2.0
+     */
+    static @NotNull Check check(@NotNull ParsedElement left, @NotNull ParsedElement right) {
+        if (left == right) {
+            return Check.EQUAL;
+        }
+        if (left.getClass() != right.getClass()) {
+            return Check.DIFFERENT;
+        }
+
+        switch (left) {
+            case ParsedObject leftObject -> {
+                ParsedObject rightObject = (ParsedObject) right;
+                if (leftObject.getSize() != rightObject.getSize()) {
+                    return Check.DIFFERENT;
+                }
+                Fingerprint leftFingerprint = leftObject.fingerprint;
+                Fingerprint rightFingerprint = rightObject.fingerprint;
+                if (leftFingerprint != null && rightFingerprint != null && !leftFingerprint.equals(rightFingerprint)) {
+                    return Check.DIFFERENT;
+                }
+            }
+            case ParsedArray leftArray -> {
+                ParsedArray rightArray = (ParsedArray) right;
+                if (leftArray.getSize() != rightArray.getSize()) {
+                    return Check.DIFFERENT;
+                }
+                Fingerprint leftFingerprint = leftArray.fingerprint;
+                Fingerprint rightFingerprint = rightArray.fingerprint;
+                if (leftFingerprint != null && rightFingerprint != null && !leftFingerprint.equals(rightFingerprint)) {
+                    return Check.DIFFERENT;
+                }
+            }
+            default -> {
+                return left.equals(right) ? Check.EQUAL : Check.DIFFERENT;
+            }
+        }
+
+        if (left.isHashComputed() && right.isHashComputed() && left.hashCode() != right.hashCode()) {
+            return Check.DIFFERENT;
+        }
+        return Check.DESCEND;
+    }
+
+    /**
+     * Record a mismatch and cancel every task that hasn't started yet
+     *
+     * @since 2.2.0
+     */
+    private void fail() {
+        this.mismatch = true;
+
+        ForkJoinTask<?> task;
+        while ((task = this.forked.poll()) != null) {
+            task.cancel(false);
+        }
+    }
+
+    /**
+     * Fork a task so it can be cancelled on the first mismatch
+     *
+     * @param task The task to fork
+     *
+     * @return The task
+     *
+     * @since 2.2.0
+     */
+    private @NotNull Compare submit(@NotNull Compare task) {
+        this.forked.add(task);
+        task.fork();
+        if (this.mismatch) {
+            task.cancel(false);
+        }
+        return task;
+    }
+
+    /**
+     * A task that compares a range of the values of two objects or arrays of the same size
+     *
+     * @since 2.2.0
+     */
+    private final class Compare extends RecursiveAction {
+        /**
+         * The version of the serialized form, tasks are never serialized
+         *
+         * @since 2.2.0
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The first object or array
+         *
+         * @since 2.2.0
+         */
+        private final transient @NotNull ParsedElement left;
+
+        /**
+         * The second object or array
+         *
+         * @since 2.2.0
+         */
+        private final transient @NotNull ParsedElement right;
+
+        /**
+         * The keys of the first object, null for arrays
+         *
+         * @since 2.2.0
+         */
+        private final @NotNull String @Nullable [] keys;
+
+        /**
+         * The values of the first object, null for arrays
+         *
+         * @since 2.2.0
+         */
+        private final transient @NotNull ParsedElement @Nullable [] values;
+
+        /**
+         * The first index to compare
+         *
+         * @since 2.2.0
+         */
+        private final int from;
+
+        /**
+         * The index after the last one to compare
+         *
+         * @since 2.2.0
+         */
+        private final int to;
+
+        /**
+         * Create a new {@link Compare} over every value of two objects or arrays
+         *
+         * @param left  The first object or array
+         * @param right The second object or array
+         *
+         * @since 2.2.0
+         */
+        Compare(@NotNull ParsedElement left, @NotNull ParsedElement right) {
+            this.left = left;
+            this.right = right;
+
+            if (left instanceof ParsedObject object) {
+                int size = object.getSize();
+                this.keys = new String[size];
+                this.values = new ParsedElement[size];
+
+                int i = 0;
+                for (Map.Entry<String, ParsedElement> entry : object.object.entrySet()) {
+                    this.keys[i] = entry.getKey();
+                    this.values[i] = entry.getValue();
+                    i++;
+                }
+                this.to = size;
+            } else {
+                this.keys = null;
+                this.values = null;
+                this.to = ((ParsedArray) left).getSize();
+            }
+            this.from = 0;
+        }
+
+        /**
+         * Create a new {@link Compare} over a range of another one
+         *
+         * @param parent The task to take the range from
+         * @param from   The first index to compare
+         * @param to     The index after the last one to compare
+         *
+         * @since 2.2.0
+         */
+        private Compare(@NotNull Compare parent, int from, int to) {
+            this.left = parent.left;
+            this.right = parent.right;
+            this.keys = parent.keys;
+            this.values = parent.values;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void compute() {
+            List<Compare> subtasks = new ArrayList<>();
+
+            int to = this.to;
+            while (to - this.from > SPLIT_THRESHOLD && !mismatch) {
+                int middle = (this.from + to) >>> 1;
+                subtasks.add(submit(new Compare(this, middle, to)));
+                to = middle;
+            }
+
+            ArrayDeque<ParsedElement> stack = new ArrayDeque<>();
+            for (int i = this.from; i < to; i++) {
+                if (mismatch) {
+                    return;
+                }
+
+                ParsedElement leftValue;
+                ParsedElement rightValue;
+                if (this.keys != null) {
+                    leftValue = this.values[i];
+                    rightValue = ((ParsedObject) this.right).object.get(this.keys[i]);
+                    if (rightValue == null) {
+                        fail();
+                        return;
+                    }
+                } else {
+                    leftValue = ((ParsedArray) this.left).array.get(i);
+                    rightValue = ((ParsedArray) this.right).array.get(i);
+                }
+
+                stack.push(leftValue);
+                stack.push(rightValue);
+                while (!stack.isEmpty()) {
+                    if (mismatch) {
+                        return;
+                    }
+
+                    rightValue = stack.pop();
+                    leftValue = stack.pop();
+                    if (!this.compare(leftValue, rightValue, stack, subtasks)) {
+                        fail();
+                        return;
+                    }
+                }
+            }
+
+            for (Compare subtask : subtasks) {
+                if (mismatch) {
+                    return;
+                }
+                subtask.quietlyJoin();
+            }
+        }
+
+        /**
+         * Compare a pair of values, pushing the values of small objects and arrays to the stack and forking a task for large ones
+         *
+         * @param left     The first value
+         * @param right    The second value
+         * @param stack    The stack of pairs still to be compared
+         * @param subtasks The tasks forked so far
+         *
+         * @return False if the values are known to be different
+         *
+         * @since 2.2.0
+         */
+        private boolean compare(@NotNull ParsedElement left, @NotNull ParsedElement right, @NotNull ArrayDeque<ParsedElement> stack, @NotNull List<Compare> subtasks) {
+            Check check = check(left, right);
+            if (check != Check.DESCEND) {
+                return check == Check.EQUAL;
+            }
+
+            if (left instanceof ParsedObject leftObject) {
+                if (leftObject.getSize() >= SPLIT_THRESHOLD) {
+                    subtasks.add(submit(new Compare(left, right)));
+                    return true;
+                }
+
+                Map<String, ParsedElement> rightMap = ((ParsedObject) right).object;
+                for (Map.Entry<String, ParsedElement> entry : leftObject.object.entrySet()) {
+                    ParsedElement rightValue = rightMap.get(entry.getKey());
+                    if (rightValue == null || !push(entry.getValue(), rightValue, stack)) {
+                        return false;
+                    }
+                }
+            } else {
+                ParsedArray leftArray = (ParsedArray) left;
+                if (leftArray.getSize() >= SPLIT_THRESHOLD) {
+                    subtasks.add(submit(new Compare(left, right)));
+                    return true;
+                }
+
+                List<ParsedElement> rightList = ((ParsedArray) right).array;
+                int i = 0;
+                for (ParsedElement leftValue : leftArray.array) {
+                    if (!push(leftValue, rightList.get(i++), stack)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Push a pair of values to the stack, comparing primitives right away instead
+         *
+         * @param left  The first value
+         * @param right The second value
+         * @param stack The stack of pairs still to be compared
+         *
+         * @return False if the values are primitives and different
+         *
+         * @since 2.2.0
+         */
+        private static boolean push(@NotNull ParsedElement left, @NotNull ParsedElement right, @NotNull ArrayDeque<ParsedElement> stack) {
+            if (left instanceof ParsedPrimitive) {
+                return left.equals(right);
+            }
+
+            stack.push(left);
+            stack.push(right);
+            return true;
+        }
+    }
+}
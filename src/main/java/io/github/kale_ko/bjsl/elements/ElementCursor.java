@@ -0,0 +1,487 @@
+package io.github.kale_ko.bjsl.elements;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A depth-first cursor over the elements of a tree
+ * <p>
+ * The cursor keeps its own stack instead of recursing so trees of any depth can be traversed, and its stack is reused so moving between elements does not allocate for objects and arrays backed by the default collections
+ * <p>
+ * The tree must not be modified while it is being traversed
+ *
+ * @version 2.2.0
+ * @since 2.2.0
+ */
+public final class ElementCursor {
+    /**
+     * An event the cursor can be positioned on
+     *
+     * @since 2.2.0
+     */
+    public enum Event {
+        /**
+         * The start of an object, its values follow
+         *
+         * @since 2.2.0
+         */
+        START_OBJECT,
+
+        /**
+         * The end of an object
+         *
+         * @since 2.2.0
+         */
+        END_OBJECT,
+
+        /**
+         * The start of an array, its items follow
+         *
+         * @since 2.2.0
+         */
+        START_ARRAY,
+
+        /**
+         * The end of an array
+         *
+         * @since 2.2.0
+         */
+        END_ARRAY,
+
+        /**
+         * A primitive
+         *
+         * @since 2.2.0
+         */
+        PRIMITIVE
+    }
+
+    private static final int MODE_POSITIONS = 0;
+    private static final int MODE_SORTED = 1;
+    private static final int MODE_LIST = 2;
+    private static final int MODE_ITERATOR = 3;
+
+    private static final int INITIAL_DEPTH = 16;
+
+    /**
+     * The root of the tree
+     *
+     * @since 2.2.0
+     */
+    private final @NotNull ParsedElement root;
+
+    /**
+     * Whether the keys of objects are traversed in the order of {@link ParsedObject#getSortedKeys()} instead of insertion order
+     *
+     * @since 2.2.0
+     */
+    private final boolean sortKeys;
+
+    /**
+     * The objects and arrays currently entered, from the root down
+     *
+     * @since 2.2.0
+     */
+    private @Nullable ParsedElement @NotNull [] containers = new ParsedElement[INITIAL_DEPTH];
+
+    /**
+     * The source of the children of every entered container, depending on its mode
+     *
+     * @since 2.2.0
+     */
+    private @Nullable Object @NotNull [] sources = new Object[INITIAL_DEPTH];
+
+    /**
+     * How the children of every entered container are read
+     *
+     * @since 2.2.0
+     */
+    private int @NotNull [] modes = new int[INITIAL_DEPTH];
+
+    /**
+     * The position of the next child of every entered container
+     *
+     * @since 2.2.0
+     */
+    private int @NotNull [] positions = new int[INITIAL_DEPTH];
+
+    /**
+     * The key of every entered container in its parent
+     *
+     * @since 2.2.0
+     */
+    private @Nullable String @NotNull [] keys = new String[INITIAL_DEPTH];
+
+    /**
+     * The index of every entered container in its parent
+     *
+     * @since 2.2.0
+     */
+    private int @NotNull [] indexes = new int[INITIAL_DEPTH];
+
+    /**
+     * The index of the innermost entered container, -1 if none are entered
+     *
+     * @since 2.2.0
+     */
+    private int top = -1;
+
+    /**
+     * Whether the cursor has been moved yet
+     *
+     * @since 2.2.0
+     */
+    private boolean started = false;
+
+    private @Nullable Event event = null;
+    private @Nullable ParsedElement element = null;
+    private @Nullable String key = null;
+    private int index = -1;
+    private int depth = 0;
+
+    /**
+     * Create a new {@link ElementCursor}
+     *
+     * @param root The root of the tree to traverse
+     *
+     * @since 2.2.0
+     */
+    public ElementCursor(@NotNull ParsedElement root) {
+        this(root, false);
+    }
+
+    /**
+     * Create a new {@link ElementCursor}
+     *
+     * @param root     The root of the tree to traverse
+     * @param sortKeys Whether the keys of objects should be traversed in the order of {@link ParsedObject#getSortedKeys()} instead of insertion order
+     *
+     * @since 2.2.0
+     */
+    public ElementCursor(@NotNull ParsedElement root, boolean sortKeys) {
+        this.root = root;
+        this.sortKeys = sortKeys;
+    }
+
+    /**
+     * Walk a tree depth-first, calling a visitor for every element
+     *
+     * @param root    The root of the tree
+     * @param visitor The visitor to call
+     * @param <E>     The type of exception the visitor can throw
+     *
+     * @throws E If the visitor fails
+     * @since 2.2.0
+     */
+    public static <E extends Exception> void walk(@NotNull ParsedElement root, @NotNull ElementVisitor<E> visitor) throws E {
+        walk(root, visitor, false);
+    }
+
+    /**
+     * Walk a tree depth-first, calling a visitor for every element
+     *
+     * @param root     The root of the tree
+     * @param visitor  The visitor to call
+     * @param sortKeys Whether the keys of objects should be visited in the order of {@link ParsedObject#getSortedKeys()} instead of insertion order
+     * @param <E>      The type of exception the visitor can throw
+     *
+     * @throws E If the visitor fails
+     * @since 2.2.0
+     */
+    public static <E extends Exception> void walk(@NotNull ParsedElement root, @NotNull ElementVisitor<E> visitor, boolean sortKeys) throws E {
+        ElementCursor cursor = new ElementCursor(root, sortKeys);
+        for (Event event = cursor.next(); event != null; event = cursor.next()) {
+            switch (event) {
+                case START_OBJECT -> {
+                    if (!visitor.visitObjectStart(cursor.key, cursor.index, (ParsedObject) cursor.element)) {
+                        cursor.skipChildren();
+                    }
+                }
+                case END_OBJECT -> visitor.visitObjectEnd(cursor.key, cursor.index, (ParsedObject) cursor.element);
+                case START_ARRAY -> {
+                    if (!visitor.visitArrayStart(cursor.key, cursor.index, (ParsedArray) cursor.element)) {
+                        cursor.skipChildren();
+                    }
+                }
+                case END_ARRAY -> visitor.visitArrayEnd(cursor.key, cursor.index, (ParsedArray) cursor.element);
+                case PRIMITIVE -> visitor.visitPrimitive(cursor.key, cursor.index, (ParsedPrimitive) cursor.element);
+            }
+        }
+    }
+
+    /**
+     * Move to the next event
+     *
+     * @return The next event, or null if the whole tree has been traversed
+     *
+     * @since 2.2.0
+     */
+    public @Nullable Event next() {
+        if (!this.started) {
+            this.started = true;
+            return this.enter(this.root, null, -1);
+        }
+
+        int top = this.top;
+        if (top < 0) {
+            this.event = null;
+            this.element = null;
+            this.key = null;
+            this.index = -1;
+            this.depth = 0;
+            return null;
+        }
+
+        ParsedElement container = this.containers[top];
+        int position = this.positions[top];
+        switch (this.modes[top]) {
+            case MODE_POSITIONS -> {
+                CompactMap map = (CompactMap) this.sources[top];
+                if (position < map.size()) {
+                    this.positions[top] = position + 1;
+                    return this.enter(map.valueAt(position), map.keyAt(position), position);
+                }
+            }
+            case MODE_SORTED -> {
+                @SuppressWarnings("unchecked") List<String> sortedKeys = (List<String>) this.sources[top];
+                if (position < sortedKeys.size()) {
+                    this.positions[top] = position + 1;
+                    String key = sortedKeys.get(position);
+                    return this.enter(((ParsedObject) container).object.get(key), key, position);
+                }
+            }
+            case MODE_LIST -> {
+                @SuppressWarnings("unchecked") List<ParsedElement> list = (List<ParsedElement>) this.sources[top];
+                if (position < list.size()) {
+                    this.positions[top] = position + 1;
+                    return this.enter(list.get(position), null, position);
+                }
+            }
+            default -> {
+                Iterator<?> iterator = (Iterator<?>) this.sources[top];
+                if (iterator.hasNext()) {
+                    this.positions[top] = position + 1;
+                    if (container instanceof ParsedObject) {
+                        Map.Entry<?, ?> entry = (Map.Entry<?, ?>) iterator.next();
+                        return this.enter((ParsedElement) entry.getValue(), (String) entry.getKey(), position);
+                    } else {
+                        return this.enter((ParsedElement) iterator.next(), null, position);
+                    }
+                }
+            }
+        }
+
+        return this.leave();
+    }
+
+    /**
+     * Move to the next value directly inside the root, skipping over the contents of nested objects and arrays
+     *
+     * @return Whether the cursor moved to a value, false once the root has no more values or is a primitive
+     *
+     * @since 2.2.0
+     */
+    public boolean nextChild() {
+        if (!this.started) {
+            this.next();
+        }
+
+        while (this.top > 0) {
+            this.pop();
+        }
+        if (this.top < 0) {
+            return false;
+        }
+
+        this.next();
+        return this.depth == 1;
+    }
+
+    /**
+     * Skip the contents of the object or array the cursor is at, moving to its end
+     * <p>
+     * Does nothing if the cursor is not at the start of an object or array
+     *
+     * @since 2.2.0
+     */
+    public void skipChildren() {
+        if (this.event == Event.START_OBJECT || this.event == Event.START_ARRAY) {
+            this.leave();
+        }
+    }
+
+    /**
+     * Get the event the cursor is at
+     *
+     * @return The event the cursor is at, null before the first or after the last event
+     *
+     * @since 2.2.0
+     */
+    public @Nullable Event getEvent() {
+        return this.event;
+    }
+
+    /**
+     * Get the element the cursor is at, the object or array itself for start and end events
+     *
+     * @return The element the cursor is at
+     *
+     * @throws IllegalStateException If the cursor is not at an event
+     * @since 2.2.0
+     */
+    public @NotNull ParsedElement getElement() {
+        if (this.element == null) {
+            throw new IllegalStateException("Cursor is not at an element");
+        }
+        return this.element;
+    }
+
+    /**
+     * Get the key of the element the cursor is at in its parent
+     *
+     * @return The key of the element, null for array items and the root
+     *
+     * @since 2.2.0
+     */
+    public @Nullable String getKey() {
+        return this.key;
+    }
+
+    /**
+     * Get the index of the element the cursor is at in its parent
+     *
+     * @return The index of the element, -1 for the root
+     *
+     * @since 2.2.0
+     */
+    public int getIndex() {
+        return this.index;
+    }
+
+    /**
+     * Get the depth of the element the cursor is at
+     *
+     * @return The depth of the element, 0 for the root
+     *
+     * @since 2.2.0
+     */
+    public int getDepth() {
+        return this.depth;
+    }
+
+    /**
+     * Move to an element, entering it if it is an object or array
+     *
+     * @param element The element
+     * @param key     The key of the element in its parent
+     * @param index   The index of the element in its parent
+     *
+     * @return The new event
+     *
+     * @since 2.2.0
+     */
+    private @NotNull Event enter(@NotNull ParsedElement element, @Nullable String key, int index) {
+        this.element = element;
+        this.key = key;
+        this.index = index;
+        this.depth = this.top + 1;
+
+        if (element instanceof ParsedObject object) {
+            Map<String, ParsedElement> map = object.object;
+            if (map instanceof DeferredMap deferred) {
+                map = deferred.delegate();
+            }
+
+            if (this.sortKeys) {
+                this.push(object, key, index, MODE_SORTED, object.getSortedKeys());
+            } else if (map instanceof CompactMap) {
+                this.push(object, key, index, MODE_POSITIONS, map);
+            } else {
+                this.push(object, key, index, MODE_ITERATOR, map.entrySet().iterator());
+            }
+            return this.event = Event.START_OBJECT;
+        } else if (element instanceof ParsedArray array) {
+            List<ParsedElement> list = array.array;
+            if (list instanceof DeferredList deferred) {
+                list = deferred.delegate();
+            }
+
+            if (list instanceof RandomAccess) {
+                this.push(array, key, index, MODE_LIST, list);
+            } else {
+                this.push(array, key, index, MODE_ITERATOR, list.iterator());
+            }
+            return this.event = Event.START_ARRAY;
+        } else {
+            return this.event = Event.PRIMITIVE;
+        }
+    }
+
+    /**
+     * Leave the innermost entered container, moving to its end
+     *
+     * @return The new event
+     *
+     * @since 2.2.0
+     */
+    private @NotNull Event leave() {
+        int top = this.top;
+        ParsedElement container = this.containers[top];
+
+        this.element = container;
+        this.key = this.keys[top];
+        this.index = this.indexes[top];
+        this.depth = top;
+        this.pop();
+
+        return this.event = container instanceof ParsedObject ? Event.END_OBJECT : Event.END_ARRAY;
+    }
+
+    /**
+     * Push a container onto the stack
+     *
+     * @param container The container
+     * @param key       The key of the container in its parent
+     * @param index     The index of the container in its parent
+     * @param mode      How the children of the container are read
+     * @param source    The source of the children of the container
+     *
+     * @since 2.2.0
+     */
+    private void push(@NotNull ParsedElement container, @Nullable String key, int index, int mode, @NotNull Object source) {
+        int top = ++this.top;
+        if (top == this.containers.length) {
+            int length = top * 2;
+            this.containers = Arrays.copyOf(this.containers, length);
+            this.sources = Arrays.copyOf(this.sources, length);
+            this.modes = Arrays.copyOf(this.modes, length);
+            this.positions = Arrays.copyOf(this.positions, length);
+            this.keys = Arrays.copyOf(this.keys, length);
+            this.indexes = Arrays.copyOf(this.indexes, length);
+        }
+
+        this.containers[top] = container;
+        this.sources[top] = source;
+        this.modes[top] = mode;
+        this.positions[top] = 0;
+        this.keys[top] = key;
+        this.indexes[top] = index;
+    }
+
+    /**
+     * Pop the innermost container off the stack
+     *
+     * @since 2.2.0
+     */
+    private void pop() {
+        int top = this.top--;
+        this.containers[top] = null;
+        this.sources[top] = null;
+        this.keys[top] = null;
+    }
+}
@@ -0,0 +1,1189 @@
+package io.github.kale_ko.bjsl.elements;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+/**
+ * A list of JSON Patch (RFC 6902) operations that turn one element tree into another
+ * <p>
+ * Patches can be computed between two trees with {@link #diff(ParsedElement, ParsedElement)}, applied with {@link #apply(ParsedElement)}, and converted to and from their standard representation with {@link #toElement()} and {@link #fromElement(ParsedElement)} so they can be sent with any parser
+ *
+ * @version 2.2.0
+ * @since 2.2.0
+ */
+public final class ElementPatch {
+    /**
+     * The maximum amount of inserted and removed items a single array can be diffed with before it falls back to comparing items by position
+     *
+     * @since 2.2.0
+     */
+    public static final int MAX_EDIT_DISTANCE = 1024;
+
+    /**
+     * The amount of pairs of objects or arrays a parallel diff handles on a single task
+     *
+     * @since 2.2.0
+     */
+    private static final int PARALLEL_BATCH = 8;
+
+    private static final char MATCH = 'M';
+    private static final char DELETE = 'D';
+    private static final char INSERT = 'I';
+
+    /**
+     * The kinds of operations
+     *
+     * @version 2.2.0
+     * @since 2.2.0
+     */
+    public enum Op {
+        /**
+         * Add a value to an object or insert it into an array
+         *
+         * @since 2.2.0
+         */
+        ADD("add"),
+        /**
+         * Remove a value
+         *
+         * @since 2.2.0
+         */
+        REMOVE("remove"),
+        /**
+         * Replace an existing value
+         *
+         * @since 2.2.0
+         */
+        REPLACE("replace"),
+        /**
+         * Remove a value and add it at another path
+         *
+         * @since 2.2.0
+         */
+        MOVE("move"),
+        /**
+         * Add a copy of a value at another path
+         *
+         * @since 2.2.0
+         */
+        COPY("copy"),
+        /**
+         * Check that a value is equal to another
+         *
+         * @since 2.2.0
+         */
+        TEST("test");
+
+        /**
+         * The name of this operation in a patch document
+         *
+         * @since 2.2.0
+         */
+        private final @NotNull String name;
+
+        /**
+         * Create a new {@link Op}
+         *
+         * @param name The name of this operation in a patch document
+         *
+         * @since 2.2.0
+         */
+        Op(@NotNull String name) {
+            this.name = name;
+        }
+
+        /**
+         * Get the name of this operation in a patch document
+         *
+         * @return The name of this operation in a patch document
+         *
+         * @since 2.2.0
+         */
+        public @NotNull String getName() {
+            return this.name;
+        }
+
+        /**
+         * Get an operation by its name in a patch document
+         *
+         * @param name The name of the operation
+         *
+         * @return The operation with that name
+         *
+         * @throws IllegalArgumentException If there is no operation with that name
+         * @since 2.2.0
+         */
+        public static @NotNull Op fromName(@NotNull String name) {
+            for (Op op : values()) {
+                if (op.name.equals(name)) {
+                    return op;
+                }
+            }
+            throw new IllegalArgumentException("Unknown patch operation \"" + name + "\"");
+        }
+    }
+
+    /**
+     * A single patch operation
+     *
+     * @param op    The kind of the operation
+     * @param path  The pointer the operation targets
+     * @param from  The pointer the value is taken from, only used by {@link Op#MOVE} and {@link Op#COPY}
+     * @param value The value of the operation, only used by {@link Op#ADD}, {@link Op#REPLACE} and {@link Op#TEST}
+     *
+     * @version 2.2.0
+     * @since 2.2.0
+     */
+    public record Operation(@NotNull Op op, @NotNull String path, @Nullable String from, @Nullable ParsedElement value) {
+        /**
+         * Create a new {@link Operation}
+         *
+         * @throws IllegalArgumentException If a field the operation needs is missing
+         * @since 2.2.0
+         */
+        public Operation {
+            Objects.requireNonNull(op, "op");
+            Objects.requireNonNull(path, "path");
+
+            if ((op == Op.MOVE || op == Op.COPY) && from == null) {
+                throw new IllegalArgumentException("Patch operation \"" + op.getName() + "\" needs a from");
+            }
+            if ((op == Op.ADD || op == Op.REPLACE || op == Op.TEST) && value == null) {
+                throw new IllegalArgumentException("Patch operation \"" + op.getName() + "\" needs a value");
+            }
+        }
+    }
+
+    /**
+     * The operations of this patch
+     *
+     * @since 2.2.0
+     */
+    private final @NotNull @Unmodifiable List<Operation> operations;
+
+    /**
+     * Create a new {@link ElementPatch}
+     *
+     * @param operations The operations of this patch
+     *
+     * @since 2.2.0
+     */
+    private ElementPatch(@NotNull List<Operation> operations) {
+        this.operations = Collections.unmodifiableList(operations);
+    }
+
+    /**
+     * Create a new {@link ElementPatch} from a list of operations
+     *
+     * @param operations The operations of the patch
+     *
+     * @return A new {@link ElementPatch}
+     *
+     * @since 2.2.0
+     */
+    public static @NotNull ElementPatch of(@NotNull Collection<Operation> operations) {
+        return new ElementPatch(new ArrayList<>(operations));
+    }
+
+    /**
+     * Get the operations of this patch
+     *
+     * @return The operations of this patch
+     *
+     * @since 2.2.0
+     */
+    public @NotNull @Unmodifiable List<Operation> getOperations() {
+        return this.operations;
+    }
+
+    /**
+     * Check if this patch has no operations
+     *
+     * @return If this patch has no operations
+     *
+     * @since 2.2.0
+     */
+    public boolean isEmpty() {
+        return this.operations.isEmpty();
+    }
+
+    /**
+     * Compute a patch that turns one element into another
+     * <p>
+     * Subtrees are skipped as soon as they are found to be equal, which is checked by hash code first, so unchanged parts of frozen trees are never walked
+     * <p>
+     * Objects are compared key by key, arrays have their common start and end trimmed and the rest is aligned with Myers' diff so a few inserted or removed items only produce a few operations
+     * <p>
+     * Values in the patch are shared with the target rather than copied
+     *
+     * @param source The element to start from
+     * @param target The element to end at
+     *
+     * @return A patch that turns source into target
+     *
+     * @since 2.2.0
+     */
+    public static @NotNull ElementPatch diff(@NotNull ParsedElement source, @NotNull ParsedElement target) {
+        Operations operations = new Operations();
+        diff(source, target, "", operations);
+        return new ElementPatch(operations.operations);
+    }
+
+    /**
+     * Compute a patch that turns one element into another, diffing objects and arrays in parallel on the common pool
+     * <p>
+     * Calls {@link #diff(ParsedElement, ParsedElement, ForkJoinPool)}
+     *
+     * @param source The element to start from
+     * @param target The element to end at
+     *
+     * @return A patch that turns source into target
+     *
+     * @since 2.2.0
+     */
+    public static @NotNull ElementPatch parallelDiff(@NotNull ParsedElement source, @NotNull ParsedElement target) {
+        return diff(source, target, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Compute a patch that turns one element into another, diffing objects and arrays in parallel
+     * <p>
+     * Produces the same patch as {@link #diff(ParsedElement, ParsedElement)}, but the values of objects and arrays are diffed on separate tasks and array items are compared with {@link ParsedElement#deepEquals(ParsedElement, ForkJoinPool)} instead of by hash code, so large mutable trees are never hashed on a single thread
+     *
+     * @param source The element to start from
+     * @param target The element to end at
+     * @param pool   The pool to run the diff on
+     *
+     * @return A patch that turns source into target
+     *
+     * @since 2.2.0
+     */
+    public static @NotNull ElementPatch diff(@NotNull ParsedElement source, @NotNull ParsedElement target, @NotNull ForkJoinPool pool) {
+        ParallelDiff task = new ParallelDiff(pool, new ParsedElement[] { source }, new ParsedElement[] { target }, new String[] { "" });
+        if (ForkJoinTask.getPool() == pool) {
+            task.invoke();
+        } else {
+            pool.invoke(task);
+        }
+        return new ElementPatch(task.results[0]);
+    }
+
+    /**
+     * Compute the operations that turn one element into another
+     *
+     * @param source     The element to start from
+     * @param target     The element to end at
+     * @param path       The pointer of the element
+     * @param operations Where to add the operations to
+     *
+     * @since 2.2.0
+     */
+    private static void diff(@NotNull ParsedElement source, @NotNull ParsedElement target, @NotNull String path, @NotNull Output operations) {
+        if (operations.skip(source, target)) {
+            return;
+        }
+
+        if (source instanceof ParsedObject sourceObject && target instanceof ParsedObject targetObject) {
+            for (Map.Entry<String, ParsedElement> entry : sourceObject.getEntries()) {
+                String subPath = path + "/" + Projection.escape(entry.getKey());
+                if (targetObject.has(entry.getKey())) {
+                    operations.diff(entry.getValue(), targetObject.get(entry.getKey()), subPath);
+                } else {
+                    operations.add(new Operation(Op.REMOVE, subPath, null, null));
+                }
+            }
+            for (Map.Entry<String, ParsedElement> entry : targetObject.getEntries()) {
+                if (!sourceObject.has(entry.getKey())) {
+                    operations.add(new Operation(Op.ADD, path + "/" + Projection.escape(entry.getKey()), null, entry.getValue()));
+                }
+            }
+        } else if (source instanceof ParsedArray sourceArray && target instanceof ParsedArray targetArray) {
+            diffArray(sourceArray, targetArray, path, operations);
+        } else {
+            operations.add(new Operation(Op.REPLACE, path, null, target));
+        }
+    }
+
+    /**
+     * Compute the operations that turn one array into another
+     *
+     * @param source     The array to start from
+     * @param target     The array to end at
+     * @param path       The pointer of the array
+     * @param operations Where to add the operations to
+     *
+     * @since 2.2.0
+     */
+    private static void diffArray(@NotNull ParsedArray source, @NotNull ParsedArray target, @NotNull String path, @NotNull Output operations) {
+        int sourceSize = source.getSize();
+        int targetSize = target.getSize();
+
+        int prefix = 0;
+        while (prefix < sourceSize && prefix < targetSize && operations.same(source.get(prefix), target.get(prefix))) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < sourceSize - prefix && suffix < targetSize - prefix && operations.same(source.get(sourceSize - 1 - suffix), target.get(targetSize - 1 - suffix))) {
+            suffix++;
+        }
+
+        char[] script = script(source, target, prefix, sourceSize - prefix - suffix, targetSize - prefix - suffix);
+
+        int sourceIndex = prefix;
+        int targetIndex = prefix;
+        int position = prefix;
+        int i = 0;
+        while (i < script.length) {
+            if (script[i] == MATCH) {
+                sourceIndex++;
+                targetIndex++;
+                position++;
+                i++;
+                continue;
+            }
+
+            int deletes = 0;
+            int inserts = 0;
+            while (i < script.length && script[i] != MATCH) {
+                if (script[i] == DELETE) {
+                    deletes++;
+                } else {
+                    inserts++;
+                }
+                i++;
+            }
+
+            int changes = Math.min(deletes, inserts);
+            for (int j = 0; j < changes; j++) {
+                operations.diff(source.get(sourceIndex++), target.get(targetIndex++), path + "/" + position++);
+            }
+            for (int j = changes; j < deletes; j++) {
+                operations.add(new Operation(Op.REMOVE, path + "/" + position, null, null));
+                sourceIndex++;
+            }
+            for (int j = changes; j < inserts; j++) {
+                operations.add(new Operation(Op.ADD, path + "/" + position++, null, target.get(targetIndex++)));
+            }
+        }
+    }
+
+    /**
+     * Where the operations of a diff go
+     *
+     * @since 2.2.0
+     */
+    private interface Output {
+        /**
+         * Check if two elements can be skipped without being diffed
+         *
+         * @param a The first element
+         * @param b The second element
+         *
+         * @return If the elements are known to be equal, false if they might still be
+         *
+         * @since 2.2.0
+         */
+        boolean skip(@NotNull ParsedElement a, @NotNull ParsedElement b);
+
+        /**
+         * Check if two elements are equal
+         *
+         * @param a The first element
+         * @param b The second element
+         *
+         * @return If the elements are equal
+         *
+         * @since 2.2.0
+         */
+        boolean same(@NotNull ParsedElement a, @NotNull ParsedElement b);
+
+        /**
+         * Add an operation
+         *
+         * @param operation The operation to add
+         *
+         * @since 2.2.0
+         */
+        void add(@NotNull Operation operation);
+
+        /**
+         * Add the operations that turn one value into another
+         *
+         * @param source The value to start from
+         * @param target The value to end at
+         * @param path   The pointer of the value
+         *
+         * @since 2.2.0
+         */
+        void diff(@NotNull ParsedElement source, @NotNull ParsedElement target, @NotNull String path);
+    }
+
+    /**
+     * The operations of a diff computed on a single thread
+     *
+     * @since 2.2.0
+     */
+    private static final class Operations implements Output {
+        /**
+         * The operations added so far
+         *
+         * @since 2.2.0
+         */
+        final @NotNull List<Operation> operations = new ArrayList<>();
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean skip(@NotNull ParsedElement a, @NotNull ParsedElement b) {
+            return same(a, b);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean same(@NotNull ParsedElement a, @NotNull ParsedElement b) {
+            return ElementPatch.same(a, b);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void add(@NotNull Operation operation) {
+            this.operations.add(operation);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void diff(@NotNull ParsedElement source, @NotNull ParsedElement target, @NotNull String path) {
+            ElementPatch.diff(source, target, path, this);
+        }
+    }
+
+    /**
+     * A task that diffs pairs of values, the pairs of objects and arrays found inside them are diffed on a new task once each pair has been walked
+     * <p>
+     * The operations of each pair are kept apart and put back in place afterward so the patch is the same as the one {@link #diff(ParsedElement, ParsedElement)} computes
+     *
+     * @since 2.2.0
+     */
+    private static final class ParallelDiff extends RecursiveAction {
+        /**
+         * The version of the serialized form, tasks are never serialized
+         *
+         * @since 2.2.0
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The pool array items are compared on
+         *
+         * @since 2.2.0
+         */
+        private final transient @NotNull ForkJoinPool pool;
+
+        /**
+         * The values to start from
+         *
+         * @since 2.2.0
+         */
+        private final transient @NotNull ParsedElement @NotNull [] sources;
+
+        /**
+         * The values to end at
+         *
+         * @since 2.2.0
+         */
+        private final transient @NotNull ParsedElement @NotNull [] targets;
+
+        /**
+         * The pointers of the values
+         *
+         * @since 2.2.0
+         */
+        private final @NotNull String @NotNull [] paths;
+
+        /**
+         * The operations of each pair, filled in as the pairs are diffed
+         *
+         * @since 2.2.0
+         */
+        final transient @NotNull List<Operation> @NotNull [] results;
+
+        /**
+         * The first pair to diff
+         *
+         * @since 2.2.0
+         */
+        private final int from;
+
+        /**
+         * The pair after the last one to diff
+         *
+         * @since 2.2.0
+         */
+        private final int to;
+
+        /**
+         * Create a new {@link ParallelDiff} over every pair
+         *
+         * @param pool    The pool array items are compared on
+         * @param sources The values to start from
+         * @param targets The values to end at
+         * @param paths   The pointers of the values
+         *
+         * @since 2.2.0
+         */
+        @SuppressWarnings("unchecked")
+        ParallelDiff(@NotNull ForkJoinPool pool, @NotNull ParsedElement @NotNull [] sources, @NotNull ParsedElement @NotNull [] targets, @NotNull String @NotNull [] paths) {
+            this(pool, sources, targets, paths, (List<Operation>[]) new List<?>[sources.length], 0, sources.length);
+        }
+
+        /**
+         * Create a new {@link ParallelDiff} over a range of pairs
+         *
+         * @param pool    The pool array items are compared on
+         * @param sources The values to start from
+         * @param targets The values to end at
+         * @param paths   The pointers of the values
+         * @param results The operations of each pair
+         * @param from    The first pair to diff
+         * @param to      The pair after the last one to diff
+         *
+         * @since 2.2.0
+         */
+        private ParallelDiff(@NotNull ForkJoinPool pool, @NotNull ParsedElement @NotNull [] sources, @NotNull ParsedElement @NotNull [] targets, @NotNull String @NotNull [] paths, @NotNull List<Operation> @NotNull [] results, int from, int to) {
+            this.pool = pool;
+            this.sources = sources;
+            this.targets = targets;
+            this.paths = paths;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void compute() {
+            if (this.to - this.from > PARALLEL_BATCH) {
+                int middle = (this.from + this.to) >>> 1;
+                invokeAll(new ParallelDiff(this.pool, this.sources, this.targets, this.paths, this.results, this.from, middle), new ParallelDiff(this.pool, this.sources, this.targets, this.paths, this.results, middle, this.to));
+                return;
+            }
+
+            for (int i = this.from; i < this.to; i++) {
+                ParallelOperations operations = new ParallelOperations(this.pool);
+                ElementPatch.diff(this.sources[i], this.targets[i], this.paths[i], operations);
+                this.results[i] = operations.finish();
+            }
+        }
+    }
+
+    /**
+     * The operations of a single pair of a {@link ParallelDiff}, where the objects and arrays inside it are held back to be diffed on new tasks
+     *
+     * @since 2.2.0
+     */
+    private static final class ParallelOperations implements Output {
+        /**
+         * The pool array items are compared on
+         *
+         * @since 2.2.0
+         */
+        private final @NotNull ForkJoinPool pool;
+
+        /**
+         * The operations added so far, null where the operations of a held back pair go
+         *
+         * @since 2.2.0
+         */
+        private final @NotNull List<@Nullable Operation> operations = new ArrayList<>();
+
+        /**
+         * The held back values to start from
+         *
+         * @since 2.2.0
+         */
+        private final @NotNull List<ParsedElement> sources = new ArrayList<>();
+
+        /**
+         * The held back values to end at
+         *
+         * @since 2.2.0
+         */
+        private final @NotNull List<ParsedElement> targets = new ArrayList<>();
+
+        /**
+         * The pointers of the held back values
+         *
+         * @since 2.2.0
+         */
+        private final @NotNull List<String> paths = new ArrayList<>();
+
+        /**
+         * Create a new {@link ParallelOperations}
+         *
+         * @param pool The pool array items are compared on
+         *
+         * @since 2.2.0
+         */
+        ParallelOperations(@NotNull ForkJoinPool pool) {
+            this.pool = pool;
+        }
+
+        /**
+         * {@inheritDoc}
+         * <p>
+         * Only checks what is known without walking the elements, unchanged objects and arrays are skipped by their held back diff finding nothing instead
+         */
+        @Override
+        public boolean skip(@NotNull ParsedElement a, @NotNull ParsedElement b) {
+            return ElementComparison.check(a, b) == ElementComparison.Check.EQUAL;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean same(@NotNull ParsedElement a, @NotNull ParsedElement b) {
+            return ElementComparison.equals(a, b, this.pool);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void add(@NotNull Operation operation) {
+            this.operations.add(operation);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void diff(@NotNull ParsedElement source, @NotNull ParsedElement target, @NotNull String path) {
+            if ((source instanceof ParsedObject && target instanceof ParsedObject) || (source instanceof ParsedArray && target instanceof ParsedArray)) {
+                if (!this.skip(source, target)) {
+                    this.sources.add(source);
+                    this.targets.add(target);
+                    this.paths.add(path);
+                    this.operations.add(null);
+                }
+            } else {
+                ElementPatch.diff(source, target, path, this);
+            }
+        }
+
+        /**
+         * Diff the held back pairs and put their operations in place
+         *
+         * @return Every operation of the pair
+         *
+         * @since 2.2.0
+         */
+        @NotNull List<Operation> finish() {
+            if (this.sources.isEmpty()) {
+                @SuppressWarnings("unchecked") List<Operation> operations = (List<Operation>) (List<?>) this.operations;
+                return operations;
+            }
+
+            ParallelDiff task = new ParallelDiff(this.pool, this.sources.toArray(new ParsedElement[0]), this.targets.toArray(new ParsedElement[0]), this.paths.toArray(new String[0]));
+            task.invoke();
+
+            List<Operation> operations = new ArrayList<>(this.operations.size());
+            int held = 0;
+            for (Operation operation : this.operations) {
+                if (operation != null) {
+                    operations.add(operation);
+                } else {
+                    operations.addAll(task.results[held++]);
+                }
+            }
+            return operations;
+        }
+    }
+
+    /**
+     * Check if two elements are equal, checking their hash codes first
+     *
+     * @param a The first element
+     * @param b The second element
+     *
+     * @return If the elements are equal
+     *
+     * @since 2.2.0
+     */
+    private static boolean same(@NotNull ParsedElement a, @NotNull ParsedElement b) {
+        return a == b || (a.hashCode() == b.hashCode() && a.equals(b));
+    }
+
+    /**
+     * Compute the shortest edit script between two slices of arrays with Myers' algorithm
+     * <p>
+     * Runs in O((n + m) * d) time where d is the amount of inserted and removed items, if d would be larger than {@link #MAX_EDIT_DISTANCE} every source item is deleted and every target item inserted, which pairs them up by position
+     *
+     * @param source       The array to start from
+     * @param target       The array to end at
+     * @param offset       The index both slices start at
+     * @param sourceLength The length of the source slice
+     * @param targetLength The length of the target slice
+     *
+     * @return The edit script, made of {@link #MATCH}, {@link #DELETE} and {@link #INSERT}
+     *
+     * @since 2.2.0
+     */
+    private static char @NotNull [] script(@NotNull ParsedArray source, @NotNull ParsedArray target, int offset, int sourceLength, int targetLength) {
+        int[] sourceHashes = new int[sourceLength];
+        for (int i = 0; i < sourceLength; i++) {
+            sourceHashes[i] = source.get(offset + i).hashCode();
+        }
+        int[] targetHashes = new int[targetLength];
+        for (int i = 0; i < targetLength; i++) {
+            targetHashes[i] = target.get(offset + i).hashCode();
+        }
+
+        int limit = Math.min(sourceLength + targetLength, MAX_EDIT_DISTANCE);
+        int center = limit + 1;
+        int[] v = new int[2 * limit + 3];
+        List<int[]> trace = new ArrayList<>();
+
+        for (int d = 0; d <= limit; d++) {
+            trace.add(Arrays.copyOfRange(v, center - d - 1, center + d + 2));
+
+            for (int k = -d; k <= d; k += 2) {
+                int x = (k == -d || (k != d && v[center + k - 1] < v[center + k + 1])) ? v[center + k + 1] : v[center + k - 1] + 1;
+                int y = x - k;
+                while (x < sourceLength && y < targetLength && sourceHashes[x] == targetHashes[y] && source.get(offset + x).equals(target.get(offset + y))) {
+                    x++;
+                    y++;
+                }
+                v[center + k] = x;
+
+                if (x >= sourceLength && y >= targetLength) {
+                    return backtrack(trace, sourceLength, targetLength);
+                }
+            }
+        }
+
+        char[] script = new char[sourceLength + targetLength];
+        Arrays.fill(script, 0, sourceLength, DELETE);
+        Arrays.fill(script, sourceLength, script.length, INSERT);
+        return script;
+    }
+
+    /**
+     * Walk back through the furthest reaching paths of Myers' algorithm to build the edit script
+     *
+     * @param trace        The furthest reaching x of each diagonal before each step, the snapshot for step d covers diagonals -d - 1 to d + 1
+     * @param sourceLength The length of the source slice
+     * @param targetLength The length of the target slice
+     *
+     * @return The edit script
+     *
+     * @since 2.2.0
+     */
+    private static char @NotNull [] backtrack(@NotNull List<int[]> trace, int sourceLength, int targetLength) {
+        StringBuilder script = new StringBuilder(sourceLength + targetLength);
+
+        int x = sourceLength;
+        int y = targetLength;
+        for (int d = trace.size() - 1; d >= 0; d--) {
+            int[] v = trace.get(d);
+            int center = d + 1;
+            int k = x - y;
+
+            int previousK = (k == -d || (k != d && v[center + k - 1] < v[center + k + 1])) ? k + 1 : k - 1;
+            int previousX = v[center + previousK];
+            int previousY = previousX - previousK;
+
+            while (x > previousX && y > previousY) {
+                script.append(MATCH);
+                x--;
+                y--;
+            }
+            if (d > 0) {
+                script.append(x == previousX ? INSERT : DELETE);
+            }
+
+            x = previousX;
+            y = previousY;
+        }
+
+        return script.reverse().toString().toCharArray();
+    }
+
+    /**
+     * Apply this patch to an element
+     * <p>
+     * Mutable objects and arrays are modified in place, so if an operation fails the element may be left partly patched
+     * <p>
+     * Frozen objects and arrays are never modified, new versions sharing all the unchanged parts are created instead, so applying to a frozen element either fully succeeds or leaves it untouched
+     *
+     * @param element The element to apply this patch to
+     *
+     * @return The patched element, which is the passed element unless it was frozen or the patch replaced the whole element
+     *
+     * @throws IllegalArgumentException If an operation can not be applied or a test fails
+     * @since 2.2.0
+     */
+    public @NotNull ParsedElement apply(@NotNull ParsedElement element) {
+        ParsedElement root = element;
+        for (Operation operation : this.operations) {
+            root = apply(root, operation);
+        }
+        return root;
+    }
+
+    /**
+     * Apply a single operation to an element
+     *
+     * @param root      The element to apply the operation to
+     * @param operation The operation to apply
+     *
+     * @return The patched element
+     *
+     * @throws IllegalArgumentException If the operation can not be applied
+     * @since 2.2.0
+     */
+    private static @NotNull ParsedElement apply(@NotNull ParsedElement root, @NotNull Operation operation) {
+        String[] segments = segments(operation.path());
+
+        switch (operation.op()) {
+            case ADD -> {
+                return modify(root, segments, 0, Op.ADD, Objects.requireNonNull(operation.value()), operation.path());
+            }
+            case REMOVE -> {
+                return modify(root, segments, 0, Op.REMOVE, null, operation.path());
+            }
+            case REPLACE -> {
+                return modify(root, segments, 0, Op.REPLACE, Objects.requireNonNull(operation.value()), operation.path());
+            }
+            case MOVE -> {
+                String from = Objects.requireNonNull(operation.from());
+                if (operation.path().startsWith(from + "/")) {
+                    throw new IllegalArgumentException("Can not move \"" + from + "\" into itself");
+                }
+                if (from.equals(operation.path())) {
+                    resolve(root, segments(from), from);
+                    return root;
+                }
+
+                ParsedElement value = resolve(root, segments(from), from);
+                root = modify(root, segments(from), 0, Op.REMOVE, null, from);
+                return modify(root, segments, 0, Op.ADD, value, operation.path());
+            }
+            case COPY -> {
+                String from = Objects.requireNonNull(operation.from());
+                return modify(root, segments, 0, Op.ADD, resolve(root, segments(from), from), operation.path());
+            }
+            case TEST -> {
+                if (!resolve(root, segments, operation.path()).equals(operation.value())) {
+                    throw new IllegalArgumentException("Test of \"" + operation.path() + "\" failed");
+                }
+                return root;
+            }
+            default -> {
+                throw new IllegalArgumentException("Unknown patch operation \"" + operation.op() + "\"");
+            }
+        }
+    }
+
+    /**
+     * Add, remove or replace the value at a pointer
+     *
+     * @param container The element the remaining segments are relative to
+     * @param segments  The segments of the pointer
+     * @param depth     The index of the current segment
+     * @param op        Whether to {@link Op#ADD}, {@link Op#REMOVE} or {@link Op#REPLACE}
+     * @param value     The value to add or replace with
+     * @param path      The pointer, for errors
+     *
+     * @return The modified element, which is a new version if it was frozen
+     *
+     * @throws IllegalArgumentException If the pointer does not exist
+     * @since 2.2.0
+     */
+    private static @NotNull ParsedElement modify(@NotNull ParsedElement container, @NotNull String @NotNull [] segments, int depth, @NotNull Op op, @Nullable ParsedElement value, @NotNull String path) {
+        if (segments.length == 0) {
+            if (op == Op.REMOVE) {
+                throw new IllegalArgumentException("Can not remove the whole element");
+            }
+            return ParsedElement.share(Objects.requireNonNull(value));
+        }
+
+        String segment = segments[depth];
+
+        if (depth < segments.length - 1) {
+            ParsedElement child = child(container, segment, path);
+            ParsedElement updated = modify(child, segments, depth + 1, op, value, path);
+            return updated == child ? container : put(container, segment, updated, false, path);
+        }
+
+        if (op == Op.REMOVE) {
+            child(container, segment, path);
+
+            if (container instanceof ParsedObject object) {
+                if (object.isFrozen()) {
+                    return object.without(segment);
+                }
+                object.remove(segment);
+                return object;
+            } else {
+                ParsedArray array = (ParsedArray) container;
+                int index = index(segment, array.getSize() - 1, path);
+                if (array.isFrozen()) {
+                    return array.withoutAt(index);
+                }
+                array.remove(index);
+                return array;
+            }
+        } else {
+            if (op == Op.REPLACE) {
+                child(container, segment, path);
+            }
+            return put(container, segment, Objects.requireNonNull(value), op == Op.ADD, path);
+        }
+    }
+
+    /**
+     * Set a key of an object or an index of an array
+     *
+     * @param container The object or array
+     * @param segment   The key or index
+     * @param value     The value to set
+     * @param insert    Whether array values should be inserted rather than replaced
+     * @param path      The pointer, for errors
+     *
+     * @return The modified element, which is a new version if it was frozen
+     *
+     * @throws IllegalArgumentException If the container is not an object or array or the index is out of bounds
+     * @since 2.2.0
+     */
+    private static @NotNull ParsedElement put(@NotNull ParsedElement container, @NotNull String segment, @NotNull ParsedElement value, boolean insert, @NotNull String path) {
+        if (container instanceof ParsedObject object) {
+            if (object.isFrozen()) {
+                return object.with(segment, value);
+            }
+            object.set(segment, ParsedElement.share(value));
+            return object;
+        } else if (container instanceof ParsedArray array) {
+            int size = array.getSize();
+            if (insert) {
+                int index = segment.equals("-") ? size : index(segment, size, path);
+                if (array.isFrozen()) {
+                    if (index == size) {
+                        return array.withAdded(value);
+                    }
+                    List<ParsedElement> values = new ArrayList<>(array.getValues());
+                    values.add(index, value);
+                    return ParsedArray.from(values).freeze();
+                }
+                array.addAt(index, ParsedElement.share(value));
+            } else {
+                int index = index(segment, size - 1, path);
+                if (array.isFrozen()) {
+                    return array.withAt(index, value);
+                }
+                array.set(index, ParsedElement.share(value));
+            }
+            return array;
+        } else {
+            throw new IllegalArgumentException("Path \"" + path + "\" does not exist");
+        }
+    }
+
+    /**
+     * Get the value at a pointer
+     *
+     * @param root     The element the pointer is relative to
+     * @param segments The segments of the pointer
+     * @param path     The pointer, for errors
+     *
+     * @return The value at the pointer
+     *
+     * @throws IllegalArgumentException If the pointer does not exist
+     * @since 2.2.0
+     */
+    private static @NotNull ParsedElement resolve(@NotNull ParsedElement root, @NotNull String @NotNull [] segments, @NotNull String path) {
+        ParsedElement element = root;
+        for (String segment : segments) {
+            element = child(element, segment, path);
+        }
+        return element;
+    }
+
+    /**
+     * Get a key of an object or an index of an array
+     *
+     * @param container The object or array
+     * @param segment   The key or index
+     * @param path      The pointer, for errors
+     *
+     * @return The value at the key or index
+     *
+     * @throws IllegalArgumentException If the key or index does not exist
+     * @since 2.2.0
+     */
+    private static @NotNull ParsedElement child(@NotNull ParsedElement container, @NotNull String segment, @NotNull String path) {
+        if (container instanceof ParsedObject object && object.has(segment)) {
+            return object.get(segment);
+        } else if (container instanceof ParsedArray array) {
+            return array.get(index(segment, array.getSize() - 1, path));
+        } else {
+            throw new IllegalArgumentException("Path \"" + path + "\" does not exist");
+        }
+    }
+
+    /**
+     * Parse an array index segment
+     *
+     * @param segment The segment
+     * @param max     The largest allowed index
+     * @param path    The pointer, for errors
+     *
+     * @return The index
+     *
+     * @throws IllegalArgumentException If the segment is not a valid index or is out of bounds
+     * @since 2.2.0
+     */
+    private static int index(@NotNull String segment, int max, @NotNull String path) {
+        boolean valid = !segment.isEmpty() && segment.length() <= 10 && (segment.length() == 1 || segment.charAt(0) != '0');
+        for (int i = 0; valid && i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            valid = c >= '0' && c <= '9';
+        }
+
+        long index = valid ? Long.parseLong(segment) : -1;
+        if (index < 0 || index > max) {
+            throw new IllegalArgumentException("Path \"" + path + "\" does not exist");
+        }
+        return (int) index;
+    }
+
+    /**
+     * Split a pointer into its unescaped segments
+     *
+     * @param pointer The pointer
+     *
+     * @return The segments of the pointer
+     *
+     * @throws IllegalArgumentException If the pointer is not valid
+     * @since 2.2.0
+     */
+    private static @NotNull String @NotNull [] segments(@NotNull String pointer) {
+        if (pointer.isEmpty()) {
+            return new String[0];
+        }
+        if (pointer.charAt(0) != '/') {
+            throw new IllegalArgumentException("Pointer \"" + pointer + "\" must be empty or start with '/'");
+        }
+
+        String[] segments = pointer.substring(1).split("/", -1);
+        for (int i = 0; i < segments.length; i++) {
+            if (segments[i].indexOf('~') != -1) {
+                if (segments[i].matches(".*~(?![01]).*")) {
+                    throw new IllegalArgumentException("Pointer \"" + pointer + "\" has an invalid escape");
+                }
+                segments[i] = segments[i].replace("~1", "/").replace("~0", "~");
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * Convert this patch into a JSON Patch document
+     *
+     * @return An array of operation objects
+     *
+     * @since 2.2.0
+     */
+    public @NotNull ParsedArray toElement() {
+        ParsedArray array = ParsedArray.create(this.operations.size());
+        for (Operation operation : this.operations) {
+            ParsedObject object = ParsedObject.create();
+            object.set("op", ParsedPrimitive.fromString(operation.op().getName()));
+            if (operation.from() != null) {
+                object.set("from", ParsedPrimitive.fromString(operation.from()));
+            }
+            object.set("path", ParsedPrimitive.fromString(operation.path()));
+            if (operation.value() != null) {
+                object.set("value", operation.value());
+            }
+            array.add(object);
+        }
+        return array;
+    }
+
+    /**
+     * Read a patch from a JSON Patch document
+     *
+     * @param element An array of operation objects
+     *
+     * @return A new {@link ElementPatch}
+     *
+     * @throws IllegalArgumentException If the document is not a valid patch
+     * @since 2.2.0
+     */
+    public static @NotNull ElementPatch fromElement(@NotNull ParsedElement element) {
+        if (!element.isArray()) {
+            throw new IllegalArgumentException("A patch must be an array");
+        }
+
+        List<Operation> operations = new ArrayList<>(element.asArray().getSize());
+        for (ParsedElement value : element.asArray().getValues()) {
+            if (!value.isObject()) {
+                throw new IllegalArgumentException("A patch operation must be an object");
+            }
+
+            ParsedObject object = value.asObject();
+            operations.add(new Operation(Op.fromName(string(object, "op", true)), string(object, "path", true), string(object, "from", false), object.has("value") ? object.get("value") : null));
+        }
+        return new ElementPatch(operations);
+    }
+
+    /**
+     * Get a string member of an operation object
+     *
+     * @param object   The operation object
+     * @param key      The key of the member
+     * @param required Whether the member must exist
+     *
+     * @return The string, or null if it does not exist and is not required
+     *
+     * @throws IllegalArgumentException If the member is not a string or is required and does not exist
+     * @since 2.2.0
+     */
+    private static @Nullable String string(@NotNull ParsedObject object, @NotNull String key, boolean required) {
+        if (!object.has(key)) {
+            if (required) {
+                throw new IllegalArgumentException("A patch operation must have a \"" + key + "\"");
+            }
+            return null;
+        }
+
+        ParsedElement value = object.get(key);
+        if (!value.isPrimitive() || !value.asPrimitive().isString()) {
+            throw new IllegalArgumentException("The \"" + key + "\" of a patch operation must be a string");
+        }
+        return value.asPrimitive().asString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull String toString() {
+        return this.toElement().toString();
+    }
+}
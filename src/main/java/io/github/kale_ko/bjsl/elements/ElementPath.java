@@ -0,0 +1,893 @@
+package io.github.kale_ko.bjsl.elements;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A compiled path expression for selecting values out of element trees or token streams
+ * <p>
+ * Supports JSON Pointer ({@code /store/book/0/title}) and a subset of JSONPath: member names ({@code $.store} or {@code $['store']}), array indexes including negative ones ({@code [0]}, {@code [-1]}), wildcards ({@code .*} or {@code [*]}), recursive descent ({@code $..title}), and filters comparing relative paths against literals ({@code [?(@.price < 10 && @.isbn)]})
+ * <p>
+ * Paths are compiled once and are immutable so they can be shared between threads, evaluating a path walks the input directly without building intermediate collections
+ * <p>
+ * Element trees and token streams select the same values in the same order, document order with a value before its children, and each value at most once
+ *
+ * @version 2.2.0
+ * @since 2.2.0
+ */
+public final class ElementPath {
+    /**
+     * The maximum amount of steps a path can have
+     *
+     * @since 2.2.0
+     */
+    public static final int MAX_STEPS = 63;
+
+    private static final int NAME = 0;
+    private static final int INDEX = 1;
+    private static final int WILDCARD = 2;
+    private static final int FILTER = 3;
+
+    /**
+     * The expression this path was compiled from
+     *
+     * @since 2.2.0
+     */
+    private final @NotNull String expression;
+
+    /**
+     * The steps of this path
+     *
+     * @since 2.2.0
+     */
+    private final @NotNull Step @NotNull [] steps;
+
+    /**
+     * Create a new {@link ElementPath}
+     *
+     * @param expression The expression this path was compiled from
+     * @param steps      The steps of this path
+     *
+     * @since 2.2.0
+     */
+    private ElementPath(@NotNull String expression, @NotNull Step @NotNull [] steps) {
+        if (steps.length > MAX_STEPS) {
+            throw new IllegalArgumentException("Path \"" + expression + "\" has more than " + MAX_STEPS + " steps");
+        }
+
+        this.expression = expression;
+        this.steps = steps;
+    }
+
+    /**
+     * Get the expression this path was compiled from
+     *
+     * @return The expression this path was compiled from
+     *
+     * @since 2.2.0
+     */
+    public @NotNull String getExpression() {
+        return this.expression;
+    }
+
+    /**
+     * Get whether this path can select at most one value
+     *
+     * @return Whether this path only contains member names and indexes
+     *
+     * @since 2.2.0
+     */
+    public boolean isDefinite() {
+        for (Step step : this.steps) {
+            if (step.descendant || step.kind == WILDCARD || step.kind == FILTER) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Call an action for every value this path selects from an element
+     *
+     * @param root   The element to select from
+     * @param action The action to call
+     *
+     * @since 2.2.0
+     */
+    public void forEach(@NotNull ParsedElement root, @NotNull Consumer<? super ParsedElement> action) {
+        this.evaluate(root, 1L, element -> {
+            action.accept(element);
+            return true;
+        });
+    }
+
+    /**
+     * Get the first value this path selects from an element
+     *
+     * @param root The element to select from
+     *
+     * @return The first selected value or null if there are none
+     *
+     * @since 2.2.0
+     */
+    public @Nullable ParsedElement first(@NotNull ParsedElement root) {
+        ParsedElement[] result = new ParsedElement[1];
+        this.evaluate(root, 1L, element -> {
+            result[0] = element;
+            return false;
+        });
+        return result[0];
+    }
+
+    /**
+     * Get every value this path selects from an element
+     *
+     * @param root The element to select from
+     *
+     * @return A list of the selected values
+     *
+     * @since 2.2.0
+     */
+    public @NotNull List<ParsedElement> select(@NotNull ParsedElement root) {
+        List<ParsedElement> result = new ArrayList<>();
+        this.evaluate(root, 1L, element -> {
+            result.add(element);
+            return true;
+        });
+        return result;
+    }
+
+    /**
+     * Call an action for every value this path selects from the next value of a token stream without reading the rest into elements
+     * <p>
+     * Values that are not on the path are skipped, only selected values and the children that filters have to look at are read, see {@link TapeDocument}. Selected values are frozen
+     *
+     * @param parser The parser to read from, if it is positioned on a value that value is read otherwise it is advanced first
+     * @param action The action to call
+     *
+     * @throws IOException If the parser fails
+     * @since 2.2.0
+     */
+    public void forEach(@NotNull JsonParser parser, @NotNull Consumer<? super ParsedElement> action) throws IOException {
+        this.evaluate(parser, element -> {
+            action.accept(element);
+            return true;
+        });
+    }
+
+    /**
+     * Get the first value this path selects from the next value of a token stream, stopping as soon as it is found
+     * <p>
+     * If a value is found the parser is left just after it, in the middle of the input
+     *
+     * @param parser The parser to read from, if it is positioned on a value that value is read otherwise it is advanced first
+     *
+     * @return The first selected value or null if there are none
+     *
+     * @throws IOException If the parser fails
+     * @since 2.2.0
+     */
+    public @Nullable ParsedElement first(@NotNull JsonParser parser) throws IOException {
+        ParsedElement[] result = new ParsedElement[1];
+        this.evaluate(parser, element -> {
+            result[0] = element;
+            return false;
+        });
+        return result[0];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull String toString() {
+        return this.expression;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        return obj == this || (obj instanceof ElementPath other && other.expression.equals(this.expression));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return this.expression.hashCode();
+    }
+
+    /**
+     * Evaluate a set of active steps against an element
+     * <p>
+     * A selected value is passed to the sink before its children are looked at, so values are selected in document order and each one at most once
+     *
+     * @param element The element to evaluate against
+     * @param states  A bit for each active step, the bit after the last step marks the value as selected
+     * @param sink    The sink for selected values, returns false to stop
+     *
+     * @return Whether evaluation should continue
+     *
+     * @since 2.2.0
+     */
+    private boolean evaluate(@NotNull ParsedElement element, long states, @NotNull Predicate<ParsedElement> sink) {
+        long selected = 1L << this.steps.length;
+        if ((states & selected) != 0 && !sink.test(element)) {
+            return false;
+        }
+        states &= ~selected;
+        if (states == 0) {
+            return true;
+        }
+
+        Step only = Long.bitCount(states) == 1 ? this.steps[Long.numberOfTrailingZeros(states)] : null;
+        switch (element) {
+            case ParsedObject object -> {
+                if (only != null && only.kind == NAME && !only.descendant) {
+                    ParsedElement value = object.object.get(only.name);
+                    return value == null || this.evaluate(value, states << 1, sink);
+                }
+
+                for (Map.Entry<String, ParsedElement> entry : object.object.entrySet()) {
+                    ParsedElement value = entry.getValue();
+                    long child = this.childStates(states, entry.getKey(), -1, -1, value);
+                    if (child != 0 && !this.evaluate(value, child, sink)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            case ParsedArray array -> {
+                int size = array.array.size();
+                if (only != null && only.kind == NAME && !only.descendant) {
+                    return only.index < 0 || only.index >= size || this.evaluate(array.array.get(only.index), states << 1, sink);
+                }
+                if (only != null && only.kind == INDEX && !only.descendant) {
+                    int index = only.index < 0 ? size + only.index : only.index;
+                    return index < 0 || index >= size || this.evaluate(array.array.get(index), states << 1, sink);
+                }
+
+                int index = 0;
+                for (ParsedElement value : array.array) {
+                    long child = this.childStates(states, null, index++, size, value);
+                    if (child != 0 && !this.evaluate(value, child, sink)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            default -> {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Evaluate this path against the next value of a token stream
+     *
+     * @param parser The parser to read from
+     * @param sink   The sink for selected values, returns false to stop
+     *
+     * @throws IOException If the parser fails
+     * @since 2.2.0
+     */
+    private void evaluate(@NotNull JsonParser parser, @NotNull Predicate<ParsedElement> sink) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == null || token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+            token = parser.nextToken();
+        }
+        if (token != null) {
+            this.evaluate(parser, 1L, sink);
+        }
+    }
+
+    /**
+     * Evaluate a set of active steps against the current value of a token stream
+     * <p>
+     * Values are selected in the same order as {@link #evaluate(ParsedElement, long, Predicate)}
+     *
+     * @param parser The parser to read from, positioned on the value
+     * @param states A bit for each active step, the bit after the last step marks the value as selected
+     * @param sink   The sink for selected values, returns false to stop
+     *
+     * @return Whether evaluation should continue
+     *
+     * @throws IOException If the parser fails
+     * @since 2.2.0
+     */
+    private boolean evaluate(@NotNull JsonParser parser, long states, @NotNull Predicate<ParsedElement> sink) throws IOException {
+        JsonToken token = parser.currentToken();
+        boolean container = token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY;
+
+        long filters = 0;
+        boolean needsValue = (states & (1L << this.steps.length)) != 0;
+        for (long remaining = states & ~(1L << this.steps.length); remaining != 0; remaining &= remaining - 1) {
+            Step step = this.steps[Long.numberOfTrailingZeros(remaining)];
+            if (step.kind == FILTER) {
+                filters |= Long.lowestOneBit(remaining);
+            } else if (step.kind == INDEX && step.index < 0 && token == JsonToken.START_ARRAY) {
+                needsValue = true;
+            }
+        }
+
+        if (needsValue || !container) {
+            if (!needsValue) {
+                return true;
+            }
+            return this.evaluate(TapeDocument.parse(parser).root(), states, sink);
+        }
+
+        if (token == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+
+                if (!this.evaluateChild(parser, this.childStates(states & ~filters, name, -1, -1, null), filters, sink)) {
+                    return false;
+                }
+            }
+        } else {
+            int index = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (!this.evaluateChild(parser, this.childStates(states & ~filters, null, index++, -1, null), filters, sink)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Evaluate the child of a container in a token stream
+     *
+     * @param parser  The parser to read from, positioned on the child
+     * @param states  The steps active for the child
+     * @param filters The filter steps active for the container, which need the child read to be tested
+     * @param sink    The sink for selected values, returns false to stop
+     *
+     * @return Whether evaluation should continue
+     *
+     * @throws IOException If the parser fails
+     * @since 2.2.0
+     */
+    private boolean evaluateChild(@NotNull JsonParser parser, long states, long filters, @NotNull Predicate<ParsedElement> sink) throws IOException {
+        if (filters == 0) {
+            if (states == 0) {
+                parser.skipChildren();
+                return true;
+            }
+            return this.evaluate(parser, states, sink);
+        }
+
+        ParsedElement child = TapeDocument.parse(parser).root();
+        return this.evaluate(child, states | this.childStates(filters, null, -1, -1, child), sink);
+    }
+
+    /**
+     * Get the steps active for a child given the steps active for its container
+     *
+     * @param states The steps active for the container
+     * @param name   The key of the child or null if the container is an array
+     * @param index  The index of the child or -1 if the container is an object
+     * @param size   The size of the container or -1 if unknown
+     * @param value  The child or null if unknown, filters never match an unknown child
+     *
+     * @return The steps active for the child
+     *
+     * @since 2.2.0
+     */
+    private long childStates(long states, @Nullable String name, int index, int size, @Nullable ParsedElement value) {
+        long result = 0;
+        for (long remaining = states & ~(1L << this.steps.length); remaining != 0; remaining &= remaining - 1) {
+            int step = Long.numberOfTrailingZeros(remaining);
+            Step current = this.steps[step];
+            if (current.descendant) {
+                result |= 1L << step;
+            }
+            if (current.matches(name, index, size, value)) {
+                result |= 1L << (step + 1);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Compile a path expression
+     * <p>
+     * Expressions starting with {@code $} are read as JSONPath, anything else as JSON Pointer
+     *
+     * @param expression The expression to compile
+     *
+     * @return A new {@link ElementPath}
+     *
+     * @throws IllegalArgumentException If the expression is not valid
+     * @since 2.2.0
+     */
+    public static @NotNull ElementPath compile(@NotNull String expression) {
+        if (!expression.startsWith("$")) {
+            return pointer(expression);
+        }
+
+        Reader reader = new Reader(expression, 1);
+        List<Step> steps = reader.readSteps();
+        if (!reader.atEnd()) {
+            throw reader.error("Unexpected character");
+        }
+        return new ElementPath(expression, steps.toArray(new Step[0]));
+    }
+
+    /**
+     * Compile a JSON Pointer
+     *
+     * @param pointer The pointer to compile, empty or starting with {@code /}
+     *
+     * @return A new {@link ElementPath}
+     *
+     * @throws IllegalArgumentException If the pointer is not valid
+     * @since 2.2.0
+     */
+    public static @NotNull ElementPath pointer(@NotNull String pointer) {
+        if (!pointer.isEmpty() && pointer.charAt(0) != '/') {
+            throw new IllegalArgumentException("Pointer \"" + pointer + "\" must be empty or start with a /");
+        }
+
+        List<Step> steps = new ArrayList<>();
+        int start = 1;
+        while (start <= pointer.length() && !pointer.isEmpty()) {
+            int end = pointer.indexOf('/', start);
+            if (end < 0) {
+                end = pointer.length();
+            }
+
+            String token = pointer.substring(start, end);
+            if (token.indexOf('~') >= 0) {
+                StringBuilder builder = new StringBuilder(token.length());
+                for (int i = 0; i < token.length(); i++) {
+                    char c = token.charAt(i);
+                    if (c == '~') {
+                        char next = i + 1 < token.length() ? token.charAt(++i) : ' ';
+                        if (next != '0' && next != '1') {
+                            throw new IllegalArgumentException("Pointer \"" + pointer + "\" has an invalid escape");
+                        }
+                        builder.append(next == '0' ? '~' : '/');
+                    } else {
+                        builder.append(c);
+                    }
+                }
+                token = builder.toString();
+            }
+            steps.add(Step.name(token));
+
+            start = end + 1;
+        }
+
+        return new ElementPath(pointer, steps.toArray(new Step[0]));
+    }
+
+    /**
+     * A single step of a path
+     *
+     * @since 2.2.0
+     */
+    private static final class Step {
+        private final int kind;
+        private final boolean descendant;
+        private final @Nullable String name;
+        private final int index;
+        private final @Nullable Filter filter;
+
+        private Step(int kind, boolean descendant, @Nullable String name, int index, @Nullable Filter filter) {
+            this.kind = kind;
+            this.descendant = descendant;
+            this.name = name;
+            this.index = index;
+            this.filter = filter;
+        }
+
+        static @NotNull Step name(@NotNull String name) {
+            int index = -1;
+            if (!name.isEmpty() && name.length() < 10 && name.chars().allMatch(c -> c >= '0' && c <= '9') && (name.length() == 1 || name.charAt(0) != '0')) {
+                index = Integer.parseInt(name);
+            }
+            return new Step(NAME, false, name, index, null);
+        }
+
+        @NotNull Step asDescendant() {
+            return new Step(this.kind, true, this.name, this.index, this.filter);
+        }
+
+        /**
+         * Get whether a child matches this step
+         *
+         * @param name  The key of the child or null if the container is an array
+         * @param index The index of the child or -1 if the container is an object
+         * @param size  The size of the container or -1 if unknown
+         * @param value The child or null if unknown
+         *
+         * @return Whether the child matches
+         */
+        boolean matches(@Nullable String name, int index, int size, @Nullable ParsedElement value) {
+            return switch (this.kind) {
+                case NAME -> name != null ? name.equals(this.name) : index == this.index;
+                case INDEX -> name == null && (this.index >= 0 ? index == this.index : size >= 0 && index == size + this.index);
+                case WILDCARD -> true;
+                default -> value != null && Objects.requireNonNull(this.filter).test(value);
+            };
+        }
+    }
+
+    /**
+     * A filter expression
+     *
+     * @since 2.2.0
+     */
+    private interface Filter extends Predicate<ParsedElement> {
+    }
+
+    /**
+     * An operand of a comparison, either a relative path or a literal
+     *
+     * @param path    The relative path or null if this is a literal
+     * @param literal The literal or null if this is a path
+     *
+     * @since 2.2.0
+     */
+    private record Operand(@Nullable ElementPath path, @Nullable ParsedPrimitive literal) {
+        @Nullable ParsedElement resolve(@NotNull ParsedElement element) {
+            return this.path != null ? this.path.first(element) : this.literal;
+        }
+    }
+
+    /**
+     * A comparison between two operands
+     *
+     * @param left     The left operand
+     * @param operator The operator
+     * @param right    The right operand
+     *
+     * @since 2.2.0
+     */
+    private record Comparison(@NotNull Operand left, @NotNull String operator, @NotNull Operand right) implements Filter {
+        @Override
+        public boolean test(@NotNull ParsedElement element) {
+            ParsedElement left = this.left.resolve(element);
+            ParsedElement right = this.right.resolve(element);
+            if (left == null || right == null) {
+                return this.operator.equals("!=") && left != right;
+            }
+
+            int comparison = compare(left, right);
+            return switch (this.operator) {
+                case "==" -> comparison == 0;
+                case "!=" -> comparison != 0;
+                case "<" -> comparison != Integer.MIN_VALUE && comparison < 0;
+                case "<=" -> comparison != Integer.MIN_VALUE && comparison <= 0;
+                case ">" -> comparison != Integer.MIN_VALUE && comparison > 0;
+                default -> comparison != Integer.MIN_VALUE && comparison >= 0;
+            };
+        }
+
+        /**
+         * Compare two values
+         *
+         * @param left  The left value
+         * @param right The right value
+         *
+         * @return The comparison or {@link Integer#MIN_VALUE} if the values are not ordered, in which case only 0 means equal
+         */
+        private static int compare(@NotNull ParsedElement left, @NotNull ParsedElement right) {
+            if (left instanceof ParsedPrimitive leftPrimitive && right instanceof ParsedPrimitive rightPrimitive) {
+                if (isNumber(leftPrimitive) && isNumber(rightPrimitive)) {
+                    if (isInteger(leftPrimitive) && isInteger(rightPrimitive)) {
+                        return Long.compare(leftPrimitive.toLong(), rightPrimitive.toLong());
+                    } else if ((leftPrimitive.isBigInteger() || leftPrimitive.isBigDecimal() || rightPrimitive.isBigInteger() || rightPrimitive.isBigDecimal()) && isFinite(leftPrimitive) && isFinite(rightPrimitive)) {
+                        return leftPrimitive.toBigDecimal().compareTo(rightPrimitive.toBigDecimal());
+                    } else {
+                        return Double.compare(leftPrimitive.toDouble(), rightPrimitive.toDouble());
+                    }
+                } else if (leftPrimitive.isString() && rightPrimitive.isString()) {
+                    return leftPrimitive.asString().compareTo(rightPrimitive.asString());
+                }
+            }
+            return left.equals(right) ? 0 : Integer.MIN_VALUE;
+        }
+
+        private static boolean isNumber(@NotNull ParsedPrimitive primitive) {
+            return switch (primitive.getType()) {
+                case BYTE, SHORT, INTEGER, LONG, BIGINTEGER, FLOAT, DOUBLE, BIGDECIMAL -> true;
+                default -> false;
+            };
+        }
+
+        private static boolean isFinite(@NotNull ParsedPrimitive primitive) {
+            return switch (primitive.getType()) {
+                case FLOAT, DOUBLE -> Double.isFinite(primitive.toDouble());
+                default -> true;
+            };
+        }
+
+        private static boolean isInteger(@NotNull ParsedPrimitive primitive) {
+            return switch (primitive.getType()) {
+                case BYTE, SHORT, INTEGER, LONG -> true;
+                default -> false;
+            };
+        }
+    }
+
+    /**
+     * A check that a relative path selects a value
+     *
+     * @param path The relative path
+     *
+     * @since 2.2.0
+     */
+    private record Exists(@NotNull ElementPath path) implements Filter {
+        @Override
+        public boolean test(@NotNull ParsedElement element) {
+            return this.path.first(element) != null;
+        }
+    }
+
+    /**
+     * A combination of filters
+     *
+     * @param filters The filters
+     * @param all     Whether all filters must match rather than any
+     *
+     * @since 2.2.0
+     */
+    private record Combination(@NotNull Filter @NotNull [] filters, boolean all) implements Filter {
+        @Override
+        public boolean test(@NotNull ParsedElement element) {
+            for (Filter filter : this.filters) {
+                if (filter.test(element) != this.all) {
+                    return !this.all;
+                }
+            }
+            return this.all;
+        }
+    }
+
+    /**
+     * A reader for JSONPath expressions
+     *
+     * @since 2.2.0
+     */
+    private static final class Reader {
+        private final @NotNull String expression;
+        private int position;
+
+        Reader(@NotNull String expression, int position) {
+            this.expression = expression;
+            this.position = position;
+        }
+
+        boolean atEnd() {
+            return this.position >= this.expression.length();
+        }
+
+        char peek() {
+            return this.atEnd() ? '\0' : this.expression.charAt(this.position);
+        }
+
+        boolean consume(@NotNull String text) {
+            if (this.expression.startsWith(text, this.position)) {
+                this.position += text.length();
+                return true;
+            }
+            return false;
+        }
+
+        void expect(@NotNull String text) {
+            if (!this.consume(text)) {
+                throw this.error("Expected \"" + text + "\"");
+            }
+        }
+
+        void skipWhitespace() {
+            while (!this.atEnd() && Character.isWhitespace(this.peek())) {
+                this.position++;
+            }
+        }
+
+        @NotNull IllegalArgumentException error(@NotNull String message) {
+            return new IllegalArgumentException(message + " at position " + this.position + " of path \"" + this.expression + "\"");
+        }
+
+        @NotNull List<Step> readSteps() {
+            List<Step> steps = new ArrayList<>();
+            while (!this.atEnd()) {
+                char c = this.peek();
+                if (c == '.' || c == '[') {
+                    boolean descendant = this.consume("..");
+                    if (!descendant && c == '.') {
+                        this.position++;
+                    }
+
+                    Step step;
+                    if (this.peek() == '[') {
+                        step = this.readBracket();
+                    } else if (this.consume("*")) {
+                        step = new Step(WILDCARD, false, null, -1, null);
+                    } else {
+                        step = Step.name(this.readName());
+                    }
+                    steps.add(descendant ? step.asDescendant() : step);
+                } else {
+                    break;
+                }
+            }
+            return steps;
+        }
+
+        @NotNull String readName() {
+            int start = this.position;
+            while (!this.atEnd()) {
+                char c = this.peek();
+                if (c == '.' || c == '[' || c == ']' || c == '(' || c == ')' || c == '=' || c == '!' || c == '<' || c == '>' || c == '&' || c == '|' || Character.isWhitespace(c)) {
+                    break;
+                }
+                this.position++;
+            }
+            if (start == this.position) {
+                throw this.error("Expected a name");
+            }
+            return this.expression.substring(start, this.position);
+        }
+
+        @NotNull Step readBracket() {
+            this.expect("[");
+            this.skipWhitespace();
+
+            Step step;
+            char c = this.peek();
+            if (this.consume("*")) {
+                step = new Step(WILDCARD, false, null, -1, null);
+            } else if (c == '\'' || c == '"') {
+                step = new Step(NAME, false, this.readString(), -1, null);
+            } else if (this.consume("?")) {
+                this.skipWhitespace();
+                this.expect("(");
+                Filter filter = this.readOr();
+                this.skipWhitespace();
+                this.expect(")");
+                step = new Step(FILTER, false, null, -1, filter);
+            } else if (c == '-' || (c >= '0' && c <= '9')) {
+                int start = this.position;
+                this.position++;
+                while (this.peek() >= '0' && this.peek() <= '9') {
+                    this.position++;
+                }
+                try {
+                    step = new Step(INDEX, false, null, Integer.parseInt(this.expression.substring(start, this.position)), null);
+                } catch (NumberFormatException e) {
+                    throw this.error("Invalid index");
+                }
+            } else {
+                throw this.error("Unexpected character");
+            }
+
+            this.skipWhitespace();
+            this.expect("]");
+            return step;
+        }
+
+        @NotNull String readString() {
+            char quote = this.expression.charAt(this.position++);
+            StringBuilder builder = new StringBuilder();
+            while (true) {
+                if (this.atEnd()) {
+                    throw this.error("Unterminated string");
+                }
+
+                char c = this.expression.charAt(this.position++);
+                if (c == quote) {
+                    return builder.toString();
+                } else if (c == '\\' && !this.atEnd()) {
+                    builder.append(this.expression.charAt(this.position++));
+                } else {
+                    builder.append(c);
+                }
+            }
+        }
+
+        @NotNull Filter readOr() {
+            List<Filter> filters = new ArrayList<>();
+            filters.add(this.readAnd());
+            while (true) {
+                this.skipWhitespace();
+                if (!this.consume("||")) {
+                    break;
+                }
+                filters.add(this.readAnd());
+            }
+            return filters.size() == 1 ? filters.get(0) : new Combination(filters.toArray(new Filter[0]), false);
+        }
+
+        @NotNull Filter readAnd() {
+            List<Filter> filters = new ArrayList<>();
+            filters.add(this.readComparison());
+            while (true) {
+                this.skipWhitespace();
+                if (!this.consume("&&")) {
+                    break;
+                }
+                filters.add(this.readComparison());
+            }
+            return filters.size() == 1 ? filters.get(0) : new Combination(filters.toArray(new Filter[0]), true);
+        }
+
+        @NotNull Filter readComparison() {
+            this.skipWhitespace();
+            if (this.consume("(")) {
+                Filter filter = this.readOr();
+                this.skipWhitespace();
+                this.expect(")");
+                return filter;
+            }
+
+            Operand left = this.readOperand();
+            this.skipWhitespace();
+            for (String operator : new String[] { "==", "!=", "<=", ">=", "<", ">" }) {
+                if (this.consume(operator)) {
+                    this.skipWhitespace();
+                    return new Comparison(left, operator, this.readOperand());
+                }
+            }
+
+            if (left.path() == null) {
+                throw this.error("Expected a comparison");
+            }
+            return new Exists(left.path());
+        }
+
+        @NotNull Operand readOperand() {
+            char c = this.peek();
+            if (c == '@') {
+                int start = this.position;
+                this.position++;
+                List<Step> steps = this.readSteps();
+                return new Operand(new ElementPath(this.expression.substring(start, this.position), steps.toArray(new Step[0])), null);
+            } else if (c == '\'' || c == '"') {
+                return new Operand(null, ParsedPrimitive.fromString(this.readString()));
+            } else if (this.consume("true")) {
+                return new Operand(null, ParsedPrimitive.fromBoolean(true));
+            } else if (this.consume("false")) {
+                return new Operand(null, ParsedPrimitive.fromBoolean(false));
+            } else if (this.consume("null")) {
+                return new Operand(null, ParsedPrimitive.fromNull());
+            } else if (c == '-' || c == '+' || c == '.' || (c >= '0' && c <= '9')) {
+                int start = this.position;
+                this.position++;
+                while (!this.atEnd() && ((this.peek() >= '0' && this.peek() <= '9') || this.peek() == '.' || this.peek() == 'e' || this.peek() == 'E' || this.peek() == '-' || this.peek() == '+')) {
+                    this.position++;
+                }
+
+                String number = this.expression.substring(start, this.position);
+                try {
+                    BigDecimal value = new BigDecimal(number);
+                    if (number.indexOf('.') < 0 && number.indexOf('e') < 0 && number.indexOf('E') < 0) {
+                        BigInteger integer = value.toBigIntegerExact();
+                        return new Operand(null, integer.bitLength() < 64 ? ParsedPrimitive.fromLong(integer.longValue()) : ParsedPrimitive.fromBigInteger(integer));
+                    }
+                    return new Operand(null, ParsedPrimitive.fromBigDecimal(value));
+                } catch (NumberFormatException | ArithmeticException e) {
+                    throw this.error("Invalid number");
+                }
+            } else {
+                throw this.error("Expected a path or literal");
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package io.github.kale_ko.bjsl.elements;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A visitor over the elements of a tree, called depth-first by {@link ElementCursor#walk(ParsedElement, ElementVisitor)}
+ * <p>
+ * Every method is passed the key of the element in its parent object (null for array items and the root) and its index in its parent (-1 for the root)
+ *
+ * @param <E> The type of exception the visitor can throw
+ *
+ * @version 2.2.0
+ * @since 2.2.0
+ */
+public interface ElementVisitor<E extends Exception> {
+    /**
+     * Called when an object is entered
+     *
+     * @param key    The key of the object in its parent
+     * @param index  The index of the object in its parent
+     * @param object The object
+     *
+     * @return Whether the values of the object should be visited, if false they and {@link #visitObjectEnd(String, int, ParsedObject)} are skipped
+     *
+     * @throws E If the visitor fails
+     * @since 2.2.0
+     */
+    public default boolean visitObjectStart(@Nullable String key, int index, @NotNull ParsedObject object) throws E {
+        return true;
+    }
+
+    /**
+     * Called when an object is left, after all of its values have been visited
+     *
+     * @param key    The key of the object in its parent
+     * @param index  The index of the object in its parent
+     * @param object The object
+     *
+     * @throws E If the visitor fails
+     * @since 2.2.0
+     */
+    public default void visitObjectEnd(@Nullable String key, int index, @NotNull ParsedObject object) throws E {
+    }
+
+    /**
+     * Called when an array is entered
+     *
+     * @param key   The key of the array in its parent
+     * @param index The index of the array in its parent
+     * @param array The array
+     *
+     * @return Whether the items of the array should be visited, if false they and {@link #visitArrayEnd(String, int, ParsedArray)} are skipped
+     *
+     * @throws E If the visitor fails
+     * @since 2.2.0
+     */
+    public default boolean visitArrayStart(@Nullable String key, int index, @NotNull ParsedArray array) throws E {
+        return true;
+    }
+
+    /**
+     * Called when an array is left, after all of its items have been visited
+     *
+     * @param key   The key of the array in its parent
+     * @param index The index of the array in its parent
+     * @param array The array
+     *
+     * @throws E If the visitor fails
+     * @since 2.2.0
+     */
+    public default void visitArrayEnd(@Nullable String key, int index, @NotNull ParsedArray array) throws E {
+    }
+
+    /**
+     * Called for every primitive
+     *
+     * @param key       The key of the primitive in its parent
+     * @param index     The index of the primitive in its parent
+     * @param primitive The primitive
+     *
+     * @throws E If the visitor fails
+     * @since 2.2.0
+     */
+    public default void visitPrimitive(@Nullable String key, int index, @NotNull ParsedPrimitive primitive) throws E {
+    }
+}
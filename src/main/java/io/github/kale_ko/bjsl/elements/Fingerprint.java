@@ -0,0 +1,328 @@
+package io.github.kale_ko.bjsl.elements;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Map;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A 128-bit content fingerprint of an element tree
+ * <p>
+ * Fingerprints are computed with MurmurHash3 (x64, 128-bit) over a canonical encoding of the tree, so they only depend on the content of the tree and are stable across processes and versions, unlike {@link ParsedElement#hashCode()}
+ * <p>
+ * Two trees that are {@link ParsedElement#equals(Object) equal} always have the same fingerprint, the order of the keys of an object does not matter but the order of the values of an array does. Fingerprints are meant for deduplication and change detection, not for security
+ *
+ * @param high The high 64 bits of the fingerprint
+ * @param low  The low 64 bits of the fingerprint
+ *
+ * @version 2.2.0
+ * @since 2.2.0
+ */
+public record Fingerprint(long high, long low) {
+    private static final long TAG_NULL = 1;
+    private static final long TAG_PRIMITIVE = 2;
+    private static final long TAG_ARRAY = 3;
+    private static final long TAG_OBJECT = 4;
+    private static final long TAG_ENTRY = 5;
+
+    /**
+     * Compute the fingerprint of an element
+     * <p>
+     * Fingerprints of frozen objects and arrays are cached, so unchanged frozen subtrees are only ever encoded once
+     *
+     * @param element The element to fingerprint
+     *
+     * @return The fingerprint of the element
+     *
+     * @since 2.2.0
+     */
+    public static @NotNull Fingerprint of(@NotNull ParsedElement element) {
+        switch (element) {
+            case ParsedObject object -> {
+                Fingerprint fingerprint = object.fingerprint;
+                if (fingerprint == null) {
+                    fingerprint = ofObject(object);
+                    if (object.frozen) {
+                        object.fingerprint = fingerprint;
+                    }
+                }
+                return fingerprint;
+            }
+            case ParsedArray array -> {
+                Fingerprint fingerprint = array.fingerprint;
+                if (fingerprint == null) {
+                    fingerprint = ofArray(array);
+                    if (array.frozen) {
+                        array.fingerprint = fingerprint;
+                    }
+                }
+                return fingerprint;
+            }
+            case ParsedPrimitive primitive -> {
+                return ofPrimitive(primitive);
+            }
+            default -> {
+                throw new IllegalArgumentException("Unknown element type " + element.getClass().getName());
+            }
+        }
+    }
+
+    /**
+     * Compute the fingerprint of an object
+     * <p>
+     * Entries are fingerprinted separately and summed so the order of the keys does not matter
+     *
+     * @param object The object to fingerprint
+     *
+     * @return The fingerprint of the object
+     *
+     * @since 2.2.0
+     */
+    private static @NotNull Fingerprint ofObject(@NotNull ParsedObject object) {
+        long high = 0;
+        long low = 0;
+        for (Map.Entry<String, ParsedElement> entry : object.getEntries()) {
+            Fingerprint value = of(entry.getValue());
+
+            Hasher hasher = new Hasher();
+            hasher.add(TAG_ENTRY);
+            hasher.add(entry.getKey());
+            hasher.add(value.high);
+            hasher.add(value.low);
+            Fingerprint fingerprint = hasher.finish();
+
+            high += fingerprint.high;
+            low += fingerprint.low;
+        }
+
+        Hasher hasher = new Hasher();
+        hasher.add(TAG_OBJECT);
+        hasher.add(object.getSize());
+        hasher.add(high);
+        hasher.add(low);
+        return hasher.finish();
+    }
+
+    /**
+     * Compute the fingerprint of an array
+     *
+     * @param array The array to fingerprint
+     *
+     * @return The fingerprint of the array
+     *
+     * @since 2.2.0
+     */
+    private static @NotNull Fingerprint ofArray(@NotNull ParsedArray array) {
+        Hasher hasher = new Hasher();
+        hasher.add(TAG_ARRAY);
+        hasher.add(array.getSize());
+        for (ParsedElement value : array.getValues()) {
+            Fingerprint fingerprint = of(value);
+            hasher.add(fingerprint.high);
+            hasher.add(fingerprint.low);
+        }
+        return hasher.finish();
+    }
+
+    /**
+     * Compute the fingerprint of a primitive
+     * <p>
+     * Primitives of different types are never equal so the type is part of the encoding
+     *
+     * @param primitive The primitive to fingerprint
+     *
+     * @return The fingerprint of the primitive
+     *
+     * @since 2.2.0
+     */
+    private static @NotNull Fingerprint ofPrimitive(@NotNull ParsedPrimitive primitive) {
+        Hasher hasher = new Hasher();
+
+        Object value = primitive.get();
+        if (value == null) {
+            hasher.add(TAG_NULL);
+            return hasher.finish();
+        }
+
+        hasher.add(TAG_PRIMITIVE);
+        hasher.add(primitive.getType().name());
+        switch (value) {
+            case String string -> hasher.add(string);
+            case Character character -> hasher.add(character);
+            case Float floatValue -> hasher.add(Float.floatToIntBits(floatValue));
+            case Double doubleValue -> hasher.add(Double.doubleToLongBits(doubleValue));
+            case BigInteger bigInteger -> hasher.add(bigInteger.toString(16));
+            case BigDecimal bigDecimal -> {
+                hasher.add(bigDecimal.scale());
+                hasher.add(bigDecimal.unscaledValue().toString(16));
+            }
+            case Number number -> hasher.add(number.longValue());
+            case Boolean booleanValue -> hasher.add(booleanValue ? 1 : 0);
+            default -> hasher.add(value.toString());
+        }
+        return hasher.finish();
+    }
+
+    /**
+     * Get the fingerprint as 16 big-endian bytes
+     *
+     * @return The fingerprint as bytes
+     *
+     * @since 2.2.0
+     */
+    public byte @NotNull [] toBytes() {
+        byte[] bytes = new byte[16];
+        for (int i = 0; i < 8; i++) {
+            bytes[i] = (byte) (this.high >>> (56 - i * 8));
+            bytes[i + 8] = (byte) (this.low >>> (56 - i * 8));
+        }
+        return bytes;
+    }
+
+    /**
+     * Get the fingerprint as 32 hex digits
+     *
+     * @return The fingerprint as hex
+     *
+     * @since 2.2.0
+     */
+    @Override
+    public @NotNull String toString() {
+        return String.format("%016x%016x", this.high, this.low);
+    }
+
+    /**
+     * A streaming MurmurHash3 (x64, 128-bit) over a sequence of 64-bit words
+     *
+     * @since 2.2.0
+     */
+    private static final class Hasher {
+        private static final long C1 = 0x87c37b91114253d5L;
+        private static final long C2 = 0x4cf5ad432745937fL;
+
+        private long h1 = 0;
+        private long h2 = 0;
+
+        /**
+         * The first word of the current block
+         *
+         * @since 2.2.0
+         */
+        private long pending;
+
+        /**
+         * The amount of words added so far
+         *
+         * @since 2.2.0
+         */
+        private long count = 0;
+
+        /**
+         * Add a word
+         *
+         * @param k The word to add
+         *
+         * @since 2.2.0
+         */
+        void add(long k) {
+            if ((this.count++ & 1) == 0) {
+                this.pending = k;
+                return;
+            }
+
+            long k1 = this.pending;
+            long k2 = k;
+
+            k1 *= C1;
+            k1 = Long.rotateLeft(k1, 31);
+            k1 *= C2;
+            this.h1 ^= k1;
+
+            this.h1 = Long.rotateLeft(this.h1, 27);
+            this.h1 += this.h2;
+            this.h1 = this.h1 * 5 + 0x52dce729;
+
+            k2 *= C2;
+            k2 = Long.rotateLeft(k2, 33);
+            k2 *= C1;
+            this.h2 ^= k2;
+
+            this.h2 = Long.rotateLeft(this.h2, 31);
+            this.h2 += this.h1;
+            this.h2 = this.h2 * 5 + 0x38495ab5;
+        }
+
+        /**
+         * Add a string as its length followed by its characters packed four to a word
+         *
+         * @param string The string to add
+         *
+         * @since 2.2.0
+         */
+        void add(@NotNull String string) {
+            int length = string.length();
+            this.add(length);
+
+            for (int i = 0; i < length; i += 4) {
+                long word = 0;
+                for (int j = i; j < i + 4 && j < length; j++) {
+                    word |= (long) string.charAt(j) << ((j - i) * 16);
+                }
+                this.add(word);
+            }
+        }
+
+        /**
+         * Finish hashing
+         *
+         * @return The fingerprint of the added words
+         *
+         * @since 2.2.0
+         */
+        @NotNull Fingerprint finish() {
+            long h1 = this.h1;
+            long h2 = this.h2;
+
+            if ((this.count & 1) == 1) {
+                long k1 = this.pending;
+                k1 *= C1;
+                k1 = Long.rotateLeft(k1, 31);
+                k1 *= C2;
+                h1 ^= k1;
+            }
+
+            long length = this.count * 8;
+            h1 ^= length;
+            h2 ^= length;
+
+            h1 += h2;
+            h2 += h1;
+
+            h1 = mix(h1);
+            h2 = mix(h2);
+
+            h1 += h2;
+            h2 += h1;
+
+            return new Fingerprint(h1, h2);
+        }
+
+        /**
+         * The final avalanche of MurmurHash3
+         *
+         * @param k The value to mix
+         *
+         * @return The mixed value
+         *
+         * @since 2.2.0
+         */
+        private static long mix(long k) {
+            k ^= k >>> 33;
+            k *= 0xff51afd7ed558ccdL;
+            k ^= k >>> 33;
+            k *= 0xc4ceb9fe1a85ec53L;
+            k ^= k >>> 33;
+            return k;
+        }
+    }
+}
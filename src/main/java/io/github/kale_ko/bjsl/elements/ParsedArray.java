@@ -1,6 +1,7 @@
 package io.github.kale_ko.bjsl.elements;
 
 import java.util.*;
+import java.util.function.Supplier;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
@@ -8,7 +9,7 @@ import org.jetbrains.annotations.Unmodifiable;
 /**
  * A wrapper for an ordered list used to represent an Array in most data formats
  *
- * @version 2.1.0
+ * @version 2.2.0
  * @since 1.0.0
  */
 public class ParsedArray extends ParsedElement {
@@ -19,6 +20,34 @@ public class ParsedArray extends ParsedElement {
      */
     final @NotNull List<ParsedElement> array;
 
+    /**
+     * Whether this array is frozen
+     *
+     * @since 2.2.0
+     */
+    final boolean frozen;
+
+    /**
+     * The cached hash code of this array, only used when frozen
+     *
+     * @since 2.2.0
+     */
+    private int hash;
+
+    /**
+     * The cached fingerprint of this array, only used when frozen
+     *
+     * @since 2.2.0
+     */
+    volatile @Nullable Fingerprint fingerprint;
+
+    /**
+     * Whether the hash code of this array has been computed and is zero
+     *
+     * @since 2.2.0
+     */
+    private boolean hashIsZero;
+
     /**
      * Create a new {@link ParsedArray} from an array
      *
@@ -27,7 +56,32 @@ public class ParsedArray extends ParsedElement {
      * @since 1.0.0
      */
     ParsedArray(@NotNull List<ParsedElement> array) {
+        this(array, false);
+    }
+
+    /**
+     * Create a new {@link ParsedArray} from an array
+     *
+     * @param array  The array to use
+     * @param frozen Whether the array is frozen, the list must not be modified after if so
+     *
+     * @since 2.2.0
+     */
+    ParsedArray(@NotNull List<ParsedElement> array, boolean frozen) {
         this.array = array;
+        this.frozen = frozen;
+    }
+
+    /**
+     * Throw if this array is frozen
+     *
+     * @throws java.lang.UnsupportedOperationException If this array is frozen
+     * @since 2.2.0
+     */
+    void checkMutable() {
+        if (this.frozen) {
+            throw new UnsupportedOperationException("This array is frozen");
+        }
     }
 
     /**
@@ -88,9 +142,12 @@ public class ParsedArray extends ParsedElement {
      *
      * @param value The value to add
      *
+     * @throws java.lang.UnsupportedOperationException If this array is frozen
      * @since 1.0.0
      */
     public void add(@NotNull ParsedElement value) {
+        this.checkMutable();
+
         this.array.add(value);
     }
 
@@ -101,9 +158,12 @@ public class ParsedArray extends ParsedElement {
      * @param value The value to add
      *
      * @throws java.lang.IndexOutOfBoundsException If the index is &#60; 0 or &#62; {@link #getSize()}
+     * @throws java.lang.UnsupportedOperationException If this array is frozen
      * @since 1.0.0
      */
     public void addAt(int index, @NotNull ParsedElement value) {
+        this.checkMutable();
+
         this.array.add(index, value);
     }
 
@@ -112,9 +172,12 @@ public class ParsedArray extends ParsedElement {
      *
      * @param values The values to add
      *
+     * @throws java.lang.UnsupportedOperationException If this array is frozen
      * @since 1.0.0
      */
     public void addAll(@NotNull ParsedElement... values) {
+        this.checkMutable();
+
         this.array.addAll(Arrays.asList(values));
     }
 
@@ -123,9 +186,12 @@ public class ParsedArray extends ParsedElement {
      *
      * @param values The values to add
      *
+     * @throws java.lang.UnsupportedOperationException If this array is frozen
      * @since 1.0.0
      */
     public void addAll(@NotNull Collection<ParsedElement> values) {
+        this.checkMutable();
+
         this.array.addAll(values);
     }
 
@@ -136,9 +202,12 @@ public class ParsedArray extends ParsedElement {
      * @param value The value to set
      *
      * @throws java.lang.IndexOutOfBoundsException If the index is &#60; 0 or &#62;&#61; {@link #getSize()}
+     * @throws java.lang.UnsupportedOperationException If this array is frozen
      * @since 1.0.0
      */
     public void set(int index, @NotNull ParsedElement value) {
+        this.checkMutable();
+
         this.array.set(index, value);
     }
 
@@ -148,12 +217,125 @@ public class ParsedArray extends ParsedElement {
      * @param index The index to remove
      *
      * @throws java.lang.IndexOutOfBoundsException If the index is &#60; 0 or &#62;&#61; {@link #getSize()}
+     * @throws java.lang.UnsupportedOperationException If this array is frozen
      * @since 1.0.0
      */
     public void remove(int index) {
+        this.checkMutable();
+
         this.array.remove(index);
     }
 
+    /**
+     * Get a frozen copy of this array with the value of a certain index replaced
+     * <p>
+     * The copy shares all unchanged values with this array, and large arrays also share most of their own structure, so keeping many edited versions of a tree only costs about the size of the edits
+     * <p>
+     * If this array is not frozen it is frozen first, which copies it once
+     *
+     * @param index The index to set
+     * @param value The value to set, frozen if it is not already
+     *
+     * @return A frozen copy of this array with the index set
+     *
+     * @throws java.lang.IndexOutOfBoundsException If the index is &#60; 0 or &#62;&#61; {@link #getSize()}
+     * @since 2.2.0
+     */
+    public @NotNull ParsedArray withAt(int index, @NotNull ParsedElement value) {
+        ParsedArray frozen = this.freeze();
+        Objects.checkIndex(index, frozen.array.size());
+        ParsedElement frozenValue = value.freeze();
+
+        if (frozen.array instanceof PersistentVector<ParsedElement> vector) {
+            return new ParsedArray(vector.with(index, frozenValue), true);
+        } else if (frozen.array.size() >= PersistentVector.THRESHOLD) {
+            return new ParsedArray(PersistentVector.from(frozen.array).with(index, frozenValue), true);
+        } else {
+            List<ParsedElement> list = new ArrayList<>(frozen.array);
+            list.set(index, frozenValue);
+            return new ParsedArray(list, true);
+        }
+    }
+
+    /**
+     * Get a frozen copy of this array with a value added at the end
+     * <p>
+     * The copy shares all unchanged values with this array, and large arrays also share most of their own structure, so keeping many edited versions of a tree only costs about the size of the edits
+     * <p>
+     * If this array is not frozen it is frozen first, which copies it once
+     *
+     * @param value The value to add, frozen if it is not already
+     *
+     * @return A frozen copy of this array with the value added
+     *
+     * @since 2.2.0
+     */
+    public @NotNull ParsedArray withAdded(@NotNull ParsedElement value) {
+        ParsedArray frozen = this.freeze();
+        ParsedElement frozenValue = value.freeze();
+
+        if (frozen.array instanceof PersistentVector<ParsedElement> vector) {
+            return new ParsedArray(vector.withAdded(frozenValue), true);
+        } else if (frozen.array.size() >= PersistentVector.THRESHOLD) {
+            return new ParsedArray(PersistentVector.from(frozen.array).withAdded(frozenValue), true);
+        } else {
+            List<ParsedElement> list = new ArrayList<>(frozen.array.size() + 1);
+            list.addAll(frozen.array);
+            list.add(frozenValue);
+            return new ParsedArray(list, true);
+        }
+    }
+
+    /**
+     * Get a frozen copy of this array with the value of a certain index removed
+     * <p>
+     * The copy shares all values with this array, but unlike {@link #withAt(int, ParsedElement)} the array itself is rebuilt as every following index shifts
+     * <p>
+     * If this array is not frozen it is frozen first, which copies it once
+     *
+     * @param index The index to remove
+     *
+     * @return A frozen copy of this array without the index
+     *
+     * @throws java.lang.IndexOutOfBoundsException If the index is &#60; 0 or &#62;&#61; {@link #getSize()}
+     * @since 2.2.0
+     */
+    public @NotNull ParsedArray withoutAt(int index) {
+        ParsedArray frozen = this.freeze();
+        Objects.checkIndex(index, frozen.array.size());
+
+        List<ParsedElement> list = new ArrayList<>(frozen.array);
+        list.remove(index);
+        if (list.size() >= PersistentVector.THRESHOLD && frozen.array instanceof PersistentVector) {
+            return new ParsedArray(PersistentVector.from(list), true);
+        }
+        return new ParsedArray(list, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull ParsedArray freeze() {
+        if (this.frozen) {
+            return this;
+        }
+
+        List<ParsedElement> list = new ArrayList<>(this.array.size());
+        for (ParsedElement value : this.array) {
+            list.add(value.freeze());
+        }
+        return new ParsedArray(list, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isFrozen() {
+        return this.frozen;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -162,6 +344,22 @@ public class ParsedArray extends ParsedElement {
         return this.getClass().getSimpleName() + "[array=" + this.array + "]";
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    boolean hasCachedHash() {
+        return this.frozen;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    boolean isHashComputed() {
+        return this.frozen && (this.hash != 0 || this.hashIsZero);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -173,7 +371,11 @@ public class ParsedArray extends ParsedElement {
         if (obj == null || obj.getClass() != this.getClass()) {
             return false;
         }
-        return ((ParsedArray) obj).array.equals(this.array);
+        ParsedArray other = (ParsedArray) obj;
+        if (other.hasCachedHash() && this.hasCachedHash() && other.hashCode() != this.hashCode()) {
+            return false;
+        }
+        return other.array.equals(this.array);
     }
 
     /**
@@ -181,18 +383,46 @@ public class ParsedArray extends ParsedElement {
      */
     @Override
     public int hashCode() {
-        return this.array.hashCode();
+        if (!this.frozen) {
+            return this.array.hashCode();
+        }
+
+        int hash = this.hash;
+        if (hash == 0 && !this.hashIsZero) {
+            hash = this.array.hashCode();
+            if (hash == 0) {
+                this.hashIsZero = true;
+            } else {
+                this.hash = hash;
+            }
+        }
+        return hash;
     }
 
     /**
      * Create a new empty {@link ParsedArray}
+     * <p>
+     * Values are stored in an array so indexed access is constant time
      *
      * @return A new empty {@link ParsedArray}
      *
      * @since 1.0.0
      */
     public static @NotNull ParsedArray create() {
-        return new ParsedArray(new LinkedList<>());
+        return new ParsedArray(new ArrayList<>());
+    }
+
+    /**
+     * Create a new empty {@link ParsedArray} with room for a certain amount of values
+     *
+     * @param expectedSize The amount of values to allocate room for
+     *
+     * @return A new empty {@link ParsedArray}
+     *
+     * @since 2.2.0
+     */
+    public static @NotNull ParsedArray create(int expectedSize) {
+        return new ParsedArray(new ArrayList<>(expectedSize));
     }
 
     /**
@@ -205,6 +435,24 @@ public class ParsedArray extends ParsedElement {
      * @since 1.0.0
      */
     public static @NotNull ParsedArray from(@NotNull Collection<ParsedElement> array) {
-        return new ParsedArray(new LinkedList<>(array));
+        return new ParsedArray(new ArrayList<>(array));
+    }
+
+    /**
+     * Create a new {@link ParsedArray} whose values are loaded the first time they are accessed
+     * <p>
+     * The loader is called at most once, by whichever thread first reads or modifies the array
+     *
+     * @param loader The loader of the values
+     *
+     * @return A new deferred {@link ParsedArray}
+     *
+     * @since 2.2.0
+     */
+    public static @NotNull ParsedArray deferred(@NotNull Supplier<ParsedArray> loader) {
+        return new ParsedArray(new DeferredList(() -> {
+            ParsedArray loaded = loader.get();
+            return loaded.frozen ? new ArrayList<>(loaded.array) : loaded.array;
+        }));
     }
-}
\ No newline at end of file
+}
@@ -1,12 +1,16 @@
 package io.github.kale_ko.bjsl.elements;
 
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
  * An abstract class that all element types extend from
  *
- * @version 2.1.0
+ * @version 2.2.0
  * @since 1.0.0
  */
 public abstract class ParsedElement {
@@ -32,10 +36,241 @@ public abstract class ParsedElement {
 
     /**
      * {@inheritDoc}.
+     * <p>
+     * Frozen objects and arrays cache their hash code, mutable ones walk their whole subtree every time so hash a frozen copy if it is needed more than once
      */
     @Override
     public abstract int hashCode();
 
+    /**
+     * Get a deeply immutable version of this element
+     * <p>
+     * Frozen elements can't be modified, cache their hash code, and can be safely shared between threads without any copying or locking
+     *
+     * @return This element if it is already frozen, otherwise a frozen copy of it
+     *
+     * @since 2.2.0
+     */
+    public abstract @NotNull ParsedElement freeze();
+
+    /**
+     * Check if this element is frozen
+     *
+     * @return If this element is frozen
+     *
+     * @see #freeze()
+     * @since 2.2.0
+     */
+    public abstract boolean isFrozen();
+
+    /**
+     * Check if this element is deeply equal to another, comparing large objects and arrays in parallel on the common pool
+     * <p>
+     * Calls {@link #deepEquals(ParsedElement, ForkJoinPool)}
+     *
+     * @param other The element to compare to
+     *
+     * @return If the elements are equal
+     *
+     * @since 2.2.0
+     */
+    public boolean deepEquals(@NotNull ParsedElement other) {
+        return this.deepEquals(other, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Check if this element is deeply equal to another, comparing large objects and arrays in parallel
+     * <p>
+     * Gives the same result as {@link #equals(Object)} but splits objects and arrays with thousands of values into ranges compared on separate tasks, and never recurses so arbitrarily deep trees can be compared. Hash codes and fingerprints that have already been computed are used to skip walking subtrees that differ, and the first mismatch cancels every remaining task
+     *
+     * @param other The element to compare to
+     * @param pool  The pool to run the comparison on
+     *
+     * @return If the elements are equal
+     *
+     * @since 2.2.0
+     */
+    public boolean deepEquals(@NotNull ParsedElement other, @NotNull ForkJoinPool pool) {
+        return ElementComparison.equals(this, other, pool);
+    }
+
+    /**
+     * Get a 128-bit fingerprint of the content of this element
+     * <p>
+     * Calls {@link Fingerprint#of(ParsedElement)}
+     *
+     * @return The fingerprint of this element
+     *
+     * @since 2.2.0
+     */
+    public @NotNull Fingerprint fingerprint() {
+        return Fingerprint.of(this);
+    }
+
+    /**
+     * Walk this element depth-first, calling a visitor for every element in it
+     * <p>
+     * Calls {@link ElementCursor#walk(ParsedElement, ElementVisitor)}
+     *
+     * @param visitor The visitor to call
+     * @param <E>     The type of exception the visitor can throw
+     *
+     * @throws E If the visitor fails
+     * @since 2.2.0
+     */
+    public <E extends Exception> void accept(@NotNull ElementVisitor<E> visitor) throws E {
+        ElementCursor.walk(this, visitor);
+    }
+
+    /**
+     * Check if the hash code of this element can be gotten without walking it
+     *
+     * @return If the hash code of this element is cached or cheap to compute
+     *
+     * @since 2.2.0
+     */
+    boolean hasCachedHash() {
+        return true;
+    }
+
+    /**
+     * Check if the hash code of this element has already been computed, unlike {@link #hasCachedHash()} this is false for frozen objects and arrays that haven't been hashed yet
+     *
+     * @return If getting the hash code of this element won't walk it
+     *
+     * @since 2.2.0
+     */
+    boolean isHashComputed() {
+        return true;
+    }
+
+    /**
+     * Get a deep copy of this element that shares nothing mutable with it
+     * <p>
+     * Primitives and frozen objects and arrays are immutable so they are shared instead of copied, wherever they are in the tree. Containers are copied pre-sized and without recursion, so arbitrarily deep trees can be copied
+     *
+     * @return This element if it is frozen, otherwise a copy of it
+     *
+     * @see #mutableCopy()
+     * @since 2.2.0
+     */
+    public @NotNull ParsedElement deepCopy() {
+        return copy(this, false);
+    }
+
+    /**
+     * Get a deep copy of this element where every object and array can be modified
+     * <p>
+     * Unlike {@link #deepCopy()} frozen objects and arrays are copied too, only primitives are shared
+     *
+     * @return A mutable copy of this element
+     *
+     * @since 2.2.0
+     */
+    public @NotNull ParsedElement mutableCopy() {
+        return copy(this, true);
+    }
+
+    /**
+     * Get a version of an element that can be inserted into another tree without the two sharing anything mutable
+     *
+     * @param element The element to insert
+     *
+     * @return The element itself if it is frozen, otherwise a deep copy of it
+     *
+     * @since 2.2.0
+     */
+    static @NotNull ParsedElement share(@NotNull ParsedElement element) {
+        return copy(element, false);
+    }
+
+    /**
+     * Copy an element without recursion
+     *
+     * @param element The element to copy
+     * @param thaw    Whether frozen objects and arrays should be copied too
+     *
+     * @return The copy
+     *
+     * @since 2.2.0
+     */
+    private static @NotNull ParsedElement copy(@NotNull ParsedElement element, boolean thaw) {
+        if (!copies(element, thaw)) {
+            return element;
+        }
+
+        ParsedElement root = emptyCopy(element);
+
+        ArrayDeque<ParsedElement> stack = new ArrayDeque<>();
+        stack.push(element);
+        stack.push(root);
+
+        while (!stack.isEmpty()) {
+            ParsedElement target = stack.pop();
+            ParsedElement source = stack.pop();
+
+            if (source instanceof ParsedObject sourceObject) {
+                Map<String, ParsedElement> targetMap = ((ParsedObject) target).object;
+                for (Map.Entry<String, ParsedElement> entry : sourceObject.object.entrySet()) {
+                    ParsedElement value = entry.getValue();
+                    if (copies(value, thaw)) {
+                        ParsedElement copy = emptyCopy(value);
+                        targetMap.put(entry.getKey(), copy);
+                        stack.push(value);
+                        stack.push(copy);
+                    } else {
+                        targetMap.put(entry.getKey(), value);
+                    }
+                }
+            } else {
+                List<ParsedElement> targetList = ((ParsedArray) target).array;
+                for (ParsedElement value : ((ParsedArray) source).array) {
+                    if (copies(value, thaw)) {
+                        ParsedElement copy = emptyCopy(value);
+                        targetList.add(copy);
+                        stack.push(value);
+                        stack.push(copy);
+                    } else {
+                        targetList.add(value);
+                    }
+                }
+            }
+        }
+
+        return root;
+    }
+
+    /**
+     * Check if an element needs to be copied
+     *
+     * @param element The element
+     * @param thaw    Whether frozen objects and arrays should be copied too
+     *
+     * @return If the element is an object or array that needs to be copied
+     *
+     * @since 2.2.0
+     */
+    private static boolean copies(@NotNull ParsedElement element, boolean thaw) {
+        return !(element instanceof ParsedPrimitive) && (thaw || !element.isFrozen());
+    }
+
+    /**
+     * Create an empty mutable object or array with room for the contents of another
+     *
+     * @param element The object or array
+     *
+     * @return A new empty object or array
+     *
+     * @since 2.2.0
+     */
+    private static @NotNull ParsedElement emptyCopy(@NotNull ParsedElement element) {
+        if (element instanceof ParsedObject object) {
+            return ParsedObject.create(object.getSize());
+        } else {
+            return ParsedArray.create(((ParsedArray) element).getSize());
+        }
+    }
+
     /**
      * Check if this element is a {@link ParsedObject}
      *
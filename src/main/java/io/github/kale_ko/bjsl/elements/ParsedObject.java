@@ -1,9 +1,13 @@
 package io.github.kale_ko.bjsl.elements;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedHashMap;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
@@ -11,7 +15,7 @@ import org.jetbrains.annotations.Unmodifiable;
 /**
  * A wrapper for an ordered map used to represent an Object in most data formats
  *
- * @version 2.1.0
+ * @version 2.2.0
  * @since 1.0.0
  */
 public class ParsedObject extends ParsedElement {
@@ -22,6 +26,41 @@ public class ParsedObject extends ParsedElement {
      */
     final @NotNull Map<String, ParsedElement> object;
 
+    /**
+     * Whether this object is frozen
+     *
+     * @since 2.2.0
+     */
+    final boolean frozen;
+
+    /**
+     * The cached hash code of this object, only used when frozen
+     *
+     * @since 2.2.0
+     */
+    private int hash;
+
+    /**
+     * The cached fingerprint of this object, only used when frozen
+     *
+     * @since 2.2.0
+     */
+    volatile @Nullable Fingerprint fingerprint;
+
+    /**
+     * The cached sorted keys of this object, only used when frozen
+     *
+     * @since 2.2.0
+     */
+    private volatile @NotNull String @Nullable [] sortedKeys;
+
+    /**
+     * Whether the hash code of this object has been computed and is zero
+     *
+     * @since 2.2.0
+     */
+    private boolean hashIsZero;
+
     /**
      * Create a new {@link ParsedObject} from an object
      *
@@ -30,7 +69,32 @@ public class ParsedObject extends ParsedElement {
      * @since 1.0.0
      */
     ParsedObject(@NotNull Map<String, ParsedElement> object) {
+        this(object, false);
+    }
+
+    /**
+     * Create a new {@link ParsedObject} from an object
+     *
+     * @param object The object to use
+     * @param frozen Whether the object is frozen, the map must not be modified after if so
+     *
+     * @since 2.2.0
+     */
+    ParsedObject(@NotNull Map<String, ParsedElement> object, boolean frozen) {
         this.object = object;
+        this.frozen = frozen;
+    }
+
+    /**
+     * Throw if this object is frozen
+     *
+     * @throws java.lang.UnsupportedOperationException If this object is frozen
+     * @since 2.2.0
+     */
+    void checkMutable() {
+        if (this.frozen) {
+            throw new UnsupportedOperationException("This object is frozen");
+        }
     }
 
     /**
@@ -66,6 +130,34 @@ public class ParsedObject extends ParsedElement {
         return Collections.unmodifiableCollection(this.object.keySet());
     }
 
+    /**
+     * Get a list of all the keys this object stores, sorted by their UTF-16 code units
+     * <p>
+     * This is the key order used by canonical serialization, it is cached for frozen objects and keys that are already in order are never sorted
+     *
+     * @return A sorted list of all the keys this object stores
+     *
+     * @since 2.2.0
+     */
+    public @NotNull @Unmodifiable List<String> getSortedKeys() {
+        String[] sortedKeys = this.sortedKeys;
+        if (sortedKeys == null) {
+            sortedKeys = this.object.keySet().toArray(new String[0]);
+
+            for (int i = 1; i < sortedKeys.length; i++) {
+                if (sortedKeys[i - 1].compareTo(sortedKeys[i]) > 0) {
+                    Arrays.sort(sortedKeys);
+                    break;
+                }
+            }
+
+            if (this.frozen) {
+                this.sortedKeys = sortedKeys;
+            }
+        }
+        return Collections.unmodifiableList(Arrays.asList(sortedKeys));
+    }
+
     /**
      * Get a list of all the values this object stores
      *
@@ -126,9 +218,12 @@ public class ParsedObject extends ParsedElement {
      * @param key   The key to set
      * @param value The value to set
      *
+     * @throws java.lang.UnsupportedOperationException If this object is frozen
      * @since 1.0.0
      */
     public void set(@NotNull String key, @NotNull ParsedElement value) {
+        this.checkMutable();
+
         this.object.put(key, value);
     }
 
@@ -137,12 +232,309 @@ public class ParsedObject extends ParsedElement {
      *
      * @param key The key to remove
      *
+     * @throws java.lang.UnsupportedOperationException If this object is frozen
      * @since 1.0.0
      */
     public void remove(@NotNull String key) {
+        this.checkMutable();
+
         this.object.remove(key);
     }
 
+    /**
+     * Apply a JSON Merge Patch (RFC 7396) to this object in place
+     * <p>
+     * Null values in the patch remove keys, objects are merged recursively, and anything else replaces the current value
+     * <p>
+     * Frozen values from the patch are shared rather than copied and frozen objects inside this one are only copied along the paths the patch changes, so merging frozen layers never copies a whole tree
+     *
+     * @param patch The patch to apply
+     *
+     * @throws java.lang.UnsupportedOperationException If this object is frozen
+     * @since 2.2.0
+     */
+    public void mergePatch(@NotNull ParsedObject patch) {
+        this.checkMutable();
+
+        for (Map.Entry<String, ParsedElement> entry : patch.object.entrySet()) {
+            ParsedElement value = entry.getValue();
+
+            if (value instanceof ParsedPrimitive primitive && primitive.isNull()) {
+                this.object.remove(entry.getKey());
+            } else if (value instanceof ParsedObject valueObject) {
+                ParsedObject target = this.object.get(entry.getKey()) instanceof ParsedObject existing ? owned(existing) : ParsedObject.create();
+                target.mergePatch(valueObject);
+                this.object.put(entry.getKey(), target);
+            } else {
+                this.object.put(entry.getKey(), ParsedElement.share(value));
+            }
+        }
+    }
+
+    /**
+     * Deeply merge another object into this one in place, replacing arrays
+     * <p>
+     * Calls {@link #merge(ParsedObject, ArrayStrategy)} with {@link ArrayStrategy#REPLACE}
+     *
+     * @param other The object to merge into this one
+     *
+     * @throws java.lang.UnsupportedOperationException If this object is frozen
+     * @since 2.2.0
+     */
+    public void merge(@NotNull ParsedObject other) {
+        this.merge(other, ArrayStrategy.REPLACE);
+    }
+
+    /**
+     * Deeply merge another object into this one in place
+     * <p>
+     * Objects are merged recursively, arrays are combined using the passed strategy, and anything else (including null) replaces the current value
+     * <p>
+     * Frozen values from the other object are shared rather than copied and frozen objects and arrays inside this one are only copied along the paths the merge changes, so merging frozen layers never copies a whole tree
+     *
+     * @param other    The object to merge into this one
+     * @param strategy How to combine arrays that exist in both objects
+     *
+     * @throws java.lang.UnsupportedOperationException If this object is frozen
+     * @since 2.2.0
+     */
+    public void merge(@NotNull ParsedObject other, @NotNull ArrayStrategy strategy) {
+        this.checkMutable();
+
+        for (Map.Entry<String, ParsedElement> entry : other.object.entrySet()) {
+            ParsedElement existing = this.object.get(entry.getKey());
+            ParsedElement value = entry.getValue();
+
+            if (existing instanceof ParsedObject existingObject && value instanceof ParsedObject valueObject) {
+                ParsedObject target = owned(existingObject);
+                target.merge(valueObject, strategy);
+                this.object.put(entry.getKey(), target);
+            } else if (existing instanceof ParsedArray existingArray && value instanceof ParsedArray valueArray && strategy.kind != ArrayStrategy.Kind.REPLACE) {
+                ParsedArray target = existingArray.frozen ? ParsedArray.from(existingArray.array) : existingArray;
+                strategy.merge(target, valueArray);
+                this.object.put(entry.getKey(), target);
+            } else {
+                this.object.put(entry.getKey(), ParsedElement.share(value));
+            }
+        }
+    }
+
+    /**
+     * Get a version of an object that can be modified in place
+     *
+     * @param object The object
+     *
+     * @return The object itself if it is mutable, otherwise a shallow mutable copy of it
+     *
+     * @since 2.2.0
+     */
+    static @NotNull ParsedObject owned(@NotNull ParsedObject object) {
+        return object.frozen ? ParsedObject.from(object.object) : object;
+    }
+
+    /**
+     * How arrays that exist in both objects are combined by {@link #merge(ParsedObject, ArrayStrategy)}
+     *
+     * @version 2.2.0
+     * @since 2.2.0
+     */
+    public static final class ArrayStrategy {
+        /**
+         * The kinds of strategies
+         *
+         * @since 2.2.0
+         */
+        private enum Kind {
+            REPLACE,
+            APPEND,
+            MERGE_BY_KEY
+        }
+
+        /**
+         * Replace the current array with the other one
+         *
+         * @since 2.2.0
+         */
+        public static final @NotNull ArrayStrategy REPLACE = new ArrayStrategy(Kind.REPLACE, null);
+
+        /**
+         * Append the items of the other array to the current one
+         *
+         * @since 2.2.0
+         */
+        public static final @NotNull ArrayStrategy APPEND = new ArrayStrategy(Kind.APPEND, null);
+
+        /**
+         * The kind of this strategy
+         *
+         * @since 2.2.0
+         */
+        private final @NotNull Kind kind;
+
+        /**
+         * The key objects are matched by, only used by {@link Kind#MERGE_BY_KEY}
+         *
+         * @since 2.2.0
+         */
+        private final @Nullable String key;
+
+        /**
+         * Create a new {@link ArrayStrategy}
+         *
+         * @param kind The kind of this strategy
+         * @param key  The key objects are matched by
+         *
+         * @since 2.2.0
+         */
+        private ArrayStrategy(@NotNull Kind kind, @Nullable String key) {
+            this.kind = kind;
+            this.key = key;
+        }
+
+        /**
+         * Merge objects in the other array into the objects of the current one with an equal value for a key, and append anything else
+         * <p>
+         * Matching objects are merged recursively with this same strategy
+         *
+         * @param key The key objects are matched by
+         *
+         * @return A new {@link ArrayStrategy}
+         *
+         * @since 2.2.0
+         */
+        public static @NotNull ArrayStrategy mergeByKey(@NotNull String key) {
+            return new ArrayStrategy(Kind.MERGE_BY_KEY, Objects.requireNonNull(key));
+        }
+
+        /**
+         * Combine another array into a mutable one
+         *
+         * @param target The array to combine into
+         * @param other  The array to combine
+         *
+         * @since 2.2.0
+         */
+        private void merge(@NotNull ParsedArray target, @NotNull ParsedArray other) {
+            target.checkMutable();
+
+            if (this.kind == Kind.APPEND) {
+                for (ParsedElement value : other.array) {
+                    target.array.add(ParsedElement.share(value));
+                }
+                return;
+            }
+
+            String key = Objects.requireNonNull(this.key);
+
+            Map<ParsedElement, Integer> indexes = new HashMap<>();
+            for (int i = 0; i < target.array.size(); i++) {
+                if (target.array.get(i) instanceof ParsedObject object && object.object.get(key) instanceof ParsedElement id) {
+                    indexes.putIfAbsent(id, i);
+                }
+            }
+
+            for (ParsedElement value : other.array) {
+                Integer index = value instanceof ParsedObject object && object.object.get(key) instanceof ParsedElement id ? indexes.get(id) : null;
+
+                if (index != null && value instanceof ParsedObject valueObject) {
+                    ParsedObject merged = owned((ParsedObject) target.array.get(index));
+                    merged.merge(valueObject, this);
+                    target.array.set(index, merged);
+                } else {
+                    if (value instanceof ParsedObject object && object.object.get(key) instanceof ParsedElement id) {
+                        indexes.putIfAbsent(id, target.array.size());
+                    }
+                    target.array.add(ParsedElement.share(value));
+                }
+            }
+        }
+    }
+
+    /**
+     * Get a frozen copy of this object with a certain key set to a value
+     * <p>
+     * The copy shares all unchanged values with this object, and large objects also share most of their own structure, so keeping many edited versions of a tree only costs about the size of the edits
+     * <p>
+     * If this object is not frozen it is frozen first, which copies it once
+     *
+     * @param key   The key to set
+     * @param value The value to set, frozen if it is not already
+     *
+     * @return A frozen copy of this object with the key set
+     *
+     * @since 2.2.0
+     */
+    public @NotNull ParsedObject with(@NotNull String key, @NotNull ParsedElement value) {
+        ParsedObject frozen = this.freeze();
+        ParsedElement frozenValue = value.freeze();
+
+        if (frozen.object instanceof PersistentMap map) {
+            return new ParsedObject(map.with(key, frozenValue), true);
+        } else if (frozen.object.size() >= PersistentMap.THRESHOLD) {
+            return new ParsedObject(PersistentMap.from(frozen.object).with(key, frozenValue), true);
+        } else {
+            CompactMap map = new CompactMap(frozen.object.size() + 1);
+            map.putAll(frozen.object);
+            map.put(key, frozenValue);
+            return new ParsedObject(map, true);
+        }
+    }
+
+    /**
+     * Get a frozen copy of this object with a certain key removed
+     * <p>
+     * The copy shares all unchanged values with this object, and large objects also share most of their own structure, so keeping many edited versions of a tree only costs about the size of the edits
+     * <p>
+     * If this object is not frozen it is frozen first, which copies it once
+     *
+     * @param key The key to remove
+     *
+     * @return A frozen copy of this object without the key
+     *
+     * @since 2.2.0
+     */
+    public @NotNull ParsedObject without(@NotNull String key) {
+        ParsedObject frozen = this.freeze();
+        if (!frozen.object.containsKey(key)) {
+            return frozen;
+        }
+
+        if (frozen.object instanceof PersistentMap map) {
+            return new ParsedObject(map.without(key), true);
+        } else if (frozen.object.size() > PersistentMap.THRESHOLD) {
+            return new ParsedObject(PersistentMap.from(frozen.object).without(key), true);
+        } else {
+            CompactMap map = new CompactMap(frozen.object.size());
+            map.putAll(frozen.object);
+            map.remove(key);
+            return new ParsedObject(map, true);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull ParsedObject freeze() {
+        if (this.frozen) {
+            return this;
+        }
+
+        CompactMap map = new CompactMap(this.object.size());
+        for (Map.Entry<String, ParsedElement> entry : this.object.entrySet()) {
+            map.put(entry.getKey(), entry.getValue().freeze());
+        }
+        return new ParsedObject(map, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isFrozen() {
+        return this.frozen;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -151,6 +543,22 @@ public class ParsedObject extends ParsedElement {
         return this.getClass().getSimpleName() + "[object=" + this.object + "]";
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    boolean hasCachedHash() {
+        return this.frozen;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    boolean isHashComputed() {
+        return this.frozen && (this.hash != 0 || this.hashIsZero);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -162,7 +570,11 @@ public class ParsedObject extends ParsedElement {
         if (obj == null || obj.getClass() != this.getClass()) {
             return false;
         }
-        return ((ParsedObject) obj).object.equals(this.object);
+        ParsedObject other = (ParsedObject) obj;
+        if (other.hasCachedHash() && this.hasCachedHash() && other.hashCode() != this.hashCode()) {
+            return false;
+        }
+        return other.object.equals(this.object);
     }
 
     /**
@@ -170,18 +582,46 @@ public class ParsedObject extends ParsedElement {
      */
     @Override
     public int hashCode() {
-        return this.object.hashCode();
+        if (!this.frozen) {
+            return this.object.hashCode();
+        }
+
+        int hash = this.hash;
+        if (hash == 0 && !this.hashIsZero) {
+            hash = this.object.hashCode();
+            if (hash == 0) {
+                this.hashIsZero = true;
+            } else {
+                this.hash = hash;
+            }
+        }
+        return hash;
     }
 
     /**
      * Create a new empty {@link ParsedObject}
+     * <p>
+     * Small objects are stored inline and looked up linearly, larger ones are indexed by hash
      *
      * @return A new empty {@link ParsedObject}
      *
      * @since 1.0.0
      */
     public static @NotNull ParsedObject create() {
-        return new ParsedObject(new LinkedHashMap<>());
+        return new ParsedObject(new CompactMap());
+    }
+
+    /**
+     * Create a new empty {@link ParsedObject} with room for a certain amount of keys
+     *
+     * @param expectedSize The amount of keys to allocate room for
+     *
+     * @return A new empty {@link ParsedObject}
+     *
+     * @since 2.2.0
+     */
+    public static @NotNull ParsedObject create(int expectedSize) {
+        return new ParsedObject(new CompactMap(expectedSize));
     }
 
     /**
@@ -194,6 +634,31 @@ public class ParsedObject extends ParsedElement {
      * @since 1.0.0
      */
     public static @NotNull ParsedObject from(@NotNull Map<String, ParsedElement> object) {
-        return new ParsedObject(new LinkedHashMap<>(object));
+        CompactMap map = new CompactMap(object.size());
+        map.putAll(object);
+        return new ParsedObject(map);
+    }
+
+    /**
+     * Create a new {@link ParsedObject} whose key/value pairs are loaded the first time they are accessed
+     * <p>
+     * The loader is called at most once, by whichever thread first reads or modifies the object
+     *
+     * @param loader The loader of the key/value pairs
+     *
+     * @return A new deferred {@link ParsedObject}
+     *
+     * @since 2.2.0
+     */
+    public static @NotNull ParsedObject deferred(@NotNull Supplier<ParsedObject> loader) {
+        return new ParsedObject(new DeferredMap(() -> {
+            ParsedObject loaded = loader.get();
+            if (loaded.frozen) {
+                CompactMap map = new CompactMap(loaded.object.size());
+                map.putAll(loaded.object);
+                return map;
+            }
+            return loaded.object;
+        }));
     }
-}
\ No newline at end of file
+}
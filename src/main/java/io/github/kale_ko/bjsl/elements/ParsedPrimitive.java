@@ -12,7 +12,7 @@ import org.jetbrains.annotations.Nullable;
  * <p>
  * Note: Values are not stored as their normal type but rather higher bit types for ease of conversion
  *
- * @version 2.1.0
+ * @version 2.2.0
  * @since 1.0.0
  */
 public class ParsedPrimitive extends ParsedElement {
@@ -1037,6 +1037,24 @@ public class ParsedPrimitive extends ParsedElement {
         return this.primitive;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote Primitives are always immutable so this just returns itself
+     */
+    @Override
+    public @NotNull ParsedPrimitive freeze() {
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isFrozen() {
+        return true;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,415 @@
+package io.github.kale_ko.bjsl.elements;
+
+import java.util.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An immutable insertion ordered map that shares structure between versions, used as the backing of large frozen {@link ParsedObject}s
+ * <p>
+ * Keys are looked up through a hash array mapped trie and ordered by a {@link PersistentVector} of the same entries, so {@link #with(String, ParsedElement)} and {@link #without(String)} only copy the paths to the changed entry
+ *
+ * @version 2.2.0
+ * @since 2.2.0
+ */
+final class PersistentMap extends AbstractMap<String, ParsedElement> {
+    /**
+     * The amount of keys after which frozen objects switch to this structure when edited
+     *
+     * @since 2.2.0
+     */
+    static final int THRESHOLD = 32;
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final Node EMPTY_NODE = new Node(0, new Object[0]);
+
+    /**
+     * The root of the trie
+     *
+     * @since 2.2.0
+     */
+    private final @NotNull Node root;
+
+    /**
+     * The entries in insertion order, removed entries are left as null until the order is compacted
+     *
+     * @since 2.2.0
+     */
+    private final @NotNull PersistentVector<Leaf> order;
+
+    /**
+     * The amount of key/value pairs stored
+     *
+     * @since 2.2.0
+     */
+    private final int size;
+
+    /**
+     * The hash code of this map, kept up to date on every edit
+     *
+     * @since 2.2.0
+     */
+    private final int hash;
+
+    /**
+     * Create a new {@link PersistentMap}
+     *
+     * @param root  The root of the trie
+     * @param order The entries in insertion order
+     * @param size  The amount of key/value pairs stored
+     * @param hash  The hash code of the map
+     *
+     * @since 2.2.0
+     */
+    private PersistentMap(@NotNull Node root, @NotNull PersistentVector<Leaf> order, int size, int hash) {
+        this.root = root;
+        this.order = order;
+        this.size = size;
+        this.hash = hash;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(@Nullable Object key) {
+        return key instanceof String string && this.root.find(string, string.hashCode(), 0) != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @Nullable ParsedElement get(@Nullable Object key) {
+        if (!(key instanceof String string)) {
+            return null;
+        }
+
+        Leaf leaf = this.root.find(string, string.hashCode(), 0);
+        return leaf != null ? leaf.value : null;
+    }
+
+    /**
+     * Get a new map with a key set to a value
+     * <p>
+     * Existing keys keep their position, new keys are added to the end
+     *
+     * @param key   The key to set
+     * @param value The value to set
+     *
+     * @return A new map sharing all but the changed paths with this one
+     *
+     * @since 2.2.0
+     */
+    @NotNull PersistentMap with(@NotNull String key, @NotNull ParsedElement value) {
+        int hash = key.hashCode();
+
+        Leaf existing = this.root.find(key, hash, 0);
+        if (existing != null) {
+            if (existing.value == value) {
+                return this;
+            }
+
+            Leaf leaf = new Leaf(key, hash, existing.position, value);
+            return new PersistentMap(this.root.put(leaf, 0), this.order.with(leaf.position, leaf), this.size, this.hash - existing.entryHash() + leaf.entryHash());
+        }
+
+        Leaf leaf = new Leaf(key, hash, this.order.size(), value);
+        return new PersistentMap(this.root.put(leaf, 0), this.order.withAdded(leaf), this.size + 1, this.hash + leaf.entryHash());
+    }
+
+    /**
+     * Get a new map with a key removed
+     *
+     * @param key The key to remove
+     *
+     * @return A new map sharing all but the changed paths with this one, or this map if the key is not stored
+     *
+     * @since 2.2.0
+     */
+    @NotNull PersistentMap without(@NotNull String key) {
+        int hash = key.hashCode();
+
+        Leaf existing = this.root.find(key, hash, 0);
+        if (existing == null) {
+            return this;
+        }
+
+        PersistentMap map = new PersistentMap(this.root.remove(key, hash, 0), this.order.with(existing.position, null), this.size - 1, this.hash - existing.entryHash());
+        if (map.order.size() - map.size > Math.max(THRESHOLD, map.size)) {
+            return from(map);
+        }
+        return map;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull Set<Map.Entry<String, ParsedElement>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public @NotNull Iterator<Map.Entry<String, ParsedElement>> iterator() {
+                return new Iterator<>() {
+                    private final Iterator<Leaf> iterator = PersistentMap.this.order.iterator();
+                    private @Nullable Leaf next = this.advance();
+
+                    private @Nullable Leaf advance() {
+                        while (this.iterator.hasNext()) {
+                            Leaf leaf = this.iterator.next();
+                            if (leaf != null) {
+                                return leaf;
+                            }
+                        }
+                        return null;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return this.next != null;
+                    }
+
+                    @Override
+                    public Map.Entry<String, ParsedElement> next() {
+                        Leaf leaf = this.next;
+                        if (leaf == null) {
+                            throw new NoSuchElementException();
+                        }
+
+                        this.next = this.advance();
+                        return new AbstractMap.SimpleImmutableEntry<>(leaf.key, leaf.value);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return PersistentMap.this.size;
+            }
+        };
+    }
+
+    /**
+     * Create a new {@link PersistentMap} holding the pairs of another map
+     *
+     * @param map The map to copy
+     *
+     * @return A new {@link PersistentMap}
+     *
+     * @since 2.2.0
+     */
+    static @NotNull PersistentMap from(@NotNull Map<String, ParsedElement> map) {
+        Node root = EMPTY_NODE;
+        List<Leaf> order = new ArrayList<>(map.size());
+        int hash = 0;
+        for (Map.Entry<String, ParsedElement> entry : map.entrySet()) {
+            Leaf leaf = new Leaf(entry.getKey(), entry.getKey().hashCode(), order.size(), entry.getValue());
+            root = root.put(leaf, 0);
+            order.add(leaf);
+            hash += leaf.entryHash();
+        }
+
+        return new PersistentMap(root, PersistentVector.from(order), order.size(), hash);
+    }
+
+    /**
+     * A single key/value pair and its position in the insertion order
+     *
+     * @param key      The key
+     * @param hash     The hash of the key
+     * @param position The position in the insertion order
+     * @param value    The value
+     *
+     * @since 2.2.0
+     */
+    private record Leaf(@NotNull String key, int hash, int position, @NotNull ParsedElement value) {
+        int entryHash() {
+            return this.hash ^ this.value.hashCode();
+        }
+    }
+
+    /**
+     * Leaves whose keys have the exact same hash
+     *
+     * @param hash   The shared hash
+     * @param leaves The leaves
+     *
+     * @since 2.2.0
+     */
+    private record Collision(int hash, @NotNull Leaf @NotNull [] leaves) {
+    }
+
+    /**
+     * A node of the trie, holding a slot for each set bit of its bitmap
+     *
+     * @param bitmap The bits of the hash chunks that are present
+     * @param slots  The {@link Leaf}, {@link Node}, or {@link Collision} of each present chunk
+     *
+     * @since 2.2.0
+     */
+    private record Node(int bitmap, @NotNull Object @NotNull [] slots) {
+        @Nullable Leaf find(@NotNull String key, int hash, int shift) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((this.bitmap & bit) == 0) {
+                return null;
+            }
+
+            Object slot = this.slots[Integer.bitCount(this.bitmap & (bit - 1))];
+            if (slot instanceof Leaf leaf) {
+                return leaf.hash == hash && leaf.key.equals(key) ? leaf : null;
+            } else if (slot instanceof Node node) {
+                return node.find(key, hash, shift + BITS);
+            } else {
+                Collision collision = (Collision) slot;
+                if (collision.hash != hash) {
+                    return null;
+                }
+                for (Leaf leaf : collision.leaves) {
+                    if (leaf.key.equals(key)) {
+                        return leaf;
+                    }
+                }
+                return null;
+            }
+        }
+
+        @NotNull Node put(@NotNull Leaf leaf, int shift) {
+            int bit = 1 << ((leaf.hash >>> shift) & MASK);
+            int index = Integer.bitCount(this.bitmap & (bit - 1));
+
+            if ((this.bitmap & bit) == 0) {
+                Object[] slots = new Object[this.slots.length + 1];
+                System.arraycopy(this.slots, 0, slots, 0, index);
+                slots[index] = leaf;
+                System.arraycopy(this.slots, index, slots, index + 1, this.slots.length - index);
+                return new Node(this.bitmap | bit, slots);
+            }
+
+            Object slot = this.slots[index];
+            Object replacement;
+            if (slot instanceof Leaf existing) {
+                if (existing.hash == leaf.hash && existing.key.equals(leaf.key)) {
+                    replacement = leaf;
+                } else {
+                    replacement = merge(existing, leaf, shift + BITS);
+                }
+            } else if (slot instanceof Node node) {
+                replacement = node.put(leaf, shift + BITS);
+            } else {
+                Collision collision = (Collision) slot;
+                if (collision.hash == leaf.hash) {
+                    Leaf[] leaves = collision.leaves;
+                    int found = -1;
+                    for (int i = 0; i < leaves.length; i++) {
+                        if (leaves[i].key.equals(leaf.key)) {
+                            found = i;
+                            break;
+                        }
+                    }
+                    if (found >= 0) {
+                        leaves = leaves.clone();
+                        leaves[found] = leaf;
+                    } else {
+                        leaves = Arrays.copyOf(leaves, leaves.length + 1);
+                        leaves[leaves.length - 1] = leaf;
+                    }
+                    replacement = new Collision(collision.hash, leaves);
+                } else {
+                    replacement = merge(collision, leaf, shift + BITS);
+                }
+            }
+
+            Object[] slots = this.slots.clone();
+            slots[index] = replacement;
+            return new Node(this.bitmap, slots);
+        }
+
+        @NotNull Node remove(@NotNull String key, int hash, int shift) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((this.bitmap & bit) == 0) {
+                return this;
+            }
+
+            int index = Integer.bitCount(this.bitmap & (bit - 1));
+            Object slot = this.slots[index];
+            Object replacement;
+            if (slot instanceof Leaf leaf) {
+                if (leaf.hash != hash || !leaf.key.equals(key)) {
+                    return this;
+                }
+                replacement = null;
+            } else if (slot instanceof Node node) {
+                Node removed = node.remove(key, hash, shift + BITS);
+                if (removed == node) {
+                    return this;
+                } else if (removed.slots.length == 0) {
+                    replacement = null;
+                } else if (removed.slots.length == 1 && !(removed.slots[0] instanceof Node)) {
+                    replacement = removed.slots[0];
+                } else {
+                    replacement = removed;
+                }
+            } else {
+                Collision collision = (Collision) slot;
+                if (collision.hash != hash || Arrays.stream(collision.leaves).noneMatch(leaf -> leaf.key.equals(key))) {
+                    return this;
+                }
+
+                Leaf[] leaves = new Leaf[collision.leaves.length - 1];
+                int i = 0;
+                for (Leaf leaf : collision.leaves) {
+                    if (!leaf.key.equals(key)) {
+                        leaves[i++] = leaf;
+                    }
+                }
+                replacement = leaves.length == 1 ? leaves[0] : new Collision(hash, leaves);
+            }
+
+            if (replacement == null) {
+                Object[] slots = new Object[this.slots.length - 1];
+                System.arraycopy(this.slots, 0, slots, 0, index);
+                System.arraycopy(this.slots, index + 1, slots, index, slots.length - index);
+                return new Node(this.bitmap & ~bit, slots);
+            }
+
+            Object[] slots = this.slots.clone();
+            slots[index] = replacement;
+            return new Node(this.bitmap, slots);
+        }
+
+        private static @NotNull Object merge(@NotNull Object existing, @NotNull Leaf leaf, int shift) {
+            int existingHash = existing instanceof Leaf existingLeaf ? existingLeaf.hash : ((Collision) existing).hash;
+            if (existingHash == leaf.hash) {
+                return new Collision(leaf.hash, new Leaf[] { (Leaf) existing, leaf });
+            }
+
+            int existingBit = 1 << ((existingHash >>> shift) & MASK);
+            int bit = 1 << ((leaf.hash >>> shift) & MASK);
+            if (existingBit == bit) {
+                return new Node(bit, new Object[] { merge(existing, leaf, shift + BITS) });
+            } else if (Integer.compareUnsigned(existingBit, bit) < 0) {
+                return new Node(existingBit | bit, new Object[] { existing, leaf });
+            } else {
+                return new Node(existingBit | bit, new Object[] { leaf, existing });
+            }
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package io.github.kale_ko.bjsl.elements;
+
+import java.util.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An immutable list that shares structure between versions, used as the backing of large frozen {@link ParsedArray}s
+ * <p>
+ * Values are stored in a 32-way trie so {@link #with(int, Object)} and {@link #withAdded(Object)} only copy the path to the changed leaf
+ *
+ * @param <E> The type of the values
+ *
+ * @version 2.2.0
+ * @since 2.2.0
+ */
+final class PersistentVector<E> extends AbstractList<E> implements RandomAccess {
+    /**
+     * The amount of values after which frozen arrays switch to this structure when edited
+     *
+     * @since 2.2.0
+     */
+    static final int THRESHOLD = 32;
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    /**
+     * The root node of the trie
+     *
+     * @since 2.2.0
+     */
+    private final Object @NotNull [] root;
+
+    /**
+     * The amount of bits to shift an index by to get the slot in the root
+     *
+     * @since 2.2.0
+     */
+    private final int shift;
+
+    /**
+     * The amount of values stored
+     *
+     * @since 2.2.0
+     */
+    private final int size;
+
+    /**
+     * Create a new {@link PersistentVector}
+     *
+     * @param root  The root node of the trie
+     * @param shift The amount of bits to shift an index by to get the slot in the root
+     * @param size  The amount of values stored
+     *
+     * @since 2.2.0
+     */
+    private PersistentVector(Object @NotNull [] root, int shift, int size) {
+        this.root = root;
+        this.shift = shift;
+        this.size = size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Objects.checkIndex(index, this.size);
+        return (E) this.leafFor(index)[index & MASK];
+    }
+
+    /**
+     * Get a new vector with the value at a certain index replaced
+     *
+     * @param index The index to replace
+     * @param value The new value
+     *
+     * @return A new vector sharing all but the changed path with this one
+     *
+     * @throws java.lang.IndexOutOfBoundsException If the index is &#60; 0 or &#62;&#61; {@link #size()}
+     * @since 2.2.0
+     */
+    @NotNull PersistentVector<E> with(int index, @Nullable E value) {
+        Objects.checkIndex(index, this.size);
+        return new PersistentVector<>(setIn(this.root, this.shift, index, value), this.shift, this.size);
+    }
+
+    /**
+     * Get a new vector with a value added to the end
+     *
+     * @param value The value to add
+     *
+     * @return A new vector sharing all but the changed path with this one
+     *
+     * @since 2.2.0
+     */
+    @NotNull PersistentVector<E> withAdded(@Nullable E value) {
+        if (this.size == 1 << (this.shift + BITS)) {
+            Object[] root = new Object[WIDTH];
+            root[0] = this.root;
+            root[1] = newPath(this.shift, value);
+            return new PersistentVector<>(root, this.shift + BITS, this.size + 1);
+        }
+
+        return new PersistentVector<>(addIn(this.root, this.shift, this.size, value), this.shift, this.size + 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull Iterator<E> iterator() {
+        return new Iterator<>() {
+            private int next = 0;
+            private Object[] leaf;
+
+            @Override
+            public boolean hasNext() {
+                return this.next < PersistentVector.this.size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (this.next >= PersistentVector.this.size) {
+                    throw new NoSuchElementException();
+                }
+
+                if ((this.next & MASK) == 0 || this.leaf == null) {
+                    this.leaf = PersistentVector.this.leafFor(this.next);
+                }
+                return (E) this.leaf[this.next++ & MASK];
+            }
+        };
+    }
+
+    /**
+     * Get the leaf node that holds a certain index
+     *
+     * @param index The index to find
+     *
+     * @return The leaf node holding the index
+     *
+     * @since 2.2.0
+     */
+    private Object @NotNull [] leafFor(int index) {
+        Object[] node = this.root;
+        for (int level = this.shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    /**
+     * Copy the path to an index replacing the value at the end of it
+     *
+     * @param node  The node to copy
+     * @param level The shift of the node
+     * @param index The index to replace
+     * @param value The new value
+     *
+     * @return The copied node
+     *
+     * @since 2.2.0
+     */
+    private static Object @NotNull [] setIn(Object @NotNull [] node, int level, int index, @Nullable Object value) {
+        Object[] copy = node.clone();
+        if (level == 0) {
+            copy[index & MASK] = value;
+        } else {
+            int slot = (index >>> level) & MASK;
+            copy[slot] = setIn((Object[]) node[slot], level - BITS, index, value);
+        }
+        return copy;
+    }
+
+    /**
+     * Copy the path to an index creating any missing nodes and placing a value at the end of it
+     *
+     * @param node  The node to copy, or null if it doesn't exist yet
+     * @param level The shift of the node
+     * @param index The index to add at
+     * @param value The value to add
+     *
+     * @return The copied node
+     *
+     * @since 2.2.0
+     */
+    private static Object @NotNull [] addIn(Object @Nullable [] node, int level, int index, @Nullable Object value) {
+        Object[] copy = node != null ? node.clone() : new Object[WIDTH];
+        if (level == 0) {
+            copy[index & MASK] = value;
+        } else {
+            int slot = (index >>> level) & MASK;
+            copy[slot] = addIn((Object[]) copy[slot], level - BITS, index, value);
+        }
+        return copy;
+    }
+
+    /**
+     * Create a new path of nodes down to a leaf holding a single value
+     *
+     * @param level The shift of the top node
+     * @param value The value to hold
+     *
+     * @return The top node of the path
+     *
+     * @since 2.2.0
+     */
+    private static Object @NotNull [] newPath(int level, @Nullable Object value) {
+        Object[] node = new Object[WIDTH];
+        node[0] = level == 0 ? value : newPath(level - BITS, value);
+        return node;
+    }
+
+    /**
+     * Create a new empty {@link PersistentVector}
+     *
+     * @param <E> The type of the values
+     *
+     * @return A new empty {@link PersistentVector}
+     *
+     * @since 2.2.0
+     */
+    static <E> @NotNull PersistentVector<E> empty() {
+        return new PersistentVector<>(new Object[WIDTH], 0, 0);
+    }
+
+    /**
+     * Create a new {@link PersistentVector} holding the values of a collection
+     *
+     * @param values The values to hold
+     * @param <E>    The type of the values
+     *
+     * @return A new {@link PersistentVector}
+     *
+     * @since 2.2.0
+     */
+    static <E> @NotNull PersistentVector<E> from(@NotNull Collection<? extends E> values) {
+        int size = values.size();
+        if (size == 0) {
+            return empty();
+        }
+
+        Object[] nodes = new Object[(size + MASK) >>> BITS];
+        Iterator<? extends E> iterator = values.iterator();
+        for (int i = 0; i < nodes.length; i++) {
+            Object[] leaf = new Object[WIDTH];
+            for (int j = 0; j < WIDTH && iterator.hasNext(); j++) {
+                leaf[j] = iterator.next();
+            }
+            nodes[i] = leaf;
+        }
+
+        int shift = 0;
+        while (nodes.length > 1) {
+            Object[] parents = new Object[(nodes.length + MASK) >>> BITS];
+            for (int i = 0; i < parents.length; i++) {
+                Object[] parent = new Object[WIDTH];
+                System.arraycopy(nodes, i << BITS, parent, 0, Math.min(WIDTH, nodes.length - (i << BITS)));
+                parents[i] = parent;
+            }
+            nodes = parents;
+            shift += BITS;
+        }
+
+        return new PersistentVector<>((Object[]) nodes[0], shift, size);
+    }
+}
@@ -0,0 +1,361 @@
+package io.github.kale_ko.bjsl.elements;
+
+import java.util.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A set of JSON Pointers (RFC 6901) selecting the parts of a document that should be kept
+ * <p>
+ * A segment of {@code *} matches every key of an object or every index of an array, and the empty pointer selects the whole document
+ * <p>
+ * Objects and arrays along a selected path are kept with only their selected children, arrays keep their selected items in order
+ *
+ * @version 2.2.0
+ * @since 2.2.0
+ */
+public final class Projection {
+    /**
+     * The segment that matches every key or index
+     *
+     * @since 2.2.0
+     */
+    public static final @NotNull String WILDCARD = "*";
+
+    /**
+     * A projection that selects the whole document
+     *
+     * @since 2.2.0
+     */
+    private static final @NotNull Projection ALL = new Projection(true);
+
+    /**
+     * Whether the whole value at this node is selected
+     *
+     * @since 2.2.0
+     */
+    private boolean included;
+
+    /**
+     * The children of this node by key, null if there are none
+     *
+     * @since 2.2.0
+     */
+    private @Nullable Map<String, Projection> children = null;
+
+    /**
+     * The child of this node matching every key, null if there is none
+     *
+     * @since 2.2.0
+     */
+    private @Nullable Projection wildcard = null;
+
+    /**
+     * Create a new {@link Projection} node
+     *
+     * @param included Whether the whole value at this node is selected
+     *
+     * @since 2.2.0
+     */
+    private Projection(boolean included) {
+        this.included = included;
+    }
+
+    /**
+     * Create a new {@link Projection} selecting the passed pointers
+     *
+     * @param pointers The pointers to select
+     *
+     * @return A new {@link Projection}
+     *
+     * @throws IllegalArgumentException If a pointer is not valid
+     * @since 2.2.0
+     */
+    public static @NotNull Projection of(@NotNull String... pointers) {
+        return of(Arrays.asList(pointers));
+    }
+
+    /**
+     * Create a new {@link Projection} selecting the passed pointers
+     *
+     * @param pointers The pointers to select
+     *
+     * @return A new {@link Projection}
+     *
+     * @throws IllegalArgumentException If a pointer is not valid
+     * @since 2.2.0
+     */
+    public static @NotNull Projection of(@NotNull Collection<String> pointers) {
+        Projection root = new Projection(false);
+
+        for (String pointer : pointers) {
+            if (!pointer.isEmpty() && pointer.charAt(0) != '/') {
+                throw new IllegalArgumentException("Pointer \"" + pointer + "\" must be empty or start with '/'");
+            }
+
+            Projection node = root;
+            int start = 1;
+            while (!pointer.isEmpty() && start <= pointer.length()) {
+                int end = pointer.indexOf('/', start);
+                if (end == -1) {
+                    end = pointer.length();
+                }
+
+                String segment = pointer.substring(start, end);
+                if (segment.equals(WILDCARD)) {
+                    if (node.wildcard == null) {
+                        node.wildcard = new Projection(false);
+                    }
+                    node = node.wildcard;
+                } else {
+                    node = node.child(unescape(segment, pointer));
+                }
+
+                start = end + 1;
+            }
+
+            node.included = true;
+        }
+
+        root.finish();
+
+        return root;
+    }
+
+    /**
+     * Get a {@link Projection} that selects the whole document
+     *
+     * @return A {@link Projection} that selects the whole document
+     *
+     * @since 2.2.0
+     */
+    public static @NotNull Projection all() {
+        return ALL;
+    }
+
+    /**
+     * Escape a key for use as a segment of a pointer
+     *
+     * @param key The key to escape
+     *
+     * @return The escaped key
+     *
+     * @since 2.2.0
+     */
+    public static @NotNull String escape(@NotNull String key) {
+        return key.replace("~", "~0").replace("/", "~1");
+    }
+
+    /**
+     * Unescape a segment of a pointer
+     *
+     * @param segment The segment to unescape
+     * @param pointer The pointer the segment is from
+     *
+     * @return The unescaped segment
+     *
+     * @throws IllegalArgumentException If the segment is not valid
+     * @since 2.2.0
+     */
+    private static @NotNull String unescape(@NotNull String segment, @NotNull String pointer) {
+        if (segment.indexOf('~') == -1) {
+            return segment;
+        }
+
+        StringBuilder builder = new StringBuilder(segment.length());
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c == '~') {
+                char next = i + 1 < segment.length() ? segment.charAt(++i) : '\0';
+                if (next == '0') {
+                    builder.append('~');
+                } else if (next == '1') {
+                    builder.append('/');
+                } else {
+                    throw new IllegalArgumentException("Pointer \"" + pointer + "\" has an invalid escape");
+                }
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Get or create the child of this node for a key
+     *
+     * @param key The key of the child
+     *
+     * @return The child for the key
+     *
+     * @since 2.2.0
+     */
+    private @NotNull Projection child(@NotNull String key) {
+        if (this.children == null) {
+            this.children = new HashMap<>();
+        }
+        return this.children.computeIfAbsent(key, k -> new Projection(false));
+    }
+
+    /**
+     * Merge the selections of the wildcard into every named child so lookups only have to check one node
+     *
+     * @since 2.2.0
+     */
+    private void finish() {
+        if (this.included) {
+            this.children = null;
+            this.wildcard = null;
+            return;
+        }
+
+        if (this.wildcard != null) {
+            this.wildcard.finish();
+
+            if (this.children != null) {
+                for (Projection child : this.children.values()) {
+                    child.merge(this.wildcard);
+                }
+            }
+        }
+
+        if (this.children != null) {
+            for (Projection child : this.children.values()) {
+                child.finish();
+            }
+        }
+    }
+
+    /**
+     * Add the selections of another node to this one
+     *
+     * @param other The node to add
+     *
+     * @since 2.2.0
+     */
+    private void merge(@NotNull Projection other) {
+        if (other.included) {
+            this.included = true;
+        }
+        if (other.wildcard != null) {
+            if (this.wildcard == null) {
+                this.wildcard = new Projection(false);
+            }
+            this.wildcard.merge(other.wildcard);
+        }
+        if (other.children != null) {
+            for (Map.Entry<String, Projection> entry : other.children.entrySet()) {
+                this.child(entry.getKey()).merge(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Get if the whole value at this node is selected
+     *
+     * @return If the whole value at this node is selected
+     *
+     * @since 2.2.0
+     */
+    public boolean isIncluded() {
+        return this.included;
+    }
+
+    /**
+     * Get the projection for the value of an object key
+     *
+     * @param key The key of the value
+     *
+     * @return The projection for the value, or null if nothing inside it is selected
+     *
+     * @since 2.2.0
+     */
+    public @Nullable Projection get(@NotNull String key) {
+        if (this.included) {
+            return this;
+        }
+
+        if (this.children != null) {
+            Projection child = this.children.get(key);
+            if (child != null) {
+                return child;
+            }
+        }
+        return this.wildcard;
+    }
+
+    /**
+     * Get the projection for an item of an array
+     *
+     * @param index The index of the item
+     *
+     * @return The projection for the item, or null if nothing inside it is selected
+     *
+     * @since 2.2.0
+     */
+    public @Nullable Projection get(int index) {
+        if (this.included || this.children == null) {
+            return this.included ? this : this.wildcard;
+        }
+        return this.get(Integer.toString(index));
+    }
+
+    /**
+     * Project an element, keeping only the selected parts of it
+     * <p>
+     * The passed element is not modified, selected values are shared with it rather than copied
+     *
+     * @param element The element to project
+     *
+     * @return The projected element, or a null primitive if nothing in it is selected
+     *
+     * @since 2.2.0
+     */
+    public @NotNull ParsedElement apply(@NotNull ParsedElement element) {
+        ParsedElement projected = this.project(element);
+        return projected != null ? projected : ParsedPrimitive.fromNull();
+    }
+
+    /**
+     * Project an element, keeping only the selected parts of it
+     *
+     * @param element The element to project
+     *
+     * @return The projected element, or null if nothing in it is selected
+     *
+     * @since 2.2.0
+     */
+    private @Nullable ParsedElement project(@NotNull ParsedElement element) {
+        if (this.included) {
+            return element;
+        }
+
+        if (element instanceof ParsedObject object) {
+            ParsedObject projected = ParsedObject.create();
+            for (Map.Entry<String, ParsedElement> entry : object.getEntries()) {
+                Projection child = this.get(entry.getKey());
+                if (child != null) {
+                    ParsedElement value = child.project(entry.getValue());
+                    if (value != null) {
+                        projected.set(entry.getKey(), value);
+                    }
+                }
+            }
+            return projected;
+        } else if (element instanceof ParsedArray array) {
+            ParsedArray projected = ParsedArray.create();
+            for (int i = 0; i < array.getSize(); i++) {
+                Projection child = this.get(i);
+                if (child != null) {
+                    ParsedElement value = child.project(array.get(i));
+                    if (value != null) {
+                        projected.add(value);
+                    }
+                }
+            }
+            return projected;
+        } else {
+            return null;
+        }
+    }
+}
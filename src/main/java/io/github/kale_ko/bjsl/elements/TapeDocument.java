@@ -0,0 +1,643 @@
+package io.github.kale_ko.bjsl.elements;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A read only document stored as a flat tape of structural tokens
+ * <p>
+ * A document is read in a single pass into a {@code long[]} tape, a character buffer holding every string and key, and a side buffer for numbers too large for a long or double. No elements are created while reading, instead {@link #root()} returns frozen element views over the tape that create their children on demand
+ * <p>
+ * Each tape entry holds a tag in its top byte and a payload in the rest. Objects and arrays are bracketed by start and end entries, the start holding the index after the end and the amount of values so children can be skipped over. Strings, longs, and doubles use a second entry for their length or bits
+ *
+ * @version 2.2.0
+ * @since 2.2.0
+ */
+public final class TapeDocument {
+    private static final long START_OBJECT = 1;
+    private static final long END_OBJECT = 2;
+    private static final long START_ARRAY = 3;
+    private static final long END_ARRAY = 4;
+    private static final long STRING = 5;
+    private static final long INTEGER = 6;
+    private static final long LONG = 7;
+    private static final long FLOAT = 8;
+    private static final long DOUBLE = 9;
+    private static final long BIG = 10;
+    private static final long TRUE = 11;
+    private static final long FALSE = 12;
+    private static final long NULL = 13;
+
+    private static final int TAG_SHIFT = 56;
+    private static final long PAYLOAD_MASK = (1L << TAG_SHIFT) - 1;
+    private static final int COUNT_SHIFT = 32;
+    private static final long COUNT_SATURATED = (1L << (TAG_SHIFT - COUNT_SHIFT)) - 1;
+
+    /**
+     * The amount of values after which views build an index of their children
+     *
+     * @since 2.2.0
+     */
+    private static final int INDEX_THRESHOLD = 8;
+
+    /**
+     * The tape of structural tokens
+     *
+     * @since 2.2.0
+     */
+    private final long @NotNull [] tape;
+
+    /**
+     * The characters of every string and key on the tape
+     *
+     * @since 2.2.0
+     */
+    private final char @NotNull [] chars;
+
+    /**
+     * The numbers too large for a long or double
+     *
+     * @since 2.2.0
+     */
+    private final @NotNull Number @NotNull [] bigs;
+
+    /**
+     * Create a new {@link TapeDocument}
+     *
+     * @param tape  The tape of structural tokens
+     * @param chars The characters of every string and key on the tape
+     * @param bigs  The numbers too large for a long or double
+     *
+     * @since 2.2.0
+     */
+    private TapeDocument(long @NotNull [] tape, char @NotNull [] chars, @NotNull Number @NotNull [] bigs) {
+        this.tape = tape;
+        this.chars = chars;
+        this.bigs = bigs;
+    }
+
+    /**
+     * Get the root element of this document
+     * <p>
+     * The element and all its children are frozen views over the tape, they are created as they are accessed and not cached
+     *
+     * @return The root element of this document
+     *
+     * @since 2.2.0
+     */
+    public @NotNull ParsedElement root() {
+        return this.element(0);
+    }
+
+    /**
+     * Get the amount of entries on the tape
+     *
+     * @return The amount of entries on the tape
+     *
+     * @since 2.2.0
+     */
+    public int getTapeSize() {
+        return this.tape.length;
+    }
+
+    /**
+     * Get the element at a certain tape index
+     *
+     * @param index The tape index
+     *
+     * @return The element at the index
+     *
+     * @since 2.2.0
+     */
+    private @NotNull ParsedElement element(int index) {
+        long entry = this.tape[index];
+        long payload = entry & PAYLOAD_MASK;
+        return switch ((int) (entry >>> TAG_SHIFT)) {
+            case (int) START_OBJECT -> new ParsedObject(new TapeMap(index), true);
+            case (int) START_ARRAY -> new ParsedArray(new TapeList(index), true);
+            case (int) STRING -> ParsedPrimitive.fromString(this.string(index));
+            case (int) INTEGER -> ParsedPrimitive.fromInteger((int) payload);
+            case (int) LONG -> ParsedPrimitive.fromLong(this.tape[index + 1]);
+            case (int) FLOAT -> ParsedPrimitive.fromFloat(Float.intBitsToFloat((int) payload));
+            case (int) DOUBLE -> ParsedPrimitive.fromDouble(Double.longBitsToDouble(this.tape[index + 1]));
+            case (int) BIG -> this.bigs[(int) payload] instanceof BigInteger bigInteger ? ParsedPrimitive.fromBigInteger(bigInteger) : ParsedPrimitive.fromBigDecimal((BigDecimal) this.bigs[(int) payload]);
+            case (int) TRUE -> ParsedPrimitive.fromBoolean(true);
+            case (int) FALSE -> ParsedPrimitive.fromBoolean(false);
+            case (int) NULL -> ParsedPrimitive.fromNull();
+            default -> throw new IllegalStateException("Invalid tape entry at " + index);
+        };
+    }
+
+    /**
+     * Get the tape index after the value at a certain tape index
+     *
+     * @param index The tape index
+     *
+     * @return The tape index after the value
+     *
+     * @since 2.2.0
+     */
+    private int next(int index) {
+        long entry = this.tape[index];
+        long tag = entry >>> TAG_SHIFT;
+        if (tag == START_OBJECT || tag == START_ARRAY) {
+            return (int) entry;
+        } else if (tag == STRING || tag == LONG || tag == DOUBLE) {
+            return index + 2;
+        } else {
+            return index + 1;
+        }
+    }
+
+    /**
+     * Get the amount of values in the object or array at a certain tape index
+     *
+     * @param index The tape index
+     *
+     * @return The amount of values
+     *
+     * @since 2.2.0
+     */
+    private int count(int index) {
+        long count = (this.tape[index] & PAYLOAD_MASK) >>> COUNT_SHIFT;
+        if (count < COUNT_SATURATED) {
+            return (int) count;
+        }
+
+        boolean object = this.tape[index] >>> TAG_SHIFT == START_OBJECT;
+        int size = 0;
+        for (int i = index + 1, end = this.next(index) - 1; i < end; i = this.next(object ? i + 2 : i)) {
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * Get the string at a certain tape index
+     *
+     * @param index The tape index
+     *
+     * @return The string
+     *
+     * @since 2.2.0
+     */
+    private @NotNull String string(int index) {
+        return new String(this.chars, (int) (this.tape[index] & PAYLOAD_MASK), (int) this.tape[index + 1]);
+    }
+
+    /**
+     * Get whether the string at a certain tape index equals a key without decoding it
+     *
+     * @param index The tape index
+     * @param key   The key to compare
+     *
+     * @return Whether the string equals the key
+     *
+     * @since 2.2.0
+     */
+    private boolean stringEquals(int index, @NotNull String key) {
+        int length = (int) this.tape[index + 1];
+        if (length != key.length()) {
+            return false;
+        }
+
+        int offset = (int) (this.tape[index] & PAYLOAD_MASK);
+        for (int i = 0; i < length; i++) {
+            if (this.chars[offset + i] != key.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the {@link String#hashCode()} of the string at a certain tape index without decoding it
+     *
+     * @param index The tape index
+     *
+     * @return The hash of the string
+     *
+     * @since 2.2.0
+     */
+    private int stringHash(int index) {
+        int offset = (int) (this.tape[index] & PAYLOAD_MASK);
+        int length = (int) this.tape[index + 1];
+
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + this.chars[offset + i];
+        }
+        return hash;
+    }
+
+    /**
+     * Spread the higher bits of a hash into the lower ones
+     *
+     * @param hash The hash to spread
+     *
+     * @return The spread hash
+     *
+     * @since 2.2.0
+     */
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * A read only view over an object on the tape
+     *
+     * @since 2.2.0
+     */
+    private final class TapeMap extends AbstractMap<String, ParsedElement> {
+        /**
+         * The tape index of the start of the object
+         *
+         * @since 2.2.0
+         */
+        private final int start;
+
+        /**
+         * The amount of key/value pairs
+         *
+         * @since 2.2.0
+         */
+        private final int size;
+
+        /**
+         * An open addressing hash table of key tape indexes (offset by one so 0 marks an empty slot), built on the first lookup of a large object
+         *
+         * @since 2.2.0
+         */
+        private volatile int @Nullable [] index;
+
+        /**
+         * Create a new {@link TapeMap}
+         *
+         * @param start The tape index of the start of the object
+         *
+         * @since 2.2.0
+         */
+        TapeMap(int start) {
+            this.start = start;
+            this.size = TapeDocument.this.count(start);
+        }
+
+        /**
+         * Find the tape index of a key
+         *
+         * @param key The key to find
+         *
+         * @return The tape index of the key or -1 if it is not present
+         *
+         * @since 2.2.0
+         */
+        private int find(@Nullable Object key) {
+            if (!(key instanceof String string)) {
+                return -1;
+            }
+
+            if (this.size <= INDEX_THRESHOLD) {
+                for (int i = this.start + 1; this.size > 0 && TapeDocument.this.tape[i] >>> TAG_SHIFT == STRING; i = TapeDocument.this.next(i + 2)) {
+                    if (TapeDocument.this.stringEquals(i, string)) {
+                        return i;
+                    }
+                }
+                return -1;
+            }
+
+            int[] index = this.index;
+            if (index == null) {
+                index = new int[Integer.highestOneBit(this.size * 2 - 1) << 1];
+                int mask = index.length - 1;
+                for (int i = this.start + 1; TapeDocument.this.tape[i] >>> TAG_SHIFT == STRING; i = TapeDocument.this.next(i + 2)) {
+                    int slot = spread(TapeDocument.this.stringHash(i)) & mask;
+                    while (index[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    index[slot] = i + 1;
+                }
+                this.index = index;
+            }
+
+            int mask = index.length - 1;
+            for (int slot = spread(string.hashCode()) & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+                if (TapeDocument.this.stringEquals(index[slot] - 1, string)) {
+                    return index[slot] - 1;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int size() {
+            return this.size;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean containsKey(@Nullable Object key) {
+            return this.find(key) >= 0;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public @Nullable ParsedElement get(@Nullable Object key) {
+            int index = this.find(key);
+            return index >= 0 ? TapeDocument.this.element(index + 2) : null;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public @NotNull Set<Map.Entry<String, ParsedElement>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public @NotNull Iterator<Map.Entry<String, ParsedElement>> iterator() {
+                    return new Iterator<>() {
+                        private int next = TapeMap.this.start + 1;
+
+                        @Override
+                        public boolean hasNext() {
+                            return TapeDocument.this.tape[this.next] >>> TAG_SHIFT == STRING;
+                        }
+
+                        @Override
+                        public Map.Entry<String, ParsedElement> next() {
+                            if (!this.hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+
+                            int key = this.next;
+                            this.next = TapeDocument.this.next(key + 2);
+                            return new AbstractMap.SimpleImmutableEntry<>(TapeDocument.this.string(key), TapeDocument.this.element(key + 2));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return TapeMap.this.size;
+                }
+            };
+        }
+    }
+
+    /**
+     * A read only view over an array on the tape
+     *
+     * @since 2.2.0
+     */
+    private final class TapeList extends AbstractList<ParsedElement> implements RandomAccess {
+        /**
+         * The tape index of the start of the array
+         *
+         * @since 2.2.0
+         */
+        private final int start;
+
+        /**
+         * The amount of values
+         *
+         * @since 2.2.0
+         */
+        private final int size;
+
+        /**
+         * The tape index of each value, built on the first random access
+         *
+         * @since 2.2.0
+         */
+        private volatile int @Nullable [] positions;
+
+        /**
+         * Create a new {@link TapeList}
+         *
+         * @param start The tape index of the start of the array
+         *
+         * @since 2.2.0
+         */
+        TapeList(int start) {
+            this.start = start;
+            this.size = TapeDocument.this.count(start);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int size() {
+            return this.size;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public ParsedElement get(int index) {
+            Objects.checkIndex(index, this.size);
+
+            int[] positions = this.positions;
+            if (positions == null) {
+                positions = new int[this.size];
+                for (int i = 0, position = this.start + 1; i < this.size; i++, position = TapeDocument.this.next(position)) {
+                    positions[i] = position;
+                }
+                this.positions = positions;
+            }
+            return TapeDocument.this.element(positions[index]);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public @NotNull Iterator<ParsedElement> iterator() {
+            return new Iterator<>() {
+                private int next = TapeList.this.start + 1;
+
+                @Override
+                public boolean hasNext() {
+                    return TapeDocument.this.tape[this.next] >>> TAG_SHIFT != END_ARRAY;
+                }
+
+                @Override
+                public ParsedElement next() {
+                    if (!this.hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+
+                    int value = this.next;
+                    this.next = TapeDocument.this.next(value);
+                    return TapeDocument.this.element(value);
+                }
+            };
+        }
+    }
+
+    /**
+     * Read the next value of a parser into a new {@link TapeDocument}
+     * <p>
+     * If the parser is positioned on a value that value is read, otherwise the parser is advanced first. The parser is left on the last token of the value
+     *
+     * @param parser The parser to read from
+     *
+     * @return A new {@link TapeDocument}
+     *
+     * @throws IOException If the parser fails or the input has no value
+     * @since 2.2.0
+     */
+    public static @NotNull TapeDocument parse(@NotNull JsonParser parser) throws IOException {
+        Writer writer = new Writer();
+
+        JsonToken token = parser.currentToken();
+        if (token == null || token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+            token = parser.nextToken();
+        }
+        if (token == null) {
+            throw new JsonParseException(parser, "No value to read");
+        }
+
+        int depth = 0;
+        int[] starts = new int[16];
+        int[] counts = new int[16];
+
+        while (true) {
+            if (token == null) {
+                throw new JsonParseException(parser, "Unexpected end of input");
+            }
+
+            if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY && depth > 0) {
+                counts[depth - 1]++;
+            }
+
+            switch (token) {
+                case START_OBJECT, START_ARRAY -> {
+                    if (depth == starts.length) {
+                        starts = Arrays.copyOf(starts, depth * 2);
+                        counts = Arrays.copyOf(counts, depth * 2);
+                    }
+                    starts[depth] = writer.size;
+                    counts[depth] = 0;
+                    depth++;
+
+                    writer.append(token == JsonToken.START_OBJECT ? START_OBJECT : START_ARRAY, 0);
+                }
+                case END_OBJECT, END_ARRAY -> {
+                    depth--;
+                    int start = starts[depth];
+
+                    writer.append(token == JsonToken.END_OBJECT ? END_OBJECT : END_ARRAY, start);
+                    writer.tape[start] = (writer.tape[start] & ~PAYLOAD_MASK) | (Math.min(counts[depth], COUNT_SATURATED) << COUNT_SHIFT) | writer.size;
+                }
+                case FIELD_NAME, VALUE_STRING -> {
+                    writer.appendString(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                }
+                case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> {
+                    switch (parser.getNumberType()) {
+                        case INT -> {
+                            writer.append(INTEGER, parser.getIntValue() & 0xFFFFFFFFL);
+                        }
+                        case LONG -> {
+                            writer.append(LONG, 0);
+                            writer.appendRaw(parser.getLongValue());
+                        }
+                        case FLOAT -> {
+                            writer.append(FLOAT, Float.floatToRawIntBits(parser.getFloatValue()) & 0xFFFFFFFFL);
+                        }
+                        case DOUBLE -> {
+                            writer.append(DOUBLE, 0);
+                            writer.appendRaw(Double.doubleToRawLongBits(parser.getDoubleValue()));
+                        }
+                        case BIG_INTEGER -> {
+                            writer.appendBig(parser.getBigIntegerValue());
+                        }
+                        case BIG_DECIMAL -> {
+                            writer.appendBig(parser.getDecimalValue());
+                        }
+                    }
+                }
+                case VALUE_TRUE -> {
+                    writer.append(TRUE, 0);
+                }
+                case VALUE_FALSE -> {
+                    writer.append(FALSE, 0);
+                }
+                case VALUE_NULL -> {
+                    writer.append(NULL, 0);
+                }
+                default -> {
+                    throw new JsonParseException(parser, "Unsupported token " + token);
+                }
+            }
+
+            if (depth == 0) {
+                break;
+            }
+            token = parser.nextToken();
+        }
+
+        return new TapeDocument(Arrays.copyOf(writer.tape, writer.size), Arrays.copyOf(writer.chars, writer.charsSize), Arrays.copyOf(writer.bigs, writer.bigsSize));
+    }
+
+    /**
+     * A growable buffer for writing a tape
+     *
+     * @since 2.2.0
+     */
+    private static final class Writer {
+        private long[] tape = new long[64];
+        private int size = 0;
+
+        private char[] chars = new char[256];
+        private int charsSize = 0;
+
+        private Number[] bigs = new Number[0];
+        private int bigsSize = 0;
+
+        void append(long tag, long payload) {
+            this.appendRaw((tag << TAG_SHIFT) | payload);
+        }
+
+        void appendRaw(long value) {
+            if (this.size == this.tape.length) {
+                this.tape = Arrays.copyOf(this.tape, this.size + (this.size >> 1));
+            }
+            this.tape[this.size++] = value;
+        }
+
+        void appendString(char @NotNull [] text, int offset, int length) {
+            if (this.charsSize + length > this.chars.length) {
+                this.chars = Arrays.copyOf(this.chars, Math.max(this.charsSize + length, this.chars.length + (this.chars.length >> 1)));
+            }
+            System.arraycopy(text, offset, this.chars, this.charsSize, length);
+
+            this.append(STRING, this.charsSize);
+            this.appendRaw(length);
+            this.charsSize += length;
+        }
+
+        void appendBig(@NotNull Number value) {
+            if (this.bigsSize == this.bigs.length) {
+                this.bigs = Arrays.copyOf(this.bigs, Math.max(4, this.bigsSize * 2));
+            }
+            this.bigs[this.bigsSize] = value;
+
+            this.append(BIG, this.bigsSize++);
+        }
+    }
+}
@@ -0,0 +1,468 @@
+package io.github.kale_ko.bjsl.parsers;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import io.github.kale_ko.bjsl.BJSL;
+import io.github.kale_ko.bjsl.elements.ParsedArray;
+import io.github.kale_ko.bjsl.elements.ParsedElement;
+import io.github.kale_ko.bjsl.elements.ParsedObject;
+import io.github.kale_ko.bjsl.parsers.exception.InvalidTypeException;
+import io.github.kale_ko.bjsl.parsers.exception.ParserException;
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A {@link Flow.Processor} that parses chunks of bytes as they arrive using a non-blocking Jackson parser
+ * <p>
+ * Every top level document is emitted as soon as its last byte has been received, and if top level arrays are unwrapped every one of their values is emitted on its own instead. Chunks are only requested from upstream once every value parsed from the previous chunk has been requested downstream, so no thread ever waits for input and at most one chunk worth of values is buffered
+ * <p>
+ * Only a single subscriber is supported
+ *
+ * @param <V> The type of the emitted values
+ *
+ * @version 2.2.0
+ * @since 2.2.0
+ */
+final class FlowParser<V> implements Flow.Processor<ByteBuffer, V> {
+    /**
+     * The parser the primitives are read with
+     *
+     * @since 2.2.0
+     */
+    private final @NotNull JacksonParser<?, ?> owner;
+
+    /**
+     * The non-blocking parser the chunks are fed to
+     *
+     * @since 2.2.0
+     */
+    private final com.fasterxml.jackson.core.@NotNull JsonParser parser;
+
+    /**
+     * The feeder of the non-blocking parser
+     *
+     * @since 2.2.0
+     */
+    private final @NotNull ByteArrayFeeder feeder;
+
+    /**
+     * If the values of top level arrays are emitted instead of the arrays
+     *
+     * @since 2.2.0
+     */
+    private final boolean unwrapArrays;
+
+    /**
+     * The function every element is converted with before being emitted
+     *
+     * @since 2.2.0
+     */
+    private final @NotNull Function<? super ParsedElement, ? extends V> mapper;
+
+    /**
+     * The objects and arrays currently being read, innermost first
+     *
+     * @since 2.2.0
+     */
+    private final @NotNull ArrayDeque<ParsedElement> parents = new ArrayDeque<>();
+
+    /**
+     * The key of the next value
+     *
+     * @since 2.2.0
+     */
+    private @NotNull String key = "root";
+
+    /**
+     * If a top level array is currently being unwrapped
+     *
+     * @since 2.2.0
+     */
+    private boolean unwrapping = false;
+
+    /**
+     * The values that have been parsed but not emitted yet
+     *
+     * @since 2.2.0
+     */
+    private final @NotNull Queue<V> ready = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The amount of values requested downstream but not emitted yet
+     *
+     * @since 2.2.0
+     */
+    private final @NotNull AtomicLong demand = new AtomicLong(0);
+
+    /**
+     * The amount of times {@link #drain()} has been called while it was already running
+     *
+     * @since 2.2.0
+     */
+    private final @NotNull AtomicInteger draining = new AtomicInteger(0);
+
+    /**
+     * If a chunk has been requested from upstream but not received yet
+     *
+     * @since 2.2.0
+     */
+    private final @NotNull AtomicBoolean requested = new AtomicBoolean(false);
+
+    /**
+     * The upstream subscription, null until subscribed
+     *
+     * @since 2.2.0
+     */
+    private volatile Flow.@Nullable Subscription upstream;
+
+    /**
+     * The downstream subscriber, null until subscribed
+     *
+     * @since 2.2.0
+     */
+    private volatile Flow.@Nullable Subscriber<? super V> downstream;
+
+    /**
+     * If upstream has completed
+     *
+     * @since 2.2.0
+     */
+    private volatile boolean completed = false;
+
+    /**
+     * The exception upstream or parsing has failed with
+     *
+     * @since 2.2.0
+     */
+    private volatile @Nullable Throwable error;
+
+    /**
+     * If downstream has cancelled or been sent a terminal signal
+     *
+     * @since 2.2.0
+     */
+    private volatile boolean terminated = false;
+
+    /**
+     * Create a new {@link FlowParser}
+     *
+     * @param owner        The parser the primitives are read with
+     * @param parser       The non-blocking parser the chunks are fed to
+     * @param unwrapArrays If the values of top level arrays are emitted instead of the arrays
+     * @param mapper       The function every element is converted with before being emitted
+     *
+     * @since 2.2.0
+     */
+    FlowParser(@NotNull JacksonParser<?, ?> owner, com.fasterxml.jackson.core.@NotNull JsonParser parser, boolean unwrapArrays, @NotNull Function<? super ParsedElement, ? extends V> mapper) {
+        this.owner = owner;
+        this.parser = parser;
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        this.unwrapArrays = unwrapArrays;
+        this.mapper = mapper;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void subscribe(Flow.@NotNull Subscriber<? super V> subscriber) {
+        synchronized (this) {
+            if (this.downstream == null) {
+                this.downstream = subscriber;
+                subscriber.onSubscribe(new Subscription());
+                this.drain();
+                return;
+            }
+        }
+
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+        subscriber.onError(new IllegalStateException("FlowParser only supports a single subscriber"));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onSubscribe(Flow.@NotNull Subscription subscription) {
+        if (this.upstream != null || this.terminated) {
+            subscription.cancel();
+            return;
+        }
+
+        this.upstream = subscription;
+        this.drain();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onNext(@NotNull ByteBuffer chunk) {
+        if (this.terminated || this.error != null) {
+            return;
+        }
+
+        try {
+            byte[] bytes = new byte[chunk.remaining()];
+            chunk.get(bytes);
+            this.feeder.feedInput(bytes, 0, bytes.length);
+            this.read();
+        } catch (Exception e) {
+            this.fail(e);
+        }
+
+        this.requested.set(false);
+        this.drain();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onError(@NotNull Throwable throwable) {
+        this.error = throwable;
+        this.drain();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onComplete() {
+        if (this.error == null) {
+            try {
+                this.feeder.endOfInput();
+                this.read();
+
+                if (!this.parents.isEmpty() || this.unwrapping) {
+                    throw new EOFException("Unexpected end of input at byte " + this.parser.currentLocation().getByteOffset() + ", expected the close of an open object or array");
+                }
+            } catch (Exception e) {
+                this.fail(e);
+            }
+        }
+
+        this.completed = true;
+        this.drain();
+    }
+
+    /**
+     * Read every token that is available from the fed chunks
+     *
+     * @throws java.io.IOException If the input is not valid
+     * @since 2.2.0
+     */
+    private void read() throws java.io.IOException {
+        JsonToken token;
+        while ((token = this.parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            ParsedElement element;
+            switch (token) {
+                case FIELD_NAME -> {
+                    this.key = this.parser.currentName();
+                    continue;
+                }
+                case END_OBJECT, END_ARRAY -> {
+                    if (this.parents.isEmpty()) {
+                        this.unwrapping = false;
+                        continue;
+                    }
+
+                    element = this.parents.pop();
+                    if (!this.parents.isEmpty()) {
+                        continue;
+                    }
+                    this.emit(element);
+                    continue;
+                }
+                case START_OBJECT -> {
+                    element = ParsedObject.create();
+                }
+                case START_ARRAY -> {
+                    if (this.unwrapArrays && !this.unwrapping && this.parents.isEmpty()) {
+                        this.unwrapping = true;
+                        continue;
+                    }
+                    element = ParsedArray.create();
+                }
+                case VALUE_EMBEDDED_OBJECT -> {
+                    Logger logger = BJSL.getLogger();
+                    if (logger != null) {
+                        logger.warning("Warning while parsing: Node \"" + this.key + "\" of type \"" + token + "\" is not serializable");
+                    }
+                    continue;
+                }
+                default -> {
+                    element = this.owner.toPrimitive(this.parser);
+                }
+            }
+
+            if (this.parents.isEmpty()) {
+                if (element.isPrimitive()) {
+                    this.emit(element);
+                } else {
+                    this.parents.push(element);
+                }
+                continue;
+            }
+
+            switch (this.parents.element()) {
+                case ParsedObject parsedObject -> {
+                    parsedObject.set(this.key, element);
+                }
+                case ParsedArray parsedArray -> {
+                    parsedArray.add(element);
+                }
+                default -> {
+                }
+            }
+
+            if (!element.isPrimitive()) {
+                this.parents.push(element);
+            }
+        }
+    }
+
+    /**
+     * Convert a completed element and queue it to be emitted, null values are skipped
+     *
+     * @param element The completed element
+     *
+     * @since 2.2.0
+     */
+    private void emit(@NotNull ParsedElement element) {
+        V value = this.mapper.apply(element);
+        if (value != null) {
+            this.ready.add(value);
+        }
+    }
+
+    /**
+     * Record a failure and stop receiving chunks
+     *
+     * @param e The exception that was thrown
+     *
+     * @since 2.2.0
+     */
+    private void fail(@NotNull Exception e) {
+        if (e instanceof ParserException parserException) {
+            this.error = parserException;
+        } else if (e instanceof RuntimeException && !(e instanceof InvalidTypeException)) {
+            this.error = e;
+        } else {
+            this.error = new ParserException(e, this.parser.getParsingContext().pathAsPointer().toString());
+        }
+
+        Flow.Subscription upstream = this.upstream;
+        if (upstream != null) {
+            upstream.cancel();
+        }
+    }
+
+    /**
+     * Emit as many values as have been requested and request the next chunk if more are needed
+     * <p>
+     * Only one thread drains at a time, calls made while another thread is draining make it loop again instead of waiting
+     *
+     * @since 2.2.0
+     */
+    private void drain() {
+        if (this.draining.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+        do {
+            Flow.Subscriber<? super V> downstream = this.downstream;
+            if (downstream != null && !this.terminated) {
+                boolean completed = this.completed;
+                Throwable error = this.error;
+                if (error != null) {
+                    this.terminate();
+                    downstream.onError(error);
+                } else {
+                    V value;
+                    while (this.demand.get() > 0 && !this.terminated && (value = this.ready.poll()) != null) {
+                        if (this.demand.get() != Long.MAX_VALUE) {
+                            this.demand.decrementAndGet();
+                        }
+                        downstream.onNext(value);
+                    }
+
+                    if (!this.terminated && this.ready.isEmpty()) {
+                        Flow.Subscription upstream = this.upstream;
+                        if (completed) {
+                            this.terminate();
+                            downstream.onComplete();
+                        } else if (upstream != null && this.demand.get() > 0 && this.requested.compareAndSet(false, true)) {
+                            upstream.request(1);
+                        }
+                    }
+                }
+            }
+
+            missed = this.draining.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * Stop emitting values to downstream
+     *
+     * @since 2.2.0
+     */
+    private void terminate() {
+        this.terminated = true;
+        this.ready.clear();
+    }
+
+    /**
+     * The subscription given to the downstream subscriber
+     *
+     * @since 2.2.0
+     */
+    private final class Subscription implements Flow.Subscription {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("Requested amount must be positive"));
+            } else {
+                demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            }
+            drain();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void cancel() {
+            terminate();
+
+            Flow.Subscription upstream = FlowParser.this.upstream;
+            if (upstream != null) {
+                upstream.cancel();
+            }
+        }
+    }
+}
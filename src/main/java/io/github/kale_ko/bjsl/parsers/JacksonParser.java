@@ -1,23 +1,36 @@
 package io.github.kale_ko.bjsl.parsers;
 
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.ObjectCodec;
 import com.fasterxml.jackson.core.PrettyPrinter;
 import com.fasterxml.jackson.core.TokenStreamFactory;
-import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.core.util.Instantiatable;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.kale_ko.bjsl.BJSL;
+import io.github.kale_ko.bjsl.elements.ElementCursor;
+import io.github.kale_ko.bjsl.elements.ElementVisitor;
 import io.github.kale_ko.bjsl.elements.ParsedArray;
 import io.github.kale_ko.bjsl.elements.ParsedElement;
 import io.github.kale_ko.bjsl.elements.ParsedObject;
 import io.github.kale_ko.bjsl.elements.ParsedPrimitive;
+import io.github.kale_ko.bjsl.elements.Projection;
+import io.github.kale_ko.bjsl.elements.TapeDocument;
 import io.github.kale_ko.bjsl.parsers.exception.InvalidTypeException;
 import io.github.kale_ko.bjsl.parsers.exception.ParserException;
 import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.util.Map;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+import java.util.logging.Logger;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -29,7 +42,7 @@ import org.jetbrains.annotations.Nullable;
  * @param <T> The type of the factory used for converting to/from trees/strings
  * @param <V> The type of the codec used for converting to/from trees/strings
  *
- * @version 2.1.0
+ * @version 2.2.0
  * @since 1.0.0
  */
 public abstract class JacksonParser<T extends TokenStreamFactory, V extends ObjectCodec> implements Parser {
@@ -49,11 +62,27 @@ public abstract class JacksonParser<T extends TokenStreamFactory, V extends Obje
 
     /**
      * The prettyPrinter used for converting to strings
+     * <p>
+     * Pretty printers keep track of the current nesting, so every generator gets its own instance from {@link #createPrettyPrinter()}
      *
      * @since 1.0.0
      */
     protected final @Nullable PrettyPrinter prettyPrinter;
 
+    /**
+     * Whether nested objects and arrays should only be parsed when they are first accessed
+     *
+     * @since 2.2.0
+     */
+    protected final boolean lazy;
+
+    /**
+     * Whether elements should be serialized canonically, with sorted keys and normalized numbers
+     *
+     * @since 2.2.0
+     */
+    protected final boolean canonical;
+
     /**
      * Create a new JacksonParser using certain factories
      *
@@ -64,10 +93,44 @@ public abstract class JacksonParser<T extends TokenStreamFactory, V extends Obje
      * @since 1.0.0
      */
     protected JacksonParser(@NotNull T factory, @NotNull V codec, @Nullable PrettyPrinter prettyPrinter) {
+        this(factory, codec, prettyPrinter, false, false);
+    }
+
+    /**
+     * Create a new JacksonParser using certain factories
+     *
+     * @param factory       The factory used for converting to/from trees/strings
+     * @param codec         The codec used for converting to/from trees/strings
+     * @param prettyPrinter The prettyPrinter used for converting to strings, ignored when canonical
+     * @param lazy          Whether nested objects and arrays should only be parsed when they are first accessed, the format must report byte offsets and be parsable from any value on its own
+     * @param canonical     Whether elements should be serialized canonically, with sorted keys and normalized numbers
+     *
+     * @since 2.2.0
+     */
+    protected JacksonParser(@NotNull T factory, @NotNull V codec, @Nullable PrettyPrinter prettyPrinter, boolean lazy, boolean canonical) {
         this.factory = factory;
         this.codec = codec;
 
         this.prettyPrinter = prettyPrinter;
+
+        this.lazy = lazy;
+        this.canonical = canonical;
+    }
+
+    /**
+     * Create a pretty printer for a single generator
+     * <p>
+     * Stateful pretty printers are copied so generators on different threads never share their nesting
+     *
+     * @return A new instance of {@link #prettyPrinter}, or the same one if it is stateless
+     *
+     * @since 2.2.0
+     */
+    protected @Nullable PrettyPrinter createPrettyPrinter() {
+        if (this.prettyPrinter instanceof Instantiatable<?> instantiatable) {
+            return (PrettyPrinter) instantiatable.createInstance();
+        }
+        return this.prettyPrinter;
     }
 
     /**
@@ -85,81 +148,481 @@ public abstract class JacksonParser<T extends TokenStreamFactory, V extends Obje
      */
     @Override
     public @NotNull ParsedElement toElement(byte @NotNull [] data) {
-        try {
-            TreeNode tree;
-            try (com.fasterxml.jackson.core.JsonParser parser = this.factory.createParser(data)) {
-                parser.setCodec(this.codec);
-                tree = parser.readValueAsTree();
+        if (this.lazy) {
+            return this.toLazyElement(data, 0, data.length);
+        }
+
+        try (com.fasterxml.jackson.core.JsonParser parser = this.factory.createParser(data)) {
+            parser.setCodec(this.codec);
+
+            try {
+                if (parser.nextToken() == null) {
+                    throw new InvalidTypeException(Void.class);
+                }
+
+                return this.readElement(parser);
+            } catch (ParserException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new ParserException(e, parser.getParsingContext().pathAsPointer().toString());
             }
+        } catch (ParserException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ParserException(e);
+        }
+    }
 
-            if (tree instanceof JsonNode node) {
-                switch (node.getNodeType()) {
-                    case OBJECT -> {
-                        ObjectNode objectNode = (ObjectNode) node;
-                        ParsedObject objectElement = ParsedObject.create();
+    /**
+     * Parses every top level value in a slice of bytes, such as the lines of newline delimited JSON
+     * <p>
+     * Values are always read eagerly, even if this parser is lazy
+     *
+     * @param data   The bytes to parse
+     * @param offset The offset of the slice
+     * @param length The length of the slice
+     *
+     * @return Every value in the slice parsed to a {@link ParsedElement}, in order
+     *
+     * @throws ParserException If there is an exception while parsing
+     * @since 2.2.0
+     */
+    public @NotNull List<ParsedElement> toElements(byte @NotNull [] data, int offset, int length) {
+        try (com.fasterxml.jackson.core.JsonParser parser = this.factory.createParser(data, offset, length)) {
+            parser.setCodec(this.codec);
 
-                        objectNode.propertyStream().forEach(subEntry -> {
-                            toElements(objectElement, subEntry.getKey(), subEntry.getValue());
-                        });
+            try {
+                List<ParsedElement> elements = new ArrayList<>();
+                while (parser.nextToken() != null) {
+                    elements.add(this.readElement(parser));
+                }
+                return elements;
+            } catch (ParserException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new ParserException(e, parser.getParsingContext().pathAsPointer().toString());
+            }
+        } catch (ParserException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ParserException(e);
+        }
+    }
 
-                        return objectElement;
-                    }
-                    case ARRAY -> {
-                        ArrayNode arrayNode = (ArrayNode) node;
-                        ParsedArray arrayElement = ParsedArray.create();
+    /**
+     * Reads the current value of a parser into an element
+     * <p>
+     * Nested values are read with an explicit stack instead of recursion, so the depth of documents is only limited by the read constraints of the factory
+     *
+     * @param parser The parser to read from, positioned at the value
+     *
+     * @return The read element
+     *
+     * @throws java.io.IOException If the value is not valid or exceeds the read constraints of the factory
+     * @since 2.2.0
+     */
+    protected @NotNull ParsedElement readElement(com.fasterxml.jackson.core.@NotNull JsonParser parser) throws java.io.IOException {
+        JsonToken token = parser.currentToken();
+        if (token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY) {
+            return this.toPrimitive(parser);
+        }
+
+        ParsedElement root = token == JsonToken.START_OBJECT ? ParsedObject.create() : ParsedArray.create();
 
-                        arrayNode.valueStream().forEach(subNode -> {
-                            toElements(arrayElement, "root", subNode);
-                        });
+        ArrayDeque<ParsedElement> parents = new ArrayDeque<>();
+        parents.push(root);
 
-                        return arrayElement;
+        String key = "root";
+        while (!parents.isEmpty()) {
+            token = parser.nextToken();
+            if (token == null) {
+                throw new InvalidTypeException(Void.class);
+            }
+
+            ParsedElement subElement;
+            switch (token) {
+                case FIELD_NAME -> {
+                    key = parser.currentName();
+                    continue;
+                }
+                case END_OBJECT, END_ARRAY -> {
+                    parents.pop();
+                    continue;
+                }
+                case START_OBJECT -> {
+                    subElement = ParsedObject.create();
+                }
+                case START_ARRAY -> {
+                    subElement = ParsedArray.create();
+                }
+                case VALUE_EMBEDDED_OBJECT -> {
+                    Logger logger = BJSL.getLogger();
+                    if (logger != null) {
+                        logger.warning("Warning while parsing: Node \"" + key + "\" of type \"" + token + "\" is not serializable");
                     }
-                    case STRING -> {
-                        return ParsedPrimitive.fromString(node.asText());
+                    continue;
+                }
+                default -> {
+                    subElement = this.toPrimitive(parser);
+                }
+            }
+
+            switch (parents.element()) {
+                case ParsedObject parsedObject -> {
+                    parsedObject.set(key, subElement);
+                }
+                case ParsedArray parsedArray -> {
+                    parsedArray.add(subElement);
+                }
+                default -> {
+                }
+            }
+
+            if (!subElement.isPrimitive()) {
+                parents.push(subElement);
+            }
+        }
+
+        return root;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote Calls {@link #toElement(byte[], Projection)} with the bytes of the passed string ({@link String#getBytes()})
+     */
+    @Override
+    public @NotNull ParsedElement toElement(@NotNull String data, @NotNull Projection projection) {
+        return this.toElement(data.getBytes(StandardCharsets.UTF_8), projection);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The bytes are streamed, values that are not selected are skipped over without creating any elements
+     */
+    @Override
+    public @NotNull ParsedElement toElement(byte @NotNull [] data, @NotNull Projection projection) {
+        if (projection.isIncluded()) {
+            return this.toElement(data);
+        }
+
+        try (com.fasterxml.jackson.core.JsonParser parser = this.factory.createParser(data)) {
+            parser.setCodec(this.codec);
+
+            if (parser.nextToken() == null) {
+                throw new InvalidTypeException(Void.class);
+            }
+
+            try {
+                ParsedElement element = this.toProjectedElement(parser, projection);
+                return element != null ? element : ParsedPrimitive.fromNull();
+            } catch (ParserException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new ParserException(e, parser.getParsingContext().pathAsPointer().toString());
+            }
+        } catch (ParserException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ParserException(e);
+        }
+    }
+
+    /**
+     * Converts the selected parts of the current value of a parser into an element
+     *
+     * @param parser     The parser to read from
+     * @param projection The parts of the value to keep
+     *
+     * @return The converted element, or null if the value is a scalar that is not selected
+     *
+     * @throws java.io.IOException If the value is not valid
+     * @since 2.2.0
+     */
+    protected @Nullable ParsedElement toProjectedElement(com.fasterxml.jackson.core.@NotNull JsonParser parser, @NotNull Projection projection) throws java.io.IOException {
+        switch (parser.currentToken()) {
+            case START_OBJECT -> {
+                ParsedObject objectElement = ParsedObject.create();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String key = parser.currentName();
+                    parser.nextToken();
+
+                    Projection subProjection = projection.get(key);
+                    if (subProjection == null) {
+                        parser.skipChildren();
+                    } else if (subProjection.isIncluded()) {
+                        objectElement.set(key, this.readElement(parser));
+                    } else {
+                        ParsedElement subElement = this.toProjectedElement(parser, subProjection);
+                        if (subElement != null) {
+                            objectElement.set(key, subElement);
+                        }
                     }
-                    case NUMBER -> {
-                        switch (node.numberType()) {
-                            case INT -> {
-                                return ParsedPrimitive.fromInteger(node.asInt());
-                            }
-                            case LONG -> {
-                                return ParsedPrimitive.fromLong(node.asLong());
-                            }
-                            case BIG_INTEGER -> {
-                                return ParsedPrimitive.fromBigInteger(node.bigIntegerValue());
-                            }
-                            case FLOAT -> {
-                                return ParsedPrimitive.fromFloat((float) node.asDouble());
-                            }
-                            case DOUBLE -> {
-                                return ParsedPrimitive.fromDouble(node.asDouble());
-                            }
-                            case BIG_DECIMAL -> {
-                                return ParsedPrimitive.fromBigDecimal(node.decimalValue());
-                            }
-                            default -> {
-                                throw new InvalidTypeException(node.getClass());
-                            }
+                }
+                return objectElement;
+            }
+            case START_ARRAY -> {
+                ParsedArray arrayElement = ParsedArray.create();
+                int index = 0;
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    Projection subProjection = projection.get(index++);
+                    if (subProjection == null) {
+                        parser.skipChildren();
+                    } else if (subProjection.isIncluded()) {
+                        arrayElement.add(this.readElement(parser));
+                    } else {
+                        ParsedElement subElement = this.toProjectedElement(parser, subProjection);
+                        if (subElement != null) {
+                            arrayElement.add(subElement);
                         }
                     }
-                    case BOOLEAN -> {
-                        return ParsedPrimitive.fromBoolean(node.asBoolean());
+                }
+                return arrayElement;
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UnsupportedOperationException If the factory can not create non-blocking parsers
+     * @see FlowParser
+     */
+    @Override
+    public <V> Flow.@NotNull Processor<ByteBuffer, V> toFlow(boolean unwrapArrays, @NotNull Function<? super ParsedElement, ? extends V> mapper) {
+        if (!this.factory.canParseAsync()) {
+            throw new UnsupportedOperationException(this.getClass().getSimpleName() + " does not support non-blocking parsing");
+        }
+
+        try {
+            return new FlowParser<>(this, this.factory.createNonBlockingByteArrayParser(), unwrapArrays, mapper);
+        } catch (Exception e) {
+            throw new ParserException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the other parser is also a {@link JacksonParser} tokens are copied straight from the parser of this factory into a generator of the other factory, so no trees are built and memory use does not grow with the size of the stream. Output is pretty printed the same way the other parser prints it
+     * <p>
+     * If the other parser is canonical every top level document has to be sorted, so each one is read into a {@link ParsedElement} before being written
+     */
+    @Override
+    public void transcode(@NotNull Parser to, @NotNull InputStream input, @NotNull OutputStream output) {
+        if (!(to instanceof JacksonParser<?, ?> target)) {
+            Parser.super.transcode(to, input, output);
+            return;
+        }
+
+        try (com.fasterxml.jackson.core.JsonParser parser = this.factory.createParser(input)) {
+            parser.disable(com.fasterxml.jackson.core.JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            parser.setCodec(this.codec);
+
+            try (com.fasterxml.jackson.core.JsonGenerator generator = target.factory.createGenerator(output)) {
+                generator.disable(com.fasterxml.jackson.core.JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setCodec(target.codec);
+                if (!target.canonical) {
+                    generator.setPrettyPrinter(target.createPrettyPrinter());
+                }
+
+                try {
+                    while (parser.nextToken() != null) {
+                        if (target.canonical) {
+                            target.writeCanonical(generator, this.readElement(parser));
+                        } else {
+                            generator.copyCurrentStructure(parser);
+                        }
                     }
-                    case NULL -> {
-                        return ParsedPrimitive.fromNull();
+                } catch (ParserException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new ParserException(e, parser.getParsingContext().pathAsPointer().toString());
+                }
+            }
+        } catch (ParserException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ParserException(e);
+        }
+    }
+
+    /**
+     * Parses a string into a read only tape
+     *
+     * @param data The string to parse
+     *
+     * @return A new {@link TapeDocument}
+     *
+     * @implNote Calls {@link #toTape(byte[])} with the bytes of the passed string ({@link String#getBytes()})
+     * @see TapeDocument
+     * @since 2.2.0
+     */
+    public @NotNull TapeDocument toTape(@NotNull String data) {
+        return this.toTape(data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses bytes into a read only tape
+     * <p>
+     * The document is read in one pass without creating any elements, elements are only created as {@link TapeDocument#root()} is navigated
+     *
+     * @param data The bytes to parse
+     *
+     * @return A new {@link TapeDocument}
+     *
+     * @see TapeDocument
+     * @since 2.2.0
+     */
+    public @NotNull TapeDocument toTape(byte @NotNull [] data) {
+        try (com.fasterxml.jackson.core.JsonParser parser = this.factory.createParser(data)) {
+            return TapeDocument.parse(parser);
+        } catch (Exception e) {
+            throw new ParserException(e);
+        }
+    }
+
+    /**
+     * Parses a slice of bytes into an element, only indexing its top level
+     * <p>
+     * Nested objects and arrays are skipped over and become deferred elements that parse their own slice of the passed bytes the first time they are accessed, so the bytes are retained until then
+     *
+     * @param data   The bytes to parse
+     * @param offset The offset of the slice
+     * @param length The length of the slice
+     *
+     * @return The parsed element
+     *
+     * @throws ParserException If the slice is not valid, errors inside nested values may only be thrown once they are accessed
+     * @since 2.2.0
+     */
+    protected @NotNull ParsedElement toLazyElement(byte @NotNull [] data, int offset, int length) {
+        try (com.fasterxml.jackson.core.JsonParser parser = this.factory.createParser(data, offset, length)) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                throw new InvalidTypeException(Void.class);
+            }
+
+            switch (token) {
+                case START_OBJECT -> {
+                    ParsedObject objectElement = ParsedObject.create();
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String key = parser.currentName();
+                        parser.nextToken();
+                        objectElement.set(key, this.toLazyChild(parser, data, offset));
                     }
-                    default -> {
-                        throw new InvalidTypeException(node.getClass());
+                    return objectElement;
+                }
+                case START_ARRAY -> {
+                    ParsedArray arrayElement = ParsedArray.create();
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        arrayElement.add(this.toLazyChild(parser, data, offset));
                     }
+                    return arrayElement;
+                }
+                default -> {
+                    return this.toPrimitive(parser);
                 }
-            } else {
-                throw new InvalidTypeException(tree.getClass());
             }
+        } catch (ParserException e) {
+            throw e;
         } catch (Exception e) {
             throw new ParserException(e);
         }
     }
 
+    /**
+     * Converts the current value of a parser into an element, deferring nested objects and arrays
+     *
+     * @param parser The parser to read from
+     * @param data   The bytes the parser is reading
+     * @param offset The offset of the slice the parser is reading
+     *
+     * @return The converted element
+     *
+     * @throws java.io.IOException If the value is not valid
+     * @since 2.2.0
+     */
+    private @NotNull ParsedElement toLazyChild(com.fasterxml.jackson.core.@NotNull JsonParser parser, byte @NotNull [] data, int offset) throws java.io.IOException {
+        JsonToken token = parser.currentToken();
+        if (token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY) {
+            return this.toPrimitive(parser);
+        }
+
+        int start = offset + (int) parser.currentTokenLocation().getByteOffset();
+        parser.skipChildren();
+        int length = offset + (int) parser.currentLocation().getByteOffset() - start;
+
+        if (token == JsonToken.START_OBJECT) {
+            return ParsedObject.deferred(() -> (ParsedObject) this.toLazyElement(data, start, length));
+        } else {
+            return ParsedArray.deferred(() -> (ParsedArray) this.toLazyElement(data, start, length));
+        }
+    }
+
+    /**
+     * Converts the current scalar value of a parser into a primitive
+     *
+     * @param parser The parser to read from
+     *
+     * @return The converted primitive
+     *
+     * @throws java.io.IOException If the value is not valid
+     * @throws InvalidTypeException If the value is not a scalar
+     * @since 2.2.0
+     */
+    protected @NotNull ParsedPrimitive toPrimitive(com.fasterxml.jackson.core.@NotNull JsonParser parser) throws java.io.IOException {
+        JsonToken token = parser.currentToken();
+        if (token == null) {
+            throw new InvalidTypeException(Void.class);
+        }
+
+        switch (token) {
+            case VALUE_STRING -> {
+                return ParsedPrimitive.fromString(parser.getText());
+            }
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> {
+                switch (parser.getNumberType()) {
+                    case INT -> {
+                        return ParsedPrimitive.fromInteger(parser.getIntValue());
+                    }
+                    case LONG -> {
+                        return ParsedPrimitive.fromLong(parser.getLongValue());
+                    }
+                    case BIG_INTEGER -> {
+                        return ParsedPrimitive.fromBigInteger(parser.getBigIntegerValue());
+                    }
+                    case FLOAT -> {
+                        return ParsedPrimitive.fromFloat(parser.getFloatValue());
+                    }
+                    case DOUBLE -> {
+                        return ParsedPrimitive.fromDouble(parser.getDoubleValue());
+                    }
+                    case BIG_DECIMAL -> {
+                        return ParsedPrimitive.fromBigDecimal(parser.getDecimalValue());
+                    }
+                    default -> {
+                        throw new InvalidTypeException(parser.getNumberValue().getClass());
+                    }
+                }
+            }
+            case VALUE_TRUE, VALUE_FALSE -> {
+                return ParsedPrimitive.fromBoolean(parser.getBooleanValue());
+            }
+            case VALUE_NULL -> {
+                return ParsedPrimitive.fromNull();
+            }
+            default -> {
+                Object value = parser.getEmbeddedObject();
+                throw new InvalidTypeException(value != null ? value.getClass() : Void.class);
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -175,37 +638,17 @@ public abstract class JacksonParser<T extends TokenStreamFactory, V extends Obje
      */
     @Override
     public byte @NotNull [] toBytes(@NotNull ParsedElement element) {
+        if (this.canonical) {
+            return this.toCanonicalBytes(element);
+        }
+
         try {
             switch (element) {
                 case ParsedObject objectElement -> {
-                    ObjectNode node = JsonNodeFactory.instance.objectNode();
-                    for (Map.Entry<String, ParsedElement> subElement : objectElement.getEntries()) {
-                        toNodes(node, subElement.getKey(), subElement.getValue());
-                    }
-
-                    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-                    try (com.fasterxml.jackson.core.JsonGenerator generator = this.factory.createGenerator(outputStream).setPrettyPrinter(this.prettyPrinter)) {
-                        generator.setCodec(this.codec);
-                        generator.writeTree(node);
-                    }
-                    outputStream.close();
-
-                    return outputStream.toByteArray();
+                    return this.toStreamedBytes(objectElement);
                 }
                 case ParsedArray arrayElement -> {
-                    ArrayNode node = JsonNodeFactory.instance.arrayNode();
-                    for (ParsedElement subElement : arrayElement.getValues()) {
-                        toNodes(node, "root", subElement);
-                    }
-
-                    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-                    try (com.fasterxml.jackson.core.JsonGenerator generator = this.factory.createGenerator(outputStream).setPrettyPrinter(this.prettyPrinter)) {
-                        generator.setCodec(this.codec);
-                        generator.writeTree(node);
-                    }
-                    outputStream.close();
-
-                    return outputStream.toByteArray();
+                    return this.toStreamedBytes(arrayElement);
                 }
                 case ParsedPrimitive primitiveElement -> {
                     Object value = primitiveElement.get();
@@ -220,6 +663,210 @@ public abstract class JacksonParser<T extends TokenStreamFactory, V extends Obje
         }
     }
 
+    /**
+     * Serializes an object or array by writing it straight to a generator
+     *
+     * @param element The element to serialize
+     *
+     * @return The element passed serialized to bytes
+     *
+     * @throws java.io.IOException If there is an exception while writing
+     * @since 2.2.0
+     */
+    private byte @NotNull [] toStreamedBytes(@NotNull ParsedElement element) throws java.io.IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (com.fasterxml.jackson.core.JsonGenerator generator = this.factory.createGenerator(outputStream).setPrettyPrinter(this.createPrettyPrinter())) {
+            generator.setCodec(this.codec);
+            this.writeElement(generator, element);
+        }
+        outputStream.close();
+
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Writes an element
+     * <p>
+     * The element is walked with an {@link ElementCursor} so elements of any depth can be written, primitives are written with {@link #writePrimitive(com.fasterxml.jackson.core.JsonGenerator, ParsedPrimitive)}
+     *
+     * @param generator The generator to write to
+     * @param element   The element to write
+     *
+     * @throws java.io.IOException If there is an exception while writing
+     * @since 2.2.0
+     */
+    protected void writeElement(com.fasterxml.jackson.core.@NotNull JsonGenerator generator, @NotNull ParsedElement element) throws java.io.IOException {
+        ElementCursor.walk(element, new ElementWriter(generator, false));
+    }
+
+    /**
+     * Writes a primitive
+     *
+     * @param generator The generator to write to
+     * @param primitive The primitive to write
+     *
+     * @throws java.io.IOException If there is an exception while writing
+     * @since 2.2.0
+     */
+    protected void writePrimitive(com.fasterxml.jackson.core.@NotNull JsonGenerator generator, @NotNull ParsedPrimitive primitive) throws java.io.IOException {
+        switch (primitive.getType()) {
+            case STRING -> generator.writeString(primitive.asString());
+            case BYTE -> generator.writeNumber(primitive.asByte());
+            case CHAR -> generator.writeNumber(primitive.asChar());
+            case SHORT -> generator.writeNumber(primitive.asShort());
+            case INTEGER -> generator.writeNumber(primitive.asInteger());
+            case LONG -> generator.writeNumber(primitive.asLong());
+            case BIGINTEGER -> generator.writeNumber(primitive.asBigInteger());
+            case FLOAT -> generator.writeNumber(primitive.asFloat());
+            case DOUBLE -> generator.writeNumber(primitive.asDouble());
+            case BIGDECIMAL -> generator.writeNumber(primitive.asBigDecimal());
+            case BOOLEAN -> generator.writeBoolean(primitive.asBoolean());
+            case NULL -> generator.writeNull();
+        }
+    }
+
+    /**
+     * Serializes an element into canonical bytes
+     * <p>
+     * The element is written directly without building an intermediate tree, keys are written in the order of {@link ParsedObject#getSortedKeys()} and numbers are written with {@link #writeCanonicalNumber(com.fasterxml.jackson.core.JsonGenerator, Number)}
+     *
+     * @param element The element to serialize
+     *
+     * @return The element passed serialized to canonical bytes
+     *
+     * @throws ParserException If there is an exception while serializing
+     * @since 2.2.0
+     */
+    protected byte @NotNull [] toCanonicalBytes(@NotNull ParsedElement element) {
+        try {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            try (com.fasterxml.jackson.core.JsonGenerator generator = this.factory.createGenerator(outputStream)) {
+                this.writeCanonical(generator, element);
+            }
+            return outputStream.toByteArray();
+        } catch (ParserException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ParserException(e);
+        }
+    }
+
+    /**
+     * Writes an element canonically
+     *
+     * @param generator The generator to write to
+     * @param element   The element to write
+     *
+     * @throws java.io.IOException If there is an exception while writing
+     * @since 2.2.0
+     */
+    protected void writeCanonical(com.fasterxml.jackson.core.@NotNull JsonGenerator generator, @NotNull ParsedElement element) throws java.io.IOException {
+        ElementCursor.walk(element, new ElementWriter(generator, true), true);
+    }
+
+    /**
+     * Writes a primitive canonically
+     *
+     * @param generator The generator to write to
+     * @param primitive The primitive to write
+     *
+     * @throws java.io.IOException If there is an exception while writing
+     * @since 2.2.0
+     */
+    protected void writeCanonicalPrimitive(com.fasterxml.jackson.core.@NotNull JsonGenerator generator, @NotNull ParsedPrimitive primitive) throws java.io.IOException {
+        Object value = primitive.get();
+        switch (value) {
+            case null -> generator.writeNull();
+            case String string -> generator.writeString(string);
+            case Character character -> generator.writeString(character.toString());
+            case Boolean bool -> generator.writeBoolean(bool);
+            case Number number -> this.writeCanonicalNumber(generator, number);
+            default -> throw new InvalidTypeException(value.getClass());
+        }
+    }
+
+    /**
+     * Writes a number canonically
+     * <p>
+     * Numbers are written like RFC 8785 (JCS) requires: as the shortest decimal that round trips through a double, formatted like ECMAScript's Number.prototype.toString, so numbers that can't be represented exactly by a double are rounded
+     *
+     * @param generator The generator to write to
+     * @param number    The number to write
+     *
+     * @throws java.io.IOException If there is an exception while writing
+     * @throws IllegalArgumentException If the number is not finite
+     * @since 2.2.0
+     */
+    protected void writeCanonicalNumber(com.fasterxml.jackson.core.@NotNull JsonGenerator generator, @NotNull Number number) throws java.io.IOException {
+        generator.writeNumber(toCanonicalNumber(number.doubleValue()));
+    }
+
+    /**
+     * Formats a double like ECMAScript's Number.prototype.toString
+     *
+     * @param value The double to format
+     *
+     * @return The formatted double
+     *
+     * @throws IllegalArgumentException If the double is not finite
+     * @since 2.2.0
+     */
+    protected static @NotNull String toCanonicalNumber(double value) {
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException(value + " can not be written canonically");
+        }
+        if (value == 0) {
+            return "0";
+        }
+
+        String string = Double.toString(Math.abs(value));
+
+        String mantissa = string;
+        int exponent = 0;
+        int exponentIndex = string.indexOf('E');
+        if (exponentIndex != -1) {
+            mantissa = string.substring(0, exponentIndex);
+            exponent = Integer.parseInt(string.substring(exponentIndex + 1));
+        }
+
+        int dotIndex = mantissa.indexOf('.');
+        String digits = mantissa.substring(0, dotIndex) + mantissa.substring(dotIndex + 1);
+        int point = dotIndex + exponent;
+
+        int start = 0;
+        while (start < digits.length() - 1 && digits.charAt(start) == '0') {
+            start++;
+            point--;
+        }
+        int end = digits.length();
+        while (end > start + 1 && digits.charAt(end - 1) == '0') {
+            end--;
+        }
+        digits = digits.substring(start, end);
+        int length = digits.length();
+
+        StringBuilder builder = new StringBuilder(length + 8);
+        if (value < 0) {
+            builder.append('-');
+        }
+
+        if (length <= point && point <= 21) {
+            builder.append(digits).append("0".repeat(point - length));
+        } else if (0 < point && point <= 21) {
+            builder.append(digits, 0, point).append('.').append(digits, point, length);
+        } else if (-6 < point && point <= 0) {
+            builder.append("0.").append("0".repeat(-point)).append(digits);
+        } else {
+            builder.append(digits.charAt(0));
+            if (length > 1) {
+                builder.append('.').append(digits, 1, length);
+            }
+            builder.append('e').append(point - 1 < 0 ? '-' : '+').append(Math.abs(point - 1));
+        }
+
+        return builder.toString();
+    }
+
     /**
      * Serializes an empty object element into a string
      *
@@ -254,7 +901,7 @@ public abstract class JacksonParser<T extends TokenStreamFactory, V extends Obje
     public byte @NotNull [] emptyBytes() {
         try {
             ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            try (com.fasterxml.jackson.core.JsonGenerator generator = this.factory.createGenerator(outputStream).setPrettyPrinter(this.prettyPrinter)) {
+            try (com.fasterxml.jackson.core.JsonGenerator generator = this.factory.createGenerator(outputStream).setPrettyPrinter(this.createPrettyPrinter())) {
                 generator.setCodec(this.codec);
                 generator.writeTree(JsonNodeFactory.instance.objectNode());
             }
@@ -276,7 +923,7 @@ public abstract class JacksonParser<T extends TokenStreamFactory, V extends Obje
     public byte @NotNull [] emptyArrayBytes() {
         try {
             ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            try (com.fasterxml.jackson.core.JsonGenerator generator = this.factory.createGenerator(outputStream).setPrettyPrinter(this.prettyPrinter)) {
+            try (com.fasterxml.jackson.core.JsonGenerator generator = this.factory.createGenerator(outputStream).setPrettyPrinter(this.createPrettyPrinter())) {
                 generator.setCodec(this.codec);
                 generator.writeTree(JsonNodeFactory.instance.arrayNode());
             }
@@ -298,166 +945,116 @@ public abstract class JacksonParser<T extends TokenStreamFactory, V extends Obje
      * @since 1.0.0
      */
     protected void toElements(@NotNull ParsedElement element, @NotNull String key, @NotNull JsonNode node) {
-        switch (node.getNodeType()) {
-            case OBJECT -> {
-                ObjectNode objectNode = (ObjectNode) node;
-                ParsedObject subElement = ParsedObject.create();
+        ArrayDeque<ParsedElement> parents = new ArrayDeque<>();
+        ArrayDeque<String> keys = new ArrayDeque<>();
+        ArrayDeque<JsonNode> nodes = new ArrayDeque<>();
+        parents.addLast(element);
+        keys.addLast(key);
+        nodes.addLast(node);
 
-                switch (element) {
-                    case ParsedObject parsedObject -> {
-                        parsedObject.set(key, subElement);
-                    }
-                    case ParsedArray parsedArray -> {
-                        parsedArray.add(subElement);
-                    }
-                    default -> {
-                    }
+        while (!nodes.isEmpty()) {
+            ParsedElement parent = parents.removeFirst();
+            String subKey = keys.removeFirst();
+            JsonNode subNode = nodes.removeFirst();
+
+            ParsedElement subElement;
+            switch (subNode.getNodeType()) {
+                case OBJECT -> {
+                    ObjectNode objectNode = (ObjectNode) subNode;
+                    ParsedObject objectElement = ParsedObject.create(objectNode.size());
+
+                    objectNode.properties().forEach(subEntry -> {
+                        parents.addLast(objectElement);
+                        keys.addLast(subEntry.getKey());
+                        nodes.addLast(subEntry.getValue());
+                    });
+
+                    subElement = objectElement;
                 }
+                case ARRAY -> {
+                    ArrayNode arrayNode = (ArrayNode) subNode;
+                    ParsedArray arrayElement = ParsedArray.create(arrayNode.size());
 
-                objectNode.propertyStream().forEach(subEntry -> {
-                    toElements(subElement, subEntry.getKey(), subEntry.getValue());
-                });
-            }
-            case ARRAY -> {
-                ArrayNode arrayNode = (ArrayNode) node;
-                ParsedArray subElement = ParsedArray.create();
+                    arrayNode.forEach(itemNode -> {
+                        parents.addLast(arrayElement);
+                        keys.addLast(subKey);
+                        nodes.addLast(itemNode);
+                    });
 
-                switch (element) {
-                    case ParsedObject parsedObject -> {
-                        parsedObject.set(key, subElement);
-                    }
-                    case ParsedArray parsedArray -> {
-                        parsedArray.add(subElement);
-                    }
-                    default -> {
+                    subElement = arrayElement;
+                }
+                default -> {
+                    subElement = toPrimitive(subNode);
+                    if (subElement == null) {
+                        Logger logger = BJSL.getLogger();
+                        if (logger != null) {
+                            logger.warning("Warning while parsing: Node \"" + subKey + "\" of type \"" + subNode.getClass().getSimpleName() + "\" is not serializable");
+                        }
+                        continue;
                     }
                 }
+            }
 
-                arrayNode.valueStream().forEach(subNode -> {
-                    toElements(subElement, key, subNode);
-                });
+            switch (parent) {
+                case ParsedObject parsedObject -> {
+                    parsedObject.set(subKey, subElement);
+                }
+                case ParsedArray parsedArray -> {
+                    parsedArray.add(subElement);
+                }
+                default -> {
+                }
             }
+        }
+    }
+
+    /**
+     * Converts a scalar node of Jackson's format to a primitive
+     *
+     * @param node The node to convert
+     *
+     * @return The converted primitive, or null if the node is not a supported scalar
+     *
+     * @since 2.2.0
+     */
+    private static @Nullable ParsedPrimitive toPrimitive(@NotNull JsonNode node) {
+        switch (node.getNodeType()) {
             case STRING -> {
-                switch (element) {
-                    case ParsedObject parsedObject -> {
-                        parsedObject.set(key, ParsedPrimitive.fromString(node.asText()));
-                    }
-                    case ParsedArray parsedArray -> {
-                        parsedArray.add(ParsedPrimitive.fromString(node.asText()));
-                    }
-                    default -> {
-                    }
-                }
+                return ParsedPrimitive.fromString(node.asText());
             }
             case NUMBER -> {
                 switch (node.numberType()) {
                     case INT -> {
-                        switch (element) {
-                            case ParsedObject parsedObject -> {
-                                parsedObject.set(key, ParsedPrimitive.fromInteger(node.asInt()));
-                            }
-                            case ParsedArray parsedArray -> {
-                                parsedArray.add(ParsedPrimitive.fromInteger(node.asInt()));
-                            }
-                            default -> {
-                            }
-                        }
+                        return ParsedPrimitive.fromInteger(node.asInt());
                     }
                     case LONG -> {
-                        switch (element) {
-                            case ParsedObject parsedObject -> {
-                                parsedObject.set(key, ParsedPrimitive.fromLong(node.asLong()));
-                            }
-                            case ParsedArray parsedArray -> {
-                                parsedArray.add(ParsedPrimitive.fromLong(node.asLong()));
-                            }
-                            default -> {
-                            }
-                        }
+                        return ParsedPrimitive.fromLong(node.asLong());
                     }
                     case BIG_INTEGER -> {
-                        switch (element) {
-                            case ParsedObject parsedObject -> {
-                                parsedObject.set(key, ParsedPrimitive.fromBigInteger(node.bigIntegerValue()));
-                            }
-                            case ParsedArray parsedArray -> {
-                                parsedArray.add(ParsedPrimitive.fromBigInteger(node.bigIntegerValue()));
-                            }
-                            default -> {
-                            }
-                        }
+                        return ParsedPrimitive.fromBigInteger(node.bigIntegerValue());
                     }
                     case FLOAT -> {
-                        switch (element) {
-                            case ParsedObject parsedObject -> {
-                                parsedObject.set(key, ParsedPrimitive.fromFloat((float) node.asDouble()));
-                            }
-                            case ParsedArray parsedArray -> {
-                                parsedArray.add(ParsedPrimitive.fromFloat((float) node.asDouble()));
-                            }
-                            default -> {
-                            }
-                        }
+                        return ParsedPrimitive.fromFloat((float) node.asDouble());
                     }
                     case DOUBLE -> {
-                        switch (element) {
-                            case ParsedObject parsedObject -> {
-                                parsedObject.set(key, ParsedPrimitive.fromDouble(node.asDouble()));
-                            }
-                            case ParsedArray parsedArray -> {
-                                parsedArray.add(ParsedPrimitive.fromDouble(node.asDouble()));
-                            }
-                            default -> {
-                            }
-                        }
+                        return ParsedPrimitive.fromDouble(node.asDouble());
                     }
                     case BIG_DECIMAL -> {
-                        switch (element) {
-                            case ParsedObject parsedObject -> {
-                                parsedObject.set(key, ParsedPrimitive.fromBigDecimal(node.decimalValue()));
-                            }
-                            case ParsedArray parsedArray -> {
-                                parsedArray.add(ParsedPrimitive.fromBigDecimal(node.decimalValue()));
-                            }
-                            default -> {
-                            }
-                        }
+                        return ParsedPrimitive.fromBigDecimal(node.decimalValue());
                     }
                     default -> {
-                        if (BJSL.getLogger() != null) {
-                            BJSL.getLogger().warning("Warning while parsing: Node \"" + key + "\" of type \"" + node.getClass().getSimpleName() + "\" is not serializable");
-                        }
+                        return null;
                     }
                 }
             }
             case BOOLEAN -> {
-                switch (element) {
-                    case ParsedObject parsedObject -> {
-                        parsedObject.set(key, ParsedPrimitive.fromBoolean(node.asBoolean()));
-                    }
-                    case ParsedArray parsedArray -> {
-                        parsedArray.add(ParsedPrimitive.fromBoolean(node.asBoolean()));
-                    }
-                    default -> {
-                    }
-                }
+                return ParsedPrimitive.fromBoolean(node.asBoolean());
             }
             case NULL -> {
-                switch (element) {
-                    case ParsedObject parsedObject -> {
-                        parsedObject.set(key, ParsedPrimitive.fromNull());
-                    }
-                    case ParsedArray parsedArray -> {
-                        parsedArray.add(ParsedPrimitive.fromNull());
-                    }
-                    default -> {
-                    }
-                }
+                return ParsedPrimitive.fromNull();
             }
             default -> {
-                if (BJSL.getLogger() != null) {
-                    BJSL.getLogger().warning("Warning while parsing: Node \"" + key + "\" of type \"" + node.getClass().getSimpleName() + "\" is not serializable");
-                }
+                return null;
             }
         }
     }
@@ -471,198 +1068,144 @@ public abstract class JacksonParser<T extends TokenStreamFactory, V extends Obje
      *
      * @since 1.0.0
      */
-    @SuppressWarnings("deprecation")
     protected void toNodes(@NotNull JsonNode node, @NotNull String key, @NotNull ParsedElement element) {
-        switch (element) {
-            case ParsedObject objectElement -> {
-                ObjectNode subNode = JsonNodeFactory.instance.objectNode();
+        ArrayDeque<JsonNode> parents = new ArrayDeque<>();
+        parents.push(node);
 
-                switch (node) {
-                    case ObjectNode objectNode -> {
-                        objectNode.put(key, subNode);
-                    }
-                    case ArrayNode arrayNode -> {
-                        arrayNode.add(subNode);
-                    }
-                    default -> {
-                    }
-                }
+        ElementCursor cursor = new ElementCursor(element);
+        for (ElementCursor.Event event = cursor.next(); event != null; event = cursor.next()) {
+            String subKey = cursor.getKey() != null ? cursor.getKey() : key;
 
-                for (Map.Entry<String, ParsedElement> subElement : objectElement.getEntries()) {
-                    toNodes(subNode, subElement.getKey(), subElement.getValue());
+            switch (event) {
+                case START_OBJECT -> {
+                    ObjectNode subNode = JsonNodeFactory.instance.objectNode();
+                    addNode(parents.element(), subKey, subNode);
+                    parents.push(subNode);
                 }
-            }
-            case ParsedArray arrayElement -> {
-                ArrayNode subNode = JsonNodeFactory.instance.arrayNode();
-
-                switch (node) {
-                    case ObjectNode objectNode -> {
-                        objectNode.put(key, subNode);
-                    }
-                    case ArrayNode arrayNode -> {
-                        arrayNode.add(subNode);
-                    }
-                    default -> {
-                    }
+                case START_ARRAY -> {
+                    ArrayNode subNode = JsonNodeFactory.instance.arrayNode();
+                    addNode(parents.element(), subKey, subNode);
+                    parents.push(subNode);
                 }
-
-                for (ParsedElement subElement : arrayElement.getValues()) {
-                    toNodes(subNode, key, subElement);
+                case END_OBJECT, END_ARRAY -> {
+                    parents.pop();
                 }
-            }
-            case ParsedPrimitive primitiveElement -> {
-                switch (primitiveElement.getType()) {
-                    case STRING -> {
-                        switch (node) {
-                            case ObjectNode objectNode -> {
-                                objectNode.put(key, primitiveElement.asString());
-                            }
-                            case ArrayNode arrayNode -> {
-                                arrayNode.add(primitiveElement.asString());
-                            }
-                            default -> {
-                            }
-                        }
-                    }
-                    case BYTE -> {
-                        switch (node) {
-                            case ObjectNode objectNode -> {
-                                objectNode.put(key, primitiveElement.asByte());
-                            }
-                            case ArrayNode arrayNode -> {
-                                arrayNode.add(primitiveElement.asByte());
-                            }
-                            default -> {
-                            }
-                        }
-                    }
-                    case CHAR -> {
-                        switch (node) {
-                            case ObjectNode objectNode -> {
-                                objectNode.put(key, primitiveElement.asChar());
-                            }
-                            case ArrayNode arrayNode -> {
-                                arrayNode.add(primitiveElement.asChar());
-                            }
-                            default -> {
-                            }
-                        }
-                    }
-                    case SHORT -> {
-                        switch (node) {
-                            case ObjectNode objectNode -> {
-                                objectNode.put(key, primitiveElement.asShort());
-                            }
-                            case ArrayNode arrayNode -> {
-                                arrayNode.add(primitiveElement.asShort());
-                            }
-                            default -> {
-                            }
-                        }
-                    }
-                    case INTEGER -> {
-                        switch (node) {
-                            case ObjectNode objectNode -> {
-                                objectNode.put(key, primitiveElement.asInteger());
-                            }
-                            case ArrayNode arrayNode -> {
-                                arrayNode.add(primitiveElement.asInteger());
-                            }
-                            default -> {
-                            }
-                        }
-                    }
-                    case LONG -> {
-                        switch (node) {
-                            case ObjectNode objectNode -> {
-                                objectNode.put(key, primitiveElement.asLong());
-                            }
-                            case ArrayNode arrayNode -> {
-                                arrayNode.add(primitiveElement.asLong());
-                            }
-                            default -> {
-                            }
-                        }
-                    }
-                    case BIGINTEGER -> {
-                        switch (node) {
-                            case ObjectNode objectNode -> {
-                                objectNode.put(key, primitiveElement.asBigInteger());
-                            }
-                            case ArrayNode arrayNode -> {
-                                arrayNode.add(primitiveElement.asBigInteger());
-                            }
-                            default -> {
-                            }
-                        }
-                    }
-                    case FLOAT -> {
-                        switch (node) {
-                            case ObjectNode objectNode -> {
-                                objectNode.put(key, primitiveElement.asFloat());
-                            }
-                            case ArrayNode arrayNode -> {
-                                arrayNode.add(primitiveElement.asFloat());
-                            }
-                            default -> {
-                            }
-                        }
-                    }
-                    case DOUBLE -> {
-                        switch (node) {
-                            case ObjectNode objectNode -> {
-                                objectNode.put(key, primitiveElement.asDouble());
-                            }
-                            case ArrayNode arrayNode -> {
-                                arrayNode.add(primitiveElement.asDouble());
-                            }
-                            default -> {
-                            }
-                        }
-                    }
-                    case BIGDECIMAL -> {
-                        switch (node) {
-                            case ObjectNode objectNode -> {
-                                objectNode.put(key, primitiveElement.asBigDecimal());
-                            }
-                            case ArrayNode arrayNode -> {
-                                arrayNode.add(primitiveElement.asBigDecimal());
-                            }
-                            default -> {
-                            }
-                        }
-                    }
-                    case BOOLEAN -> {
-                        switch (node) {
-                            case ObjectNode objectNode -> {
-                                objectNode.put(key, primitiveElement.asBoolean());
-                            }
-                            case ArrayNode arrayNode -> {
-                                arrayNode.add(primitiveElement.asBoolean());
-                            }
-                            default -> {
-                            }
-                        }
-                    }
-                    case NULL -> {
-                        switch (node) {
-                            case ObjectNode objectNode -> {
-                                objectNode.putNull(key);
-                            }
-                            case ArrayNode arrayNode -> {
-                                arrayNode.addNull();
-                            }
-                            default -> {
-                            }
-                        }
-                    }
+                case PRIMITIVE -> {
+                    addNode(parents.element(), subKey, toNode(cursor.getElement().asPrimitive()));
                 }
             }
+        }
+    }
+
+    /**
+     * Adds a node to an object or array node
+     *
+     * @param parent The node to add to
+     * @param key    The key to add the node at if the parent is an object
+     * @param node   The node to add
+     *
+     * @since 2.2.0
+     */
+    private static void addNode(@NotNull JsonNode parent, @NotNull String key, @NotNull JsonNode node) {
+        switch (parent) {
+            case ObjectNode objectNode -> {
+                objectNode.set(key, node);
+            }
+            case ArrayNode arrayNode -> {
+                arrayNode.add(node);
+            }
             default -> {
-                if (BJSL.getLogger() != null) {
-                    BJSL.getLogger().warning("Warning while parsing: Element \"" + key + "\" of type \"" + element.getClass().getSimpleName() + "\" is not serializable");
-                }
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Converts a primitive to Jackson's format
+     *
+     * @param primitive The primitive to convert
+     *
+     * @return The converted node
+     *
+     * @since 2.2.0
+     */
+    private static @NotNull JsonNode toNode(@NotNull ParsedPrimitive primitive) {
+        JsonNodeFactory factory = JsonNodeFactory.instance;
+        return switch (primitive.getType()) {
+            case STRING -> factory.textNode(primitive.asString());
+            case BYTE -> factory.numberNode((short) primitive.asByte());
+            case CHAR -> factory.numberNode((int) primitive.asChar());
+            case SHORT -> factory.numberNode(primitive.asShort());
+            case INTEGER -> factory.numberNode(primitive.asInteger());
+            case LONG -> factory.numberNode(primitive.asLong());
+            case BIGINTEGER -> factory.numberNode(primitive.asBigInteger());
+            case FLOAT -> factory.numberNode(primitive.asFloat());
+            case DOUBLE -> factory.numberNode(primitive.asDouble());
+            case BIGDECIMAL -> factory.numberNode(primitive.asBigDecimal());
+            case BOOLEAN -> factory.booleanNode(primitive.asBoolean());
+            case NULL -> factory.nullNode();
+        };
+    }
+
+    /**
+     * A visitor that writes the elements it visits to a generator
+     *
+     * @since 2.2.0
+     */
+    private final class ElementWriter implements ElementVisitor<java.io.IOException> {
+        private final com.fasterxml.jackson.core.@NotNull JsonGenerator generator;
+        private final boolean canonical;
+
+        /**
+         * Create a new {@link ElementWriter}
+         *
+         * @param generator The generator to write to
+         * @param canonical Whether primitives should be written canonically
+         *
+         * @since 2.2.0
+         */
+        ElementWriter(com.fasterxml.jackson.core.@NotNull JsonGenerator generator, boolean canonical) {
+            this.generator = generator;
+            this.canonical = canonical;
+        }
+
+        @Override
+        public boolean visitObjectStart(@Nullable String key, int index, @NotNull ParsedObject object) throws java.io.IOException {
+            if (key != null) {
+                this.generator.writeFieldName(key);
+            }
+            this.generator.writeStartObject();
+            return true;
+        }
+
+        @Override
+        public void visitObjectEnd(@Nullable String key, int index, @NotNull ParsedObject object) throws java.io.IOException {
+            this.generator.writeEndObject();
+        }
+
+        @Override
+        public boolean visitArrayStart(@Nullable String key, int index, @NotNull ParsedArray array) throws java.io.IOException {
+            if (key != null) {
+                this.generator.writeFieldName(key);
+            }
+            this.generator.writeStartArray();
+            return true;
+        }
+
+        @Override
+        public void visitArrayEnd(@Nullable String key, int index, @NotNull ParsedArray array) throws java.io.IOException {
+            this.generator.writeEndArray();
+        }
+
+        @Override
+        public void visitPrimitive(@Nullable String key, int index, @NotNull ParsedPrimitive primitive) throws java.io.IOException {
+            if (key != null) {
+                this.generator.writeFieldName(key);
+            }
+            if (this.canonical) {
+                JacksonParser.this.writeCanonicalPrimitive(this.generator, primitive);
+            } else {
+                JacksonParser.this.writePrimitive(this.generator, primitive);
+            }
+        }
+    }
+}
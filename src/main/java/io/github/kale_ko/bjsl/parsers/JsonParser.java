@@ -3,14 +3,18 @@ package io.github.kale_ko.bjsl.parsers;
 import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.json.JsonReadFeature;
 import com.fasterxml.jackson.core.json.JsonWriteFeature;
+import com.fasterxml.jackson.core.util.BufferRecycler;
 import com.fasterxml.jackson.core.util.DefaultIndenter;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.core.util.RecyclerPool;
 import com.fasterxml.jackson.core.util.Separators;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import io.github.kale_ko.bjsl.BJSL;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.lang.reflect.Field;
+import java.util.logging.Logger;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -19,7 +23,7 @@ import org.jetbrains.annotations.Nullable;
  * <p>
  * Uses the default Jackson json parser
  *
- * @version 2.0.0
+ * @version 2.2.0
  * @since 1.0.0
  */
 public class JsonParser extends JacksonParser<JsonFactory, JsonMapper> {
@@ -36,10 +40,25 @@ public class JsonParser extends JacksonParser<JsonFactory, JsonMapper> {
         super(factory, mapper, prettyPrinter);
     }
 
+    /**
+     * Create a new JacksonParser using certain factories
+     *
+     * @param factory       The factory used for converting to/from trees/strings
+     * @param mapper        The mapper used for converting to/from trees/strings
+     * @param prettyPrinter The prettyPrinter used for converting to strings, ignored when canonical
+     * @param lazy          Whether nested objects and arrays should only be parsed when they are first accessed
+     * @param canonical     Whether elements should be serialized canonically (RFC 8785)
+     *
+     * @since 2.2.0
+     */
+    protected JsonParser(@NotNull JsonFactory factory, @NotNull JsonMapper mapper, @Nullable PrettyPrinter prettyPrinter, boolean lazy, boolean canonical) {
+        super(factory, mapper, prettyPrinter, lazy, canonical);
+    }
+
     /**
      * A builder class for creating new {@link JsonParser}s
      *
-     * @version 2.0.0
+     * @version 2.2.0
      * @since 1.0.0
      */
     public static class Builder {
@@ -70,6 +89,62 @@ public class JsonParser extends JacksonParser<JsonFactory, JsonMapper> {
          */
         protected boolean crlf = false;
 
+        /**
+         * Whether nested objects and arrays should only be parsed when they are first accessed
+         * <p>
+         * Default is false
+         *
+         * @since 2.2.0
+         */
+        protected boolean lazy = false;
+
+        /**
+         * Whether elements should be serialized canonically (RFC 8785)
+         * <p>
+         * Default is false
+         *
+         * @since 2.2.0
+         */
+        protected boolean canonical = false;
+
+        /**
+         * The maximum depth of nested objects and arrays that will be parsed or written
+         * <p>
+         * Default is {@link StreamReadConstraints#DEFAULT_MAX_DEPTH}
+         *
+         * @since 2.2.0
+         */
+        protected int maxDepth = StreamReadConstraints.DEFAULT_MAX_DEPTH;
+
+        /**
+         * The maximum length of strings that will be parsed
+         * <p>
+         * Default is {@link StreamReadConstraints#DEFAULT_MAX_STRING_LEN}
+         *
+         * @since 2.2.0
+         */
+        protected int maxStringLength = StreamReadConstraints.DEFAULT_MAX_STRING_LEN;
+
+        /**
+         * The maximum length of documents that will be parsed, -1 for no limit
+         * <p>
+         * Default is {@link StreamReadConstraints#DEFAULT_MAX_DOC_LEN}
+         *
+         * @since 2.2.0
+         */
+        protected long maxDocumentLength = StreamReadConstraints.DEFAULT_MAX_DOC_LEN;
+
+        /**
+         * The pool buffers are recycled through while parsing and serializing
+         * <p>
+         * The default pool is thread local, so threads that only parse a few documents, such as virtual threads, never reuse any buffers. A shared pool like {@link JsonRecyclerPools#newConcurrentDequePool()} or {@link JsonRecyclerPools#newBoundedPool(int)} reuses them across threads instead
+         * <p>
+         * Default is {@link JsonRecyclerPools#defaultPool()}
+         *
+         * @since 2.2.0
+         */
+        protected @NotNull RecyclerPool<BufferRecycler> recyclerPool = JsonRecyclerPools.defaultPool();
+
         /**
          * Create a new {@link JsonParser} builder
          *
@@ -168,6 +243,190 @@ public class JsonParser extends JacksonParser<JsonFactory, JsonMapper> {
             return this;
         }
 
+        /**
+         * Get whether nested objects and arrays should only be parsed when they are first accessed
+         * <p>
+         * Default is false
+         *
+         * @return Whether nested objects and arrays should only be parsed when they are first accessed
+         *
+         * @since 2.2.0
+         */
+        public boolean getLazy() {
+            return this.lazy;
+        }
+
+        /**
+         * Set whether nested objects and arrays should only be parsed when they are first accessed
+         * <p>
+         * When enabled only the top level of a document is parsed up front, every nested object or array keeps a reference to the input and is parsed the first time it is accessed, so reading a few fields of a large document only costs what is read
+         * <p>
+         * Default is false
+         *
+         * @param value Whether nested objects and arrays should only be parsed when they are first accessed
+         *
+         * @return Self for chaining
+         *
+         * @since 2.2.0
+         */
+        public @NotNull Builder setLazy(boolean value) {
+            this.lazy = value;
+
+            return this;
+        }
+
+        /**
+         * Get whether elements should be serialized canonically (RFC 8785)
+         * <p>
+         * Default is false
+         *
+         * @return Whether elements should be serialized canonically
+         *
+         * @since 2.2.0
+         */
+        public boolean getCanonical() {
+            return this.canonical;
+        }
+
+        /**
+         * Set whether elements should be serialized canonically (RFC 8785)
+         * <p>
+         * When enabled keys are sorted by their UTF-16 code units, numbers are written like ECMAScript, strings only escape what they must, and there is no whitespace, so equal elements always serialize to the same bytes. Pretty printing is ignored
+         * <p>
+         * Default is false
+         *
+         * @param value Whether elements should be serialized canonically
+         *
+         * @return Self for chaining
+         *
+         * @since 2.2.0
+         */
+        public @NotNull Builder setCanonical(boolean value) {
+            this.canonical = value;
+
+            return this;
+        }
+
+        /**
+         * Get the maximum depth of nested objects and arrays that will be parsed or written
+         * <p>
+         * Default is {@link StreamReadConstraints#DEFAULT_MAX_DEPTH}
+         *
+         * @return The maximum depth of nested objects and arrays that will be parsed or written
+         *
+         * @since 2.2.0
+         */
+        public int getMaxDepth() {
+            return this.maxDepth;
+        }
+
+        /**
+         * Set the maximum depth of nested objects and arrays that will be parsed or written
+         * <p>
+         * Default is {@link StreamReadConstraints#DEFAULT_MAX_DEPTH}
+         *
+         * @param value The maximum depth of nested objects and arrays that will be parsed or written
+         *
+         * @return Self for chaining
+         *
+         * @since 2.2.0
+         */
+        public @NotNull Builder setMaxDepth(int value) {
+            this.maxDepth = value;
+
+            return this;
+        }
+
+        /**
+         * Get the maximum length of strings that will be parsed
+         * <p>
+         * Default is {@link StreamReadConstraints#DEFAULT_MAX_STRING_LEN}
+         *
+         * @return The maximum length of strings that will be parsed
+         *
+         * @since 2.2.0
+         */
+        public int getMaxStringLength() {
+            return this.maxStringLength;
+        }
+
+        /**
+         * Set the maximum length of strings that will be parsed
+         * <p>
+         * Default is {@link StreamReadConstraints#DEFAULT_MAX_STRING_LEN}
+         *
+         * @param value The maximum length of strings that will be parsed
+         *
+         * @return Self for chaining
+         *
+         * @since 2.2.0
+         */
+        public @NotNull Builder setMaxStringLength(int value) {
+            this.maxStringLength = value;
+
+            return this;
+        }
+
+        /**
+         * Get the maximum length of documents that will be parsed, -1 for no limit
+         * <p>
+         * Default is {@link StreamReadConstraints#DEFAULT_MAX_DOC_LEN}
+         *
+         * @return The maximum length of documents that will be parsed
+         *
+         * @since 2.2.0
+         */
+        public long getMaxDocumentLength() {
+            return this.maxDocumentLength;
+        }
+
+        /**
+         * Set the maximum length of documents that will be parsed, -1 for no limit
+         * <p>
+         * Default is {@link StreamReadConstraints#DEFAULT_MAX_DOC_LEN}
+         *
+         * @param value The maximum length of documents that will be parsed
+         *
+         * @return Self for chaining
+         *
+         * @since 2.2.0
+         */
+        public @NotNull Builder setMaxDocumentLength(long value) {
+            this.maxDocumentLength = value;
+
+            return this;
+        }
+
+        /**
+         * Get the pool buffers are recycled through
+         * <p>
+         * Default is {@link JsonRecyclerPools#defaultPool()}
+         *
+         * @return The pool buffers are recycled through while parsing and serializing
+         *
+         * @since 2.2.0
+         */
+        public @NotNull RecyclerPool<BufferRecycler> getRecyclerPool() {
+            return this.recyclerPool;
+        }
+
+        /**
+         * Set the pool buffers are recycled through
+         * <p>
+         * Default is {@link JsonRecyclerPools#defaultPool()}
+         *
+         * @param value The pool buffers are recycled through while parsing and serializing
+         *
+         * @return Self for chaining
+         *
+         * @since 2.2.0
+         */
+        public @NotNull Builder setRecyclerPool(@NotNull RecyclerPool<BufferRecycler> value) {
+            this.recyclerPool = value;
+
+            return this;
+        }
+
         /**
          * Uses the current settings to build a new {@link JsonParser}
          *
@@ -177,6 +436,9 @@ public class JsonParser extends JacksonParser<JsonFactory, JsonMapper> {
          */
         public @NotNull JsonParser build() {
             JsonFactoryBuilder factoryBuilder = (JsonFactoryBuilder) JsonFactory.builder();
+            factoryBuilder = factoryBuilder.streamReadConstraints(StreamReadConstraints.builder().maxNestingDepth(this.maxDepth).maxStringLength(this.maxStringLength).maxDocumentLength(this.maxDocumentLength).build());
+            factoryBuilder = factoryBuilder.streamWriteConstraints(StreamWriteConstraints.builder().maxNestingDepth(this.maxDepth).build());
+            factoryBuilder = factoryBuilder.recyclerPool(this.recyclerPool);
             factoryBuilder = factoryBuilder.configure(StreamReadFeature.STRICT_DUPLICATE_DETECTION, true);
             factoryBuilder = factoryBuilder.configure(StreamReadFeature.USE_FAST_DOUBLE_PARSER, true);
             factoryBuilder = factoryBuilder.configure(StreamReadFeature.USE_FAST_BIG_NUMBER_PARSER, true);
@@ -193,8 +455,8 @@ public class JsonParser extends JacksonParser<JsonFactory, JsonMapper> {
             factoryBuilder = factoryBuilder.configure(JsonReadFeature.ALLOW_LEADING_ZEROS_FOR_NUMBERS, false);
             factoryBuilder = factoryBuilder.configure(JsonReadFeature.ALLOW_NON_NUMERIC_NUMBERS, true);
             factoryBuilder = factoryBuilder.configure(JsonReadFeature.ALLOW_TRAILING_COMMA, true);
-            factoryBuilder = factoryBuilder.configure(JsonWriteFeature.ESCAPE_NON_ASCII, true);
-            factoryBuilder = factoryBuilder.configure(JsonWriteFeature.WRITE_HEX_UPPER_CASE, true);
+            factoryBuilder = factoryBuilder.configure(JsonWriteFeature.ESCAPE_NON_ASCII, !this.canonical);
+            factoryBuilder = factoryBuilder.configure(JsonWriteFeature.WRITE_HEX_UPPER_CASE, !this.canonical);
             factoryBuilder = factoryBuilder.configure(JsonWriteFeature.WRITE_NAN_AS_STRINGS, false);
             factoryBuilder = factoryBuilder.configure(JsonWriteFeature.COMBINE_UNICODE_SURROGATES_IN_UTF8, true);
 
@@ -221,10 +483,11 @@ public class JsonParser extends JacksonParser<JsonFactory, JsonMapper> {
                     separatorField.setAccessible(true);
                     separatorField.set(prettyPrinter, ": ");
                 } catch (NoSuchFieldException | IllegalArgumentException | IllegalAccessException e) {
-                    if (BJSL.getLogger() != null) {
+                    Logger logger = BJSL.getLogger();
+                    if (logger != null) {
                         StringWriter writer = new StringWriter();
                         new RuntimeException("Error while configuring pretty printer:", e).printStackTrace(new PrintWriter(writer));
-                        BJSL.getLogger().severe(writer.toString());
+                        logger.severe(writer.toString());
                     }
                 }
             } else {
@@ -240,7 +503,7 @@ public class JsonParser extends JacksonParser<JsonFactory, JsonMapper> {
                 prettyPrinter = prettyPrinter.withObjectIndenter(indenter).withArrayIndenter(indenter).withSeparators(separators);
             }
 
-            return new JsonParser(factory, new JsonMapper(factory), prettyPrinter);
+            return new JsonParser(factory, new JsonMapper(factory), prettyPrinter, this.lazy, this.canonical);
         }
     }
 }
\ No newline at end of file
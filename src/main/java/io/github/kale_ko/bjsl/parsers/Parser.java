@@ -1,12 +1,19 @@
 package io.github.kale_ko.bjsl.parsers;
 
 import io.github.kale_ko.bjsl.elements.ParsedElement;
+import io.github.kale_ko.bjsl.elements.Projection;
+import io.github.kale_ko.bjsl.parsers.exception.ParserException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * An abstract class that all parsers extend from
  *
- * @version 2.1.0
+ * @version 2.2.0
  * @since 1.0.0
  */
 public interface Parser {
@@ -34,6 +41,79 @@ public interface Parser {
      */
     public @NotNull ParsedElement toElement(byte @NotNull [] data);
 
+    /**
+     * Parse only the selected parts of this string into a {@link ParsedElement}
+     *
+     * @param data       The string to parse
+     * @param projection The parts of the string to keep
+     *
+     * @return The selected parts of the string passed parsed to a {@link ParsedElement}
+     *
+     * @throws io.github.kale_ko.bjsl.parsers.exception.ParserException If there is an exception while parsing
+     * @implSpec The default implementation parses the whole string and then calls {@link Projection#apply(ParsedElement)}
+     * @since 2.2.0
+     */
+    public default @NotNull ParsedElement toElement(@NotNull String data, @NotNull Projection projection) {
+        return projection.apply(this.toElement(data));
+    }
+
+    /**
+     * Parse only the selected parts of these bytes into a {@link ParsedElement}
+     *
+     * @param data       The bytes to parse
+     * @param projection The parts of the bytes to keep
+     *
+     * @return The selected parts of the bytes passed parsed to a {@link ParsedElement}
+     *
+     * @throws io.github.kale_ko.bjsl.parsers.exception.ParserException If there is an exception while parsing
+     * @implSpec The default implementation parses all the bytes and then calls {@link Projection#apply(ParsedElement)}
+     * @since 2.2.0
+     */
+    public default @NotNull ParsedElement toElement(byte @NotNull [] data, @NotNull Projection projection) {
+        return projection.apply(this.toElement(data));
+    }
+
+    /**
+     * Create a processor that parses chunks of bytes as they arrive, without blocking while waiting for more
+     * <p>
+     * Every top level document is converted with the mapper and emitted as soon as it is complete, null results are skipped
+     *
+     * @param unwrapArrays If the values of top level arrays should be emitted one at a time instead of the whole arrays
+     * @param mapper       The function to convert every element with before it is emitted
+     * @param <V>          The type of the emitted values
+     *
+     * @return A new processor that only supports a single subscriber
+     *
+     * @throws UnsupportedOperationException If this parser does not support non-blocking parsing
+     * @implSpec The default implementation throws {@link UnsupportedOperationException}
+     * @since 2.2.0
+     */
+    public default <V> Flow.@NotNull Processor<ByteBuffer, V> toFlow(boolean unwrapArrays, @NotNull Function<? super ParsedElement, ? extends V> mapper) {
+        throw new UnsupportedOperationException(this.getClass().getSimpleName() + " does not support non-blocking parsing");
+    }
+
+    /**
+     * Converts every top level document in a stream from the format of this parser into the format of another parser
+     * <p>
+     * Neither stream is closed
+     *
+     * @param to     The parser of the format to convert into
+     * @param input  The stream to read documents from
+     * @param output The stream to write the converted documents to
+     *
+     * @throws io.github.kale_ko.bjsl.parsers.exception.ParserException If there is an exception while converting
+     * @implSpec The default implementation reads the whole stream, parses it with {@link #toElement(byte[])} and then serializes it with {@link #toBytes(ParsedElement)} of the other parser
+     * @since 2.2.0
+     */
+    public default void transcode(@NotNull Parser to, @NotNull InputStream input, @NotNull OutputStream output) {
+        try {
+            output.write(to.toBytes(this.toElement(input.readAllBytes())));
+            output.flush();
+        } catch (java.io.IOException e) {
+            throw new ParserException(e);
+        }
+    }
+
     /**
      * Serializes this element into a String
      *
@@ -1,12 +1,21 @@
 package io.github.kale_ko.bjsl.parsers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.PrettyPrinter;
+import com.fasterxml.jackson.core.StreamReadConstraints;
 import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.StreamWriteConstraints;
 import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.core.util.RecyclerPool;
 import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.fasterxml.jackson.dataformat.smile.SmileFactoryBuilder;
 import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
 import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -15,7 +24,7 @@ import org.jetbrains.annotations.Nullable;
  * <p>
  * Uses the Jackson-DataFormat smile parser
  *
- * @version 2.0.0
+ * @version 2.2.0
  * @since 1.0.0
  */
 public class SmileParser extends JacksonParser<SmileFactory, SmileMapper> {
@@ -32,21 +41,271 @@ public class SmileParser extends JacksonParser<SmileFactory, SmileMapper> {
         super(factory, mapper, prettyPrinter);
     }
 
+    /**
+     * Create a new JacksonParser using certain factories
+     *
+     * @param factory       The factory used for converting to/from trees/strings
+     * @param mapper        The mapper used for converting to/from trees/strings
+     * @param prettyPrinter The prettyPrinter used for converting to strings
+     * @param canonical     Whether elements should be serialized canonically
+     *
+     * @since 2.2.0
+     */
+    protected SmileParser(@NotNull SmileFactory factory, @NotNull SmileMapper mapper, @Nullable PrettyPrinter prettyPrinter, boolean canonical) {
+        super(factory, mapper, prettyPrinter, false, canonical);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Smile keeps numbers binary, so instead of formatting them integers of any type are written as the smallest integer that holds them, floats are widened to doubles, and big decimals have their trailing zeros stripped
+     */
+    @Override
+    protected void writeCanonicalNumber(@NotNull JsonGenerator generator, @NotNull Number number) throws IOException {
+        switch (number) {
+            case Byte ignored -> generator.writeNumber(number.longValue());
+            case Short ignored -> generator.writeNumber(number.longValue());
+            case Integer ignored -> generator.writeNumber(number.longValue());
+            case Long ignored -> generator.writeNumber(number.longValue());
+            case BigInteger bigInteger -> {
+                if (bigInteger.bitLength() < 64) {
+                    generator.writeNumber(bigInteger.longValue());
+                } else {
+                    generator.writeNumber(bigInteger);
+                }
+            }
+            case BigDecimal bigDecimal -> {
+                BigDecimal stripped = bigDecimal.signum() == 0 ? BigDecimal.ZERO : bigDecimal.stripTrailingZeros();
+                if (stripped.scale() <= 0 && stripped.toBigInteger().bitLength() < 64) {
+                    generator.writeNumber(stripped.longValue());
+                } else {
+                    generator.writeNumber(stripped);
+                }
+            }
+            default -> {
+                double value = number.doubleValue();
+                if (!Double.isFinite(value)) {
+                    throw new IllegalArgumentException(value + " can not be written canonically");
+                }
+                generator.writeNumber(value == 0 ? 0.0 : value);
+            }
+        }
+    }
+
     /**
      * A builder class for creating new {@link SmileParser}s
      *
-     * @version 2.0.0
+     * @version 2.2.0
      * @since 1.0.0
      */
     public static class Builder {
+        /**
+         * The maximum depth of nested objects and arrays that will be parsed or written
+         * <p>
+         * Default is {@link StreamReadConstraints#DEFAULT_MAX_DEPTH}
+         *
+         * @since 2.2.0
+         */
+        protected int maxDepth = StreamReadConstraints.DEFAULT_MAX_DEPTH;
+
+        /**
+         * The maximum length of strings that will be parsed
+         * <p>
+         * Default is {@link StreamReadConstraints#DEFAULT_MAX_STRING_LEN}
+         *
+         * @since 2.2.0
+         */
+        protected int maxStringLength = StreamReadConstraints.DEFAULT_MAX_STRING_LEN;
+
+        /**
+         * The maximum length of documents that will be parsed, -1 for no limit
+         * <p>
+         * Default is {@link StreamReadConstraints#DEFAULT_MAX_DOC_LEN}
+         *
+         * @since 2.2.0
+         */
+        protected long maxDocumentLength = StreamReadConstraints.DEFAULT_MAX_DOC_LEN;
+
+        /**
+         * The pool buffers are recycled through while parsing and serializing
+         * <p>
+         * The default pool is thread local, so threads that only parse a few documents, such as virtual threads, never reuse any buffers. A shared pool like {@link JsonRecyclerPools#newConcurrentDequePool()} or {@link JsonRecyclerPools#newBoundedPool(int)} reuses them across threads instead
+         * <p>
+         * Default is {@link JsonRecyclerPools#defaultPool()}
+         *
+         * @since 2.2.0
+         */
+        protected @NotNull RecyclerPool<BufferRecycler> recyclerPool = JsonRecyclerPools.defaultPool();
+
         /**
          * Create a new {@link SmileParser} builder
          *
          * @since 1.0.0
          */
+        /**
+         * Whether elements should be serialized canonically
+         * <p>
+         * Default is false
+         *
+         * @since 2.2.0
+         */
+        protected boolean canonical = false;
+
         public Builder() {
         }
 
+        /**
+         * Get whether elements should be serialized canonically
+         * <p>
+         * Default is false
+         *
+         * @return Whether elements should be serialized canonically
+         *
+         * @since 2.2.0
+         */
+        public boolean getCanonical() {
+            return this.canonical;
+        }
+
+        /**
+         * Set whether elements should be serialized canonically
+         * <p>
+         * When enabled keys are sorted by their UTF-16 code units and numbers are normalized (see {@link SmileParser#writeCanonicalNumber(JsonGenerator, Number)}), so equal elements always serialize to the same bytes
+         * <p>
+         * Default is false
+         *
+         * @param value Whether elements should be serialized canonically
+         *
+         * @return Self for chaining
+         *
+         * @since 2.2.0
+         */
+        public @NotNull Builder setCanonical(boolean value) {
+            this.canonical = value;
+
+            return this;
+        }
+
+        /**
+         * Get the maximum depth of nested objects and arrays that will be parsed or written
+         * <p>
+         * Default is {@link StreamReadConstraints#DEFAULT_MAX_DEPTH}
+         *
+         * @return The maximum depth of nested objects and arrays that will be parsed or written
+         *
+         * @since 2.2.0
+         */
+        public int getMaxDepth() {
+            return this.maxDepth;
+        }
+
+        /**
+         * Set the maximum depth of nested objects and arrays that will be parsed or written
+         * <p>
+         * Default is {@link StreamReadConstraints#DEFAULT_MAX_DEPTH}
+         *
+         * @param value The maximum depth of nested objects and arrays that will be parsed or written
+         *
+         * @return Self for chaining
+         *
+         * @since 2.2.0
+         */
+        public @NotNull Builder setMaxDepth(int value) {
+            this.maxDepth = value;
+
+            return this;
+        }
+
+        /**
+         * Get the maximum length of strings that will be parsed
+         * <p>
+         * Default is {@link StreamReadConstraints#DEFAULT_MAX_STRING_LEN}
+         *
+         * @return The maximum length of strings that will be parsed
+         *
+         * @since 2.2.0
+         */
+        public int getMaxStringLength() {
+            return this.maxStringLength;
+        }
+
+        /**
+         * Set the maximum length of strings that will be parsed
+         * <p>
+         * Default is {@link StreamReadConstraints#DEFAULT_MAX_STRING_LEN}
+         *
+         * @param value The maximum length of strings that will be parsed
+         *
+         * @return Self for chaining
+         *
+         * @since 2.2.0
+         */
+        public @NotNull Builder setMaxStringLength(int value) {
+            this.maxStringLength = value;
+
+            return this;
+        }
+
+        /**
+         * Get the maximum length of documents that will be parsed, -1 for no limit
+         * <p>
+         * Default is {@link StreamReadConstraints#DEFAULT_MAX_DOC_LEN}
+         *
+         * @return The maximum length of documents that will be parsed
+         *
+         * @since 2.2.0
+         */
+        public long getMaxDocumentLength() {
+            return this.maxDocumentLength;
+        }
+
+        /**
+         * Set the maximum length of documents that will be parsed, -1 for no limit
+         * <p>
+         * Default is {@link StreamReadConstraints#DEFAULT_MAX_DOC_LEN}
+         *
+         * @param value The maximum length of documents that will be parsed
+         *
+         * @return Self for chaining
+         *
+         * @since 2.2.0
+         */
+        public @NotNull Builder setMaxDocumentLength(long value) {
+            this.maxDocumentLength = value;
+
+            return this;
+        }
+
+        /**
+         * Get the pool buffers are recycled through
+         * <p>
+         * Default is {@link JsonRecyclerPools#defaultPool()}
+         *
+         * @return The pool buffers are recycled through while parsing and serializing
+         *
+         * @since 2.2.0
+         */
+        public @NotNull RecyclerPool<BufferRecycler> getRecyclerPool() {
+            return this.recyclerPool;
+        }
+
+        /**
+         * Set the pool buffers are recycled through
+         * <p>
+         * Default is {@link JsonRecyclerPools#defaultPool()}
+         *
+         * @param value The pool buffers are recycled through while parsing and serializing
+         *
+         * @return Self for chaining
+         *
+         * @since 2.2.0
+         */
+        public @NotNull Builder setRecyclerPool(@NotNull RecyclerPool<BufferRecycler> value) {
+            this.recyclerPool = value;
+
+            return this;
+        }
+
         /**
          * Uses the current settings to build a new {@link SmileParser}
          *
@@ -56,6 +315,9 @@ public class SmileParser extends JacksonParser<SmileFactory, SmileMapper> {
          */
         public @NotNull SmileParser build() {
             SmileFactoryBuilder factoryBuilder = SmileFactory.builder();
+            factoryBuilder = factoryBuilder.streamReadConstraints(StreamReadConstraints.builder().maxNestingDepth(this.maxDepth).maxStringLength(this.maxStringLength).maxDocumentLength(this.maxDocumentLength).build());
+            factoryBuilder = factoryBuilder.streamWriteConstraints(StreamWriteConstraints.builder().maxNestingDepth(this.maxDepth).build());
+            factoryBuilder = factoryBuilder.recyclerPool(this.recyclerPool);
             factoryBuilder = factoryBuilder.configure(StreamReadFeature.STRICT_DUPLICATE_DETECTION, true);
             factoryBuilder = factoryBuilder.configure(StreamReadFeature.USE_FAST_DOUBLE_PARSER, true);
             factoryBuilder = factoryBuilder.configure(StreamReadFeature.USE_FAST_BIG_NUMBER_PARSER, true);
@@ -68,7 +330,7 @@ public class SmileParser extends JacksonParser<SmileFactory, SmileMapper> {
 
             SmileFactory factory = factoryBuilder.build();
 
-            return new SmileParser(factory, new SmileMapper(factory), null);
+            return new SmileParser(factory, new SmileMapper(factory), null, this.canonical);
         }
     }
 }
\ No newline at end of file
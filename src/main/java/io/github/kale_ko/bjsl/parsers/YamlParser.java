@@ -1,22 +1,28 @@
 package io.github.kale_ko.bjsl.parsers;
 
 import com.fasterxml.jackson.core.PrettyPrinter;
+import com.fasterxml.jackson.core.StreamReadConstraints;
 import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.StreamWriteConstraints;
 import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.core.util.BufferRecycler;
 import com.fasterxml.jackson.core.util.DefaultIndenter;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.core.util.RecyclerPool;
 import com.fasterxml.jackson.core.util.Separators;
 import com.fasterxml.jackson.dataformat.yaml.*;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.LoaderOptions;
 
 /**
  * A parser for interfacing with YAML
  * <p>
  * Uses the Jackson-DataFormat yaml parser
  *
- * @version 2.0.0
+ * @version 2.2.0
  * @since 1.0.0
  */
 public class YamlParser extends JacksonParser<YAMLFactory, YAMLMapper> {
@@ -36,7 +42,7 @@ public class YamlParser extends JacksonParser<YAMLFactory, YAMLMapper> {
     /**
      * A builder class for creating new {@link YamlParser}s
      *
-     * @version 2.0.0
+     * @version 2.2.0
      * @since 1.0.0
      */
     public static class Builder {
@@ -58,6 +64,44 @@ public class YamlParser extends JacksonParser<YAMLFactory, YAMLMapper> {
          */
         protected boolean crlf = false;
 
+        /**
+         * The maximum depth of nested objects and arrays that will be parsed or written
+         * <p>
+         * Default is {@link StreamReadConstraints#DEFAULT_MAX_DEPTH}
+         *
+         * @since 2.2.0
+         */
+        protected int maxDepth = StreamReadConstraints.DEFAULT_MAX_DEPTH;
+
+        /**
+         * The maximum length of strings that will be parsed
+         * <p>
+         * Default is {@link StreamReadConstraints#DEFAULT_MAX_STRING_LEN}
+         *
+         * @since 2.2.0
+         */
+        protected int maxStringLength = StreamReadConstraints.DEFAULT_MAX_STRING_LEN;
+
+        /**
+         * The maximum length of documents that will be parsed, -1 for no limit
+         * <p>
+         * Default is {@link StreamReadConstraints#DEFAULT_MAX_DOC_LEN}
+         *
+         * @since 2.2.0
+         */
+        protected long maxDocumentLength = StreamReadConstraints.DEFAULT_MAX_DOC_LEN;
+
+        /**
+         * The pool buffers are recycled through while parsing and serializing
+         * <p>
+         * The default pool is thread local, so threads that only parse a few documents, such as virtual threads, never reuse any buffers. A shared pool like {@link JsonRecyclerPools#newConcurrentDequePool()} or {@link JsonRecyclerPools#newBoundedPool(int)} reuses them across threads instead
+         * <p>
+         * Default is {@link JsonRecyclerPools#defaultPool()}
+         *
+         * @since 2.2.0
+         */
+        protected @NotNull RecyclerPool<BufferRecycler> recyclerPool = JsonRecyclerPools.defaultPool();
+
         /**
          * Create a new {@link YamlParser} builder
          *
@@ -126,6 +170,126 @@ public class YamlParser extends JacksonParser<YAMLFactory, YAMLMapper> {
             return this;
         }
 
+        /**
+         * Get the maximum depth of nested objects and arrays that will be parsed or written
+         * <p>
+         * Default is {@link StreamReadConstraints#DEFAULT_MAX_DEPTH}
+         *
+         * @return The maximum depth of nested objects and arrays that will be parsed or written
+         *
+         * @since 2.2.0
+         */
+        public int getMaxDepth() {
+            return this.maxDepth;
+        }
+
+        /**
+         * Set the maximum depth of nested objects and arrays that will be parsed or written
+         * <p>
+         * Default is {@link StreamReadConstraints#DEFAULT_MAX_DEPTH}
+         *
+         * @param value The maximum depth of nested objects and arrays that will be parsed or written
+         *
+         * @return Self for chaining
+         *
+         * @since 2.2.0
+         */
+        public @NotNull Builder setMaxDepth(int value) {
+            this.maxDepth = value;
+
+            return this;
+        }
+
+        /**
+         * Get the maximum length of strings that will be parsed
+         * <p>
+         * Default is {@link StreamReadConstraints#DEFAULT_MAX_STRING_LEN}
+         *
+         * @return The maximum length of strings that will be parsed
+         *
+         * @since 2.2.0
+         */
+        public int getMaxStringLength() {
+            return this.maxStringLength;
+        }
+
+        /**
+         * Set the maximum length of strings that will be parsed
+         * <p>
+         * Default is {@link StreamReadConstraints#DEFAULT_MAX_STRING_LEN}
+         *
+         * @param value The maximum length of strings that will be parsed
+         *
+         * @return Self for chaining
+         *
+         * @since 2.2.0
+         */
+        public @NotNull Builder setMaxStringLength(int value) {
+            this.maxStringLength = value;
+
+            return this;
+        }
+
+        /**
+         * Get the maximum length of documents that will be parsed, -1 for no limit
+         * <p>
+         * Default is {@link StreamReadConstraints#DEFAULT_MAX_DOC_LEN}
+         *
+         * @return The maximum length of documents that will be parsed
+         *
+         * @since 2.2.0
+         */
+        public long getMaxDocumentLength() {
+            return this.maxDocumentLength;
+        }
+
+        /**
+         * Set the maximum length of documents that will be parsed, -1 for no limit
+         * <p>
+         * Default is {@link StreamReadConstraints#DEFAULT_MAX_DOC_LEN}
+         *
+         * @param value The maximum length of documents that will be parsed
+         *
+         * @return Self for chaining
+         *
+         * @since 2.2.0
+         */
+        public @NotNull Builder setMaxDocumentLength(long value) {
+            this.maxDocumentLength = value;
+
+            return this;
+        }
+
+        /**
+         * Get the pool buffers are recycled through
+         * <p>
+         * Default is {@link JsonRecyclerPools#defaultPool()}
+         *
+         * @return The pool buffers are recycled through while parsing and serializing
+         *
+         * @since 2.2.0
+         */
+        public @NotNull RecyclerPool<BufferRecycler> getRecyclerPool() {
+            return this.recyclerPool;
+        }
+
+        /**
+         * Set the pool buffers are recycled through
+         * <p>
+         * Default is {@link JsonRecyclerPools#defaultPool()}
+         *
+         * @param value The pool buffers are recycled through while parsing and serializing
+         *
+         * @return Self for chaining
+         *
+         * @since 2.2.0
+         */
+        public @NotNull Builder setRecyclerPool(@NotNull RecyclerPool<BufferRecycler> value) {
+            this.recyclerPool = value;
+
+            return this;
+        }
+
         /**
          * Uses the current settings to build a new {@link YamlParser}
          *
@@ -135,6 +299,16 @@ public class YamlParser extends JacksonParser<YAMLFactory, YAMLMapper> {
          */
         public @NotNull YamlParser build() {
             YAMLFactoryBuilder factoryBuilder = YAMLFactory.builder();
+            factoryBuilder = factoryBuilder.streamReadConstraints(StreamReadConstraints.builder().maxNestingDepth(this.maxDepth).maxStringLength(this.maxStringLength).maxDocumentLength(this.maxDocumentLength).build());
+            factoryBuilder = factoryBuilder.streamWriteConstraints(StreamWriteConstraints.builder().maxNestingDepth(this.maxDepth).build());
+            factoryBuilder = factoryBuilder.recyclerPool(this.recyclerPool);
+
+            LoaderOptions loaderOptions = new LoaderOptions();
+            loaderOptions.setNestingDepthLimit(this.maxDepth);
+            if (this.maxDocumentLength >= 0) {
+                loaderOptions.setCodePointLimit((int) Math.min(this.maxDocumentLength, Integer.MAX_VALUE));
+            }
+            factoryBuilder = factoryBuilder.loaderOptions(loaderOptions);
             factoryBuilder = factoryBuilder.configure(StreamReadFeature.STRICT_DUPLICATE_DETECTION, true);
             factoryBuilder = factoryBuilder.configure(StreamReadFeature.USE_FAST_DOUBLE_PARSER, true);
             factoryBuilder = factoryBuilder.configure(StreamReadFeature.USE_FAST_BIG_NUMBER_PARSER, true);
@@ -1,14 +1,22 @@
 package io.github.kale_ko.bjsl.parsers.exception;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Thrown when an exception occurs during parsing
  *
- * @version 1.7.0
+ * @version 2.2.0
  * @since 1.7.0
  */
 public class ParserException extends RuntimeException {
+    /**
+     * The JSON Pointer to the value that failed, null if unknown
+     *
+     * @since 2.2.0
+     */
+    private final @Nullable String path;
+
     /**
      * Create a new ParserException
      *
@@ -16,5 +24,32 @@ public class ParserException extends RuntimeException {
      */
     public ParserException(@NotNull Exception cause) {
         super("Error while parsing:", cause);
+
+        this.path = null;
+    }
+
+    /**
+     * Create a new ParserException
+     *
+     * @param cause The cause of the exception
+     * @param path  The JSON Pointer to the value that failed
+     *
+     * @since 2.2.0
+     */
+    public ParserException(@NotNull Exception cause, @NotNull String path) {
+        super("Error while parsing \"" + path + "\":", cause);
+
+        this.path = path;
+    }
+
+    /**
+     * Get the JSON Pointer to the value that failed
+     *
+     * @return The JSON Pointer to the value that failed, empty for the root, null if unknown
+     *
+     * @since 2.2.0
+     */
+    public @Nullable String getPath() {
+        return this.path;
     }
 }
\ No newline at end of file
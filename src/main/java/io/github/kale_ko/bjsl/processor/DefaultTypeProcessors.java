@@ -1,5 +1,6 @@
 package io.github.kale_ko.bjsl.processor;
 
+import io.github.kale_ko.bjsl.elements.ElementCursor;
 import io.github.kale_ko.bjsl.elements.ParsedArray;
 import io.github.kale_ko.bjsl.elements.ParsedElement;
 import io.github.kale_ko.bjsl.elements.ParsedPrimitive;
@@ -402,7 +403,9 @@ public final class DefaultTypeProcessors {
             if (element.isArray()) {
                 ByteBuffer buffer = ByteBuffer.wrap(new byte[16]);
 
-                for (ParsedElement subElement : element.asArray().getValues()) {
+                ElementCursor cursor = new ElementCursor(element);
+                while (cursor.nextChild()) {
+                    ParsedElement subElement = cursor.getElement();
                     if (subElement.isPrimitive()) {
                         switch (element.asArray().getSize()) {
                             case 16 -> {
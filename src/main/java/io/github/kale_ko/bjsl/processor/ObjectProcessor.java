@@ -6,10 +6,12 @@ import com.fasterxml.jackson.databind.type.CollectionType;
 import com.fasterxml.jackson.databind.type.MapType;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 import io.github.kale_ko.bjsl.BJSL;
+import io.github.kale_ko.bjsl.elements.ElementCursor;
 import io.github.kale_ko.bjsl.elements.ParsedArray;
 import io.github.kale_ko.bjsl.elements.ParsedElement;
 import io.github.kale_ko.bjsl.elements.ParsedObject;
 import io.github.kale_ko.bjsl.elements.ParsedPrimitive;
+import io.github.kale_ko.bjsl.elements.Projection;
 import io.github.kale_ko.bjsl.parsers.exception.InvalidTypeException;
 import io.github.kale_ko.bjsl.processor.annotations.AlwaysSerialize;
 import io.github.kale_ko.bjsl.processor.annotations.NeverSerialize;
@@ -28,15 +30,25 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
 
 /**
  * An Object processor for mapping elements to objects and objects to elements
  * <p>
  * Also has options for reducing the amount of output keys
+ * <p>
+ * Processors are immutable once built and safe to share between any amount of threads, the only state shared between calls are caches of type processor lookups and class fields that are read without locking
  *
- * @version 2.0.0
+ * @version 2.2.0
  * @since 1.0.0
  */
 public class ObjectProcessor {
@@ -82,7 +94,71 @@ public class ObjectProcessor {
      *
      * @since 1.0.0
      */
-    protected final @NotNull Map<JavaType, TypeProcessor> typeProcessors;
+    protected final @NotNull @Unmodifiable Map<JavaType, TypeProcessor> typeProcessors;
+
+    /**
+     * A cache of the type processor found for each type, empty if there is none
+     *
+     * @since 2.2.0
+     */
+    private final @NotNull ConcurrentHashMap<JavaType, Optional<TypeProcessor>> typeProcessorCache = new ConcurrentHashMap<>();
+
+    /**
+     * A cache of the fields of each class, see {@link #getFields(Class)}
+     *
+     * @since 2.2.0
+     */
+    private static final @NotNull ClassValue<List<Field>> FIELDS = new ClassValue<>() {
+        @Override
+        protected @NotNull List<Field> computeValue(@NotNull Class<?> clazz) {
+            Set<String> fieldNames = new HashSet<>();
+            List<Field> fields = new ArrayList<>(Arrays.asList(clazz.getDeclaredFields()));
+
+            Class<?> superClazz = clazz.getSuperclass();
+            if (superClazz != null && superClazz != Object.class) {
+                List<Field> superFields = this.get(superClazz);
+
+                for (Field superField : superFields) {
+                    boolean overwritten = fieldNames.contains(superField.getName());
+
+                    if (!(overwritten || Modifier.isTransient(superField.getModifiers()))) {
+                        fieldNames.add(superField.getName());
+                        fields.add(superField);
+                    }
+                }
+            }
+
+            return Collections.unmodifiableList(fields);
+        }
+    };
+
+    /**
+     * The maximum depth of nested objects, maps, collections and arrays that will be mapped
+     *
+     * @since 2.2.0
+     */
+    protected final int maxDepth;
+
+    /**
+     * The minimum amount of items a collection, array or map needs to have to be mapped in parallel, 0 if nothing is mapped in parallel
+     *
+     * @since 2.2.0
+     */
+    protected final int parallelThreshold;
+
+    /**
+     * The executor large collections, arrays and maps are mapped on
+     *
+     * @since 2.2.0
+     */
+    protected final @NotNull Executor parallelExecutor;
+
+    /**
+     * Whether collections, arrays and maps are read directly instead of being copied first, the caller guarantees they are not modified while they are being mapped
+     *
+     * @since 2.2.0
+     */
+    protected final boolean snapshot;
 
     /**
      * Create a new ObjectProcessor using certain factories
@@ -97,6 +173,26 @@ public class ObjectProcessor {
      * @since 1.0.0
      */
     protected ObjectProcessor(boolean ignoreNulls, boolean ignoreArrayNulls, boolean ignoreEmptyObjects, boolean ignoreDefaults, boolean caseSensitiveEnums, @NotNull Map<JavaType, TypeProcessor> typeProcessors) {
+        this(ignoreNulls, ignoreArrayNulls, ignoreEmptyObjects, ignoreDefaults, caseSensitiveEnums, typeProcessors, Builder.DEFAULT_MAX_DEPTH, 0, ForkJoinPool.commonPool(), false);
+    }
+
+    /**
+     * Create a new ObjectProcessor using certain factories
+     *
+     * @param ignoreNulls        Whether null values should be ignored when serializing maps and objects
+     * @param ignoreArrayNulls   Whether null values should be ignored when serializing lists and arrays
+     * @param ignoreEmptyObjects Whether empty objects (Objects with a size of 0) should be ignored when serializing maps and objects
+     * @param ignoreDefaults     Whether default values should be ignored when serializing maps and objects
+     * @param caseSensitiveEnums Whether checks for enum names should be case-sensitive
+     * @param typeProcessors     A map of object types to type processors
+     * @param maxDepth           The maximum depth of nested objects, maps, collections and arrays that will be mapped
+     * @param parallelThreshold  The minimum amount of items a collection, array or map needs to have to be mapped in parallel, 0 if nothing is mapped in parallel
+     * @param parallelExecutor   The executor large collections, arrays and maps are mapped on
+     * @param snapshot           Whether collections, arrays and maps are read directly instead of being copied first
+     *
+     * @since 2.2.0
+     */
+    protected ObjectProcessor(boolean ignoreNulls, boolean ignoreArrayNulls, boolean ignoreEmptyObjects, boolean ignoreDefaults, boolean caseSensitiveEnums, @NotNull Map<JavaType, TypeProcessor> typeProcessors, int maxDepth, int parallelThreshold, @NotNull Executor parallelExecutor, boolean snapshot) {
         this.ignoreNulls = ignoreNulls;
         this.ignoreArrayNulls = ignoreArrayNulls;
         this.ignoreEmptyObjects = ignoreEmptyObjects;
@@ -104,16 +200,32 @@ public class ObjectProcessor {
 
         this.caseSensitiveEnums = caseSensitiveEnums;
 
-        this.typeProcessors = typeProcessors;
+        this.typeProcessors = Collections.unmodifiableMap(new LinkedHashMap<>(typeProcessors));
+
+        this.maxDepth = maxDepth;
+
+        this.parallelThreshold = parallelThreshold;
+        this.parallelExecutor = parallelExecutor;
+
+        this.snapshot = snapshot;
     }
 
     /**
      * A builder class for creating new {@link ObjectProcessor}s
      *
-     * @version 2.0.0
+     * @version 2.2.0
      * @since 1.0.0
      */
     public static class Builder {
+        /**
+         * The default maximum depth of nested objects, maps, collections and arrays that will be mapped
+         * <p>
+         * Mapping is recursive, so this is kept well below the depth that overflows a default thread stack
+         *
+         * @since 2.2.0
+         */
+        public static final int DEFAULT_MAX_DEPTH = 256;
+
         /**
          * Whether or not null values should be ignored when serializing maps and objects
          * <p>
@@ -175,6 +287,42 @@ public class ObjectProcessor {
          */
         protected @Nullable DefaultTypeProcessors.Options defaultTypeProcessorsOptions = DefaultTypeProcessors.Options.DEFAULT;
 
+        /**
+         * The maximum depth of nested objects, maps, collections and arrays that will be mapped
+         * <p>
+         * Default is {@link #DEFAULT_MAX_DEPTH}
+         *
+         * @since 2.2.0
+         */
+        protected int maxDepth = DEFAULT_MAX_DEPTH;
+
+        /**
+         * The minimum amount of items a collection, array or map needs to have to be mapped in parallel, 0 if nothing is mapped in parallel
+         * <p>
+         * Default is 0
+         *
+         * @since 2.2.0
+         */
+        protected int parallelThreshold = 0;
+
+        /**
+         * The executor large collections, arrays and maps are mapped on, null means the common fork/join pool
+         * <p>
+         * Default is null
+         *
+         * @since 2.2.0
+         */
+        protected @Nullable Executor parallelExecutor = null;
+
+        /**
+         * Whether collections, arrays and maps are read directly instead of being copied first
+         * <p>
+         * Default is false
+         *
+         * @since 2.2.0
+         */
+        protected boolean snapshot = false;
+
         /**
          * Create a new {@link ObjectProcessor} builder
          *
@@ -647,6 +795,146 @@ public class ObjectProcessor {
             return this;
         }
 
+        /**
+         * Get the maximum depth of nested objects, maps, collections and arrays that will be mapped
+         * <p>
+         * Default is {@link #DEFAULT_MAX_DEPTH}
+         *
+         * @return The maximum depth of nested objects, maps, collections and arrays that will be mapped
+         *
+         * @since 2.2.0
+         */
+        public int getMaxDepth() {
+            return this.maxDepth;
+        }
+
+        /**
+         * Set the maximum depth of nested objects, maps, collections and arrays that will be mapped
+         * <p>
+         * Mapping anything nested deeper, including cyclic object graphs, fails with a {@link ProcessorException} instead of overflowing the stack
+         * <p>
+         * Default is {@link #DEFAULT_MAX_DEPTH}
+         *
+         * @param value The maximum depth of nested objects, maps, collections and arrays that will be mapped
+         *
+         * @return Self for chaining
+         *
+         * @throws IllegalArgumentException If the value is not positive
+         * @since 2.2.0
+         */
+        public @NotNull Builder setMaxDepth(int value) {
+            if (value <= 0) {
+                throw new IllegalArgumentException("Max depth must be positive");
+            }
+
+            this.maxDepth = value;
+
+            return this;
+        }
+
+        /**
+         * Get the minimum amount of items a collection, array or map needs to have to be mapped in parallel
+         * <p>
+         * Default is 0
+         *
+         * @return The minimum amount of items a collection, array or map needs to have to be mapped in parallel, 0 if nothing is mapped in parallel
+         *
+         * @since 2.2.0
+         */
+        public int getParallelThreshold() {
+            return this.parallelThreshold;
+        }
+
+        /**
+         * Set the minimum amount of items a collection, array or map needs to have to be mapped in parallel
+         * <p>
+         * Collections, arrays and maps with at least this many items are split into chunks that are mapped on the {@link #setParallelExecutor(Executor) parallel executor}, the order of the items is kept. Only the outermost large value is split, anything nested inside it is mapped on the thread mapping its chunk
+         * <p>
+         * Type processors and the constructors of mapped classes must be thread-safe when this is enabled
+         * <p>
+         * Default is 0
+         *
+         * @param value The minimum amount of items a collection, array or map needs to have to be mapped in parallel, 0 if nothing should be mapped in parallel
+         *
+         * @return Self for chaining
+         *
+         * @throws IllegalArgumentException If the value is negative
+         * @since 2.2.0
+         */
+        public @NotNull Builder setParallelThreshold(int value) {
+            if (value < 0) {
+                throw new IllegalArgumentException("Parallel threshold must not be negative");
+            }
+
+            this.parallelThreshold = value;
+
+            return this;
+        }
+
+        /**
+         * Get the executor large collections, arrays and maps are mapped on
+         * <p>
+         * Default is null
+         *
+         * @return The executor large collections, arrays and maps are mapped on, null means the common fork/join pool
+         *
+         * @since 2.2.0
+         */
+        public @Nullable Executor getParallelExecutor() {
+            return this.parallelExecutor;
+        }
+
+        /**
+         * Set the executor large collections, arrays and maps are mapped on
+         * <p>
+         * Any executor can be used, such as a {@link ForkJoinPool} or {@link java.util.concurrent.Executors#newVirtualThreadPerTaskExecutor()}, the thread mapping the value waits for its chunks so it should not be one of the executor's own threads unless the executor can grow
+         * <p>
+         * Default is null
+         *
+         * @param value The executor large collections, arrays and maps are mapped on, null means the common fork/join pool
+         *
+         * @return Self for chaining
+         *
+         * @since 2.2.0
+         */
+        public @NotNull Builder setParallelExecutor(@Nullable Executor value) {
+            this.parallelExecutor = value;
+
+            return this;
+        }
+
+        /**
+         * Get whether collections, arrays and maps are read directly instead of being copied first
+         * <p>
+         * Default is false
+         *
+         * @return Whether collections, arrays and maps are read directly instead of being copied first
+         *
+         * @since 2.2.0
+         */
+        public boolean getSnapshot() {
+            return this.snapshot;
+        }
+
+        /**
+         * Set whether collections, arrays and maps are read directly instead of being copied first
+         * <p>
+         * By default every collection, array and map is copied before it is mapped so one being modified on another thread can't break mapping it. If the caller guarantees nothing is modified while it is being mapped the copies can be skipped, which saves copying every item of large values. Maps are then read in their own iteration order instead of the order of their copy
+         * <p>
+         * Default is false
+         *
+         * @param value Whether collections, arrays and maps are read directly instead of being copied first
+         *
+         * @return Self for chaining
+         *
+         * @since 2.2.0
+         */
+        public @NotNull Builder setSnapshot(boolean value) {
+            this.snapshot = value;
+
+            return this;
+        }
+
         /**
          * Uses the current settings to build a new {@link ObjectProcessor}
          *
@@ -659,10 +947,116 @@ public class ObjectProcessor {
                 DefaultTypeProcessors.register(this);
             }
 
-            return new ObjectProcessor(this.ignoreNulls, this.ignoreArrayNulls, this.ignoreEmptyObjects, this.ignoreDefaults, this.caseSensitiveEnums, this.typeProcessors);
+            return new ObjectProcessor(this.ignoreNulls, this.ignoreArrayNulls, this.ignoreEmptyObjects, this.ignoreDefaults, this.caseSensitiveEnums, this.typeProcessors, this.maxDepth, this.parallelThreshold, this.parallelExecutor != null ? this.parallelExecutor : ForkJoinPool.commonPool(), this.snapshot);
         }
     }
 
+    /**
+     * Check if a collection, array or map should be mapped in parallel
+     *
+     * @param size The amount of items it has
+     * @param path The path to it
+     *
+     * @return If it is large enough and not nested inside a value that is already being mapped in parallel
+     *
+     * @since 2.2.0
+     */
+    private boolean shouldMapInParallel(int size, @NotNull Path path) {
+        return this.parallelThreshold > 0 && size >= this.parallelThreshold && !path.isForked();
+    }
+
+    /**
+     * Map the items of a collection, array or map in chunks on the parallel executor
+     * <p>
+     * Each chunk is mapped with its own copy of the path, the first failure stops the other chunks from mapping any more items and is rethrown
+     *
+     * @param size   The amount of items
+     * @param path   The path to the collection, array or map
+     * @param mapper The function mapping a single item
+     *
+     * @return The mapped items, in order
+     *
+     * @throws io.github.kale_ko.bjsl.processor.exception.ProcessorException If there is an exception while processing an item
+     * @since 2.2.0
+     */
+    private @Nullable Object @NotNull [] mapInParallel(int size, @NotNull Path path, @NotNull ItemMapper mapper) {
+        Object[] results = new Object[size];
+
+        int chunks = Math.min(size, Runtime.getRuntime().availableProcessors() * 4);
+        int chunkSize = (size + chunks - 1) / chunks;
+
+        AtomicBoolean failed = new AtomicBoolean(false);
+        List<CompletableFuture<Void>> futures = new ArrayList<>(chunks);
+        for (int start = 0; start < size; start += chunkSize) {
+            int from = start;
+            int to = Math.min(start + chunkSize, size);
+            Path subPath = path.fork();
+
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int i = from; i < to && !failed.get(); i++) {
+                    try {
+                        results[i] = mapper.map(i, subPath);
+                    } catch (RuntimeException | Error e) {
+                        failed.set(true);
+                        throw e;
+                    }
+                }
+            }, this.parallelExecutor));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            } else if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+
+        return results;
+    }
+
+    /**
+     * Create an array element from mapped items, skipping the ones that should be ignored
+     *
+     * @param subElements The mapped items
+     *
+     * @return A new array element
+     *
+     * @since 2.2.0
+     */
+    private @NotNull ParsedArray toArrayElement(@Nullable Object @NotNull [] subElements) {
+        ParsedArray arrayElement = ParsedArray.create(subElements.length);
+        for (Object subElement : subElements) {
+            if (!shouldIgnoreElement((ParsedElement) Objects.requireNonNull(subElement))) {
+                arrayElement.add((ParsedElement) subElement);
+            }
+        }
+        return arrayElement;
+    }
+
+    /**
+     * A function mapping a single item of a collection, array or map that is mapped in parallel
+     *
+     * @since 2.2.0
+     */
+    @FunctionalInterface
+    private interface ItemMapper {
+        /**
+         * Map a single item
+         *
+         * @param index The index of the item
+         * @param path  The path to the collection, array or map, owned by the chunk the item is in
+         *
+         * @return The mapped item
+         *
+         * @since 2.2.0
+         */
+        @Nullable Object map(int index, @NotNull Path path);
+    }
+
     /**
      * Helper method to check if an element should be ignored during serialization
      *
@@ -727,24 +1121,68 @@ public class ObjectProcessor {
 
     /**
      * Maps this element into an Object
+     * <p>
+     * The element is only ever read, so frozen elements (see {@link ParsedElement#freeze()}) can be mapped from many threads at once without being copied
      *
      * @param element The element to map
      * @param type    The object type to map to
      *
      * @return A new Object of passed type with the values of element
      *
-     * @throws io.github.kale_ko.bjsl.processor.exception.ProcessorException If there is an exception while processing
+     * @throws io.github.kale_ko.bjsl.processor.exception.ProcessorException If there is an exception while processing or the element is nested too deep
      * @since 1.0.0
      */
-    @SuppressWarnings("unchecked")
     public @Nullable Object toObject(@NotNull ParsedElement element, @NotNull JavaType type) {
+        Path path = new Path(this.maxDepth);
+        try {
+            return this.toObject(element, type, path);
+        } catch (StackOverflowError e) {
+            throw path.overflow(e);
+        }
+    }
+
+    /**
+     * Maps a value nested inside another into an Object
+     *
+     * @param element The element to map
+     * @param type    The object type to map to
+     * @param path    The path to the parent value
+     * @param key     The key of the value in its parent, null if the parent is an array
+     * @param index   The index of the value in its parent
+     *
+     * @return A new Object of passed type with the values of element
+     *
+     * @throws io.github.kale_ko.bjsl.processor.exception.ProcessorException If there is an exception while processing or the value is nested too deep
+     * @since 2.2.0
+     */
+    private @Nullable Object toObject(@NotNull ParsedElement element, @NotNull JavaType type, @NotNull Path path, @Nullable String key, int index) {
+        path.push(key, index);
+        Object object = this.toObject(element, type, path);
+        path.pop();
+        return object;
+    }
+
+    /**
+     * Maps an element into an Object
+     *
+     * @param element The element to map
+     * @param type    The object type to map to
+     * @param path    The path to the element
+     *
+     * @return A new Object of passed type with the values of element
+     *
+     * @throws io.github.kale_ko.bjsl.processor.exception.ProcessorException If there is an exception while processing, reported once with the path to the value that failed
+     * @since 2.2.0
+     */
+    @SuppressWarnings("unchecked")
+    private @Nullable Object toObject(@NotNull ParsedElement element, @NotNull JavaType type, @NotNull Path path) {
         try {
             if (element.isPrimitive() && element.asPrimitive().isNull()) {
                 return null;
             }
 
             {
-                Optional<TypeProcessor> typeProcessor = typeProcessors.entrySet().stream().filter(entry -> TypeUtils.isTypeOrSuperTypeOf(type, entry.getKey())).sorted((entryA, entryB) -> TypeUtils.sortDistance(type, entryA.getKey(), entryB.getKey())).map(Map.Entry::getValue).findFirst();
+                Optional<TypeProcessor> typeProcessor = this.findTypeProcessor(type);
                 if (typeProcessor.isPresent()) {
                     return typeProcessor.get().toObject(element);
                 }
@@ -759,8 +1197,9 @@ public class ObjectProcessor {
                             }
                         }
 
-                        if (BJSL.getLogger() != null) {
-                            BJSL.getLogger().warning("Unknown enum value \"" + element.asPrimitive().asString() + "\" for type \"" + type.getRawClass().getSimpleName() + "\"");
+                        Logger logger = BJSL.getLogger();
+                        if (logger != null) {
+                            logger.warning("Unknown enum value \"" + element.asPrimitive().asString() + "\" for type \"" + type.getRawClass().getSimpleName() + "\"");
                         }
 
                         return null;
@@ -907,8 +1346,9 @@ public class ObjectProcessor {
                             return (boolean) object;
                         }
                     } else {
-                        if (BJSL.getLogger() != null) {
-                            BJSL.getLogger().severe("Something went wrong! Primitive was passed to a non primitive type");
+                        Logger logger = BJSL.getLogger();
+                        if (logger != null) {
+                            logger.severe("Something went wrong! Primitive was passed to a non primitive type");
                         }
 
                         return null;
@@ -925,10 +1365,31 @@ public class ObjectProcessor {
                                 object = InitializationUtil.initialize(LinkedHashMap.class);
                             }
 
-                            for (Map.Entry<String, ParsedElement> entry : element.asObject().getEntries()) {
-                                Object subObject = toObject(entry.getValue(), type.getContentType());
+                            if (this.shouldMapInParallel(parsedObject.getSize(), path)) {
+                                String[] keys = new String[parsedObject.getSize()];
+                                ParsedElement[] subElements = new ParsedElement[parsedObject.getSize()];
+
+                                ElementCursor cursor = new ElementCursor(element);
+                                while (cursor.nextChild()) {
+                                    keys[cursor.getIndex()] = cursor.getKey();
+                                    subElements[cursor.getIndex()] = cursor.getElement();
+                                }
+
+                                Object[] subObjects = this.mapInParallel(subElements.length, path, (index, subPath) -> toObject(subElements[index], type.getContentType(), subPath, keys[index], index));
+                                for (int i = 0; i < subObjects.length; i++) {
+                                    if (!shouldIgnoreObject(subObjects[i], false)) {
+                                        object.put(toObject(ParsedPrimitive.fromString(keys[i]), type.getKeyType(), path), subObjects[i]);
+                                    }
+                                }
+
+                                return object;
+                            }
+
+                            ElementCursor cursor = new ElementCursor(element);
+                            while (cursor.nextChild()) {
+                                Object subObject = toObject(cursor.getElement(), type.getContentType(), path, cursor.getKey(), cursor.getIndex());
                                 if (!shouldIgnoreObject(subObject, false)) {
-                                    object.put(toObject(ParsedPrimitive.fromString(entry.getKey()), type.getKeyType()), subObject);
+                                    object.put(toObject(ParsedPrimitive.fromString(Objects.requireNonNull(cursor.getKey())), type.getKeyType(), path), subObject);
                                 }
                             }
 
@@ -957,7 +1418,7 @@ public class ObjectProcessor {
                                     }
 
                                     if (shouldSerialize && element.asObject().has(subKey)) {
-                                        Object subObject = toObject(element.asObject().get(subKey), field.getGenericType());
+                                        Object subObject = toObject(element.asObject().get(subKey), TypeFactory.defaultInstance().constructType(field.getGenericType()), path, subKey, -1);
 
                                         if (expect) {
                                             for (Annotation annotation : field.getDeclaredAnnotations()) {
@@ -1034,8 +1495,21 @@ public class ObjectProcessor {
                                 object = InitializationUtil.initialize(LinkedList.class);
                             }
 
-                            for (ParsedElement subElement : element.asArray().getValues()) {
-                                Object subObject = toObject(subElement, type.getContentType());
+                            if (this.shouldMapInParallel(parsedArray.getSize(), path)) {
+                                Object[] subObjects = this.mapInParallel(parsedArray.getSize(), path, (index, subPath) -> toObject(parsedArray.get(index), type.getContentType(), subPath, null, index));
+                                for (Object subObject : subObjects) {
+                                    if (!shouldIgnoreObject(subObject, true)) {
+                                        object.add(subObject);
+                                    }
+                                }
+
+                                return object;
+                            }
+
+                            ElementCursor cursor = new ElementCursor(element);
+                            while (cursor.nextChild()) {
+                                ParsedElement subElement = cursor.getElement();
+                                Object subObject = toObject(subElement, type.getContentType(), path, null, cursor.getIndex());
                                 if (!shouldIgnoreObject(subObject, true)) {
                                     object.add(subObject);
                                 }
@@ -1047,8 +1521,10 @@ public class ObjectProcessor {
                                 byte[] array = (byte[]) InitializationUtil.initializePrimitiveArray(byte.class, element.asArray().getSize());
 
                                 int i = 0;
-                                for (ParsedElement subElement : element.asArray().getValues()) {
-                                    Object subObject = toObject(subElement, byte.class);
+                                ElementCursor cursor = new ElementCursor(element);
+                                while (cursor.nextChild()) {
+                                    ParsedElement subElement = cursor.getElement();
+                                    Object subObject = toObject(subElement, TypeFactory.defaultInstance().constructType(byte.class), path, null, cursor.getIndex());
                                     array[i] = (byte) (subObject != null ? subObject : 0);
 
                                     i++;
@@ -1059,8 +1535,10 @@ public class ObjectProcessor {
                                 char[] array = (char[]) InitializationUtil.initializePrimitiveArray(char.class, element.asArray().getSize());
 
                                 int i = 0;
-                                for (ParsedElement subElement : element.asArray().getValues()) {
-                                    Object subObject = toObject(subElement, char.class);
+                                ElementCursor cursor = new ElementCursor(element);
+                                while (cursor.nextChild()) {
+                                    ParsedElement subElement = cursor.getElement();
+                                    Object subObject = toObject(subElement, TypeFactory.defaultInstance().constructType(char.class), path, null, cursor.getIndex());
                                     array[i] = (char) (subObject != null ? subObject : 0);
 
                                     i++;
@@ -1071,8 +1549,10 @@ public class ObjectProcessor {
                                 short[] array = (short[]) InitializationUtil.initializePrimitiveArray(short.class, element.asArray().getSize());
 
                                 int i = 0;
-                                for (ParsedElement subElement : element.asArray().getValues()) {
-                                    Object subObject = toObject(subElement, short.class);
+                                ElementCursor cursor = new ElementCursor(element);
+                                while (cursor.nextChild()) {
+                                    ParsedElement subElement = cursor.getElement();
+                                    Object subObject = toObject(subElement, TypeFactory.defaultInstance().constructType(short.class), path, null, cursor.getIndex());
                                     array[i] = (short) (subObject != null ? subObject : 0);
 
                                     i++;
@@ -1083,8 +1563,10 @@ public class ObjectProcessor {
                                 int[] array = (int[]) InitializationUtil.initializePrimitiveArray(int.class, element.asArray().getSize());
 
                                 int i = 0;
-                                for (ParsedElement subElement : element.asArray().getValues()) {
-                                    Object subObject = toObject(subElement, int.class);
+                                ElementCursor cursor = new ElementCursor(element);
+                                while (cursor.nextChild()) {
+                                    ParsedElement subElement = cursor.getElement();
+                                    Object subObject = toObject(subElement, TypeFactory.defaultInstance().constructType(int.class), path, null, cursor.getIndex());
                                     array[i] = (int) (subObject != null ? subObject : 0);
 
                                     i++;
@@ -1095,8 +1577,10 @@ public class ObjectProcessor {
                                 long[] array = (long[]) InitializationUtil.initializePrimitiveArray(long.class, element.asArray().getSize());
 
                                 int i = 0;
-                                for (ParsedElement subElement : element.asArray().getValues()) {
-                                    Object subObject = toObject(subElement, long.class);
+                                ElementCursor cursor = new ElementCursor(element);
+                                while (cursor.nextChild()) {
+                                    ParsedElement subElement = cursor.getElement();
+                                    Object subObject = toObject(subElement, TypeFactory.defaultInstance().constructType(long.class), path, null, cursor.getIndex());
                                     array[i] = (long) (subObject != null ? subObject : 0L);
 
                                     i++;
@@ -1107,8 +1591,10 @@ public class ObjectProcessor {
                                 float[] array = (float[]) InitializationUtil.initializePrimitiveArray(float.class, element.asArray().getSize());
 
                                 int i = 0;
-                                for (ParsedElement subElement : element.asArray().getValues()) {
-                                    Object subObject = toObject(subElement, float.class);
+                                ElementCursor cursor = new ElementCursor(element);
+                                while (cursor.nextChild()) {
+                                    ParsedElement subElement = cursor.getElement();
+                                    Object subObject = toObject(subElement, TypeFactory.defaultInstance().constructType(float.class), path, null, cursor.getIndex());
                                     array[i] = (float) (subObject != null ? subObject : 0.0f);
 
                                     i++;
@@ -1119,8 +1605,10 @@ public class ObjectProcessor {
                                 double[] array = (double[]) InitializationUtil.initializePrimitiveArray(double.class, element.asArray().getSize());
 
                                 int i = 0;
-                                for (ParsedElement subElement : element.asArray().getValues()) {
-                                    Object subObject = toObject(subElement, double.class);
+                                ElementCursor cursor = new ElementCursor(element);
+                                while (cursor.nextChild()) {
+                                    ParsedElement subElement = cursor.getElement();
+                                    Object subObject = toObject(subElement, TypeFactory.defaultInstance().constructType(double.class), path, null, cursor.getIndex());
                                     array[i] = (double) (subObject != null ? subObject : 0.0d);
 
                                     i++;
@@ -1131,13 +1619,38 @@ public class ObjectProcessor {
                                 boolean[] array = (boolean[]) InitializationUtil.initializePrimitiveArray(boolean.class, element.asArray().getSize());
 
                                 int i = 0;
-                                for (ParsedElement subElement : element.asArray().getValues()) {
-                                    Object subObject = toObject(subElement, boolean.class);
+                                ElementCursor cursor = new ElementCursor(element);
+                                while (cursor.nextChild()) {
+                                    ParsedElement subElement = cursor.getElement();
+                                    Object subObject = toObject(subElement, TypeFactory.defaultInstance().constructType(boolean.class), path, null, cursor.getIndex());
                                     array[i] = (boolean) (subObject != null ? subObject : false);
 
                                     i++;
                                 }
 
+                                return array;
+                            } else if (this.shouldMapInParallel(parsedArray.getSize(), path)) {
+                                JavaType contentType = TypeFactory.defaultInstance().constructSimpleType(type.getContentType().getRawClass(), new JavaType[] { });
+                                Object[] subObjects = this.mapInParallel(parsedArray.getSize(), path, (index, subPath) -> toObject(parsedArray.get(index), contentType, subPath, null, index));
+
+                                int size = 0;
+                                for (Object subObject : subObjects) {
+                                    if (!shouldIgnoreObject(subObject, true)) {
+                                        size++;
+                                    }
+                                }
+
+                                Object[] array = InitializationUtil.initializeArray(type.getContentType().getRawClass(), size);
+
+                                int i = 0;
+                                for (Object subObject : subObjects) {
+                                    if (!shouldIgnoreObject(subObject, true)) {
+                                        array[i] = subObject;
+
+                                        i++;
+                                    }
+                                }
+
                                 return array;
                             } else {
                                 int size = element.asArray().getSize();
@@ -1145,8 +1658,10 @@ public class ObjectProcessor {
                                 if (ignoreArrayNulls || ignoreEmptyObjects) {
                                     size = 0;
 
-                                    for (ParsedElement subElement : element.asArray().getValues()) {
-                                        Object subObject = toObject(subElement, type.getContentType().getRawClass());
+                                    ElementCursor cursor = new ElementCursor(element);
+                                    while (cursor.nextChild()) {
+                                        ParsedElement subElement = cursor.getElement();
+                                        Object subObject = toObject(subElement, TypeFactory.defaultInstance().constructSimpleType(type.getContentType().getRawClass(), new JavaType[] { }), path, null, cursor.getIndex());
                                         if (!shouldIgnoreObject(subObject, true)) {
                                             size++;
                                         }
@@ -1156,8 +1671,10 @@ public class ObjectProcessor {
                                 Object[] array = InitializationUtil.initializeArray(type.getContentType().getRawClass(), size);
 
                                 int i = 0;
-                                for (ParsedElement subElement : element.asArray().getValues()) {
-                                    Object subObject = toObject(subElement, type.getContentType().getRawClass());
+                                ElementCursor cursor = new ElementCursor(element);
+                                while (cursor.nextChild()) {
+                                    ParsedElement subElement = cursor.getElement();
+                                    Object subObject = toObject(subElement, TypeFactory.defaultInstance().constructSimpleType(type.getContentType().getRawClass(), new JavaType[] { }), path, null, cursor.getIndex());
                                     if (!shouldIgnoreObject(subObject, true)) {
                                         array[i] = subObject;
 
@@ -1178,8 +1695,10 @@ public class ObjectProcessor {
             } else {
                 throw new InvalidTypeException(type.getRawClass());
             }
+        } catch (ProcessorException e) {
+            throw e;
         } catch (Exception e) {
-            throw new ProcessorException(e);
+            throw new ProcessorException(e, path.toString());
         }
     }
 
@@ -1190,10 +1709,50 @@ public class ObjectProcessor {
      *
      * @return A new {@link io.github.kale_ko.bjsl.elements.ParsedElement} with the values of object
      *
-     * @throws io.github.kale_ko.bjsl.processor.exception.ProcessorException If there is an exception while processing
+     * @throws io.github.kale_ko.bjsl.processor.exception.ProcessorException If there is an exception while processing or the object is nested too deep
      * @since 1.0.0
      */
     public @NotNull ParsedElement toElement(@Nullable Object object) {
+        Path path = new Path(this.maxDepth);
+        try {
+            return this.toElement(object, path);
+        } catch (StackOverflowError e) {
+            throw path.overflow(e);
+        }
+    }
+
+    /**
+     * Maps an Object nested inside another into a {@link io.github.kale_ko.bjsl.elements.ParsedElement}
+     *
+     * @param object The object to map
+     * @param path   The path to the parent object
+     * @param key    The key of the object in its parent, null if the parent is an array or collection
+     * @param index  The index of the object in its parent
+     *
+     * @return A new {@link io.github.kale_ko.bjsl.elements.ParsedElement} with the values of object
+     *
+     * @throws io.github.kale_ko.bjsl.processor.exception.ProcessorException If there is an exception while processing or the object is nested too deep
+     * @since 2.2.0
+     */
+    private @NotNull ParsedElement toElement(@Nullable Object object, @NotNull Path path, @Nullable String key, int index) {
+        path.push(key, index);
+        ParsedElement element = this.toElement(object, path);
+        path.pop();
+        return element;
+    }
+
+    /**
+     * Maps an Object into a {@link io.github.kale_ko.bjsl.elements.ParsedElement}
+     *
+     * @param object The object to map
+     * @param path   The path to the object
+     *
+     * @return A new {@link io.github.kale_ko.bjsl.elements.ParsedElement} with the values of object
+     *
+     * @throws io.github.kale_ko.bjsl.processor.exception.ProcessorException If there is an exception while processing, reported once with the path to the object that failed
+     * @since 2.2.0
+     */
+    private @NotNull ParsedElement toElement(@Nullable Object object, @NotNull Path path) {
         try {
             if (object == null) {
                 return ParsedPrimitive.fromNull();
@@ -1202,7 +1761,7 @@ public class ObjectProcessor {
             try {
                 JavaType type = TypeFactory.defaultInstance().constructSimpleType(object.getClass(), new JavaType[] { });
 
-                Optional<TypeProcessor> typeProcessor = typeProcessors.entrySet().stream().filter(entry -> TypeUtils.isTypeOrSuperTypeOf(type, entry.getKey())).sorted((entryA, entryB) -> TypeUtils.sortDistance(type, entryA.getKey(), entryB.getKey())).map(Map.Entry::getValue).findFirst();
+                Optional<TypeProcessor> typeProcessor = this.findTypeProcessor(type);
                 if (typeProcessor.isPresent()) {
                     return typeProcessor.get().toElement(object);
                 }
@@ -1223,8 +1782,8 @@ public class ObjectProcessor {
                 case byte[] bytes -> {
                     ParsedArray arrayElement = ParsedArray.create();
 
-                    for (byte item : Arrays.copyOf(bytes, bytes.length)) {
-                        ParsedElement subElement = toElement(item);
+                    for (byte item : this.snapshot ? bytes : Arrays.copyOf(bytes, bytes.length)) {
+                        ParsedElement subElement = toElement(item, path);
                         if (!shouldIgnoreElement(subElement)) {
                             arrayElement.add(subElement);
                         }
@@ -1235,8 +1794,8 @@ public class ObjectProcessor {
                 case char[] chars -> {
                     ParsedArray arrayElement = ParsedArray.create();
 
-                    for (char item : Arrays.copyOf(chars, chars.length)) {
-                        ParsedElement subElement = toElement(item);
+                    for (char item : this.snapshot ? chars : Arrays.copyOf(chars, chars.length)) {
+                        ParsedElement subElement = toElement(item, path);
                         if (!shouldIgnoreElement(subElement)) {
                             arrayElement.add(subElement);
                         }
@@ -1247,8 +1806,8 @@ public class ObjectProcessor {
                 case short[] shorts -> {
                     ParsedArray arrayElement = ParsedArray.create();
 
-                    for (short item : Arrays.copyOf(shorts, shorts.length)) {
-                        ParsedElement subElement = toElement(item);
+                    for (short item : this.snapshot ? shorts : Arrays.copyOf(shorts, shorts.length)) {
+                        ParsedElement subElement = toElement(item, path);
                         if (!shouldIgnoreElement(subElement)) {
                             arrayElement.add(subElement);
                         }
@@ -1259,8 +1818,8 @@ public class ObjectProcessor {
                 case int[] integers -> {
                     ParsedArray arrayElement = ParsedArray.create();
 
-                    for (int item : Arrays.copyOf(integers, integers.length)) {
-                        ParsedElement subElement = toElement(item);
+                    for (int item : this.snapshot ? integers : Arrays.copyOf(integers, integers.length)) {
+                        ParsedElement subElement = toElement(item, path);
                         if (!shouldIgnoreElement(subElement)) {
                             arrayElement.add(subElement);
                         }
@@ -1271,8 +1830,8 @@ public class ObjectProcessor {
                 case long[] longs -> {
                     ParsedArray arrayElement = ParsedArray.create();
 
-                    for (long item : Arrays.copyOf(longs, longs.length)) {
-                        ParsedElement subElement = toElement(item);
+                    for (long item : this.snapshot ? longs : Arrays.copyOf(longs, longs.length)) {
+                        ParsedElement subElement = toElement(item, path);
                         if (!shouldIgnoreElement(subElement)) {
                             arrayElement.add(subElement);
                         }
@@ -1283,8 +1842,8 @@ public class ObjectProcessor {
                 case float[] floats -> {
                     ParsedArray arrayElement = ParsedArray.create();
 
-                    for (float item : Arrays.copyOf(floats, floats.length)) {
-                        ParsedElement subElement = toElement(item);
+                    for (float item : this.snapshot ? floats : Arrays.copyOf(floats, floats.length)) {
+                        ParsedElement subElement = toElement(item, path);
                         if (!shouldIgnoreElement(subElement)) {
                             arrayElement.add(subElement);
                         }
@@ -1295,8 +1854,8 @@ public class ObjectProcessor {
                 case double[] doubles -> {
                     ParsedArray arrayElement = ParsedArray.create();
 
-                    for (double item : Arrays.copyOf(doubles, doubles.length)) {
-                        ParsedElement subElement = toElement(item);
+                    for (double item : this.snapshot ? doubles : Arrays.copyOf(doubles, doubles.length)) {
+                        ParsedElement subElement = toElement(item, path);
                         if (!shouldIgnoreElement(subElement)) {
                             arrayElement.add(subElement);
                         }
@@ -1307,8 +1866,8 @@ public class ObjectProcessor {
                 case boolean[] booleans -> {
                     ParsedArray arrayElement = ParsedArray.create();
 
-                    for (boolean item : Arrays.copyOf(booleans, booleans.length)) {
-                        ParsedElement subElement = toElement(item);
+                    for (boolean item : this.snapshot ? booleans : Arrays.copyOf(booleans, booleans.length)) {
+                        ParsedElement subElement = toElement(item, path);
                         if (!shouldIgnoreElement(subElement)) {
                             arrayElement.add(subElement);
                         }
@@ -1317,10 +1876,16 @@ public class ObjectProcessor {
                     return arrayElement;
                 }
                 case Object[] objects -> {
+                    if (this.shouldMapInParallel(objects.length, path)) {
+                        Object[] items = this.snapshot ? objects : Arrays.copyOf(objects, objects.length);
+                        return this.toArrayElement(this.mapInParallel(items.length, path, (index, subPath) -> toElement(items[index], subPath, null, index)));
+                    }
+
                     ParsedArray arrayElement = ParsedArray.create();
 
-                    for (Object item : Arrays.copyOf(objects, objects.length)) {
-                        ParsedElement subElement = toElement(item);
+                    int index = 0;
+                    for (Object item : this.snapshot ? objects : Arrays.copyOf(objects, objects.length)) {
+                        ParsedElement subElement = toElement(item, path, null, index++);
                         if (!shouldIgnoreElement(subElement)) {
                             arrayElement.add(subElement);
                         }
@@ -1329,10 +1894,20 @@ public class ObjectProcessor {
                     return arrayElement;
                 }
                 case Collection<?> objects -> {
+                    if (this.shouldMapInParallel(objects.size(), path)) {
+                        if (this.snapshot && objects instanceof List<?> list && list instanceof RandomAccess) {
+                            return this.toArrayElement(this.mapInParallel(list.size(), path, (index, subPath) -> toElement(list.get(index), subPath, null, index)));
+                        }
+
+                        Object[] items = objects.toArray();
+                        return this.toArrayElement(this.mapInParallel(items.length, path, (index, subPath) -> toElement(items[index], subPath, null, index)));
+                    }
+
                     ParsedArray arrayElement = ParsedArray.create();
 
-                    for (Object item : List.copyOf(objects)) {
-                        ParsedElement subElement = toElement(item);
+                    int index = 0;
+                    for (Object item : this.snapshot ? objects : Arrays.asList(objects.toArray())) {
+                        ParsedElement subElement = toElement(item, path, null, index++);
                         if (!shouldIgnoreElement(subElement)) {
                             arrayElement.add(subElement);
                         }
@@ -1341,10 +1916,24 @@ public class ObjectProcessor {
                     return arrayElement;
                 }
                 case Map<?, ?> map -> {
+                    if (this.shouldMapInParallel(map.size(), path)) {
+                        Map.Entry<?, ?>[] entries = (this.snapshot ? map : Map.copyOf(map)).entrySet().toArray(new Map.Entry<?, ?>[0]);
+                        Object[] subElements = this.mapInParallel(entries.length, path, (index, subPath) -> toElement(entries[index].getValue(), subPath, String.valueOf(entries[index].getKey()), -1));
+
+                        ParsedObject objectElement = ParsedObject.create(entries.length);
+                        for (int i = 0; i < entries.length; i++) {
+                            if (!shouldIgnoreElement((ParsedElement) subElements[i])) {
+                                objectElement.set(toString(entries[i].getKey()), (ParsedElement) subElements[i]);
+                            }
+                        }
+
+                        return objectElement;
+                    }
+
                     ParsedObject objectElement = ParsedObject.create();
 
-                    for (Map.Entry<?, ?> entry : Map.copyOf(map).entrySet()) {
-                        ParsedElement subElement = toElement(entry.getValue());
+                    for (Map.Entry<?, ?> entry : (this.snapshot ? map : Map.copyOf(map)).entrySet()) {
+                        ParsedElement subElement = toElement(entry.getValue(), path, String.valueOf(entry.getKey()), -1);
                         if (!shouldIgnoreElement(subElement)) {
                             objectElement.set(toString(entry.getKey()), subElement);
                         }
@@ -1360,13 +1949,14 @@ public class ObjectProcessor {
                         try {
                             defaultObject = InitializationUtil.initialize(object.getClass());
                         } catch (InitializationException e) {
-                            if (BJSL.getLogger() != null) {
-                                BJSL.getLogger().warning("Initialization of " + object.getClass().getSimpleName() + " failed, defaults will not be ignored");
+                            Logger logger = BJSL.getLogger();
+                            if (logger != null) {
+                                logger.warning("Initialization of " + object.getClass().getSimpleName() + " failed, defaults will not be ignored");
 
                                 StringWriter stringWriter = new StringWriter();
                                 PrintWriter writer = new PrintWriter(stringWriter);
                                 e.printStackTrace(writer);
-                                BJSL.getLogger().warning(stringWriter.toString());
+                                logger.warning(stringWriter.toString());
                             }
                         }
                     }
@@ -1377,7 +1967,7 @@ public class ObjectProcessor {
                             boolean shouldSerialize = !(Modifier.isTransient(field.getModifiers()) || field.getName().startsWith("this$"));
 
                             String subKey = field.getName();
-                            ParsedElement subElement = toElement(field.get(object));
+                            ParsedElement subElement = toElement(field.get(object), path, subKey, -1);
 
                             if (shouldIgnoreElement(subElement)) {
                                 shouldSerialize = false;
@@ -1406,8 +1996,10 @@ public class ObjectProcessor {
                     return objectElement;
                 }
             }
+        } catch (ProcessorException e) {
+            throw e;
         } catch (Exception e) {
-            throw new ProcessorException(e);
+            throw new ProcessorException(e, path.toString());
         }
     }
 
@@ -1440,8 +2032,143 @@ public class ObjectProcessor {
     }
 
 
+    /**
+     * Get a projection selecting only the parts of an element that would be mapped into an Object
+     * <p>
+     * Calls {@link #getProjection(JavaType)}
+     *
+     * @param clazz The object type to map to
+     *
+     * @return A projection for the type
+     *
+     * @since 2.2.0
+     */
+    public @NotNull Projection getProjection(@NotNull Class<?> clazz) {
+        return getProjection(TypeFactory.defaultInstance().constructSimpleType(clazz, new JavaType[] { }));
+    }
+
+    /**
+     * Get a projection selecting only the parts of an element that would be mapped into an Object
+     * <p>
+     * Calls {@link #getProjection(JavaType)}
+     *
+     * @param type The object type to map to
+     *
+     * @return A projection for the type
+     *
+     * @since 2.2.0
+     */
+    public @NotNull Projection getProjection(@NotNull Type type) {
+        return getProjection(TypeFactory.defaultInstance().constructType(type));
+    }
+
+    /**
+     * Get a projection selecting only the parts of an element that would be mapped into an Object
+     * <p>
+     * The projection can be passed to {@link io.github.kale_ko.bjsl.parsers.Parser#toElement(byte[], Projection)} so keys that are not mapped to a field are skipped while parsing
+     * <p>
+     * Values mapped by a type processor, primitives, enums, interfaces and recursive types are always selected whole
+     *
+     * @param type The object type to map to
+     *
+     * @return A projection for the type
+     *
+     * @since 2.2.0
+     */
+    public @NotNull Projection getProjection(@NotNull JavaType type) {
+        List<String> pointers = new ArrayList<>();
+        collectProjection(type, "", pointers, new HashSet<>());
+        return Projection.of(pointers);
+    }
+
+    /**
+     * Collect the pointers of the parts of an element that would be mapped into an Object
+     *
+     * @param type     The object type to map to
+     * @param pointer  The pointer of the element
+     * @param pointers The pointers collected so far
+     * @param visiting The types currently being collected, used to detect recursive types
+     *
+     * @since 2.2.0
+     */
+    protected void collectProjection(@NotNull JavaType type, @NotNull String pointer, @NotNull List<String> pointers, @NotNull Set<JavaType> visiting) {
+        Class<?> clazz = type.getRawClass();
+
+        boolean hasTypeProcessor = this.findTypeProcessor(type).isPresent();
+        if (hasTypeProcessor || clazz.isPrimitive() || clazz.isEnum() || clazz == Object.class || clazz == String.class || clazz == Character.class || clazz == Boolean.class || Number.class.isAssignableFrom(clazz) || ParsedElement.class.isAssignableFrom(clazz) || visiting.contains(type)) {
+            pointers.add(pointer);
+            return;
+        }
+
+        if (type instanceof MapType || type instanceof CollectionType || type instanceof ArrayType) {
+            collectProjection(type.getContentType(), pointer + "/" + Projection.WILDCARD, pointers, visiting);
+            return;
+        }
+
+        if (clazz.isInterface() || clazz.isAnonymousClass() || clazz.isAnnotation()) {
+            pointers.add(pointer);
+            return;
+        }
+
+        int size = pointers.size();
+
+        visiting.add(type);
+        for (Field field : getFields(clazz)) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                boolean shouldSerialize = !(Modifier.isTransient(field.getModifiers()) || field.getName().startsWith("this$"));
+
+                String subKey = field.getName();
+
+                for (Annotation annotation : field.getDeclaredAnnotations()) {
+                    if (annotation.annotationType() == AlwaysSerialize.class) {
+                        shouldSerialize = true;
+                    } else if (annotation.annotationType() == NeverSerialize.class) {
+                        shouldSerialize = false;
+                    } else if (annotation.annotationType() == Rename.class) {
+                        subKey = ((Rename) annotation).value();
+                    }
+                }
+
+                if (shouldSerialize) {
+                    collectProjection(TypeFactory.defaultInstance().constructType(field.getGenericType()), pointer + "/" + Projection.escape(subKey), pointers, visiting);
+                }
+            }
+        }
+        visiting.remove(type);
+
+        if (pointers.size() == size) {
+            pointers.add(pointer);
+        }
+    }
+
+    /**
+     * Find the type processor for a type or its closest supertype
+     * <p>
+     * Lookups are cached per type, so after the first lookup of a type this is a single read of a {@link ConcurrentHashMap} without locking
+     *
+     * @param type The type to find a type processor for
+     *
+     * @return The type processor, or empty if there is none
+     *
+     * @since 2.2.0
+     */
+    protected @NotNull Optional<TypeProcessor> findTypeProcessor(@NotNull JavaType type) {
+        Optional<TypeProcessor> typeProcessor = this.typeProcessorCache.get(type);
+        if (typeProcessor == null) {
+            typeProcessor = typeProcessors.entrySet().stream().filter(entry -> TypeUtils.isTypeOrSuperTypeOf(type, entry.getKey())).sorted((entryA, entryB) -> TypeUtils.sortDistance(type, entryA.getKey(), entryB.getKey())).map(Map.Entry::getValue).findFirst();
+
+            Optional<TypeProcessor> existing = this.typeProcessorCache.putIfAbsent(type, typeProcessor);
+            if (existing != null) {
+                typeProcessor = existing;
+            }
+        }
+        return typeProcessor;
+    }
+
     /**
      * Get all the fields on a class and its superclasses
+     * <p>
+     * The fields of each class are only collected once and then shared by every thread
      *
      * @param clazz The class to get the fields of
      * @param <T>   The class to get the fields of
@@ -1450,24 +2177,154 @@ public class ObjectProcessor {
      *
      * @since 1.0.0
      */
-    protected static <T> @NotNull List<Field> getFields(@NotNull Class<T> clazz) {
-        Set<String> fieldNames = new HashSet<>();
-        List<Field> fields = new ArrayList<>(Arrays.asList(clazz.getDeclaredFields()));
+    protected static <T> @NotNull @Unmodifiable List<Field> getFields(@NotNull Class<T> clazz) {
+        return FIELDS.get(clazz);
+    }
+
+    /**
+     * The path to the value being mapped, used for limiting the depth and for reporting failures
+     *
+     * @since 2.2.0
+     */
+    private static final class Path {
+        /**
+         * The maximum depth
+         *
+         * @since 2.2.0
+         */
+        private final int maxDepth;
 
-        Class<?> superClazz = clazz.getSuperclass();
-        if (superClazz != null && superClazz != Object.class) {
-            List<Field> superFields = getFields(superClazz);
+        /**
+         * The keys of the values along the path, null for items of arrays and collections
+         *
+         * @since 2.2.0
+         */
+        private @Nullable String @NotNull [] keys = new String[16];
 
-            for (Field superField : superFields) {
-                boolean overwritten = fieldNames.contains(superField.getName());
+        /**
+         * The indexes of the values along the path
+         *
+         * @since 2.2.0
+         */
+        private int @NotNull [] indexes = new int[16];
 
-                if (!(overwritten || Modifier.isTransient(superField.getModifiers()))) {
-                    fieldNames.add(superField.getName());
-                    fields.add(superField);
-                }
+        /**
+         * The current depth
+         *
+         * @since 2.2.0
+         */
+        private int depth = 0;
+
+        /**
+         * Whether this path belongs to a chunk of a value that is being mapped in parallel
+         *
+         * @since 2.2.0
+         */
+        private boolean forked = false;
+
+        /**
+         * Create a new empty {@link Path}
+         *
+         * @param maxDepth The maximum depth
+         *
+         * @since 2.2.0
+         */
+        Path(int maxDepth) {
+            this.maxDepth = maxDepth;
+        }
+
+        /**
+         * Create a copy of this path for a chunk of a value that is being mapped in parallel
+         *
+         * @return A forked copy of this path
+         *
+         * @since 2.2.0
+         */
+        @NotNull Path fork() {
+            Path path = new Path(this.maxDepth);
+            path.keys = Arrays.copyOf(this.keys, this.keys.length);
+            path.indexes = Arrays.copyOf(this.indexes, this.indexes.length);
+            path.depth = this.depth;
+            path.forked = true;
+            return path;
+        }
+
+        /**
+         * Check if this path belongs to a chunk of a value that is being mapped in parallel
+         *
+         * @return If this path is forked
+         *
+         * @since 2.2.0
+         */
+        boolean isForked() {
+            return this.forked;
+        }
+
+        /**
+         * Descend into a nested value
+         *
+         * @param key   The key of the value, null if it is an item of an array or collection
+         * @param index The index of the value
+         *
+         * @throws ProcessorException If the maximum depth is exceeded
+         * @since 2.2.0
+         */
+        void push(@Nullable String key, int index) {
+            if (this.depth == this.keys.length) {
+                this.keys = Arrays.copyOf(this.keys, this.depth * 2);
+                this.indexes = Arrays.copyOf(this.indexes, this.depth * 2);
             }
+
+            this.keys[this.depth] = key;
+            this.indexes[this.depth] = index;
+            this.depth++;
+
+            if (this.depth > this.maxDepth) {
+                throw new ProcessorException(new IllegalStateException("Maximum depth of " + this.maxDepth + " exceeded"), this.toString());
+            }
+        }
+
+        /**
+         * Create the exception to report running out of stack before the maximum depth was reached
+         *
+         * @param error The stack overflow
+         *
+         * @return A {@link ProcessorException} with the path to the value that was being mapped
+         *
+         * @since 2.2.0
+         */
+        @NotNull ProcessorException overflow(@NotNull StackOverflowError error) {
+            return new ProcessorException(new IllegalStateException("Stack overflow at depth " + this.depth + ", lower the maximum depth", error), this.toString());
         }
 
-        return fields;
+        /**
+         * Ascend out of the current value
+         *
+         * @since 2.2.0
+         */
+        void pop() {
+            this.keys[--this.depth] = null;
+        }
+
+        /**
+         * Get the path as a JSON Pointer
+         *
+         * @return The path as a JSON Pointer
+         *
+         * @since 2.2.0
+         */
+        @Override
+        public @NotNull String toString() {
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < this.depth; i++) {
+                builder.append('/');
+                if (this.keys[i] != null) {
+                    builder.append(Projection.escape(this.keys[i]));
+                } else {
+                    builder.append(this.indexes[i]);
+                }
+            }
+            return builder.toString();
+        }
     }
-}
\ No newline at end of file
+}
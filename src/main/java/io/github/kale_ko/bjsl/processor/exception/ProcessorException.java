@@ -1,14 +1,22 @@
 package io.github.kale_ko.bjsl.processor.exception;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Thrown when an exception occurs during processing
  *
- * @version 1.7.0
+ * @version 2.2.0
  * @since 1.7.0
  */
 public class ProcessorException extends RuntimeException {
+    /**
+     * The JSON Pointer to the value that failed, null if unknown
+     *
+     * @since 2.2.0
+     */
+    private final @Nullable String path;
+
     /**
      * Create a new ProcessorException
      *
@@ -16,5 +24,32 @@ public class ProcessorException extends RuntimeException {
      */
     public ProcessorException(@NotNull Exception cause) {
         super("Error while processing:", cause);
+
+        this.path = null;
+    }
+
+    /**
+     * Create a new ProcessorException
+     *
+     * @param cause The cause of the exception
+     * @param path  The JSON Pointer to the value that failed
+     *
+     * @since 2.2.0
+     */
+    public ProcessorException(@NotNull Exception cause, @NotNull String path) {
+        super("Error while processing \"" + path + "\":", cause);
+
+        this.path = path;
+    }
+
+    /**
+     * Get the JSON Pointer to the value that failed
+     *
+     * @return The JSON Pointer to the value that failed, empty for the root, null if unknown
+     *
+     * @since 2.2.0
+     */
+    public @Nullable String getPath() {
+        return this.path;
     }
 }
\ No newline at end of file
@@ -10,7 +10,7 @@ import org.jetbrains.annotations.NotNull;
 /**
  * A utility class for initializing objects and arrays from a class type
  *
- * @version 2.0.0
+ * @version 2.2.0
  * @since 1.7.0
  */
 @SuppressWarnings("unchecked")
@@ -18,7 +18,7 @@ public final class InitializationUtil {
     private InitializationUtil() {
     }
 
-    private static boolean allowInitializingNonStaticMemberParents = false;
+    private static volatile boolean allowInitializingNonStaticMemberParents = false;
 
     /**
      * Allow initializing non-static member parents
@@ -0,0 +1,227 @@
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.core.util.RecyclerPool;
+import io.github.kale_ko.bjsl.BJSL;
+import io.github.kale_ko.bjsl.ParseCache;
+import io.github.kale_ko.bjsl.elements.ParsedElement;
+import io.github.kale_ko.bjsl.elements.ParsedPrimitive;
+import io.github.kale_ko.bjsl.parsers.JsonParser;
+import io.github.kale_ko.bjsl.processor.ObjectProcessor;
+import io.github.kale_ko.bjsl.processor.TypeProcessor;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.Timeout;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Timeout(value=1000, unit=TimeUnit.MILLISECONDS)
+public class ConcurrencyTest {
+    protected static final int OPERATIONS = 256;
+
+    public ConcurrencyTest() {
+    }
+
+    protected static long allocated(RecyclerPool<BufferRecycler> pool, int threads) throws InterruptedException {
+        JsonParser parser = new JsonParser.Builder().setRecyclerPool(pool).build();
+        byte[] data = "{\"id\": \"e58ed763-928c-4155-bee9-fdbaaadc15f3\", \"state\": \"ACTIVE\", \"tags\": [\"a\", \"b\", \"c\"]}".getBytes(StandardCharsets.UTF_8);
+
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = bean.getTotalThreadAllocatedBytes();
+
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            workers.add(Thread.ofVirtual().start(() -> parser.toBytes(parser.toElement(data))));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        return bean.getTotalThreadAllocatedBytes() - before;
+    }
+
+    protected static long run(int threads, Runnable operation) throws InterruptedException {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            workers.add(Thread.ofPlatform().daemon().start(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < OPERATIONS / threads; j++) {
+                        operation.run();
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }));
+        }
+
+        long startTime = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long time = System.nanoTime() - startTime;
+
+        if (failure.get() != null) {
+            fail(failure.get());
+        }
+        return time;
+    }
+
+    @Test
+    @DisplayName("parseJson_Threads")
+    @Tag("concurrency")
+    @Timeout(value=10000, unit=TimeUnit.MILLISECONDS)
+    void parseJson_Threads(TestReporter reporter) throws InterruptedException {
+        Record record = new Record();
+        record.id = UUID.fromString("e58ed763-928c-4155-bee9-fdbaaadc15f3");
+        record.state = Record.State.ACTIVE;
+        record.tags = List.of("a", "b", "c");
+        record.child = new Record();
+        record.child.id = UUID.fromString("5ad0cd02-4e5e-4b1c-8e1b-6f5a37cf0d7e");
+
+        String json = BJSL.stringifyJson(record);
+        ParsedElement element = BJSL.parseJson(json);
+
+        Runnable operation = () -> {
+            Record parsed = Objects.requireNonNull(BJSL.parseJson(json, Record.class));
+            assertEquals(record.id, parsed.id);
+            assertEquals(record.child.id, parsed.child.id);
+            assertEquals(json, BJSL.stringifyJson(parsed));
+            assertEquals(element, BJSL.parseJson(json));
+        };
+
+        run(1, operation);
+        long single = run(1, operation);
+        reporter.publishEntry("1 thread", single / 1000000 + "ms");
+        for (int threads = 2; threads <= 64; threads *= 2) {
+            long time = run(threads, operation);
+            reporter.publishEntry(threads + " threads", time / 1000000 + "ms");
+        }
+    }
+
+    @Test
+    @DisplayName("recyclerPool_VirtualThreads")
+    @Tag("concurrency")
+    @Timeout(value=10000, unit=TimeUnit.MILLISECONDS)
+    void recyclerPool_VirtualThreads() throws InterruptedException {
+        allocated(JsonRecyclerPools.newConcurrentDequePool(), 1000);
+        allocated(JsonRecyclerPools.threadLocalPool(), 1000);
+
+        long threadLocal = allocated(JsonRecyclerPools.threadLocalPool(), 10000);
+        long concurrentDeque = allocated(JsonRecyclerPools.newConcurrentDequePool(), 10000);
+        long bounded = allocated(JsonRecyclerPools.newBoundedPool(64), 10000);
+
+        assertTrue(bounded < threadLocal / 2, "Bounded pool allocated " + bounded / 1024 + "KiB for 10k virtual threads, thread local pool allocated " + threadLocal / 1024 + "KiB");
+        assertTrue(concurrentDeque < threadLocal / 2, "Concurrent deque pool allocated " + concurrentDeque / 1024 + "KiB for 10k virtual threads, thread local pool allocated " + threadLocal / 1024 + "KiB");
+    }
+
+    @Test
+    @DisplayName("parseCache_Threads")
+    @Tag("concurrency")
+    void parseCache_Threads() throws InterruptedException {
+        BJSL<JsonParser> bjsl = new BJSL<>(new JsonParser.Builder().build());
+        ParseCache cache = new ParseCache.Builder().setMaximumWeight(4096).setSegments(4).build();
+
+        List<byte[]> documents = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            documents.add(("{\"id\": \"e58ed763-928c-4155-bee9-fdbaaadc15f" + i + "\", \"state\": \"ACTIVE\"}").getBytes(StandardCharsets.UTF_8));
+        }
+
+        run(8, () -> {
+            for (byte[] document : documents) {
+                ParsedElement element = bjsl.parse(document.clone(), cache);
+                assertTrue(element.isFrozen());
+                assertEquals(bjsl.parse(document), element);
+                assertSame(bjsl.parse(document, Record.class, cache), bjsl.parse(document, Record.class, cache));
+            }
+        });
+
+        ParseCache.Stats stats = cache.getStats();
+        assertEquals(16, stats.size());
+        assertEquals(0, stats.evictions());
+        assertTrue(stats.misses() >= 16 && stats.misses() < 16 * 8, "Missed " + stats.misses() + " times");
+        assertEquals(OPERATIONS * documents.size() * 3, stats.hits() + stats.misses());
+
+        for (int i = 0; i < 1000; i++) {
+            bjsl.parse(("[" + i + "]").getBytes(StandardCharsets.UTF_8), cache);
+        }
+        stats = cache.getStats();
+        assertTrue(stats.weight() <= cache.getMaximumWeight(), "Cached " + stats.weight() + " bytes");
+        assertTrue(stats.evictions() > 0);
+    }
+
+    @Test
+    @DisplayName("setLogger_WhileParsing")
+    @Tag("concurrency")
+    void setLogger_WhileParsing() throws InterruptedException {
+        Logger previous = BJSL.getLogger();
+        Logger silent = Logger.getLogger("BJSL Test");
+        silent.setLevel(Level.OFF);
+
+        try {
+            Thread toggler = Thread.ofPlatform().daemon().start(() -> {
+                while (!Thread.currentThread().isInterrupted()) {
+                    BJSL.setLogger(null);
+                    BJSL.setLogger(silent);
+                }
+            });
+
+            run(8, () -> assertNull(Objects.requireNonNull(BJSL.parseJson("{\"state\": \"UNKNOWN\"}", Record.class)).state));
+
+            toggler.interrupt();
+            toggler.join();
+        } finally {
+            BJSL.setLogger(previous);
+        }
+    }
+
+    @Test
+    @DisplayName("build_Isolated")
+    @Tag("concurrency")
+    void build_Isolated() {
+        ObjectProcessor.Builder builder = new ObjectProcessor.Builder();
+        ObjectProcessor processor = builder.build();
+
+        builder.createTypeProcessor(Record.State.class, new TypeProcessor() {
+            @Override
+            public ParsedElement toElement(Object object) {
+                return ParsedPrimitive.fromString("changed");
+            }
+
+            @Override
+            public Object toObject(ParsedElement element) {
+                return Record.State.INACTIVE;
+            }
+        });
+
+        assertEquals(ParsedPrimitive.fromString("ACTIVE"), processor.toElement(Record.State.ACTIVE));
+        assertEquals(ParsedPrimitive.fromString("changed"), builder.build().toElement(Record.State.ACTIVE));
+    }
+
+    public static class Record {
+        public UUID id;
+        public State state;
+        public List<String> tags;
+        public Record child;
+
+        public enum State {
+            ACTIVE,
+            INACTIVE
+        }
+    }
+}
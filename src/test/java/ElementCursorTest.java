@@ -0,0 +1,118 @@
+import io.github.kale_ko.bjsl.elements.ElementCursor;
+import io.github.kale_ko.bjsl.elements.ElementVisitor;
+import io.github.kale_ko.bjsl.elements.ParsedArray;
+import io.github.kale_ko.bjsl.elements.ParsedElement;
+import io.github.kale_ko.bjsl.elements.ParsedObject;
+import io.github.kale_ko.bjsl.elements.ParsedPrimitive;
+import io.github.kale_ko.bjsl.parsers.JsonParser;
+import io.github.kale_ko.bjsl.parsers.SmileParser;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Timeout(value=1000, unit=TimeUnit.MILLISECONDS)
+public class ElementCursorTest {
+    protected static final JsonParser PARSER = new JsonParser.Builder().build();
+
+    public ElementCursorTest() {
+    }
+
+    protected static List<String> events(ElementCursor cursor) {
+        List<String> events = new ArrayList<>();
+        for (ElementCursor.Event event = cursor.next(); event != null; event = cursor.next()) {
+            String name = cursor.getKey() != null ? cursor.getKey() : Integer.toString(cursor.getIndex());
+            events.add(event + " " + name + " " + cursor.getDepth());
+        }
+        return events;
+    }
+
+    @Test
+    @DisplayName("next_DepthFirst")
+    @Tag("cursor")
+    void next_DepthFirst() {
+        ParsedElement root = PARSER.toElement("{\"b\": [1, {\"c\": true}], \"a\": \"x\"}");
+
+        assertEquals(List.of("START_OBJECT -1 0", "START_ARRAY b 1", "PRIMITIVE 0 2", "START_OBJECT 1 2", "PRIMITIVE c 3", "END_OBJECT 1 2", "END_ARRAY b 1", "PRIMITIVE a 1", "END_OBJECT -1 0"), events(new ElementCursor(root)));
+        assertEquals(List.of("START_OBJECT -1 0", "PRIMITIVE a 1", "START_ARRAY b 1", "PRIMITIVE 0 2", "START_OBJECT 1 2", "PRIMITIVE c 3", "END_OBJECT 1 2", "END_ARRAY b 1", "END_OBJECT -1 0"), events(new ElementCursor(root.freeze(), true)));
+        assertEquals(List.of("PRIMITIVE -1 0"), events(new ElementCursor(ParsedPrimitive.fromInteger(1))));
+
+        ElementCursor cursor = new ElementCursor(root);
+        List<String> children = new ArrayList<>();
+        while (cursor.nextChild()) {
+            children.add(cursor.getKey() + "=" + cursor.getEvent());
+        }
+        assertEquals(List.of("b=START_ARRAY", "a=PRIMITIVE"), children);
+
+        cursor = new ElementCursor(root);
+        cursor.next();
+        cursor.next();
+        cursor.skipChildren();
+        assertEquals(ElementCursor.Event.END_ARRAY, cursor.getEvent());
+        assertEquals(ElementCursor.Event.PRIMITIVE, cursor.next());
+    }
+
+    @Test
+    @DisplayName("walk_DeepTree")
+    @Tag("cursor")
+    void walk_DeepTree() {
+        ParsedArray root = ParsedArray.create();
+        ParsedArray current = root;
+        for (int i = 0; i < 100000; i++) {
+            ParsedObject next = ParsedObject.create(1);
+            current.add(next);
+            current = ParsedArray.create(1);
+            next.set("k", current);
+        }
+        current.add(ParsedPrimitive.fromString("leaf"));
+
+        int[] counts = new int[3];
+        root.accept(new ElementVisitor<RuntimeException>() {
+            @Override
+            public boolean visitObjectStart(String key, int index, ParsedObject object) {
+                counts[0]++;
+                return true;
+            }
+
+            @Override
+            public void visitArrayEnd(String key, int index, ParsedArray array) {
+                counts[1]++;
+            }
+
+            @Override
+            public void visitPrimitive(String key, int index, ParsedPrimitive primitive) {
+                assertEquals("leaf", primitive.asString());
+                counts[2]++;
+            }
+        });
+        assertArrayEquals(new int[] { 100000, 100001, 1 }, counts);
+    }
+
+    @Test
+    @DisplayName("write_DeepTree")
+    @Tag("cursor")
+    @Timeout(value=10000, unit=TimeUnit.MILLISECONDS)
+    void write_DeepTree() {
+        ParsedArray root = ParsedArray.create();
+        ParsedArray current = root;
+        for (int i = 1; i < 100000; i++) {
+            ParsedArray next = ParsedArray.create(1);
+            current.add(next);
+            current = next;
+        }
+        current.add(ParsedPrimitive.fromString("leaf"));
+
+        JsonParser json = new JsonParser.Builder().setMaxDepth(100000).build();
+        String expected = "[".repeat(100000) + "\"leaf\"" + "]".repeat(100000);
+        assertEquals(expected, json.toString(root));
+        assertEquals(expected, new String(json.toBytes(root), StandardCharsets.UTF_8));
+        assertTrue(json.toElement(expected).deepEquals(root));
+
+        SmileParser smile = new SmileParser.Builder().setMaxDepth(100000).build();
+        assertTrue(smile.toElement(smile.toBytes(root)).deepEquals(root));
+    }
+}
@@ -0,0 +1,161 @@
+import io.github.kale_ko.bjsl.elements.ElementPatch;
+import io.github.kale_ko.bjsl.elements.ParsedArray;
+import io.github.kale_ko.bjsl.elements.ParsedElement;
+import io.github.kale_ko.bjsl.elements.ParsedObject;
+import io.github.kale_ko.bjsl.elements.ParsedPrimitive;
+import io.github.kale_ko.bjsl.parsers.JsonParser;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Timeout(value=1000, unit=TimeUnit.MILLISECONDS)
+public class ElementPatchTest {
+    protected static final JsonParser PARSER = new JsonParser.Builder().build();
+
+    public ElementPatchTest() {
+    }
+
+    protected static ParsedElement randomElement(Random random, int depth) {
+        switch (depth > 0 ? random.nextInt(5) : random.nextInt(3)) {
+            case 0 -> {
+                return ParsedPrimitive.fromInteger(random.nextInt(10));
+            }
+            case 1 -> {
+                return ParsedPrimitive.fromString("s" + random.nextInt(10));
+            }
+            case 2 -> {
+                return ParsedPrimitive.fromBoolean(random.nextBoolean());
+            }
+            case 3 -> {
+                ParsedObject object = ParsedObject.create();
+                for (int i = random.nextInt(6); i > 0; i--) {
+                    object.set("k" + random.nextInt(8), randomElement(random, depth - 1));
+                }
+                return object;
+            }
+            default -> {
+                ParsedArray array = ParsedArray.create();
+                for (int i = random.nextInt(8); i > 0; i--) {
+                    array.add(randomElement(random, depth - 1));
+                }
+                return array;
+            }
+        }
+    }
+
+    protected static ParsedElement mutate(Random random, ParsedElement element) {
+        if (element instanceof ParsedObject object) {
+            ParsedObject copy = ParsedObject.create();
+            for (String key : object.getKeys()) {
+                if (random.nextInt(5) != 0) {
+                    copy.set(key, mutate(random, object.get(key)));
+                }
+            }
+            if (random.nextInt(3) == 0) {
+                copy.set("n" + random.nextInt(4), randomElement(random, 2));
+            }
+            return copy;
+        } else if (element instanceof ParsedArray array) {
+            ParsedArray copy = ParsedArray.create();
+            for (ParsedElement value : array.getValues()) {
+                int choice = random.nextInt(6);
+                if (choice == 0) {
+                    copy.add(randomElement(random, 2));
+                }
+                if (choice != 1) {
+                    copy.add(mutate(random, value));
+                }
+            }
+            return copy;
+        } else {
+            return random.nextInt(4) == 0 ? randomElement(random, 1) : element;
+        }
+    }
+
+    @Test
+    @DisplayName("diff_ApplyRoundTrips")
+    @Tag("patch")
+    void diff_ApplyRoundTrips() {
+        Random random = new Random(6902);
+
+        for (int i = 0; i < 200; i++) {
+            ParsedObject source = ParsedObject.create();
+            source.set("root", randomElement(random, 4));
+            ParsedElement target = mutate(random, source);
+
+            ElementPatch patch = ElementPatch.diff(source, target);
+            ElementPatch sent = ElementPatch.fromElement(PARSER.toElement(PARSER.toString(patch.toElement())));
+
+            assertEquals(target, patch.apply(PARSER.toElement(PARSER.toString(source))), patch.toString());
+            assertEquals(target, sent.apply(source.freeze()), patch.toString());
+        }
+
+        ParsedArray source = ParsedArray.create();
+        for (int i = 0; i < 10000; i++) {
+            source.add(ParsedPrimitive.fromInteger(i));
+        }
+        ParsedArray target = PARSER.toElement(PARSER.toString(source)).asArray();
+        target.remove(5000);
+        target.addAt(100, ParsedPrimitive.fromString("inserted"));
+        target.set(9000, ParsedPrimitive.fromString("changed"));
+
+        ElementPatch patch = ElementPatch.diff(source, target);
+        assertEquals(3, patch.getOperations().size(), patch.toString());
+        assertEquals(target, patch.apply(source));
+        assertTrue(ElementPatch.diff(target, target.freeze()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("parallelDiff_MatchesDiff")
+    @Tag("patch")
+    void parallelDiff_MatchesDiff() {
+        Random random = new Random(4096);
+
+        for (int i = 0; i < 100; i++) {
+            ParsedObject source = ParsedObject.create();
+            source.set("root", randomElement(random, 4));
+            ParsedElement target = random.nextInt(4) == 0 ? PARSER.toElement(PARSER.toString(source)) : mutate(random, source);
+
+            assertEquals(source.equals(target), source.deepEquals(target));
+            assertEquals(ElementPatch.diff(source, target).getOperations(), ElementPatch.parallelDiff(source, target).getOperations());
+        }
+
+        ParsedObject source = ParsedObject.create();
+        for (int i = 0; i < 5000; i++) {
+            ParsedArray array = ParsedArray.create();
+            for (int j = 0; j < 10; j++) {
+                array.add(ParsedPrimitive.fromInteger(i * j));
+            }
+            source.set("k" + i, array);
+        }
+        ParsedObject target = PARSER.toElement(PARSER.toString(source)).asObject();
+        assertTrue(source.deepEquals(target));
+        assertTrue(source.freeze().deepEquals(target));
+
+        target.get("k4321").asArray().set(7, ParsedPrimitive.fromString("changed"));
+        assertFalse(source.deepEquals(target));
+        assertFalse(target.freeze().deepEquals(source.freeze()));
+        assertEquals(ElementPatch.diff(source, target).getOperations(), ElementPatch.parallelDiff(source, target).getOperations());
+        assertEquals(1, ElementPatch.parallelDiff(source, target).getOperations().size());
+    }
+
+    @Test
+    @DisplayName("apply_Rfc6902")
+    @Tag("patch")
+    void apply_Rfc6902() {
+        ParsedElement document = PARSER.toElement("{\"foo\": [\"bar\", \"baz\"], \"a/b\": 1, \"m~n\": {\"x\": true}}").freeze();
+
+        ElementPatch patch = ElementPatch.fromElement(PARSER.toElement("[{\"op\": \"test\", \"path\": \"/a~1b\", \"value\": 1}, {\"op\": \"add\", \"path\": \"/foo/1\", \"value\": \"qux\"}, {\"op\": \"add\", \"path\": \"/foo/-\", \"value\": \"end\"}, {\"op\": \"move\", \"from\": \"/m~0n/x\", \"path\": \"/moved\"}, {\"op\": \"copy\", \"from\": \"/foo/0\", \"path\": \"/first\"}, {\"op\": \"replace\", \"path\": \"/a~1b\", \"value\": 2}, {\"op\": \"remove\", \"path\": \"/foo/2\"}]"));
+        assertEquals(PARSER.toElement("{\"foo\": [\"bar\", \"qux\", \"end\"], \"a/b\": 2, \"m~n\": {}, \"moved\": true, \"first\": \"bar\"}"), patch.apply(document));
+        assertEquals(PARSER.toElement("{\"foo\": [\"bar\", \"baz\"], \"a/b\": 1, \"m~n\": {\"x\": true}}"), document);
+
+        assertThrows(IllegalArgumentException.class, () -> ElementPatch.fromElement(PARSER.toElement("[{\"op\": \"test\", \"path\": \"/a~1b\", \"value\": 2}]")).apply(document));
+        assertThrows(IllegalArgumentException.class, () -> ElementPatch.fromElement(PARSER.toElement("[{\"op\": \"remove\", \"path\": \"/foo/01\"}]")).apply(document));
+        assertThrows(IllegalArgumentException.class, () -> ElementPatch.fromElement(PARSER.toElement("[{\"op\": \"add\", \"path\": \"/missing/key\", \"value\": 1}]")).apply(document));
+        assertThrows(IllegalArgumentException.class, () -> ElementPatch.fromElement(PARSER.toElement("[{\"op\": \"jump\", \"path\": \"\"}]")));
+    }
+}
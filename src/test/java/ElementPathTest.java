@@ -0,0 +1,131 @@
+import io.github.kale_ko.bjsl.elements.ElementPath;
+import io.github.kale_ko.bjsl.elements.ParsedElement;
+import io.github.kale_ko.bjsl.parsers.JsonParser;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Timeout(value=1000, unit=TimeUnit.MILLISECONDS)
+public class ElementPathTest {
+    protected static final String DOCUMENT = "{\"store\": {\"book\": [{\"category\": \"reference\", \"author\": \"Nigel Rees\", \"title\": \"Sayings of the Century\", \"price\": 8.95}, {\"category\": \"fiction\", \"author\": \"Evelyn Waugh\", \"title\": \"Sword of Honour\", \"price\": 12.99}, {\"category\": \"fiction\", \"author\": \"Herman Melville\", \"title\": \"Moby Dick\", \"isbn\": \"0-553-21311-3\", \"price\": 8}, {\"category\": \"fiction\", \"author\": \"J. R. R. Tolkien\", \"title\": \"The Lord of the Rings\", \"isbn\": \"0-395-19395-8\", \"price\": 22.99}], \"bicycle\": {\"color\": \"red\", \"price\": 19.95}}, \"a/b\": {\"m~n\": 1}}";
+
+    protected static final JsonParser PARSER = new JsonParser.Builder().build();
+
+    public ElementPathTest() {
+    }
+
+    protected static List<ParsedElement> stream(ElementPath path) throws IOException {
+        List<ParsedElement> result = new ArrayList<>();
+        try (com.fasterxml.jackson.core.JsonParser parser = new com.fasterxml.jackson.core.JsonFactory().createParser(DOCUMENT)) {
+            path.forEach(parser, result::add);
+        }
+        return result;
+    }
+
+    protected static List<String> strings(List<ParsedElement> elements) {
+        List<String> result = new ArrayList<>();
+        for (ParsedElement element : elements) {
+            result.add(element.asPrimitive().toString());
+        }
+        return result;
+    }
+
+    @Test
+    @DisplayName("select_JsonPath")
+    @Tag("path")
+    void select_JsonPath() throws IOException {
+        ParsedElement root = PARSER.toElement(DOCUMENT);
+
+        Map<String, List<String>> expected = new LinkedHashMap<>();
+        expected.put("$.store.book[0].title", List.of("Sayings of the Century"));
+        expected.put("$['store']['book'][-1].author", List.of("J. R. R. Tolkien"));
+        expected.put("$.store.book[*].author", List.of("Nigel Rees", "Evelyn Waugh", "Herman Melville", "J. R. R. Tolkien"));
+        expected.put("$..isbn", List.of("0-553-21311-3", "0-395-19395-8"));
+        expected.put("$.store.book[?(@.price < 10)].title", List.of("Sayings of the Century", "Moby Dick"));
+        expected.put("$..book[?(@.isbn && @.price > 10)].title", List.of("The Lord of the Rings"));
+        expected.put("$.store.book[?(@.category == 'fiction' || @.price == 8.95)].price", List.of("8.95", "12.99", "8", "22.99"));
+        expected.put("$.store.bicycle.*", List.of("red", "19.95"));
+        expected.put("$.store.missing", List.of());
+
+        for (Map.Entry<String, List<String>> entry : expected.entrySet()) {
+            ElementPath path = ElementPath.compile(entry.getKey());
+
+            assertEquals(entry.getValue(), strings(path.select(root)), entry.getKey());
+            assertEquals(entry.getValue(), strings(stream(path)), entry.getKey());
+        }
+
+        ParsedElement infinite = PARSER.toElement("[{\"p\": 1e400}, {\"p\": -1e400}, {\"p\": 1}]");
+        assertEquals(List.of(infinite.asArray().get(1), infinite.asArray().get(2)), ElementPath.compile("$[?(@.p < 10.5)]").select(infinite));
+        assertEquals(List.of(infinite.asArray().get(0)), ElementPath.compile("$[?(@.p > 12345678901234567890)]").select(infinite));
+
+        assertEquals(5, ElementPath.compile("$..price").select(root).size());
+        assertEquals(5, stream(ElementPath.compile("$..price")).size());
+        assertTrue(ElementPath.compile("$.store.book[2]").isDefinite());
+        assertFalse(ElementPath.compile("$..book").isDefinite());
+    }
+
+    @Test
+    @DisplayName("first_JsonPointer")
+    @Tag("path")
+    void first_JsonPointer() throws IOException {
+        ParsedElement root = PARSER.toElement(DOCUMENT);
+
+        assertSame(root, ElementPath.pointer("").first(root));
+        assertEquals("Moby Dick", ElementPath.pointer("/store/book/2/title").first(root).asPrimitive().asString());
+        assertEquals(1, ElementPath.compile("/a~1b/m~0n").first(root).asPrimitive().asInteger());
+        assertNull(ElementPath.pointer("/store/book/9").first(root));
+
+        try (com.fasterxml.jackson.core.JsonParser parser = new com.fasterxml.jackson.core.JsonFactory().createParser(DOCUMENT)) {
+            assertEquals("red", ElementPath.pointer("/store/bicycle/color").first(parser).asPrimitive().asString());
+        }
+
+        ParsedElement numbers = PARSER.toElement("[0, 1, 2, 3, 4, 5, {\"6\": 6}]");
+        assertEquals(5, ElementPath.pointer("/5").first(numbers).asPrimitive().asInteger());
+        assertEquals(6, ElementPath.pointer("/6/6").first(numbers).asPrimitive().asInteger());
+        assertNull(ElementPath.pointer("/7").first(numbers));
+        assertNull(ElementPath.pointer("/05").first(numbers));
+        assertNull(ElementPath.pointer("/-1").first(numbers));
+        assertNull(ElementPath.pointer("/x").first(numbers));
+
+        assertThrows(IllegalArgumentException.class, () -> ElementPath.pointer("store"));
+        assertThrows(IllegalArgumentException.class, () -> ElementPath.compile("$.store[?(@.price <)]"));
+        assertThrows(IllegalArgumentException.class, () -> ElementPath.compile("$.store[1"));
+    }
+
+    @Test
+    @DisplayName("select_SameOrder")
+    @Tag("path")
+    void select_SameOrder() throws IOException {
+        Map<String, String> documents = new LinkedHashMap<>();
+        documents.put("$..a", "{\"a\": {\"a\": 1}}");
+        documents.put("$..*", "{\"x\": {\"y\": [1, {\"z\": 2}]}, \"w\": 3}");
+        documents.put("$..a..b", "{\"a\": {\"a\": {\"b\": 1}, \"b\": 2}}");
+        documents.put("$..[?(@.a)]", "[{\"a\": {\"a\": 1}}, {\"b\": 2}]");
+        documents.put("$..[-1]", "[[1, [2, 3]], [4]]");
+        documents.put("$.store..price", DOCUMENT);
+
+        for (Map.Entry<String, String> entry : documents.entrySet()) {
+            ElementPath path = ElementPath.compile(entry.getKey());
+            ParsedElement root = PARSER.toElement(entry.getValue());
+
+            List<ParsedElement> streamed = new ArrayList<>();
+            try (com.fasterxml.jackson.core.JsonParser parser = new com.fasterxml.jackson.core.JsonFactory().createParser(entry.getValue())) {
+                path.forEach(parser, streamed::add);
+            }
+            assertEquals(path.select(root), streamed, entry.getKey());
+
+            try (com.fasterxml.jackson.core.JsonParser parser = new com.fasterxml.jackson.core.JsonFactory().createParser(entry.getValue())) {
+                assertEquals(path.first(root), path.first(parser), entry.getKey());
+            }
+        }
+
+        ParsedElement root = PARSER.toElement("{\"a\": {\"a\": 1}}");
+        assertEquals(List.of(PARSER.toElement("{\"a\": 1}"), PARSER.toElement("1")), ElementPath.compile("$..a").select(root));
+        assertEquals(List.of(PARSER.toElement("1"), PARSER.toElement("2")), ElementPath.compile("$..a..b").select(PARSER.toElement(documents.get("$..a..b"))));
+    }
+}
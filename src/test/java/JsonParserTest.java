@@ -0,0 +1,627 @@
+import io.github.kale_ko.bjsl.BJSL;
+import io.github.kale_ko.bjsl.Batch;
+import io.github.kale_ko.bjsl.Pipeline;
+import io.github.kale_ko.bjsl.RecordLoader;
+import io.github.kale_ko.bjsl.elements.ParsedElement;
+import io.github.kale_ko.bjsl.elements.ParsedObject;
+import io.github.kale_ko.bjsl.elements.ParsedPrimitive;
+import io.github.kale_ko.bjsl.elements.Projection;
+import io.github.kale_ko.bjsl.parsers.JsonParser;
+import io.github.kale_ko.bjsl.parsers.SmileParser;
+import io.github.kale_ko.bjsl.parsers.YamlParser;
+import io.github.kale_ko.bjsl.parsers.exception.ParserException;
+import io.github.kale_ko.bjsl.processor.ObjectProcessor;
+import io.github.kale_ko.bjsl.processor.annotations.Rename;
+import io.github.kale_ko.bjsl.processor.exception.ProcessorException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Timeout(value=1000, unit=TimeUnit.MILLISECONDS)
+public class JsonParserTest {
+    protected static final String DOCUMENT = "{\"name\": \"test\", \"count\": 12345678901, \"ratio\": 0.5, \"flag\": true, \"none\": null, \"nested\": {\"list\": [1, [2, {\"deep\": \"\\u00e9\"}], {}], \"empty\": []}, \"values\": [{\"a\": 1}, {\"b\": [true, false]}]}";
+
+    public JsonParserTest() {
+    }
+
+    protected static Flow.Publisher<ByteBuffer> chunks(byte[] data, int size) {
+        return subscriber -> subscriber.onSubscribe(new Flow.Subscription() {
+            private int offset = 0;
+
+            @Override
+            public void request(long n) {
+                for (long i = 0; i < n && this.offset < data.length; i++) {
+                    int end = Math.min(this.offset + size, data.length);
+                    ByteBuffer chunk = ByteBuffer.wrap(Arrays.copyOfRange(data, this.offset, end));
+                    this.offset = end;
+                    subscriber.onNext(chunk);
+                }
+                if (this.offset >= data.length) {
+                    this.offset = Integer.MAX_VALUE;
+                    subscriber.onComplete();
+                }
+            }
+
+            @Override
+            public void cancel() {
+                this.offset = Integer.MAX_VALUE;
+            }
+        });
+    }
+
+    protected static <V> List<Object> collect(Flow.Publisher<V> publisher) {
+        List<Object> received = new ArrayList<>();
+        publisher.subscribe(new Flow.Subscriber<V>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(V item) {
+                received.add(item);
+                this.subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                received.add(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                received.add("complete");
+            }
+        });
+        return received;
+    }
+
+    @Test
+    @DisplayName("toElement_Lazy_MatchesEager")
+    @Tag("lazy")
+    void toElement_Lazy_MatchesEager() {
+        ParsedElement eager = new JsonParser.Builder().build().toElement(DOCUMENT);
+        ParsedElement lazy = new JsonParser.Builder().setLazy(true).build().toElement(DOCUMENT);
+
+        assertEquals(eager, lazy);
+        assertEquals(eager.hashCode(), lazy.hashCode());
+        assertEquals(eager.asObject().get("nested").asObject().get("list"), lazy.asObject().get("nested").asObject().get("list"));
+        assertEquals("\u00e9", lazy.asObject().get("nested").asObject().get("list").asArray().get(1).asArray().get(1).asObject().get("deep").asPrimitive().asString());
+    }
+
+    @Test
+    @DisplayName("toElement_Lazy_RejectsInvalidNested")
+    @Tag("lazy")
+    void toElement_Lazy_RejectsInvalidNested() {
+        JsonParser parser = new JsonParser.Builder().setLazy(true).build();
+
+        assertThrows(ParserException.class, () -> parser.toElement("{\"good\": 1, \"bad\": {\"key\": [1, 2 3]}}"));
+        assertThrows(ParserException.class, () -> parser.toElement("{\"unclosed\": [1, 2}"));
+
+        ParsedObject object = parser.toElement("{\"good\": 1, \"nested\": {\"key\": [1, 2, 3]}}").asObject();
+        assertEquals(1, object.get("good").asPrimitive().asInteger());
+        assertEquals(3, object.get("nested").asObject().get("key").asArray().getSize());
+    }
+
+    @Test
+    @DisplayName("toTape_MatchesEager")
+    @Tag("tape")
+    void toTape_MatchesEager() {
+        JsonParser parser = new JsonParser.Builder().build();
+
+        StringBuilder wide = new StringBuilder("{");
+        for (int i = 0; i < 40; i++) {
+            wide.append(i > 0 ? "," : "").append("\"key").append(i).append("\": [").append(i).append(", \"").append(i).append("\"]");
+        }
+        wide.append("}");
+
+        for (String document : new String[] { DOCUMENT, wide.toString(), "[]", "\"text\"", "12.5" }) {
+            ParsedElement eager = parser.toElement(document);
+            ParsedElement tape = parser.toTape(document).root();
+
+            assertEquals(eager, tape);
+            assertEquals(tape, eager);
+            assertEquals(eager.hashCode(), tape.hashCode());
+            assertTrue(tape.isFrozen());
+        }
+
+        ParsedObject tape = parser.toTape(wide.toString()).root().asObject();
+        assertEquals(40, tape.getSize());
+        assertEquals("39", tape.get("key39").asArray().get(1).asPrimitive().asString());
+        assertNull(tape.getOrNull("missing"));
+    }
+
+    @Test
+    @DisplayName("toElement_Limits")
+    @Tag("limits")
+    void toElement_Limits() {
+        String deep = "[".repeat(5000) + "{\"leaf\": 1}" + "]".repeat(5000);
+
+        JsonParser parser = new JsonParser.Builder().setMaxDepth(10000).build();
+        ParsedElement element = parser.toElement(deep);
+        assertEquals(deep.replace(" ", ""), parser.toString(element));
+        assertTrue(parser.toElement(parser.toBytes(element)).deepEquals(element));
+        assertThrows(ParserException.class, () -> new JsonParser.Builder().setMaxDepth(1000).build().toString(parser.toElement(deep)));
+
+        for (int i = 0; i < 5000; i++) {
+            element = element.asArray().get(0);
+        }
+        assertEquals(1, element.asObject().get("leaf").asPrimitive().asInteger());
+
+        ParserException depth = assertThrows(ParserException.class, () -> new JsonParser.Builder().setMaxDepth(100).build().toElement(deep));
+        assertFalse(depth.getCause() instanceof ParserException);
+        assertNotNull(depth.getPath());
+        assertTrue(depth.getPath().startsWith("/0/0/0"), depth.getPath());
+
+        ParserException length = assertThrows(ParserException.class, () -> new JsonParser.Builder().setMaxStringLength(1000).build().toElement("{\"a\": [1, {\"b\": \"" + "x".repeat(5000) + "\"}]}"));
+        assertEquals("/a/1/b", length.getPath());
+
+        ObjectProcessor processor = new ObjectProcessor.Builder().setMaxDepth(50).build();
+        List<Object> cycle = new java.util.ArrayList<>();
+        cycle.add(cycle);
+        ProcessorException cyclic = assertThrows(ProcessorException.class, () -> processor.toElement(cycle));
+        assertFalse(cyclic.getCause() instanceof ProcessorException);
+        assertEquals("/0".repeat(51), cyclic.getPath());
+    }
+
+    @Test
+    @DisplayName("toElement_DeepObjects")
+    @Tag("limits")
+    void toElement_DeepObjects() {
+        ObjectProcessor processor = new ObjectProcessor.Builder().build();
+
+        Chain chain = new Chain();
+        Chain link = chain;
+        List<Object> nested = new ArrayList<>();
+        List<Object> list = nested;
+        for (int i = 0; i < 5000; i++) {
+            link.next = new Chain();
+            link = link.next;
+
+            List<Object> next = new ArrayList<>();
+            list.add(next);
+            list = next;
+        }
+
+        ProcessorException deepChain = assertThrows(ProcessorException.class, () -> processor.toElement(chain));
+        assertEquals("/next".repeat(ObjectProcessor.Builder.DEFAULT_MAX_DEPTH + 1), deepChain.getPath());
+        ProcessorException deepList = assertThrows(ProcessorException.class, () -> processor.toElement(nested));
+        assertEquals("/0".repeat(ObjectProcessor.Builder.DEFAULT_MAX_DEPTH + 1), deepList.getPath());
+
+        ParsedElement element = new JsonParser.Builder().setMaxDepth(10000).build().toElement("{\"next\": ".repeat(5000) + "null" + "}".repeat(5000));
+        ProcessorException deepElement = assertThrows(ProcessorException.class, () -> processor.toObject(element, Chain.class));
+        assertEquals("/next".repeat(ObjectProcessor.Builder.DEFAULT_MAX_DEPTH + 1), deepElement.getPath());
+
+        List<Object> cycle = new ArrayList<>();
+        cycle.add(cycle);
+        assertThrows(ProcessorException.class, () -> processor.toElement(cycle));
+
+        ObjectProcessor unlimited = new ObjectProcessor.Builder().setMaxDepth(Integer.MAX_VALUE).build();
+        ProcessorException overflow = assertThrows(ProcessorException.class, () -> unlimited.toElement(chain));
+        assertInstanceOf(StackOverflowError.class, overflow.getCause().getCause());
+        assertNotNull(overflow.getPath());
+        assertTrue(overflow.getPath().startsWith("/next/next"), overflow.getPath());
+        assertThrows(ProcessorException.class, () -> unlimited.toElement(cycle));
+        assertThrows(ProcessorException.class, () -> unlimited.toObject(element, Chain.class));
+    }
+
+    @Test
+    @DisplayName("toElement_Projection")
+    @Tag("projection")
+    void toElement_Projection() {
+        JsonParser parser = new JsonParser.Builder().build();
+        String document = "{\"user\": {\"id\": 7, \"name\": \"x\", \"tags\": [1, 2]}, \"events\": [{\"type\": \"a\", \"body\": {\"big\": [1, 2, 3]}}, {\"type\": \"b\", \"id\": 2}, 5], \"skipped\": [{\"x\": 1}]}";
+
+        Projection projection = Projection.of("/user/id", "/events/*/type", "/events/1/id");
+        ParsedElement expected = parser.toElement("{\"user\": {\"id\": 7}, \"events\": [{\"type\": \"a\"}, {\"type\": \"b\", \"id\": 2}]}");
+
+        assertEquals(expected, parser.toElement(document, projection));
+        assertEquals(expected, projection.apply(parser.toElement(document)));
+        assertEquals(parser.toElement(document), parser.toElement(document, Projection.of("")));
+        assertEquals(parser.toElement("{\"user\": {\"tags\": [1, 2]}}"), parser.toElement(document, Projection.of("/user/tags", "/user/tags/0")));
+
+        ObjectProcessor processor = new ObjectProcessor.Builder().build();
+        Projection typed = processor.getProjection(Audit.class);
+        assertEquals(parser.toElement("{\"user\": {\"id\": 7}, \"events\": [{\"type\": \"a\"}, {\"type\": \"b\"}]}"), parser.toElement(document, typed));
+
+        Audit audit = processor.toObject(parser.toElement(document, typed), Audit.class);
+        assertNotNull(audit);
+        assertEquals(7, audit.user.id);
+        assertEquals(List.of("a", "b"), audit.events.stream().map(event -> event.kind).toList());
+    }
+
+    @Test
+    @DisplayName("toObject_Parallel")
+    @Tag("parallel")
+    void toObject_Parallel() {
+        JsonParser parser = new JsonParser.Builder().build();
+        StringBuilder document = new StringBuilder("{\"user\": {\"id\": 7}, \"events\": [");
+        for (int i = 0; i < 500; i++) {
+            document.append(i > 0 ? ", " : "").append("{\"type\": \"e").append(i).append("\"}");
+        }
+        ParsedElement element = parser.toElement(document.append("]}").toString());
+
+        ObjectProcessor sequential = new ObjectProcessor.Builder().build();
+        for (ObjectProcessor processor : List.of(new ObjectProcessor.Builder().setParallelThreshold(50).build(), new ObjectProcessor.Builder().setParallelThreshold(50).setParallelExecutor(Executors.newVirtualThreadPerTaskExecutor()).build())) {
+            Audit audit = processor.toObject(element, Audit.class);
+            assertNotNull(audit);
+            assertEquals(500, audit.events.size());
+            for (int i = 0; i < 500; i++) {
+                assertEquals("e" + i, audit.events.get(i).kind);
+            }
+
+            Audit.Event[] events = processor.toObject(element.asObject().get("events"), Audit.Event[].class);
+            assertNotNull(events);
+            assertEquals("e499", events[499].kind);
+
+            assertEquals(sequential.toElement(audit), processor.toElement(audit));
+            assertEquals(element.asObject().get("events"), processor.toElement(events));
+        }
+    }
+
+    @Test
+    @DisplayName("toElement_NullItems")
+    @Tag("parallel")
+    void toElement_NullItems() {
+        JsonParser parser = new JsonParser.Builder().build();
+
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            items.add(i % 10 == 0 ? null : i);
+        }
+
+        ParsedElement expected = new ObjectProcessor.Builder().build().toElement(items);
+        assertEquals(200, expected.asArray().getSize());
+        assertTrue(expected.asArray().get(0).isPrimitive() && expected.asArray().get(0).asPrimitive().isNull());
+
+        for (ObjectProcessor processor : List.of(new ObjectProcessor.Builder().setParallelThreshold(50).build(), new ObjectProcessor.Builder().setParallelThreshold(500).build(), new ObjectProcessor.Builder().setSnapshot(true).setParallelThreshold(50).build(), new ObjectProcessor.Builder().setSnapshot(true).build())) {
+            assertEquals(expected, processor.toElement(items));
+            assertEquals(expected, processor.toElement(new java.util.LinkedList<>(items)));
+            assertEquals(parser.toElement("[null, 1]"), processor.toElement(Arrays.asList(null, 1)));
+        }
+    }
+
+    @Test
+    @DisplayName("toElement_Snapshot")
+    @Tag("parallel")
+    void toElement_Snapshot() {
+        JsonParser parser = new JsonParser.Builder().build();
+
+        Map<String, Object> index = new LinkedHashMap<>();
+        for (int i = 0; i < 2000; i++) {
+            index.put("key" + i, i % 2 == 0 ? List.of(i, "v" + i) : new int[] { i, -i });
+        }
+
+        ObjectProcessor copied = new ObjectProcessor.Builder().build();
+        ObjectProcessor snapshot = new ObjectProcessor.Builder().setSnapshot(true).build();
+        assertArrayEquals(parser.toBytes(copied.toElement(index)), parser.toBytes(new ObjectProcessor.Builder().setParallelThreshold(100).build().toElement(index)));
+        assertArrayEquals(parser.toBytes(snapshot.toElement(index)), parser.toBytes(new ObjectProcessor.Builder().setSnapshot(true).setParallelThreshold(100).build().toElement(index)));
+
+        ParsedObject element = snapshot.toElement(index).asObject();
+        assertEquals(copied.toElement(index), element);
+        assertEquals(new ArrayList<>(index.keySet()), new ArrayList<>(element.getKeys()));
+        assertEquals(parser.toElement("[1999, -1999]"), element.get("key1999"));
+    }
+
+    @Test
+    @DisplayName("parseAll_Batch")
+    @Tag("batch")
+    void parseAll_Batch() {
+        BJSL<JsonParser> bjsl = new BJSL<>(new JsonParser.Builder().build());
+
+        List<byte[]> documents = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            documents.add((i == 37 ? "{\"user\": {\"id\": " : "{\"user\": {\"id\": " + i + "}}").getBytes(StandardCharsets.UTF_8));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        for (Batch batch : List.of(Batch.DEFAULT, new Batch.Builder().setParallelism(3).setExecutor(executor).build(), new Batch.Builder().setParallelism(1).build())) {
+            List<Batch.Result<Audit>> results = bjsl.parseAll(documents, Audit.class, batch);
+            assertEquals(200, results.size());
+            for (int i = 0; i < 200; i++) {
+                if (i == 37) {
+                    assertFalse(results.get(i).isSuccess());
+                    assertThrows(ParserException.class, results.get(i)::get);
+                } else {
+                    assertEquals(i, Objects.requireNonNull(results.get(i).get()).user.id);
+                }
+            }
+
+            List<Batch.Result<String>> strings = bjsl.stringifyAll(results.stream().filter(Batch.Result::isSuccess).map(Batch.Result::value).toList(), batch);
+            assertEquals(199, strings.size());
+            assertEquals("{\"user\":{\"id\":199},\"events\":null}", strings.get(198).get());
+
+            List<Batch.Result<Integer>> errors = batch.map(List.of(1, 2, 3), item -> {
+                if (item == 2) {
+                    throw new StackOverflowError();
+                }
+                return item * 10;
+            });
+            assertEquals(Integer.valueOf(30), errors.get(2).get());
+            assertInstanceOf(StackOverflowError.class, errors.get(1).error());
+            assertThrows(StackOverflowError.class, errors.get(1)::get);
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("toFlow_Chunks")
+    @Tag("async")
+    void toFlow_Chunks() {
+        BJSL<JsonParser> bjsl = new BJSL<>(new JsonParser.Builder().build());
+
+        StringBuilder array = new StringBuilder("[");
+        for (int i = 0; i < 100; i++) {
+            array.append(i > 0 ? ", " : "").append("{\"user\": {\"id\": ").append(i).append("}}");
+        }
+        byte[] data = array.append("]").toString().getBytes(StandardCharsets.UTF_8);
+
+        Flow.Processor<ByteBuffer, Audit> audits = bjsl.parseFlow(Audit.class, true);
+        chunks(data, 7).subscribe(audits);
+        List<Object> received = collect(audits);
+        assertEquals(101, received.size());
+        assertEquals(42, ((Audit) received.get(42)).user.id);
+        assertEquals("complete", received.get(100));
+
+        Flow.Processor<ByteBuffer, ParsedElement> documents = bjsl.parseFlow(false);
+        List<Object> elements = collect(documents);
+        chunks((DOCUMENT + " " + DOCUMENT + "\n[1, 2]").getBytes(StandardCharsets.UTF_8), 3).subscribe(documents);
+        assertEquals(List.of(bjsl.parse(DOCUMENT), bjsl.parse(DOCUMENT), bjsl.parse("[1, 2]"), "complete"), elements);
+
+        Flow.Processor<ByteBuffer, ParsedElement> truncated = bjsl.parseFlow(true);
+        chunks("[{\"a\": 1}, {\"b\": ".getBytes(StandardCharsets.UTF_8), 4).subscribe(truncated);
+        List<Object> partial = collect(truncated);
+        assertEquals(2, partial.size());
+        assertEquals(bjsl.parse("{\"a\": 1}"), partial.get(0));
+        ParserException eof = assertInstanceOf(ParserException.class, partial.get(1));
+        assertEquals("/1/b", eof.getPath());
+        assertTrue(eof.getCause().getMessage().contains("end-of-input"), eof.getCause().getMessage());
+
+        assertEquals(7, Objects.requireNonNull(bjsl.parseAsync("{\"user\": {\"id\": 7}}".getBytes(StandardCharsets.UTF_8), Audit.class).join()).user.id);
+        assertEquals("{\"user\":null,\"events\":null}", bjsl.stringifyAsync(new Audit(), Runnable::run).join());
+    }
+
+    @Test
+    @DisplayName("load_Chunks")
+    @Tag("loader")
+    @Timeout(value=10000, unit=TimeUnit.MILLISECONDS)
+    void load_Chunks() throws java.io.IOException {
+        StringBuilder lines = new StringBuilder();
+        StringBuilder array = new StringBuilder("  [");
+        for (int i = 0; i < 1000; i++) {
+            lines.append("{\"user\": {\"id\": ").append(i).append("}, \"events\": [{\"type\": \"a\\\"],{\\n").append(i).append("\"}]}\n");
+            array.append(i > 0 ? ",\n" : "").append("{\"user\": {\"id\": ").append(i).append("}, \"events\": [{\"type\": \"a\\\"],{\\n").append(i).append("\"}]}");
+        }
+        array.append("]\n");
+
+        RecordLoader.Builder builder = new RecordLoader.Builder().setChunkSize(256).setParallelism(3);
+        try (Stream<Audit> records = builder.build().load(lines.toString().getBytes(StandardCharsets.UTF_8), Audit.class)) {
+            List<Audit> audits = records.toList();
+            assertEquals(1000, audits.size());
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(i, audits.get(i).user.id);
+                assertEquals("a\"],{\n" + i, audits.get(i).events.get(0).kind);
+            }
+        }
+
+        Path file = Files.createTempFile("bjsl", ".json");
+        try {
+            Files.writeString(file, array);
+            try (Stream<Audit> records = builder.setFormat(RecordLoader.Format.ARRAY).setOrdered(false).build().load(file, Audit.class)) {
+                assertArrayEquals(java.util.stream.IntStream.range(0, 1000).toArray(), records.mapToInt(audit -> audit.user.id).sorted().toArray());
+            }
+            try (Stream<ParsedElement> records = builder.setOrdered(true).build().load(file)) {
+                assertEquals(List.copyOf(new JsonParser.Builder().build().toElement(array.toString()).asArray().getValues()), records.toList());
+            }
+        } finally {
+            Files.delete(file);
+        }
+
+        assertEquals(0, builder.build().load("[ ]".getBytes(StandardCharsets.UTF_8)).count());
+        ParserException unclosed = assertThrows(ParserException.class, () -> builder.build().load("[{\"a\": 1}, {\"b\": ]".getBytes(StandardCharsets.UTF_8)).toList());
+        assertEquals("/1", unclosed.getPath());
+        assertEquals("Unexpected end of input at byte 18, the top level array is not closed", unclosed.getCause().getMessage());
+        ParserException notArray = assertThrows(ParserException.class, () -> builder.build().load(" {\"a\": 1}".getBytes(StandardCharsets.UTF_8)).toList());
+        assertEquals("", notArray.getPath());
+        assertEquals("Expected a top level array but found '{' at byte 1", notArray.getCause().getMessage());
+    }
+
+    @Test
+    @DisplayName("load_LargerThanHeap")
+    @Tag("loader")
+    @Timeout(value=120000, unit=TimeUnit.MILLISECONDS)
+    void load_LargerThanHeap() throws java.io.IOException, InterruptedException {
+        Path file = Files.createTempFile("bjsl", ".ndjson");
+        try {
+            long expected = 0;
+            try (java.io.BufferedWriter writer = Files.newBufferedWriter(file)) {
+                for (int i = 0; i < 1500000; i++) {
+                    writer.write("{\"user\": {\"id\": " + i + "}, \"events\": [{\"type\": \"" + "x".repeat(40) + "\"}]}\n");
+                    expected += i;
+                }
+            }
+            assertTrue(Files.size(file) > 96L * 1024 * 1024);
+
+            for (String ordered : new String[] { "true", "false" }) {
+                Process process = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString(), "-Xmx24m", "-cp", System.getProperty("java.class.path"), LoadLargerThanHeap.class.getName(), file.toString(), ordered).redirectErrorStream(true).start();
+                String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+                assertEquals(0, process.waitFor(), output);
+                assertEquals(String.valueOf(expected), output);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    @DisplayName("run_Pipeline")
+    @Tag("pipeline")
+    void run_Pipeline() {
+        BJSL<YamlParser> yaml = new BJSL<>(new YamlParser.Builder().build());
+        BJSL<JsonParser> json = new BJSL<>(new JsonParser.Builder().build());
+
+        List<byte[]> documents = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            documents.add(("user:\n  id: " + i + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+
+        Pipeline pipeline = new Pipeline.Builder().setDecodeParallelism(2).setTransformParallelism(3).setEncodeParallelism(2).setBatchSize(7).setQueueCapacity(2).build();
+
+        List<String> output = new ArrayList<>();
+        pipeline.run(documents.iterator(), yaml, element -> {
+            int id = element.asObject().get("user").asObject().get("id").asPrimitive().asInteger();
+            return id % 3 == 0 ? null : element.asObject().with("even", ParsedPrimitive.fromBoolean(id % 2 == 0));
+        }, json, bytes -> output.add(new String(bytes, StandardCharsets.UTF_8)));
+
+        assertEquals(200, output.size());
+        assertEquals("{\"user\":{\"id\":1},\"even\":false}", output.get(0));
+        assertEquals("{\"user\":{\"id\":299},\"even\":false}", output.get(199));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> pipeline.run(documents.iterator(), yaml, element -> {
+            if (element.asObject().get("user").asObject().get("id").asPrimitive().asInteger() == 150) {
+                throw new IllegalStateException("Transform failed");
+            }
+            return element;
+        }, json, bytes -> {
+        }));
+        assertEquals("Transform failed", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("run_PipelineWindow")
+    @Tag("pipeline")
+    @Timeout(value=10000, unit=TimeUnit.MILLISECONDS)
+    void run_PipelineWindow() {
+        BJSL<JsonParser> json = new BJSL<>(new JsonParser.Builder().build());
+
+        AtomicInteger read = new AtomicInteger();
+        Iterator<byte[]> input = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return read.get() < 200;
+            }
+
+            @Override
+            public byte[] next() {
+                return ("[" + read.getAndIncrement() + "]").getBytes(StandardCharsets.UTF_8);
+            }
+        };
+
+        Pipeline pipeline = new Pipeline.Builder().setDecodeParallelism(2).setTransformParallelism(2).setEncodeParallelism(2).setBatchSize(1).setQueueCapacity(1).build();
+
+        List<Integer> ahead = new ArrayList<>();
+        List<String> output = new ArrayList<>();
+        pipeline.run(input, json, element -> {
+            if (element.asArray().get(0).asPrimitive().asInteger() == 0) {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            return element;
+        }, json, bytes -> {
+            ahead.add(read.get() - output.size());
+            output.add(new String(bytes, StandardCharsets.UTF_8));
+        });
+
+        assertEquals(200, output.size());
+        assertEquals("[0]", output.get(0));
+        assertEquals("[199]", output.get(199));
+        assertTrue(ahead.stream().allMatch(count -> count <= 9), "Read up to " + ahead.stream().mapToInt(Integer::intValue).max().orElse(0) + " documents ahead of the output");
+    }
+
+    @Test
+    @DisplayName("transcode_Streamed")
+    @Tag("transcode")
+    void transcode_Streamed() {
+        JsonParser compact = new JsonParser.Builder().build();
+        JsonParser pretty = new JsonParser.Builder().setPrettyPrint(true).build();
+        JsonParser canonical = new JsonParser.Builder().setCanonical(true).build();
+
+        String document = "{\"b\": [1, 2.5, \"\\u20ac\"], \"a\": {\"y\": null, \"x\": [[], {}]}}";
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        BJSL.transcode(compact, pretty, new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8)), output);
+        assertEquals(pretty.toString(compact.toElement(document)), output.toString(StandardCharsets.UTF_8));
+
+        output.reset();
+        BJSL.transcode(compact, canonical, new ByteArrayInputStream((document + "\n" + document).getBytes(StandardCharsets.UTF_8)), output);
+        String sorted = canonical.toString(compact.toElement(document));
+        assertEquals(sorted + " " + sorted, output.toString(StandardCharsets.UTF_8));
+
+        assertThrows(ParserException.class, () -> BJSL.transcode(compact, pretty, new ByteArrayInputStream("{\"a\": [1,}".getBytes(StandardCharsets.UTF_8)), new ByteArrayOutputStream()));
+    }
+
+    @Test
+    @DisplayName("toString_Canonical")
+    @Tag("canonical")
+    void toString_Canonical() {
+        JsonParser parser = new JsonParser.Builder().setCanonical(true).setPrettyPrint(true).build();
+
+        String input = "{\"numbers\": [333333333.33333329, 1E30, 4.50, 2e-3, 0.000000000000000000000000001, -0.0, 100, 1e21, 1e-7, 123456789012], \"string\": \"\\u20ac$\\u000F\\u000aA'\\u0042\\u0022\\u005c\\\\\\\"\\/\", \"literals\": [null, true, false]}";
+        String expected = "{\"literals\":[null,true,false],\"numbers\":[333333333.3333333,1e+30,4.5,0.002,1e-27,0,100,1e+21,1e-7,123456789012],\"string\":\"\u20ac$\\u000f\\nA'B\\\"\\\\\\\\\\\"/\"}";
+        assertEquals(expected, parser.toString(parser.toElement(input)));
+        assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), parser.toBytes(parser.toElement(input).freeze()));
+
+        ParsedObject keys = parser.toElement("{\"\\u20ac\": 1, \"\\r\": 2, \"\\ufb33\": 3, \"1\": 4, \"\\ud83d\\ude00\": 5, \"\\u0080\": 6, \"\\u00f6\": 7}").asObject();
+        assertEquals(List.of("\r", "1", "\u0080", "\u00f6", "\u20ac", "\ud83d\ude00", "\ufb33"), keys.getSortedKeys());
+        assertEquals("{\"\\r\":2,\"1\":4,\"\u0080\":6,\"\u00f6\":7,\"\u20ac\":1,\"\ufb33\":3}", parser.toString(keys.without("\ud83d\ude00")));
+
+        SmileParser smile = new SmileParser.Builder().setCanonical(true).build();
+        ParsedElement first = parser.toElement("{\"b\": [1, 2.5], \"a\": {\"y\": null, \"x\": \"z\"}}");
+        ParsedElement second = parser.toElement("{\"a\": {\"x\": \"z\", \"y\": null}, \"b\": [1, 2.5]}");
+        assertArrayEquals(smile.toBytes(first), smile.toBytes(second));
+        assertEquals(first, smile.toElement(smile.toBytes(first)));
+    }
+
+    public static class LoadLargerThanHeap {
+        public static void main(String[] args) {
+            RecordLoader loader = new RecordLoader.Builder().setChunkSize(16 * 1024).setOrdered(Boolean.parseBoolean(args[1])).build();
+            try (Stream<Audit> records = loader.load(Path.of(args[0]), Audit.class)) {
+                System.out.println(records.mapToLong(audit -> audit.user.id).sum());
+            }
+        }
+    }
+
+    public static class Chain {
+        public Chain next;
+    }
+
+    public static class Audit {
+        public User user;
+        public List<Event> events;
+
+        public static class User {
+            public int id;
+        }
+
+        public static class Event {
+            @Rename("type")
+            public String kind;
+        }
+    }
+}
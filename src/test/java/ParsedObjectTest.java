@@ -0,0 +1,371 @@
+import io.github.kale_ko.bjsl.elements.ParsedArray;
+import io.github.kale_ko.bjsl.elements.ParsedElement;
+import io.github.kale_ko.bjsl.elements.ParsedObject;
+import io.github.kale_ko.bjsl.elements.ParsedPrimitive;
+import io.github.kale_ko.bjsl.parsers.JsonParser;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Timeout(value=1000, unit=TimeUnit.MILLISECONDS)
+public class ParsedObjectTest {
+    public ParsedObjectTest() {
+    }
+
+    protected static void assertMatches(Map<String, ParsedElement> expected, ParsedObject actual) {
+        assertEquals(expected.size(), actual.getSize());
+        assertIterableEquals(expected.keySet(), actual.getKeys());
+        assertIterableEquals(expected.values(), actual.getValues());
+        assertEquals(expected.hashCode(), actual.hashCode());
+        for (Map.Entry<String, ParsedElement> entry : expected.entrySet()) {
+            assertTrue(actual.has(entry.getKey()));
+            assertEquals(entry.getValue(), actual.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    @DisplayName("set_KeepsInsertionOrder")
+    @Tag("compact")
+    void set_KeepsInsertionOrder() {
+        ParsedObject object = ParsedObject.create();
+        Map<String, ParsedElement> expected = new LinkedHashMap<>();
+
+        for (int i = 0; i < 64; i++) {
+            object.set("key" + (i * 7 % 64), ParsedPrimitive.fromInteger(i));
+            expected.put("key" + (i * 7 % 64), ParsedPrimitive.fromInteger(i));
+
+            assertMatches(expected, object);
+        }
+    }
+
+    @Test
+    @DisplayName("set_ExistingKey_KeepsPosition")
+    @Tag("compact")
+    void set_ExistingKey_KeepsPosition() {
+        for (int size : new int[] { 3, 20 }) {
+            ParsedObject object = ParsedObject.create();
+            Map<String, ParsedElement> expected = new LinkedHashMap<>();
+
+            for (int i = 0; i < size; i++) {
+                object.set("key" + i, ParsedPrimitive.fromInteger(i));
+                expected.put("key" + i, ParsedPrimitive.fromInteger(i));
+            }
+
+            object.set("key1", ParsedPrimitive.fromString("replaced"));
+            expected.put("key1", ParsedPrimitive.fromString("replaced"));
+
+            assertMatches(expected, object);
+        }
+    }
+
+    @Test
+    @DisplayName("remove_AcrossThreshold")
+    @Tag("compact")
+    void remove_AcrossThreshold() {
+        ParsedObject object = ParsedObject.create();
+        Map<String, ParsedElement> expected = new LinkedHashMap<>();
+
+        for (int i = 0; i < 32; i++) {
+            object.set("key" + i, ParsedPrimitive.fromInteger(i));
+            expected.put("key" + i, ParsedPrimitive.fromInteger(i));
+        }
+
+        for (int i = 0; i < 32; i += 2) {
+            object.remove("key" + i);
+            expected.remove("key" + i);
+
+            assertMatches(expected, object);
+            assertFalse(object.has("key" + i));
+        }
+
+        object.remove("missing");
+        assertMatches(expected, object);
+
+        object.set("key0", ParsedPrimitive.fromNull());
+        expected.put("key0", ParsedPrimitive.fromNull());
+        assertMatches(expected, object);
+    }
+
+    @Test
+    @DisplayName("remove_CollidingKeys")
+    @Tag("compact")
+    void remove_CollidingKeys() {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            StringBuilder key = new StringBuilder();
+            for (int bit = 0; bit < 6; bit++) {
+                key.append((i & (1 << bit)) != 0 ? "Aa" : "BB");
+            }
+            keys.add(i % 2 == 0 ? key.toString() : "key" + i);
+        }
+
+        ParsedObject object = ParsedObject.create();
+        Map<String, ParsedElement> expected = new LinkedHashMap<>();
+
+        Random random = new Random(42);
+        for (int i = 0; i < 4000; i++) {
+            String key = keys.get(random.nextInt(keys.size()));
+            if (random.nextInt(3) == 0) {
+                object.remove(key);
+                expected.remove(key);
+            } else {
+                object.set(key, ParsedPrimitive.fromInteger(i));
+                expected.put(key, ParsedPrimitive.fromInteger(i));
+            }
+
+            assertMatches(expected, object);
+        }
+    }
+
+    @Test
+    @DisplayName("get_MissingKey")
+    @Tag("compact")
+    void get_MissingKey() {
+        ParsedObject object = ParsedObject.create();
+        object.set("present", ParsedPrimitive.fromBoolean(true));
+
+        assertThrows(NullPointerException.class, () -> object.get("missing"));
+        assertNull(object.getOrNull("missing"));
+    }
+
+    @Test
+    @DisplayName("equals_FromMap")
+    @Tag("compact")
+    void equals_FromMap() {
+        Map<String, ParsedElement> map = new LinkedHashMap<>();
+        for (int i = 0; i < 12; i++) {
+            map.put("key" + i, ParsedPrimitive.fromLong(i));
+        }
+
+        ParsedObject object = ParsedObject.create(2);
+        for (Map.Entry<String, ParsedElement> entry : map.entrySet()) {
+            object.set(entry.getKey(), entry.getValue());
+        }
+
+        assertEquals(ParsedObject.from(map), object);
+        assertEquals(ParsedObject.from(map).hashCode(), object.hashCode());
+        assertMatches(map, ParsedObject.from(map));
+    }
+
+    @Test
+    @DisplayName("freeze_IsDeeplyImmutable")
+    @Tag("freeze")
+    void freeze_IsDeeplyImmutable() {
+        ParsedObject object = ParsedObject.create();
+        ParsedArray array = ParsedArray.create();
+        array.add(ParsedPrimitive.fromString("value"));
+        object.set("array", array);
+        object.set("number", ParsedPrimitive.fromInteger(1));
+
+        ParsedObject frozen = object.freeze();
+        assertTrue(frozen.isFrozen());
+        assertTrue(frozen.get("array").isFrozen());
+        assertSame(frozen, frozen.freeze());
+        assertEquals(object, frozen);
+        assertEquals(object.hashCode(), frozen.hashCode());
+
+        assertThrows(UnsupportedOperationException.class, () -> frozen.set("other", ParsedPrimitive.fromNull()));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.remove("number"));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.get("array").asArray().add(ParsedPrimitive.fromNull()));
+
+        array.add(ParsedPrimitive.fromString("changed"));
+        assertFalse(object.isFrozen());
+        assertNotEquals(object, frozen);
+        assertEquals(1, frozen.get("array").asArray().getSize());
+    }
+
+    @Test
+    @DisplayName("with_SharesPreviousVersions")
+    @Tag("persistent")
+    void with_SharesPreviousVersions() {
+        Random random = new Random(28);
+
+        List<ParsedObject> objects = new ArrayList<>();
+        List<Map<String, ParsedElement>> expectedObjects = new ArrayList<>();
+        objects.add(ParsedObject.create());
+        expectedObjects.add(new LinkedHashMap<>());
+
+        List<ParsedArray> arrays = new ArrayList<>();
+        List<List<ParsedElement>> expectedArrays = new ArrayList<>();
+        arrays.add(ParsedArray.create());
+        expectedArrays.add(new ArrayList<>());
+
+        for (int i = 0; i < 3000; i++) {
+            ParsedObject object = objects.get(objects.size() - 1);
+            Map<String, ParsedElement> expectedObject = new LinkedHashMap<>(expectedObjects.get(expectedObjects.size() - 1));
+            String key = random.nextBoolean() ? (random.nextBoolean() ? "Aa" : "BB") + random.nextInt(4) : "key" + random.nextInt(200);
+            if (random.nextInt(4) == 0) {
+                object = object.without(key);
+                expectedObject.remove(key);
+            } else {
+                object = object.with(key, ParsedPrimitive.fromInteger(i));
+                expectedObject.put(key, ParsedPrimitive.fromInteger(i));
+            }
+            objects.add(object);
+            expectedObjects.add(expectedObject);
+
+            ParsedArray array = arrays.get(arrays.size() - 1);
+            List<ParsedElement> expectedArray = new ArrayList<>(expectedArrays.get(expectedArrays.size() - 1));
+            if (expectedArray.isEmpty() || random.nextInt(3) == 0) {
+                array = array.withAdded(ParsedPrimitive.fromInteger(i));
+                expectedArray.add(ParsedPrimitive.fromInteger(i));
+            } else if (random.nextInt(20) == 0) {
+                int index = random.nextInt(expectedArray.size());
+                array = array.withoutAt(index);
+                expectedArray.remove(index);
+            } else {
+                int index = random.nextInt(expectedArray.size());
+                array = array.withAt(index, ParsedPrimitive.fromInteger(i));
+                expectedArray.set(index, ParsedPrimitive.fromInteger(i));
+            }
+            arrays.add(array);
+            expectedArrays.add(expectedArray);
+        }
+
+        for (int i = 1; i < objects.size(); i += 97) {
+            assertTrue(objects.get(i).isFrozen());
+            assertMatches(expectedObjects.get(i), objects.get(i));
+            assertEquals(ParsedObject.from(expectedObjects.get(i)), objects.get(i));
+
+            assertTrue(arrays.get(i).isFrozen());
+            assertIterableEquals(expectedArrays.get(i), arrays.get(i).getValues());
+            assertEquals(ParsedArray.from(expectedArrays.get(i)), arrays.get(i));
+            assertEquals(ParsedArray.from(expectedArrays.get(i)).hashCode(), arrays.get(i).hashCode());
+        }
+
+        assertThrows(IndexOutOfBoundsException.class, () -> arrays.get(0).withAt(0, ParsedPrimitive.fromNull()));
+    }
+
+    @Test
+    @DisplayName("merge_Layers")
+    @Tag("merge")
+    void merge_Layers() {
+        JsonParser parser = new JsonParser.Builder().build();
+
+        String[][] rfc7396 = { { "{\"a\": \"b\"}", "{\"a\": \"c\"}", "{\"a\": \"c\"}" }, { "{\"a\": \"b\"}", "{\"b\": \"c\"}", "{\"a\": \"b\", \"b\": \"c\"}" }, { "{\"a\": \"b\", \"b\": \"c\"}", "{\"a\": null}", "{\"b\": \"c\"}" }, { "{\"a\": [\"b\"]}", "{\"a\": \"c\"}", "{\"a\": \"c\"}" }, { "{\"a\": {\"b\": \"c\"}}", "{\"a\": {\"b\": \"d\", \"c\": null}}", "{\"a\": {\"b\": \"d\"}}" }, { "{\"a\": [{\"b\": \"c\"}]}", "{\"a\": [1]}", "{\"a\": [1]}" }, { "{\"e\": null}", "{\"a\": 1}", "{\"e\": null, \"a\": 1}" }, { "{}", "{\"a\": {\"bb\": {\"ccc\": null}}}", "{\"a\": {\"bb\": {}}}" } };
+        for (String[] example : rfc7396) {
+            ParsedObject target = parser.toElement(example[0]).asObject();
+            target.mergePatch(parser.toElement(example[1]).asObject());
+            assertEquals(parser.toElement(example[2]), target, example[1]);
+        }
+
+        ParsedObject defaults = parser.toElement("{\"server\": {\"port\": 80, \"hosts\": [\"a\"]}, \"users\": [{\"id\": 1, \"role\": \"user\"}, {\"id\": 2, \"role\": \"user\"}]}").asObject().freeze();
+        ParsedObject overrides = parser.toElement("{\"server\": {\"hosts\": [\"b\"]}, \"users\": [{\"id\": 2, \"role\": \"admin\"}, {\"id\": 3}, \"x\"]}").asObject().freeze();
+
+        ParsedObject replaced = ParsedObject.create();
+        replaced.merge(defaults);
+        replaced.merge(overrides);
+        assertEquals(parser.toElement("{\"server\": {\"port\": 80, \"hosts\": [\"b\"]}, \"users\": [{\"id\": 2, \"role\": \"admin\"}, {\"id\": 3}, \"x\"]}"), replaced);
+
+        ParsedObject appended = ParsedObject.create();
+        appended.merge(defaults, ParsedObject.ArrayStrategy.APPEND);
+        appended.merge(overrides, ParsedObject.ArrayStrategy.APPEND);
+        assertEquals(parser.toElement("{\"server\": {\"port\": 80, \"hosts\": [\"a\", \"b\"]}, \"users\": [{\"id\": 1, \"role\": \"user\"}, {\"id\": 2, \"role\": \"user\"}, {\"id\": 2, \"role\": \"admin\"}, {\"id\": 3}, \"x\"]}"), appended);
+
+        ParsedObject keyed = ParsedObject.create();
+        keyed.merge(defaults, ParsedObject.ArrayStrategy.mergeByKey("id"));
+        keyed.merge(overrides, ParsedObject.ArrayStrategy.mergeByKey("id"));
+        assertEquals(parser.toElement("{\"server\": {\"port\": 80, \"hosts\": [\"a\", \"b\"]}, \"users\": [{\"id\": 1, \"role\": \"user\"}, {\"id\": 2, \"role\": \"admin\"}, {\"id\": 3}, \"x\"]}"), keyed);
+        assertSame(defaults.get("users").asArray().get(0), keyed.get("users").asArray().get(0));
+
+        assertEquals(parser.toElement("{\"server\": {\"port\": 80, \"hosts\": [\"a\"]}, \"users\": [{\"id\": 1, \"role\": \"user\"}, {\"id\": 2, \"role\": \"user\"}]}"), defaults);
+        assertThrows(UnsupportedOperationException.class, () -> defaults.merge(overrides));
+    }
+
+    @Test
+    @DisplayName("hashCode_Modified")
+    @Tag("hash")
+    void hashCode_Modified() {
+        JsonParser parser = new JsonParser.Builder().build();
+
+        ParsedObject root = parser.toElement("{\"a\": {\"b\": [1, 2, {\"c\": \"d\"}]}, \"e\": [true]}").asObject();
+        ParsedObject deep = root.get("a").asObject().get("b").asArray().get(2).asObject();
+        ParsedObject other = parser.toElement("{\"x\": 1}").asObject();
+
+        int before = root.hashCode();
+        assertEquals(before, root.hashCode());
+        assertEquals(root.freeze().hashCode(), before);
+        assertEquals(other.freeze().hashCode(), other.hashCode());
+
+        deep.set("c", ParsedPrimitive.fromString("changed"));
+        assertNotEquals(before, root.hashCode());
+        assertEquals(root.freeze().hashCode(), root.hashCode());
+        assertEquals(other.freeze().hashCode(), other.hashCode());
+
+        ParsedObject copy = parser.toElement(parser.toString(root)).asObject();
+        assertEquals(copy.hashCode(), root.hashCode());
+        assertEquals(copy, root);
+        deep.remove("c");
+        assertNotEquals(copy, root);
+        copy.get("a").asObject().get("b").asArray().get(2).asObject().remove("c");
+        assertEquals(copy, root);
+        assertEquals(copy.hashCode(), root.hashCode());
+    }
+
+    @Test
+    @DisplayName("fingerprint_MatchesEquality")
+    @Tag("hash")
+    void fingerprint_MatchesEquality() {
+        JsonParser parser = new JsonParser.Builder().build();
+
+        ParsedElement first = parser.toElement("{\"a\": 1, \"b\": [\"x\", {\"c\": null, \"d\": 2.5}]}");
+        ParsedElement reordered = parser.toElement("{\"b\": [\"x\", {\"d\": 2.5, \"c\": null}], \"a\": 1}");
+
+        assertEquals(first.fingerprint(), reordered.fingerprint());
+        assertEquals(first.fingerprint(), reordered.freeze().fingerprint());
+        assertEquals(32, first.fingerprint().toString().length());
+        assertEquals(16, first.fingerprint().toBytes().length);
+
+        Set<Object> fingerprints = new HashSet<>();
+        for (String document : new String[] { "{\"a\": 1}", "{\"a\": 2}", "{\"b\": 1}", "{\"a\": \"1\"}", "{\"a\": 1.0}", "{\"a\": [1]}", "{\"a\": {}}", "{\"a\": []}", "[1, 2]", "[2, 1]", "[\"ab\", \"c\"]", "[\"a\", \"bc\"]", "[]", "{}" }) {
+            assertTrue(fingerprints.add(parser.toElement(document).fingerprint()), document);
+        }
+        assertNotEquals(ParsedPrimitive.fromInteger(1).fingerprint(), ParsedPrimitive.fromLong(1).fingerprint());
+    }
+
+    @Test
+    @DisplayName("deepCopy_SharesOnlyImmutable")
+    @Tag("copy")
+    void deepCopy_SharesOnlyImmutable() {
+        JsonParser parser = new JsonParser.Builder().build();
+
+        ParsedObject root = parser.toElement("{\"a\": {\"b\": [1, \"x\", {\"c\": true}]}, \"d\": null}").asObject();
+        ParsedObject frozen = parser.toElement("{\"e\": [2]}").asObject().freeze();
+        root.set("f", frozen);
+
+        ParsedObject copy = root.deepCopy().asObject();
+        assertEquals(root, copy);
+        assertNotSame(root.get("a"), copy.get("a"));
+        assertSame(root.get("a").asObject().get("b").asArray().get(1), copy.get("a").asObject().get("b").asArray().get(1));
+        assertSame(frozen, copy.get("f"));
+
+        copy.get("a").asObject().get("b").asArray().get(2).asObject().set("c", ParsedPrimitive.fromBoolean(false));
+        assertTrue(root.get("a").asObject().get("b").asArray().get(2).asObject().get("c").asPrimitive().asBoolean());
+
+        assertSame(frozen, frozen.deepCopy());
+        ParsedObject thawed = frozen.mutableCopy().asObject();
+        assertEquals(frozen, thawed);
+        thawed.get("e").asArray().add(ParsedPrimitive.fromInteger(3));
+        assertEquals(1, frozen.get("e").asArray().getSize());
+
+        ParsedArray deep = ParsedArray.create();
+        ParsedArray current = deep;
+        for (int i = 0; i < 100000; i++) {
+            ParsedArray next = ParsedArray.create(1);
+            current.add(next);
+            current = next;
+        }
+
+        ParsedElement deepCopy = deep.deepCopy();
+        int depth = 0;
+        while (deepCopy.asArray().getSize() > 0) {
+            deepCopy = deepCopy.asArray().get(0);
+            depth++;
+        }
+        assertEquals(100000, depth);
+    }
+}